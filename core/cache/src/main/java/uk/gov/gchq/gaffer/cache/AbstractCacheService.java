@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.cache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -37,6 +38,12 @@ public abstract class AbstractCacheService implements ICacheService {
         return cache.get(key);
     }
 
+    @Override
+    public <K, V> Map<K, V> getAllFromCache(final String cacheName, final Collection<K> keys) {
+        ICache<K, V> cache = getCache(cacheName);
+        return cache.getAll(keys);
+    }
+
     @Override
     public <K, V> void putInCache(final String cacheName, final K key, final V value) throws CacheOperationException {
         ICache<K, V> cache = getCache(cacheName);
@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.cache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.cache.impl.NearCacheService;
 import uk.gov.gchq.gaffer.cache.util.CacheProperties;
 
 import java.util.Properties;
@@ -35,7 +36,8 @@ public final class CacheServiceLoader {
     private static boolean shutdownHookAdded = false;
 
     /**
-     * Looks at a system property and initialises an appropriate cache service. Adds a shutdown hook
+     * Looks at a system property and initialises an appropriate cache service. If near caching is enabled
+     * the service is wrapped in a {@link NearCacheService}. Adds a shutdown hook
      * which gracefully closes the cache service if JVM is stopped. This should not be relied upon
      * in a servlet context - use the ServletLifecycleListener located in the REST module instead
      *
@@ -62,6 +64,10 @@ public final class CacheServiceLoader {
             throw new IllegalArgumentException("Failed to instantiate cache using class " + cacheClass, e);
         }
 
+        if (NearCacheService.isEnabled(properties)) {
+            service = new NearCacheService(service);
+        }
+
         service.initialise(properties);
 
         if (!shutdownHookAdded) {
@@ -20,6 +20,8 @@ import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -39,6 +41,28 @@ public interface ICache<K, V> {
      */
     V get(final K key);
 
+    /**
+     * Retrieve the values associated with the given keys. Keys which are not
+     * present in the cache are omitted from the returned map. Implementations
+     * backed by a remote store should override this to fetch all of the entries
+     * in a single call.
+     *
+     * @param keys the keys to lookup in the cache
+     * @return a {@link Map} of the keys found in the cache to their values
+     */
+    default Map<K, V> getAll(final Collection<K> keys) {
+        final Map<K, V> values = new HashMap<>(keys.size());
+        for (final K key : keys) {
+            if (null != key) {
+                final V value = get(key);
+                if (null != value) {
+                    values.put(key, value);
+                }
+            }
+        }
+        return values;
+    }
+
     /**
      * Add a new key-value pair to the cache.
      *
@@ -105,4 +129,24 @@ public interface ICache<K, V> {
      */
     void clear() throws CacheOperationException;
 
+    /**
+     * Register a listener to be notified when entries in the cache change.
+     * Caches which are unable to notify listeners should return false.
+     *
+     * @param listener the listener to notify
+     * @return true if the listener will be notified of changes
+     */
+    default boolean addListener(final ICacheListener<K> listener) {
+        return false;
+    }
+
+    /**
+     * Unregister a listener so it is no longer notified when entries in the
+     * cache change.
+     *
+     * @param listener the listener to remove
+     */
+    default void removeListener(final ICacheListener<K> listener) {
+        // Do nothing by default
+    }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache;
+
+/**
+ * Listener which is notified when entries in an {@link ICache} change. This
+ * includes changes made by other processes sharing a distributed cache, so
+ * local copies of the entries can be invalidated.
+ *
+ * @param <K> The object type that acts as the key for the cache
+ */
+public interface ICacheListener<K> {
+
+    /**
+     * Called when the entry associated with the key is updated, removed or
+     * evicted.
+     *
+     * @param key the key of the entry that changed
+     */
+    void entryChanged(final K key);
+
+    /**
+     * Called when all entries are removed from the cache.
+     */
+    void cacheCleared();
+}
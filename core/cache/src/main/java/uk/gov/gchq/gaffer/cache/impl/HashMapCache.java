@@ -19,13 +19,16 @@ package uk.gov.gchq.gaffer.cache.impl;
 import com.google.common.collect.Lists;
 
 import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheListener;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Simple implementation of the {@link ICache} interface, using a {@link HashMap}
@@ -38,6 +41,7 @@ public class HashMapCache<K, V> implements ICache<K, V> {
     private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
     private boolean useJavaSerialisation;
     private HashMap<K, Object> cache = new HashMap<>();
+    private final List<ICacheListener<K>> listeners = new CopyOnWriteArrayList<>();
 
     public HashMapCache(final boolean useJavaSerialisation) {
         this.useJavaSerialisation = useJavaSerialisation;
@@ -49,10 +53,15 @@ public class HashMapCache<K, V> implements ICache<K, V> {
 
     @Override
     public V get(final K key) {
+        final Object value = cache.get(key);
+        if (null == value) {
+            return null;
+        }
+
         try {
             return (V) (useJavaSerialisation
-                    ? JAVA_SERIALISER.deserialise((byte[]) cache.get(key))
-                    : cache.get(key));
+                    ? JAVA_SERIALISER.deserialise((byte[]) value)
+                    : value);
         } catch (final SerialisationException e) {
             throw new RuntimeException(e);
         }
@@ -69,11 +78,13 @@ public class HashMapCache<K, V> implements ICache<K, V> {
         } else {
             cache.<K, V>put(key, value);
         }
+        listeners.forEach(listener -> listener.entryChanged(key));
     }
 
     @Override
     public void remove(final K key) {
         cache.remove(key);
+        listeners.forEach(listener -> listener.entryChanged(key));
     }
 
     @Override
@@ -107,5 +118,17 @@ public class HashMapCache<K, V> implements ICache<K, V> {
     @Override
     public void clear() {
         cache.clear();
+        listeners.forEach(ICacheListener::cacheCleared);
+    }
+
+    @Override
+    public boolean addListener(final ICacheListener<K> listener) {
+        listeners.add(listener);
+        return true;
+    }
+
+    @Override
+    public void removeListener(final ICacheListener<K> listener) {
+        listeners.remove(listener);
     }
 }
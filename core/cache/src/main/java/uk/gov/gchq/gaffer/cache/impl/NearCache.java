@@ -0,0 +1,474 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheListener;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@code NearCache} is an {@link ICache} which keeps a local copy of the
+ * values most recently read from another cache.
+ * <p>
+ * At most {@code maxSize} values are held, with the least recently used values
+ * evicted first, and each value expires {@code ttlMillis} after it was read
+ * from the backing cache. Writes are passed through to the backing cache and
+ * invalidate the local copy. If the backing cache can notify listeners of
+ * changes, changes made by other processes also invalidate the local copy,
+ * otherwise they may not be seen until the local copy expires.
+ * <p>
+ * Values of immutable types, such as strings, boxed primitives and enums, are
+ * held and returned as they are. Values of other types are held in their
+ * serialised form and each read returns a new instance, so callers can modify
+ * the values they get without affecting later reads. Mutable values which are
+ * not {@link Serializable} are not held locally.
+ * <p>
+ * The number of hits, misses and evictions, and the time taken to read values
+ * from the backing cache, are recorded.
+ *
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
+ */
+public class NearCache<K, V> implements ICache<K, V> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCache.class);
+    private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, UUID.class)));
+
+    private final ICache<K, V> backingCache;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final ICacheListener<K> listener;
+    private final boolean notifiedOfChanges;
+    private final Map<K, Entry> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadTimeNanos = new LongAdder();
+
+    /**
+     * @param backingCache the cache to read values from
+     * @param maxSize      the maximum number of values to hold locally
+     * @param ttlMillis    the time values are held for, or 0 to hold them until they are evicted or invalidated
+     */
+    public NearCache(final ICache<K, V> backingCache, final int maxSize, final long ttlMillis) {
+        this(backingCache, maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    NearCache(final ICache<K, V> backingCache, final int maxSize, final long ttlMillis, final LongSupplier clock) {
+        if (null == backingCache) {
+            throw new IllegalArgumentException("backingCache is required");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("ttlMillis must not be negative");
+        }
+
+        this.backingCache = backingCache;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<K, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = -3263407446416211787L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry> eldest) {
+                if (size() > NearCache.this.maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.listener = new ICacheListener<K>() {
+            @Override
+            public void entryChanged(final K key) {
+                invalidate(key);
+            }
+
+            @Override
+            public void cacheCleared() {
+                invalidateAll();
+            }
+        };
+        this.notifiedOfChanges = backingCache.addListener(listener);
+    }
+
+    @Override
+    public V get(final K key) {
+        final Entry entry;
+        final Entry loading;
+        synchronized (this) {
+            entry = getLocalEntry(key, clock.getAsLong());
+            loading = null == entry ? startLoading(key) : null;
+        }
+
+        if (null != entry) {
+            hitCount.increment();
+            return entry.getValue();
+        }
+
+        missCount.increment();
+        final V value;
+        try {
+            final long startTime = System.nanoTime();
+            value = backingCache.get(key);
+            loadTimeNanos.add(System.nanoTime() - startTime);
+        } catch (final RuntimeException e) {
+            synchronized (this) {
+                stopLoading(key, loading);
+            }
+            throw e;
+        }
+
+        final Entry newEntry = createEntry(value);
+        synchronized (this) {
+            finishLoading(key, loading, newEntry);
+        }
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<K> keys) {
+        final Map<K, Entry> localEntries = new HashMap<>(keys.size());
+        final Map<K, Entry> loadingEntries = new HashMap<>();
+        synchronized (this) {
+            final long time = clock.getAsLong();
+            for (final K key : keys) {
+                if (null == key) {
+                    continue;
+                }
+                final Entry entry = getLocalEntry(key, time);
+                if (null != entry) {
+                    localEntries.put(key, entry);
+                } else {
+                    loadingEntries.put(key, startLoading(key));
+                }
+            }
+        }
+
+        final Map<K, V> values = new HashMap<>(keys.size());
+        localEntries.forEach((key, entry) -> values.put(key, entry.getValue()));
+        hitCount.add(values.size());
+        if (loadingEntries.isEmpty()) {
+            return values;
+        }
+
+        missCount.add(loadingEntries.size());
+        final Map<K, V> loadedValues;
+        try {
+            final long startTime = System.nanoTime();
+            loadedValues = backingCache.getAll(new ArrayList<>(loadingEntries.keySet()));
+            loadTimeNanos.add(System.nanoTime() - startTime);
+        } catch (final RuntimeException e) {
+            synchronized (this) {
+                loadingEntries.forEach(this::stopLoading);
+            }
+            throw e;
+        }
+
+        final Map<K, Entry> newEntries = new HashMap<>(loadedValues.size());
+        loadedValues.forEach((key, value) -> newEntries.put(key, createEntry(value)));
+        synchronized (this) {
+            loadingEntries.forEach((key, loading) -> finishLoading(key, loading, newEntries.get(key)));
+        }
+        values.putAll(loadedValues);
+        return values;
+    }
+
+    @Override
+    public void put(final K key, final V value) throws CacheOperationException {
+        try {
+            backingCache.put(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void putSafe(final K key, final V value) throws OverwritingException, CacheOperationException {
+        try {
+            backingCache.putSafe(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+        try {
+            backingCache.remove(key);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Collection<V> getAllValues() {
+        return backingCache.getAllValues();
+    }
+
+    @Override
+    public Set<K> getAllKeys() {
+        return backingCache.getAllKeys();
+    }
+
+    @Override
+    public int size() {
+        return backingCache.size();
+    }
+
+    @Override
+    public void clear() throws CacheOperationException {
+        try {
+            backingCache.clear();
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Removes the local copy of the value associated with the key.
+     *
+     * @param key the key of the value to invalidate
+     */
+    public synchronized void invalidate(final K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all local copies of values.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Stops listening for changes to the backing cache and removes all local
+     * copies of values. This should be called when the near cache is no
+     * longer used, as the backing cache would otherwise keep a reference to
+     * it.
+     */
+    public void detach() {
+        backingCache.removeListener(listener);
+        invalidateAll();
+    }
+
+    /**
+     * @return the number of values held locally
+     */
+    public synchronized int getLocalSize() {
+        int size = 0;
+        for (final Entry entry : entries.values()) {
+            if (!entry.isLoading()) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return true if the backing cache notifies this cache of changes made by other processes
+     */
+    public boolean isNotifiedOfChanges() {
+        return notifiedOfChanges;
+    }
+
+    /**
+     * @return the number of reads which were returned from the local copy
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of reads which went to the backing cache
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of local copies removed because the cache was full or the value expired
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the mean time in milliseconds taken to read a value from the backing cache
+     */
+    public double getAverageLoadTimeMillis() {
+        final long misses = missCount.sum();
+        return 0 == misses ? 0 : (double) loadTimeNanos.sum() / misses / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("maxSize", maxSize)
+                .append("ttlMillis", ttlMillis)
+                .append("notifiedOfChanges", notifiedOfChanges)
+                .append("localSize", getLocalSize())
+                .append("hitCount", getHitCount())
+                .append("missCount", getMissCount())
+                .append("evictionCount", getEvictionCount())
+                .append("averageLoadTimeMillis", getAverageLoadTimeMillis())
+                .toString();
+    }
+
+    /**
+     * Gets the local entry for the key, removing it if it has expired. Entries
+     * which are still being loaded are not returned. Must be called while
+     * holding the lock on this cache.
+     */
+    private Entry getLocalEntry(final K key, final long time) {
+        final Entry entry = entries.get(key);
+        if (null == entry || entry.isLoading()) {
+            return null;
+        }
+        if (entry.hasExpired(time)) {
+            entries.remove(key);
+            evictionCount.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Marks the key as being loaded from the backing cache. The loaded value
+     * is only held if the marker is still in place when the load finishes, so
+     * a value read before the key is invalidated is not held after it. Must
+     * be called while holding the lock on this cache.
+     */
+    private Entry startLoading(final K key) {
+        final Entry loading = new Entry(null, false, Long.MAX_VALUE);
+        entries.put(key, loading);
+        return loading;
+    }
+
+    /**
+     * Replaces the loading marker with the loaded entry, unless the key has
+     * been invalidated or loaded again since the marker was added. Must be
+     * called while holding the lock on this cache.
+     */
+    private void finishLoading(final K key, final Entry loading, final Entry entry) {
+        if (loading == entries.get(key)) {
+            if (null == entry) {
+                entries.remove(key);
+            } else {
+                entries.put(key, entry);
+            }
+        }
+    }
+
+    /**
+     * Removes the loading marker if the load failed. Must be called while
+     * holding the lock on this cache.
+     */
+    private void stopLoading(final K key, final Entry loading) {
+        if (loading == entries.get(key)) {
+            entries.remove(key);
+        }
+    }
+
+    private long getExpiryTime() {
+        return 0 == ttlMillis ? Long.MAX_VALUE : clock.getAsLong() + ttlMillis;
+    }
+
+    private Entry createEntry(final V value) {
+        if (null == value) {
+            return null;
+        }
+        if (isImmutable(value)) {
+            return new Entry(value, false, getExpiryTime());
+        }
+        if (!(value instanceof Serializable)) {
+            return null;
+        }
+        try {
+            return new Entry(JAVA_SERIALISER.serialise(value), true, getExpiryTime());
+        } catch (final SerialisationException e) {
+            LOGGER.debug("Unable to serialise a local copy of value {}", value, e);
+            return null;
+        }
+    }
+
+    private static boolean isImmutable(final Object value) {
+        return IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum;
+    }
+
+    private final class Entry {
+        private final Object value;
+        private final boolean serialised;
+        private final long expiryTime;
+
+        private Entry(final Object value, final boolean serialised, final long expiryTime) {
+            this.value = value;
+            this.serialised = serialised;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean isLoading() {
+            return null == value;
+        }
+
+        private boolean hasExpired(final long time) {
+            return time >= expiryTime;
+        }
+
+        private V getValue() {
+            if (!serialised) {
+                return (V) value;
+            }
+            try {
+                return (V) JAVA_SERIALISER.deserialise((byte[]) value);
+            } catch (final SerialisationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
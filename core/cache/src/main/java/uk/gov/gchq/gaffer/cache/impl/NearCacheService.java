@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static uk.gov.gchq.gaffer.cache.util.CacheProperties.NEAR_CACHE_MAX_SIZE;
+import static uk.gov.gchq.gaffer.cache.util.CacheProperties.NEAR_CACHE_TTL_MILLIS;
+
+/**
+ * Implementation of the {@link ICacheService} interface which wraps the caches
+ * of another cache service in a {@link NearCache}.
+ * <p>
+ * The size and time to live of the near caches are set with the
+ * {@link uk.gov.gchq.gaffer.cache.util.CacheProperties#NEAR_CACHE_MAX_SIZE} and
+ * {@link uk.gov.gchq.gaffer.cache.util.CacheProperties#NEAR_CACHE_TTL_MILLIS}
+ * properties.
+ */
+public class NearCacheService implements ICacheService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCacheService.class);
+
+    public static final String DEFAULT_NEAR_CACHE_MAX_SIZE = "0";
+    public static final String DEFAULT_NEAR_CACHE_TTL_MILLIS = "60000";
+
+    private final ICacheService backingService;
+    private final ConcurrentHashMap<String, NearCache> caches = new ConcurrentHashMap<>();
+    private int maxSize;
+    private long ttlMillis;
+
+    public NearCacheService(final ICacheService backingService) {
+        if (null == backingService) {
+            throw new IllegalArgumentException("backingService is required");
+        }
+        this.backingService = backingService;
+    }
+
+    /**
+     * @param properties the cache service properties
+     * @return true if the properties enable near caching
+     */
+    public static boolean isEnabled(final Properties properties) {
+        return null != properties
+                && Integer.parseInt(properties.getProperty(NEAR_CACHE_MAX_SIZE, DEFAULT_NEAR_CACHE_MAX_SIZE)) > 0;
+    }
+
+    @Override
+    public void initialise(final Properties properties) {
+        backingService.initialise(properties);
+        detachCaches();
+        maxSize = Integer.parseInt(properties.getProperty(NEAR_CACHE_MAX_SIZE, DEFAULT_NEAR_CACHE_MAX_SIZE));
+        ttlMillis = Long.parseLong(properties.getProperty(NEAR_CACHE_TTL_MILLIS, DEFAULT_NEAR_CACHE_TTL_MILLIS));
+        LOGGER.debug("Initialised near caches for {} with a maximum size of {} and a time to live of {}ms",
+                backingService.getClass().getName(), maxSize, ttlMillis);
+    }
+
+    @Override
+    public void shutdown() {
+        caches.forEach((cacheName, cache) -> LOGGER.debug("Near cache {}: {}", cacheName, cache));
+        detachCaches();
+        backingService.shutdown();
+    }
+
+    @Override
+    public <K, V> NearCache<K, V> getCache(final String cacheName) {
+        return caches.computeIfAbsent(cacheName, name -> {
+            final ICache<K, V> backingCache = backingService.getCache(name);
+            if (null == backingCache) {
+                return null;
+            }
+
+            final NearCache<K, V> cache = new NearCache<>(backingCache, maxSize, ttlMillis);
+            if (!cache.isNotifiedOfChanges()) {
+                LOGGER.info("Cache {} does not notify listeners of changes, changes made elsewhere may not be seen for up to {}ms",
+                        name, ttlMillis);
+            }
+            return cache;
+        });
+    }
+
+    private void detachCaches() {
+        caches.values().forEach(NearCache::detach);
+        caches.clear();
+    }
+
+    /**
+     * @return the cache service which is wrapped by this service
+     */
+    public ICacheService getBackingService() {
+        return backingService;
+    }
+}
@@ -35,4 +35,18 @@ public final class CacheProperties {
      */
     public static final String CACHE_CONFIG_FILE = "gaffer.cache.config.file";
 
+    /**
+     * Name of the system property to use in order to set the maximum number of
+     * values held in each local near cache. Near caching is disabled unless this
+     * is greater than 0.
+     */
+    public static final String NEAR_CACHE_MAX_SIZE = "gaffer.cache.near.maxSize";
+
+    /**
+     * Name of the system property to use in order to set the time in milliseconds
+     * that values are held in the local near caches, or 0 to hold them until
+     * they are evicted or invalidated.
+     */
+    public static final String NEAR_CACHE_TTL_MILLIS = "gaffer.cache.near.ttlMillis";
+
 }
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
+import uk.gov.gchq.gaffer.cache.impl.NearCacheService;
 import uk.gov.gchq.gaffer.cache.util.CacheProperties;
 
 import java.util.Properties;
@@ -55,6 +56,18 @@ public class CacheServiceLoaderTest {
         assertTrue(service instanceof EmptyCacheService);
     }
 
+    @Test
+    public void shouldWrapServiceInNearCacheServiceWhenNearCacheIsEnabled() {
+        serviceLoaderProperties.setProperty(CacheProperties.CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        serviceLoaderProperties.setProperty(CacheProperties.NEAR_CACHE_MAX_SIZE, "10");
+        CacheServiceLoader.initialise(serviceLoaderProperties);
+
+        final ICacheService service = CacheServiceLoader.getService();
+
+        assertTrue(service instanceof NearCacheService);
+        assertTrue(((NearCacheService) service).getBackingService() instanceof HashMapCacheService);
+    }
+
     @Test
     public void shouldThrowAnExceptionWhenSystemVariableIsInvalid() {
         final String invalidClassName = "invalid.cache.name";
@@ -20,11 +20,18 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.cache.ICacheListener;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -132,4 +139,35 @@ public class HashMapCacheTest {
         final TempClass tempClass = new TempClass();
         map.put("test1", tempClass);
     }
+
+    @Test
+    public void shouldReturnNullForMissingKeyWhenUsingJavaSerialisation() {
+        final HashMapCache<String, Object> map = new HashMapCache<>(true);
+
+        assertNull(map.get("missing"));
+    }
+
+    @Test
+    public void shouldNotifyListenersOfChanges() {
+        final List<String> changedKeys = new ArrayList<>();
+        final AtomicInteger clearCount = new AtomicInteger();
+        cache.addListener(new ICacheListener<String>() {
+            @Override
+            public void entryChanged(final String key) {
+                changedKeys.add(key);
+            }
+
+            @Override
+            public void cacheCleared() {
+                clearCount.incrementAndGet();
+            }
+        });
+
+        cache.put("test1", 1);
+        cache.remove("test1");
+        cache.clear();
+
+        assertEquals(Arrays.asList("test1", "test1"), changedKeys);
+        assertEquals(1, clearCount.get());
+    }
 }
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NearCacheTest {
+    private final AtomicLong time = new AtomicLong();
+    private final HashMapCache<String, Integer> backingCache = new HashMapCache<>(true);
+    private final NearCache<String, Integer> cache = new NearCache<>(backingCache, 2, 100, time::get);
+
+    @Test
+    public void shouldReturnLocalCopyOnSecondGet() {
+        // Given
+        backingCache.put("key", 1);
+
+        // When
+        final Integer first = cache.get("key");
+        final Integer second = cache.get("key");
+
+        // Then
+        assertEquals(1, (int) first);
+        assertEquals(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertTrue(cache.isNotifiedOfChanges());
+    }
+
+    @Test
+    public void shouldReturnNewInstanceForEachRead() {
+        // Given
+        final HashMapCache<String, ArrayList<Integer>> listBackingCache = new HashMapCache<>(true);
+        final NearCache<String, ArrayList<Integer>> listCache = new NearCache<>(listBackingCache, 2, 100, time::get);
+        listBackingCache.put("key", new ArrayList<>(Arrays.asList(1, 2)));
+        listCache.get("key");
+
+        // When
+        final ArrayList<Integer> first = listCache.get("key");
+        first.add(3);
+        final ArrayList<Integer> second = listCache.get("key");
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(Arrays.asList(1, 2), second);
+        assertEquals(2, listCache.getHitCount());
+    }
+
+    @Test
+    public void shouldReturnSameInstanceOfImmutableValueForEachRead() {
+        // Given
+        final HashMapCache<String, String> stringBackingCache = new HashMapCache<>(true);
+        final NearCache<String, String> stringCache = new NearCache<>(stringBackingCache, 2, 100, time::get);
+        stringBackingCache.put("key", "value");
+
+        // When
+        final String first = stringCache.get("key");
+        final String second = stringCache.get("key");
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, stringCache.getHitCount());
+    }
+
+    @Test
+    public void shouldHoldLoadedValueWhenAnotherKeyIsInvalidatedDuringTheLoad() {
+        // Given
+        final AtomicReference<NearCache<String, Integer>> cacheRef = new AtomicReference<>();
+        final HashMapCache<String, Integer> invalidatingBackingCache = new HashMapCache<String, Integer>(true) {
+            @Override
+            public Integer get(final String key) {
+                cacheRef.get().invalidate("otherKey");
+                return super.get(key);
+            }
+        };
+        cacheRef.set(new NearCache<>(invalidatingBackingCache, 2, 100, time::get));
+        invalidatingBackingCache.put("key", 1);
+
+        // When
+        cacheRef.get().get("key");
+        cacheRef.get().get("key");
+
+        // Then
+        assertEquals(1, cacheRef.get().getHitCount());
+        assertEquals(1, cacheRef.get().getLocalSize());
+    }
+
+    @Test
+    public void shouldNotHoldLoadedValueWhenItsKeyIsInvalidatedDuringTheLoad() {
+        // Given
+        final AtomicReference<NearCache<String, Integer>> cacheRef = new AtomicReference<>();
+        final HashMapCache<String, Integer> invalidatingBackingCache = new HashMapCache<String, Integer>(true) {
+            @Override
+            public Integer get(final String key) {
+                final Integer value = super.get(key);
+                cacheRef.get().invalidate(key);
+                return value;
+            }
+        };
+        cacheRef.set(new NearCache<>(invalidatingBackingCache, 2, 100, time::get));
+        invalidatingBackingCache.put("key", 1);
+
+        // When
+        cacheRef.get().get("key");
+
+        // Then
+        assertEquals(0, cacheRef.get().getLocalSize());
+    }
+
+    @Test
+    public void shouldGetAllFromLocalCopiesAndBackingCache() {
+        // Given
+        backingCache.put("key1", 1);
+        backingCache.put("key2", 2);
+        cache.get("key1");
+
+        // When
+        final Map<String, Integer> values = cache.getAll(Arrays.asList("key1", "key2", "key3"));
+
+        // Then
+        final Map<String, Integer> expected = new HashMap<>();
+        expected.put("key1", 1);
+        expected.put("key2", 2);
+        assertEquals(expected, values);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(2, cache.getLocalSize());
+    }
+
+    @Test
+    public void shouldNotHoldMissingValues() {
+        // When
+        final Integer value = cache.get("key");
+
+        // Then
+        assertNull(value);
+        assertEquals(0, cache.getLocalSize());
+    }
+
+    @Test
+    public void shouldInvalidateLocalCopyWhenValueIsPut() throws CacheOperationException {
+        // Given
+        backingCache.put("key", 1);
+        cache.get("key");
+
+        // When
+        cache.put("key", 2);
+
+        // Then
+        assertEquals(2, (int) cache.get("key"));
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldInvalidateLocalCopyWhenBackingCacheChanges() {
+        // Given
+        backingCache.put("key1", 1);
+        backingCache.put("key2", 2);
+        cache.get("key1");
+        cache.get("key2");
+
+        // When
+        backingCache.put("key1", 3);
+        backingCache.remove("key2");
+
+        // Then
+        assertEquals(3, (int) cache.get("key1"));
+        assertNull(cache.get("key2"));
+    }
+
+    @Test
+    public void shouldInvalidateAllLocalCopiesWhenCleared() throws CacheOperationException {
+        // Given
+        backingCache.put("key", 1);
+        cache.get("key");
+
+        // When
+        cache.clear();
+
+        // Then
+        assertEquals(0, cache.getLocalSize());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldExpireLocalCopyAfterTtl() {
+        // Given
+        final NearCache<String, Integer> unnotifiedCache = new NearCache<>(new UnnotifiedCache<>(backingCache), 2, 100, time::get);
+        backingCache.put("key", 1);
+        unnotifiedCache.get("key");
+        backingCache.put("key", 2);
+
+        // When
+        final Integer beforeExpiry = unnotifiedCache.get("key");
+        time.addAndGet(100);
+        final Integer afterExpiry = unnotifiedCache.get("key");
+
+        // Then
+        assertFalse(unnotifiedCache.isNotifiedOfChanges());
+        assertEquals(1, (int) beforeExpiry);
+        assertEquals(2, (int) afterExpiry);
+        assertEquals(1, unnotifiedCache.getEvictionCount());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedLocalCopyWhenFull() {
+        // Given
+        backingCache.put("key1", 1);
+        backingCache.put("key2", 2);
+        backingCache.put("key3", 3);
+        cache.get("key1");
+        cache.get("key2");
+        cache.get("key1");
+
+        // When
+        cache.get("key3");
+
+        // Then
+        assertEquals(2, cache.getLocalSize());
+        assertEquals(1, cache.getEvictionCount());
+        cache.get("key1");
+        assertEquals(2, cache.getHitCount());
+        cache.get("key2");
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldPassPutSafeToBackingCache() throws CacheOperationException {
+        // Given
+        cache.put("key", 1);
+
+        // When / Then
+        assertThrows(OverwritingException.class, () -> cache.putSafe("key", 2));
+        assertEquals(1, (int) cache.get("key"));
+    }
+
+    @Test
+    public void shouldStopListeningToBackingCacheWhenDetached() {
+        // Given
+        backingCache.put("key", 1);
+        cache.get("key");
+
+        // When
+        cache.detach();
+        cache.get("key");
+        backingCache.put("key", 2);
+
+        // Then
+        assertEquals(1, (int) cache.get("key"));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new NearCache<>(backingCache, 0, 100));
+    }
+
+    /**
+     * A cache which does not notify listeners of changes.
+     */
+    private static final class UnnotifiedCache<K, V> implements ICache<K, V> {
+        private final ICache<K, V> cache;
+
+        private UnnotifiedCache(final ICache<K, V> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public V get(final K key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public void put(final K key, final V value) throws CacheOperationException {
+            cache.put(key, value);
+        }
+
+        @Override
+        public void remove(final K key) {
+            cache.remove(key);
+        }
+
+        @Override
+        public Collection<V> getAllValues() {
+            return cache.getAllValues();
+        }
+
+        @Override
+        public Set<K> getAllKeys() {
+            return cache.getAllKeys();
+        }
+
+        @Override
+        public void clear() throws CacheOperationException {
+            cache.clear();
+        }
+    }
+}
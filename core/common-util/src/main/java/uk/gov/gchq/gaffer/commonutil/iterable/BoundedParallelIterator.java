@@ -0,0 +1,266 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@code BoundedParallelIterator} reads a number of {@link Source}s on a
+ * shared pool of threads and returns their items as they arrive.
+ * <p>
+ * The consumer thread pulls sources from the source iterator and at most
+ * {@code maxSourcesInFlight} sources are read at once. The items are buffered
+ * in a queue of at most {@code maxItems}. When the queue is full a source
+ * parks its open iterator and gives its thread back to the pool, and the
+ * consumer resumes it once there is room. The sources never block a pool
+ * thread waiting for the consumer, so the pool can be shared by many
+ * iterators, including iterators that are abandoned without being closed. A
+ * source that parks or finishes puts a wake up marker on the queue, so the
+ * consumer blocks on the queue until there is something to do and sees that
+ * the iterator is exhausted as soon as the last source finishes.
+ * <p>
+ * There is no ordering between the items of different sources, the items of
+ * a single source are returned in order. Null items are skipped. Exceptions
+ * thrown by the source iterator or a source are rethrown to the consumer.
+ * Closing this iterator stops the sources and closes their iterators.
+ *
+ * @param <T> the type of the items
+ */
+public class BoundedParallelIterator<T> implements CloseableIterator<T> {
+    private static final Object WAKE_UP = new Object();
+
+    private final Iterator<? extends Source<? extends T>> sources;
+    private final ExecutorService executor;
+    private final int maxSourcesInFlight;
+    private final Semaphore itemSlots;
+    private final BlockingQueue<Object> items = new LinkedBlockingQueue<>();
+    private final AtomicInteger sourcesInFlight = new AtomicInteger();
+    private final Deque<ReadTask> parkedTasks = new ArrayDeque<>();
+
+    private T next;
+    private boolean finished;
+    private volatile boolean closed;
+
+    public BoundedParallelIterator(final Iterator<? extends Source<? extends T>> sources,
+                                   final ExecutorService executor,
+                                   final int maxSourcesInFlight,
+                                   final int maxItems) {
+        if (null == executor) {
+            throw new IllegalArgumentException("executor is required");
+        }
+        if (maxSourcesInFlight < 1) {
+            throw new IllegalArgumentException("maxSourcesInFlight must be at least 1");
+        }
+        if (maxItems < 1) {
+            throw new IllegalArgumentException("maxItems must be at least 1");
+        }
+        this.sources = sources;
+        this.executor = executor;
+        this.maxSourcesInFlight = maxSourcesInFlight;
+        this.itemSlots = new Semaphore(maxItems);
+    }
+
+    /**
+     * Starts reading the sources without waiting for any items. The sources
+     * are started by {@link #hasNext()} anyway, this lets them be read ahead
+     * of the first call. Like {@link #hasNext()}, this must only be called by
+     * the consumer.
+     */
+    public void start() {
+        if (!finished) {
+            submitSources();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean hasNext() {
+        if (null != next) {
+            return true;
+        }
+
+        while (!finished) {
+            final Object item;
+            try {
+                submitSources();
+                resumeParkedTasks();
+                // A source adds its last item before it is removed from the sources in flight
+                if (0 == sourcesInFlight.get() && items.isEmpty() && !sources.hasNext()) {
+                    close();
+                    break;
+                }
+                item = items.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException("Interrupted waiting for items", e);
+            } catch (final RuntimeException e) {
+                close();
+                throw e;
+            }
+
+            if (item instanceof Failure) {
+                close();
+                throw toRuntimeException(((Failure) item).cause);
+            }
+            if (WAKE_UP != item) {
+                itemSlots.release();
+                next = (T) item;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T item = next;
+        next = null;
+        return item;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        synchronized (parkedTasks) {
+            closed = true;
+            for (final ReadTask parkedTask : parkedTasks) {
+                parkedTask.closeIterator();
+            }
+            parkedTasks.clear();
+        }
+        items.clear();
+    }
+
+    private void submitSources() {
+        while (sourcesInFlight.get() < maxSourcesInFlight && sources.hasNext()) {
+            sourcesInFlight.incrementAndGet();
+            executor.execute(new ReadTask(sources.next()));
+        }
+    }
+
+    private void resumeParkedTasks() {
+        synchronized (parkedTasks) {
+            while (!parkedTasks.isEmpty() && itemSlots.availablePermits() > 0) {
+                executor.execute(parkedTasks.poll());
+            }
+        }
+    }
+
+    private static RuntimeException toRuntimeException(final Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        return new RuntimeException(e);
+    }
+
+    /**
+     * A source of items, opened on a pool thread when it is first read.
+     *
+     * @param <T> the type of the items
+     */
+    @FunctionalInterface
+    public interface Source<T> {
+        /**
+         * @return an iterator over the items, closed when the source is finished
+         * @throws Exception if the source cannot be opened
+         */
+        CloseableIterator<T> open() throws Exception;
+    }
+
+    /**
+     * Wraps an exception thrown by a source, so it cannot be mistaken for an item.
+     */
+    private static final class Failure {
+        private final Throwable cause;
+
+        private Failure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Reads the items of a single source until the queue is full, then parks
+     * itself until the consumer resumes it.
+     */
+    private final class ReadTask implements Runnable {
+        private final Source<? extends T> source;
+        private CloseableIterator<? extends T> iterator;
+
+        private ReadTask(final Source<? extends T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (null == iterator) {
+                    iterator = source.open();
+                }
+                while (!closed && iterator.hasNext()) {
+                    if (!itemSlots.tryAcquire()) {
+                        park();
+                        return;
+                    }
+                    final T item = iterator.next();
+                    if (null == item) {
+                        itemSlots.release();
+                    } else {
+                        items.add(item);
+                    }
+                }
+            } catch (final Exception e) {
+                if (!closed) {
+                    items.add(new Failure(e));
+                }
+            }
+            closeIterator();
+            sourcesInFlight.decrementAndGet();
+            items.add(WAKE_UP);
+        }
+
+        private void park() {
+            synchronized (parkedTasks) {
+                if (closed) {
+                    closeIterator();
+                } else {
+                    parkedTasks.add(this);
+                }
+            }
+            // The consumer may have freed the slots before this source was parked, so wake it up to resume it
+            items.add(WAKE_UP);
+        }
+
+        private void closeIterator() {
+            CloseableUtil.close(iterator);
+            iterator = null;
+        }
+    }
+}
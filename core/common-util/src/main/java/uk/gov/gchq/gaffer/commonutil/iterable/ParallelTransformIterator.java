@@ -0,0 +1,214 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@code ParallelTransformIterator} transforms the items from a source
+ * iterator using a pool of worker threads.
+ * <p>
+ * The consumer thread pulls items from the source in chunks and submits each
+ * chunk to the executor. At most {@code maxChunksInFlight} chunks are read
+ * ahead of the consumer, so memory use is bounded. Chunks are only read when
+ * the consumer asks for the next item, so an iterator that is abandoned
+ * without being closed does not hold any threads once its submitted chunks
+ * have been transformed. The worker tasks never block, so the executor can be
+ * shared by many iterators. Each chunk task borrows a transform function from
+ * a pool owned by this iterator and returns it when the chunk is done, so the
+ * functions do not need to be thread safe and at most
+ * {@code maxChunksInFlight} of them are created. The pool is released when the
+ * iterator is closed, so nothing is left behind on the executor's threads. If the
+ * transform function returns null the item is skipped.
+ * <p>
+ * If {@code preserveOrder} is true the transformed items are returned in the
+ * same order as the source, otherwise chunks are returned as they complete.
+ * Exceptions thrown by the source or the transform function are rethrown to
+ * the consumer. Neither the source iterator nor the executor are closed by this
+ * iterator.
+ *
+ * @param <I> the type of the source items
+ * @param <O> the type of the transformed items
+ */
+public class ParallelTransformIterator<I, O> implements CloseableIterator<O> {
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+
+    private final Iterator<? extends I> source;
+    private final Supplier<Function<I, O>> transformSupplier;
+    private final Queue<Function<I, O>> idleTransforms = new ConcurrentLinkedQueue<>();
+    private final boolean preserveOrder;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final ExecutorService executor;
+    private final CompletionService<List<O>> completedChunks;
+    private final Deque<Future<List<O>>> chunksInFlight = new ArrayDeque<>();
+
+    private Iterator<O> chunk = Collections.emptyIterator();
+    private O next;
+    private volatile boolean closed;
+
+    public ParallelTransformIterator(final Iterator<? extends I> source,
+                                     final Supplier<Function<I, O>> transformSupplier,
+                                     final ExecutorService executor,
+                                     final int maxChunksInFlight,
+                                     final boolean preserveOrder) {
+        this(source, transformSupplier, executor, maxChunksInFlight, preserveOrder, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelTransformIterator(final Iterator<? extends I> source,
+                                     final Supplier<Function<I, O>> transformSupplier,
+                                     final ExecutorService executor,
+                                     final int maxChunksInFlight,
+                                     final boolean preserveOrder,
+                                     final int chunkSize) {
+        if (null == executor) {
+            throw new IllegalArgumentException("executor is required");
+        }
+        if (maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("maxChunksInFlight must be at least 1");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        this.source = source;
+        this.transformSupplier = transformSupplier;
+        this.preserveOrder = preserveOrder;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+        this.executor = executor;
+        // Completed chunks are only queued when the order is not preserved, as nothing else would drain the queue
+        this.completedChunks = preserveOrder ? null : new ExecutorCompletionService<>(executor);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (null == next) {
+            if (chunk.hasNext()) {
+                next = chunk.next();
+            } else if (closed || !nextChunk()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public O next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final O result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (final Future<List<O>> future : chunksInFlight) {
+            future.cancel(true);
+        }
+        chunksInFlight.clear();
+        idleTransforms.clear();
+        chunk = Collections.emptyIterator();
+    }
+
+    private boolean nextChunk() {
+        try {
+            submitChunks();
+            if (chunksInFlight.isEmpty()) {
+                close();
+                return false;
+            }
+
+            final Future<List<O>> future;
+            if (preserveOrder) {
+                future = chunksInFlight.poll();
+            } else {
+                future = completedChunks.take();
+                chunksInFlight.remove(future);
+            }
+
+            // Keep the workers busy while the consumer reads this chunk
+            submitChunks();
+            chunk = future.get().iterator();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException("Interrupted waiting for transformed items", e);
+        } catch (final ExecutionException e) {
+            close();
+            throw toRuntimeException(e.getCause());
+        } catch (final RuntimeException e) {
+            close();
+            throw e;
+        }
+        return true;
+    }
+
+    private void submitChunks() {
+        while (chunksInFlight.size() < maxChunksInFlight && source.hasNext()) {
+            final List<I> items = new ArrayList<>(chunkSize);
+            while (items.size() < chunkSize && source.hasNext()) {
+                items.add(source.next());
+            }
+            chunksInFlight.add(preserveOrder
+                    ? executor.submit(() -> transform(items))
+                    : completedChunks.submit(() -> transform(items)));
+        }
+    }
+
+    private List<O> transform(final List<I> items) {
+        Function<I, O> function = idleTransforms.poll();
+        if (null == function) {
+            function = transformSupplier.get();
+        }
+        final List<O> transformed = new ArrayList<>(items.size());
+        for (final I item : items) {
+            final O result = function.apply(item);
+            if (null != result) {
+                transformed.add(result);
+            }
+        }
+        if (!closed) {
+            idleTransforms.offer(function);
+        }
+        return transformed;
+    }
+
+    private static RuntimeException toRuntimeException(final Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        return new RuntimeException(e);
+    }
+}
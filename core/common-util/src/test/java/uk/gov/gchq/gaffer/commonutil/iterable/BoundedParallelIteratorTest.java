@@ -0,0 +1,253 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.BoundedParallelIterator.Source;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedParallelIteratorTest {
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2);
+
+    @AfterAll
+    public static void tearDown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnItemsFromAllSourcesInSourceOrder() {
+        // Given
+        final List<Source<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sources.add(createSource(i * 100, 100, null));
+        }
+
+        // When
+        final List<Integer> results;
+        try (final BoundedParallelIterator<Integer> itr = new BoundedParallelIterator<>(sources.iterator(), EXECUTOR, 3, 7)) {
+            results = Lists.newArrayList(itr);
+        }
+
+        // Then
+        assertEquals(500, results.size());
+        final int[] lastItems = {-1, -1, -1, -1, -1};
+        for (final Integer result : results) {
+            assertTrue(result > lastItems[result / 100]);
+            lastItems[result / 100] = result;
+        }
+    }
+
+    @Test
+    public void shouldNotWaitForATimeoutWhenEachSourceFinishes() {
+        // Given
+        final List<Source<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            sources.add(createSource(i, 1, null));
+        }
+
+        // When
+        final List<Integer> results = assertTimeout(Duration.ofSeconds(2), () -> {
+            try (final BoundedParallelIterator<Integer> itr = new BoundedParallelIterator<>(sources.iterator(), EXECUTOR, 1, 10)) {
+                return Lists.newArrayList(itr);
+            }
+        });
+
+        // Then
+        assertEquals(30, results.size());
+    }
+
+    @Test
+    public void shouldCloseSourceIterators() {
+        // Given
+        final AtomicInteger closeCount = new AtomicInteger();
+        final List<Source<Integer>> sources = Arrays.asList(createSource(0, 3, closeCount), createSource(10, 3, closeCount));
+
+        // When
+        try (final BoundedParallelIterator<Integer> itr = new BoundedParallelIterator<>(sources.iterator(), EXECUTOR, 2, 10)) {
+            Lists.newArrayList(itr);
+        }
+
+        // Then
+        assertEquals(2, closeCount.get());
+    }
+
+    @Test
+    public void shouldCloseParkedSourceIteratorsWhenClosed() {
+        // Given
+        final AtomicInteger closeCount = new AtomicInteger();
+        final BoundedParallelIterator<Integer> itr = new BoundedParallelIterator<>(
+                Collections.singletonList(createSource(0, 100, closeCount)).iterator(), EXECUTOR, 1, 2);
+
+        // When
+        itr.next();
+        itr.close();
+
+        // Then
+        assertTimeout(Duration.ofSeconds(2), () -> {
+            while (1 != closeCount.get()) {
+                Thread.sleep(10);
+            }
+        });
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldSkipNullItems() {
+        // Given
+        final Source<Integer> source = () -> new WrappedCloseableIterator<>(Arrays.asList(1, null, 2, null, 3).iterator());
+
+        // When
+        final List<Integer> results;
+        try (final BoundedParallelIterator<Integer> itr = new BoundedParallelIterator<>(Collections.singletonList(source).iterator(), EXECUTOR, 1, 1)) {
+            results = Lists.newArrayList(itr);
+        }
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), results);
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromSource() {
+        // Given
+        final IOException exception = new IOException("open failed");
+        final Source<Integer> source = () -> {
+            throw exception;
+        };
+        final BoundedParallelIterator<Integer> itr = new BoundedParallelIterator<>(Collections.singletonList(source).iterator(), EXECUTOR, 2, 10);
+
+        // When
+        final RuntimeException actual = assertThrows(RuntimeException.class, () -> Lists.newArrayList(itr));
+
+        // Then
+        assertSame(exception, actual.getCause());
+    }
+
+    @Test
+    public void shouldReturnNoItemsWhenThereAreNoSources() {
+        // When
+        try (final BoundedParallelIterator<Integer> itr = new BoundedParallelIterator<>(Collections.<Source<Integer>>emptyIterator(), EXECUTOR, 2, 10)) {
+            // Then
+            assertFalse(itr.hasNext());
+        }
+    }
+
+    @Test
+    public void shouldInterleaveTwoIteratorsOnASingleThread() {
+        // Given
+        final ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try (final BoundedParallelIterator<Integer> itr1 = new BoundedParallelIterator<>(
+                Collections.singletonList(createSource(0, 50, null)).iterator(), singleThread, 1, 2);
+             final BoundedParallelIterator<Integer> itr2 = new BoundedParallelIterator<>(
+                     Collections.singletonList(createSource(100, 50, null)).iterator(), singleThread, 1, 2)) {
+            // When
+            final List<Integer> results1 = new ArrayList<>();
+            final List<Integer> results2 = new ArrayList<>();
+            assertTimeout(Duration.ofSeconds(5), () -> {
+                while (itr1.hasNext() || itr2.hasNext()) {
+                    if (itr1.hasNext()) {
+                        results1.add(itr1.next());
+                    }
+                    if (itr2.hasNext()) {
+                        results2.add(itr2.next());
+                    }
+                }
+            });
+
+            // Then
+            assertEquals(createItems(0, 50), results1);
+            assertEquals(createItems(100, 50), results2);
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldStartReadingSourcesBeforeTheFirstCallToHasNext() {
+        // Given
+        final AtomicInteger openCount = new AtomicInteger();
+        final Source<Integer> source = () -> {
+            openCount.incrementAndGet();
+            return new WrappedCloseableIterator<>(createItems(0, 3).iterator());
+        };
+
+        // When
+        try (final BoundedParallelIterator<Integer> itr = new BoundedParallelIterator<>(Collections.singletonList(source).iterator(), EXECUTOR, 1, 10)) {
+            itr.start();
+
+            // Then
+            assertTimeout(Duration.ofSeconds(2), () -> {
+                while (1 != openCount.get()) {
+                    Thread.sleep(10);
+                }
+            });
+            assertEquals(createItems(0, 3), Lists.newArrayList(itr));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionForMissingExecutor() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedParallelIterator<>(Collections.<Source<Integer>>emptyIterator(), null, 2, 10));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidMaxSourcesInFlight() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedParallelIterator<>(Collections.<Source<Integer>>emptyIterator(), EXECUTOR, 0, 10));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidMaxItems() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedParallelIterator<>(Collections.<Source<Integer>>emptyIterator(), EXECUTOR, 2, 0));
+    }
+
+    private static Source<Integer> createSource(final int first, final int numItems, final AtomicInteger closeCount) {
+        return () -> new WrappedCloseableIterator<Integer>(createItems(first, numItems).iterator()) {
+            @Override
+            public void close() {
+                if (null != closeCount) {
+                    closeCount.incrementAndGet();
+                }
+            }
+        };
+    }
+
+    private static List<Integer> createItems(final int first, final int numItems) {
+        final List<Integer> items = new ArrayList<>(numItems);
+        for (int i = first; i < first + numItems; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+}
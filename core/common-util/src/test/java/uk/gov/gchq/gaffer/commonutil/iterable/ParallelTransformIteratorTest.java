@@ -0,0 +1,266 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelTransformIteratorTest {
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4);
+
+    @AfterAll
+    public static void tearDown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void shouldTransformItemsInOrder() {
+        // Given
+        final List<Integer> items = createItems(1000);
+
+        // When
+        final List<String> results;
+        try (final ParallelTransformIterator<Integer, String> itr = new ParallelTransformIterator<>(
+                items.iterator(), () -> String::valueOf, EXECUTOR, 3, true, 7)) {
+            results = Lists.newArrayList(itr);
+        }
+
+        // Then
+        final List<String> expected = new ArrayList<>();
+        for (final Integer item : items) {
+            expected.add(String.valueOf(item));
+        }
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void shouldTransformAllItemsWhenOrderIsNotPreserved() {
+        // Given
+        final List<Integer> items = createItems(1000);
+
+        // When
+        final List<Integer> results;
+        try (final ParallelTransformIterator<Integer, Integer> itr = new ParallelTransformIterator<>(
+                items.iterator(), () -> i -> i * 2, EXECUTOR, 3, false, 7)) {
+            results = Lists.newArrayList(itr);
+        }
+
+        // Then
+        Collections.sort(results);
+        final List<Integer> expected = new ArrayList<>();
+        for (final Integer item : items) {
+            expected.add(item * 2);
+        }
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void shouldSkipItemsTransformedToNull() {
+        // Given
+        final List<Integer> items = createItems(100);
+
+        // When
+        final List<Integer> results;
+        try (final ParallelTransformIterator<Integer, Integer> itr = new ParallelTransformIterator<>(
+                items.iterator(), () -> i -> 0 == i % 2 ? i : null, EXECUTOR, 2, true, 10)) {
+            results = Lists.newArrayList(itr);
+        }
+
+        // Then
+        assertEquals(50, results.size());
+        for (final Integer result : results) {
+            assertEquals(0, result % 2);
+        }
+    }
+
+    @Test
+    public void shouldCreateAtMostOneTransformFunctionPerChunkInFlight() {
+        // Given
+        final AtomicInteger functionCount = new AtomicInteger();
+        final List<Integer> items = createItems(500);
+
+        // When
+        try (final ParallelTransformIterator<Integer, Integer> itr = new ParallelTransformIterator<>(
+                items.iterator(), () -> {
+            functionCount.incrementAndGet();
+            return Function.identity();
+        }, EXECUTOR, 4, true, 5)) {
+            Lists.newArrayList(itr);
+        }
+
+        // Then
+        assertTrue(functionCount.get() >= 1);
+        assertTrue(functionCount.get() <= 4);
+    }
+
+    @Test
+    public void shouldNotUseATransformFunctionOnTwoThreadsAtOnce() {
+        // Given
+        final AtomicInteger overlaps = new AtomicInteger();
+        final List<Integer> items = createItems(2000);
+
+        // When
+        final List<Integer> results;
+        try (final ParallelTransformIterator<Integer, Integer> itr = new ParallelTransformIterator<>(
+                items.iterator(), () -> {
+            final AtomicInteger inUse = new AtomicInteger();
+            return i -> {
+                if (1 != inUse.incrementAndGet()) {
+                    overlaps.incrementAndGet();
+                }
+                inUse.decrementAndGet();
+                return i;
+            };
+        }, EXECUTOR, 4, false, 3)) {
+            results = Lists.newArrayList(itr);
+        }
+
+        // Then
+        assertEquals(items.size(), results.size());
+        assertEquals(0, overlaps.get());
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromTransform() {
+        // Given
+        final List<Integer> items = createItems(100);
+        final ParallelTransformIterator<Integer, Integer> itr = new ParallelTransformIterator<>(
+                items.iterator(), () -> i -> {
+            if (50 == i) {
+                throw new IllegalArgumentException("bad item");
+            }
+            return i;
+        }, EXECUTOR, 2, true, 10);
+
+        // When / Then
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> Lists.newArrayList(itr));
+        assertEquals("bad item", exception.getMessage());
+    }
+
+    @Test
+    public void shouldReturnNoItemsForEmptySource() {
+        // When
+        try (final ParallelTransformIterator<Integer, Integer> itr = new ParallelTransformIterator<>(
+                Collections.<Integer>emptyIterator(), Function::identity, EXECUTOR, 2, true)) {
+            // Then
+            assertFalse(itr.hasNext());
+        }
+    }
+
+    @Test
+    public void shouldOnlyReadAheadMaxChunksInFlight() {
+        // Given
+        final AtomicInteger readCount = new AtomicInteger();
+        final ParallelTransformIterator<Integer, Integer> itr = new ParallelTransformIterator<>(
+                createInfiniteSource(readCount), Function::identity, EXECUTOR, 2, true, 10);
+
+        // When
+        itr.next();
+
+        // Then
+        assertEquals(30, readCount.get());
+    }
+
+    @Test
+    public void shouldStopReadingSourceWhenClosed() {
+        // Given
+        final AtomicInteger readCount = new AtomicInteger();
+        final ParallelTransformIterator<Integer, Integer> itr = new ParallelTransformIterator<>(
+                createInfiniteSource(readCount), Function::identity, EXECUTOR, 2, true, 10);
+
+        // When
+        itr.next();
+        itr.close();
+        final int countAfterClose = readCount.get();
+
+        // Then
+        assertFalse(itr.hasNext());
+        assertEquals(countAfterClose, readCount.get());
+    }
+
+    @Test
+    public void shouldNotHoldExecutorThreadsWhenAbandoned() {
+        // Given
+        final ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            final ParallelTransformIterator<Integer, Integer> abandoned = new ParallelTransformIterator<>(
+                    createInfiniteSource(new AtomicInteger()), Function::identity, singleThread, 2, true, 10);
+            abandoned.next();
+
+            // When
+            final List<Integer> results;
+            try (final ParallelTransformIterator<Integer, Integer> itr = new ParallelTransformIterator<>(
+                    createItems(100).iterator(), Function::identity, singleThread, 2, true, 10)) {
+                results = Lists.newArrayList(itr);
+            }
+
+            // Then
+            assertEquals(createItems(100), results);
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionForMissingExecutor() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelTransformIterator<Integer, Integer>(
+                Collections.<Integer>emptyIterator(), Function::identity, null, 2, true));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidMaxChunksInFlight() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelTransformIterator<Integer, Integer>(
+                Collections.<Integer>emptyIterator(), Function::identity, EXECUTOR, 0, true));
+    }
+
+    private static Iterator<Integer> createInfiniteSource(final AtomicInteger readCount) {
+        return new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return readCount.incrementAndGet();
+            }
+        };
+    }
+
+    private static List<Integer> createItems(final int numItems) {
+        final List<Integer> items = new ArrayList<>(numItems);
+        for (int i = 0; i < numItems; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.core.exception;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+/**
+ * A {@code ChunkedErrorFrame} is written as the last item of a chunked
+ * response when the results fail part way through, so a client can tell the
+ * failure apart from the end of the results. The {@link Error} is wrapped in
+ * a single field so it is not mistaken for a result item.
+ */
+public final class ChunkedErrorFrame {
+    public static final String ERROR_FIELD = "gafferChunkedError";
+
+    private final Error error;
+
+    @JsonCreator
+    public ChunkedErrorFrame(@JsonProperty(ERROR_FIELD) final Error error) {
+        this.error = error;
+    }
+
+    @JsonProperty(ERROR_FIELD)
+    public Error getError() {
+        return error;
+    }
+
+    /**
+     * Checks whether a chunk read from a chunked response is an error frame.
+     *
+     * @param chunk the chunk as a json tree
+     * @return true if the chunk is an error frame
+     */
+    public static boolean isErrorFrame(final JsonNode chunk) {
+        return null != chunk && chunk.isObject() && 1 == chunk.size() && chunk.has(ERROR_FIELD);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("error", error)
+                .build();
+    }
+}
@@ -16,25 +16,105 @@
 
 package uk.gov.gchq.gaffer.jobtracker;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.ICacheService;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * A {@code JobTracker} is an entry in a Gaffer cache service which is used to store
  * details of jobs submitted to the graph.
+ * <p>
+ * Alongside the job details the tracker maintains secondary indexes of the job
+ * ids with each {@link JobStatus}, held in a cache per status, and of the job
+ * ids submitted by each user. The user index has an entry per user and job
+ * id, spread over a fixed number of caches by user id, so adding or removing a
+ * job is a single independent write that does not need a lock.
+ * Queries look up the matching ids in an index and then fetch the job details
+ * in a single bulk request, rather than fetching every job in the cache. If the
+ * indexes are missing, for example because the jobs were written by an older
+ * version to a persistent cache, they are rebuilt from the jobs when the
+ * tracker is first used.
+ * </p>
+ * <p>
+ * A job's new index entries are written before its details and its old index
+ * entries are removed afterwards, so an index lookup never misses a job. The
+ * job details are checked again after they are fetched, so an index entry
+ * which is briefly out of date is ignored. Updates to the same job are
+ * serialised within a JVM.
+ * </p>
+ * <p>
+ * If a finished job time to live is set, jobs which have finished, failed or
+ * been cancelled are removed once they have been in that state for longer than
+ * the time to live, along with their index entries. Expired jobs are swept
+ * lazily as the tracker is used.
+ * </p>
  */
 public class JobTracker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobTracker.class);
+
+    static final String CACHE_NAME = "JobTracker";
+    static final String INDEX_VERSION_CACHE_NAME = CACHE_NAME + ".indexVersion";
+    private static final String STATUS_INDEX_PREFIX = CACHE_NAME + ".status.";
+    // The user index written by version 2, where each entry held the set of a user's job ids
+    private static final String LEGACY_USER_INDEX = CACHE_NAME + ".user";
+    private static final String USER_INDEX_PREFIX = CACHE_NAME + ".user.";
+    private static final int USER_INDEX_BUCKETS = 64;
+    private static final String INDEX_VERSION_KEY = "version";
+    private static final Integer INDEX_VERSION = 3;
+    private static final Object[] JOB_LOCKS = new Object[64];
+    private static final Set<JobStatus> FINISHED_STATUSES = EnumSet.of(JobStatus.FINISHED, JobStatus.FAILED, JobStatus.CANCELLED);
+    private static final long MAX_EXPIRY_CHECK_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final long finishedJobTtlMillis;
+    private final LongSupplier clock;
+    private final AtomicLong nextExpiryCheck = new AtomicLong();
+    private volatile boolean indexesChecked;
+
+    static {
+        for (int i = 0; i < JOB_LOCKS.length; i++) {
+            JOB_LOCKS[i] = new Object();
+        }
+    }
+
+    public JobTracker() {
+        this(0);
+    }
+
+    /**
+     * @param finishedJobTtlMillis the time in milliseconds to keep finished jobs for,
+     *                             or 0 to keep them until the tracker is cleared
+     */
+    public JobTracker(final long finishedJobTtlMillis) {
+        this(finishedJobTtlMillis, System::currentTimeMillis);
+    }
 
-    private static final String CACHE_NAME = "JobTracker";
+    JobTracker(final long finishedJobTtlMillis, final LongSupplier clock) {
+        if (finishedJobTtlMillis < 0) {
+            throw new IllegalArgumentException("finishedJobTtlMillis must not be negative");
+        }
+        this.finishedJobTtlMillis = finishedJobTtlMillis;
+        this.clock = clock;
+        this.nextExpiryCheck.set(clock.getAsLong() + getExpiryCheckInterval());
+    }
 
     /**
      * Add or update the job details relating to a job in the job tracker cache.
@@ -44,10 +124,38 @@ public class JobTracker {
      */
     public void addOrUpdateJob(final JobDetail jobDetail, final User user) {
         validateJobDetail(jobDetail);
-        try {
-            CacheServiceLoader.getService().putInCache(CACHE_NAME, jobDetail.getJobId(), jobDetail);
-        } catch (final CacheOperationException e) {
-            throw new RuntimeException("Failed to add jobDetail " + jobDetail.toString() + " to the cache", e);
+        ensureIndexes();
+        removeExpiredJobsIfDue();
+
+        final ICacheService service = CacheServiceLoader.getService();
+        final String jobId = jobDetail.getJobId();
+        synchronized (getJobLock(jobId)) {
+            try {
+                final JobDetail oldJobDetail = service.getFromCache(CACHE_NAME, jobId);
+                final JobStatus oldStatus = null != oldJobDetail ? oldJobDetail.getStatus() : null;
+                final JobStatus status = jobDetail.getStatus();
+                final String oldUserId = null != oldJobDetail ? oldJobDetail.getUserId() : null;
+                final String userId = jobDetail.getUserId();
+
+                // Index the job before it is stored, so a lookup by index never misses it
+                if (null != status && (oldStatus != status || FINISHED_STATUSES.contains(status))) {
+                    service.putInCache(STATUS_INDEX_PREFIX + status, jobId, clock.getAsLong());
+                }
+                if (null != userId && !userId.equals(oldUserId)) {
+                    service.putInCache(getUserIndex(userId), getUserIndexKey(userId, jobId), clock.getAsLong());
+                }
+
+                service.putInCache(CACHE_NAME, jobId, jobDetail);
+
+                if (null != oldStatus && oldStatus != status) {
+                    service.removeFromCache(STATUS_INDEX_PREFIX + oldStatus, jobId);
+                }
+                if (null != oldUserId && !oldUserId.equals(userId)) {
+                    service.removeFromCache(getUserIndex(oldUserId), getUserIndexKey(oldUserId, jobId));
+                }
+            } catch (final CacheOperationException e) {
+                throw new RuntimeException("Failed to add jobDetail " + jobDetail.toString() + " to the cache", e);
+            }
         }
     }
 
@@ -69,8 +177,45 @@ public class JobTracker {
      * @return a {@link CloseableIterable} containing all of the job details
      */
     public CloseableIterable<JobDetail> getAllJobs(final User user) {
+        removeExpiredJobsIfDue();
+        final Set<String> jobIds = CacheServiceLoader.getService().getAllKeysFromCache(CACHE_NAME);
+        return getJobs(jobIds, jd -> true);
+    }
 
-        return getAllJobsMatching(user, jd -> true);
+    /**
+     * Get all jobs submitted by the given user from the job tracker cache.
+     *
+     * @param userId the ID of the user who submitted the jobs
+     * @return a {@link CloseableIterable} containing the job details
+     */
+    public CloseableIterable<JobDetail> getAllJobsForUser(final String userId) {
+        if (null == userId) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        ensureIndexes();
+        removeExpiredJobsIfDue();
+        final String keyPrefix = getUserIndexKey(userId, "");
+        final List<String> jobIds = CacheServiceLoader.getService().<String, Long>getAllKeysFromCache(getUserIndex(userId)).stream()
+                .filter(key -> null != key && key.startsWith(keyPrefix))
+                .map(key -> key.substring(keyPrefix.length()))
+                .collect(Collectors.toList());
+        return getJobs(jobIds, jd -> userId.equals(jd.getUserId()));
+    }
+
+    /**
+     * Get all jobs with the given status from the job tracker cache.
+     *
+     * @param status the status of the jobs to get
+     * @return a {@link CloseableIterable} containing the job details
+     */
+    public CloseableIterable<JobDetail> getAllJobsWithStatus(final JobStatus status) {
+        if (null == status) {
+            throw new IllegalArgumentException("status is required");
+        }
+        ensureIndexes();
+        removeExpiredJobsIfDue();
+        final Set<String> jobIds = CacheServiceLoader.getService().getAllKeysFromCache(STATUS_INDEX_PREFIX + status);
+        return getJobs(jobIds, jd -> status == jd.getStatus());
     }
 
     /**
@@ -79,32 +224,178 @@ public class JobTracker {
      * @return a {@link CloseableIterable} containing all of the scheduled job details
      */
     public CloseableIterable<JobDetail> getAllScheduledJobs() {
-
-        return getAllJobsMatching(new User(), jd -> jd.getStatus().equals(JobStatus.SCHEDULED_PARENT));
+        return getAllJobsWithStatus(JobStatus.SCHEDULED_PARENT);
     }
 
-    private CloseableIterable<JobDetail> getAllJobsMatching(final User user, final Predicate<JobDetail> jobDetailPredicate) {
+    /**
+     * Remove any finished, failed or cancelled jobs which have been in that
+     * state for longer than the finished job time to live. This does nothing
+     * if no time to live has been set.
+     */
+    public void removeExpiredJobs() {
+        if (0 == finishedJobTtlMillis) {
+            return;
+        }
 
-        final Set<String> jobIds = CacheServiceLoader.getService().getAllKeysFromCache(CACHE_NAME);
-        final List<JobDetail> jobs = jobIds.stream()
-                .filter(Objects::nonNull)
-                .map(jobId -> getJob(jobId, user))
-                .filter(Objects::nonNull)
-                .filter(jobDetailPredicate)
-                .collect(Collectors.toList());
+        final ICacheService service = CacheServiceLoader.getService();
+        final long expiryTime = clock.getAsLong() - finishedJobTtlMillis;
+        for (final JobStatus status : FINISHED_STATUSES) {
+            final String indexName = STATUS_INDEX_PREFIX + status;
+            final Set<String> jobIds = service.getAllKeysFromCache(indexName);
+            if (jobIds.isEmpty()) {
+                continue;
+            }
 
-        return new WrappedCloseableIterable<>(jobs);
+            final Map<String, Long> finishedTimes = service.getAllFromCache(indexName, jobIds);
+            final List<String> expiredJobIds = finishedTimes.entrySet().stream()
+                    .filter(entry -> null != entry.getValue() && entry.getValue() <= expiryTime)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            if (expiredJobIds.isEmpty()) {
+                continue;
+            }
+
+            final Map<String, JobDetail> expiredJobs = service.getAllFromCache(CACHE_NAME, expiredJobIds);
+            for (final String jobId : expiredJobIds) {
+                final JobDetail jobDetail = expiredJobs.get(jobId);
+                if (null != jobDetail && null != jobDetail.getStatus() && status != jobDetail.getStatus()) {
+                    // The job has been updated since it was indexed, so only the stale index entry is removed
+                    service.removeFromCache(indexName, jobId);
+                    continue;
+                }
+                service.removeFromCache(CACHE_NAME, jobId);
+                service.removeFromCache(indexName, jobId);
+                if (null != jobDetail && null != jobDetail.getUserId()) {
+                    service.removeFromCache(getUserIndex(jobDetail.getUserId()), getUserIndexKey(jobDetail.getUserId(), jobId));
+                }
+            }
+            LOGGER.debug("Removed {} expired {} jobs from the job tracker", expiredJobIds.size(), status);
+        }
     }
 
     /**
      * Clear the job tracker cache.
      */
     public void clear() {
+        final ICacheService service = CacheServiceLoader.getService();
         try {
-            CacheServiceLoader.getService().clearCache(CACHE_NAME);
+            clearIndexes(service);
+            service.clearCache(CACHE_NAME);
+            service.putInCache(INDEX_VERSION_CACHE_NAME, INDEX_VERSION_KEY, INDEX_VERSION);
         } catch (final CacheOperationException e) {
             throw new RuntimeException("Failed to clear job tracker cache", e);
         }
+        indexesChecked = true;
+    }
+
+    /**
+     * Rebuild the status and user indexes from the jobs in the job tracker
+     * cache. The finished job time to live of each job restarts from now.
+     */
+    public void rebuildIndexes() {
+        final ICacheService service = CacheServiceLoader.getService();
+        try {
+            clearIndexes(service);
+            final List<String> jobIds = service.<String, JobDetail>getAllKeysFromCache(CACHE_NAME).stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            final Map<String, JobDetail> jobDetails = service.getAllFromCache(CACHE_NAME, jobIds);
+            final long now = clock.getAsLong();
+            for (final JobDetail jobDetail : jobDetails.values()) {
+                final String jobId = jobDetail.getJobId();
+                if (null != jobDetail.getStatus()) {
+                    service.putInCache(STATUS_INDEX_PREFIX + jobDetail.getStatus(), jobId, now);
+                }
+                if (null != jobDetail.getUserId()) {
+                    service.putInCache(getUserIndex(jobDetail.getUserId()), getUserIndexKey(jobDetail.getUserId(), jobId), now);
+                }
+            }
+            service.putInCache(INDEX_VERSION_CACHE_NAME, INDEX_VERSION_KEY, INDEX_VERSION);
+            LOGGER.info("Rebuilt the job tracker indexes for {} jobs", jobDetails.size());
+        } catch (final CacheOperationException e) {
+            throw new RuntimeException("Failed to rebuild the job tracker indexes", e);
+        }
+        indexesChecked = true;
+    }
+
+    private void ensureIndexes() {
+        if (indexesChecked) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!indexesChecked) {
+                if (!INDEX_VERSION.equals(CacheServiceLoader.getService().getFromCache(INDEX_VERSION_CACHE_NAME, INDEX_VERSION_KEY))) {
+                    rebuildIndexes();
+                }
+                indexesChecked = true;
+            }
+        }
+    }
+
+    private void clearIndexes(final ICacheService service) throws CacheOperationException {
+        service.clearCache(INDEX_VERSION_CACHE_NAME);
+        for (final JobStatus status : JobStatus.values()) {
+            service.clearCache(STATUS_INDEX_PREFIX + status);
+        }
+        for (int i = 0; i < USER_INDEX_BUCKETS; i++) {
+            service.clearCache(USER_INDEX_PREFIX + i);
+        }
+        service.clearCache(LEGACY_USER_INDEX);
+    }
+
+    /**
+     * @return the name of the cache holding the user index entries for the user
+     */
+    private static String getUserIndex(final String userId) {
+        return USER_INDEX_PREFIX + Math.floorMod(userId.hashCode(), USER_INDEX_BUCKETS);
+    }
+
+    /**
+     * @return the user index key for the user and job, which starts with the
+     * length of the user id so no user's keys are a prefix of another's
+     */
+    private static String getUserIndexKey(final String userId, final String jobId) {
+        return userId.length() + ":" + userId + ":" + jobId;
+    }
+
+    private static Object getJobLock(final String jobId) {
+        return JOB_LOCKS[Math.floorMod(jobId.hashCode(), JOB_LOCKS.length)];
+    }
+
+    private CloseableIterable<JobDetail> getJobs(final Collection<String> jobIds, final Predicate<JobDetail> jobDetailPredicate) {
+        final List<String> nonNullJobIds = new ArrayList<>(jobIds.size());
+        for (final String jobId : jobIds) {
+            if (null != jobId) {
+                nonNullJobIds.add(jobId);
+            }
+        }
+
+        final Map<String, JobDetail> jobDetails = CacheServiceLoader.getService().getAllFromCache(CACHE_NAME, nonNullJobIds);
+        // The indexes may briefly be out of step with the jobs, so each job is checked again
+        final List<JobDetail> jobs = nonNullJobIds.stream()
+                .map(jobDetails::get)
+                .filter(Objects::nonNull)
+                .filter(jobDetailPredicate)
+                .collect(Collectors.toList());
+
+        return new WrappedCloseableIterable<>(jobs);
+    }
+
+    private void removeExpiredJobsIfDue() {
+        if (0 == finishedJobTtlMillis) {
+            return;
+        }
+
+        final long now = clock.getAsLong();
+        final long nextCheck = nextExpiryCheck.get();
+        if (now >= nextCheck && nextExpiryCheck.compareAndSet(nextCheck, now + getExpiryCheckInterval())) {
+            removeExpiredJobs();
+        }
+    }
+
+    private long getExpiryCheckInterval() {
+        return 0 == finishedJobTtlMillis ? MAX_EXPIRY_CHECK_INTERVAL_MILLIS : Math.min(finishedJobTtlMillis, MAX_EXPIRY_CHECK_INTERVAL_MILLIS);
     }
 
     private void validateJobDetail(final JobDetail jobDetail) {
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationChainDAO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@code NamedOperationTemplate} is the compiled form of the operations in a
+ * {@link NamedOperationDetail}.
+ * <p>
+ * The operations JSON is parsed once into a tree and the location of each
+ * parameter, a string value or field name of the form {@code "${paramName}"},
+ * is recorded. A parameter used as a field name, such as a group in a view,
+ * must be bound to a string.
+ * Creating an {@link OperationChain} then only requires a copy of the tree with
+ * the parameter values bound into it, rather than replacing the parameters in
+ * the JSON string and parsing it again.
+ * <p>
+ * Templates are cached by the content of the operations and parameters, so a
+ * changed named operation is always recompiled. The cache is bounded and the
+ * least recently used templates are evicted.
+ */
+public final class NamedOperationTemplate {
+    private static final int MAX_CACHED_TEMPLATES = 1000;
+    private static final String PARAM_PREFIX = "${";
+    private static final String PARAM_SUFFIX = "}";
+
+    private static final Map<Key, NamedOperationTemplate> TEMPLATES = Collections.synchronizedMap(
+            new LinkedHashMap<Key, NamedOperationTemplate>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1843624541276543162L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Key, NamedOperationTemplate> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            });
+
+    private final ObjectMapper mapper;
+    private final JsonNode operations;
+    private final Map<String, ParameterDetail> parameters;
+    private final Map<String, JsonNode> defaultValues = new HashMap<>();
+    private final List<Slot> slots = new ArrayList<>();
+
+    private NamedOperationTemplate(final String operations, final Map<String, ParameterDetail> parameters) {
+        this.mapper = JSONSerialiser.getMapper();
+        this.parameters = null == parameters ? null : new HashMap<>(parameters);
+        try {
+            this.operations = mapper.readTree(operations);
+            if (null != parameters) {
+                for (final Map.Entry<String, ParameterDetail> parameter : this.parameters.entrySet()) {
+                    defaultValues.put(parameter.getKey(), toJsonNode(parameter.getValue().getDefaultValue()));
+                }
+            }
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+
+        if (null != parameters && !parameters.isEmpty()) {
+            findSlots(this.operations, new ArrayList<>());
+            // Field names are renamed last and deepest first, so the paths of the other slots still resolve
+            slots.sort(Comparator.comparing((Slot slot) -> slot.fieldName)
+                    .thenComparing(slot -> -slot.parentPath.size()));
+        }
+    }
+
+    /**
+     * Gets the compiled template for the given operations and parameters,
+     * compiling it if it is not already cached.
+     *
+     * @param operations the operation chain JSON
+     * @param parameters the parameter details
+     * @return the template
+     * @throws IllegalArgumentException if the operations are not valid JSON
+     */
+    public static NamedOperationTemplate getTemplate(final String operations, final Map<String, ParameterDetail> parameters) {
+        final Key key = new Key(operations, parameters);
+        NamedOperationTemplate template = TEMPLATES.get(key);
+        if (null == template || template.mapper != JSONSerialiser.getMapper()) {
+            template = new NamedOperationTemplate(operations, parameters);
+            TEMPLATES.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Removes the compiled template for the given named operation from the
+     * cache.
+     *
+     * @param namedOperation the named operation
+     */
+    public static void invalidate(final NamedOperationDetail namedOperation) {
+        if (null != namedOperation) {
+            TEMPLATES.remove(new Key(namedOperation.getOperations(), namedOperation.getParameters()));
+        }
+    }
+
+    /**
+     * Removes all compiled templates from the cache.
+     */
+    public static void invalidateAll() {
+        TEMPLATES.clear();
+    }
+
+    /**
+     * Creates the OperationChain with the default value bound to every
+     * parameter. If a parameter does not have a default, null is bound.
+     *
+     * @return The {@link OperationChain}
+     * @throws IllegalArgumentException if binding the parameters fails
+     */
+    public OperationChain getOperationChainWithDefaultParams() {
+        return bind(defaultValues);
+    }
+
+    /**
+     * Creates the OperationChain with the provided parameters bound to it.
+     * Default values are bound to any parameters that are not provided.
+     *
+     * @param executionParams the parameters for the {@link uk.gov.gchq.gaffer.operation.Operation} to be executed
+     * @return The {@link OperationChain}
+     * @throws IllegalArgumentException if binding the parameters fails
+     */
+    public OperationChain getOperationChain(final Map<String, Object> executionParams) {
+        if (null == parameters) {
+            return bind(defaultValues);
+        }
+
+        // First check all the parameters supplied are expected parameter names
+        if (null != executionParams && !parameters.keySet().containsAll(executionParams.keySet())) {
+            throw new IllegalArgumentException("Unexpected parameter name in NamedOperation");
+        }
+
+        final Map<String, JsonNode> values = new HashMap<>(parameters.size());
+        for (final Map.Entry<String, ParameterDetail> parameter : parameters.entrySet()) {
+            final String paramKey = parameter.getKey();
+            if (null != executionParams && executionParams.containsKey(paramKey)) {
+                try {
+                    final Object paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameter.getValue().getValueClass());
+                    values.put(paramKey, toJsonNode(paramObj));
+                } catch (final IOException e) {
+                    throw new IllegalArgumentException(e.getMessage());
+                }
+            } else if (!parameter.getValue().isRequired()) {
+                values.put(paramKey, defaultValues.get(paramKey));
+            } else {
+                throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
+            }
+        }
+
+        return bind(values);
+    }
+
+    private OperationChain bind(final Map<String, JsonNode> values) {
+        final JsonNode boundOperations;
+        if (slots.isEmpty()) {
+            boundOperations = operations;
+        } else {
+            boundOperations = operations.deepCopy();
+            for (final Slot slot : slots) {
+                slot.bind(boundOperations, values.get(slot.paramKey));
+            }
+        }
+
+        try {
+            return mapper.treeToValue(boundOperations, OperationChainDAO.class);
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    private JsonNode toJsonNode(final Object value) throws IOException {
+        return mapper.readTree(JSONSerialiser.serialise(value));
+    }
+
+    private void findSlots(final JsonNode node, final List<Object> path) {
+        if (node instanceof ObjectNode) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                final String paramKey = getParamKey(field.getKey());
+                if (null != paramKey) {
+                    slots.add(new Slot(paramKey, new ArrayList<>(path), field.getKey(), true));
+                }
+                findSlots(field.getKey(), field.getValue(), path);
+            }
+        } else if (node instanceof ArrayNode) {
+            for (int i = 0; i < node.size(); i++) {
+                findSlots(i, node.get(i), path);
+            }
+        }
+    }
+
+    private void findSlots(final Object step, final JsonNode node, final List<Object> path) {
+        final String paramKey = getParamKey(node);
+        if (null != paramKey) {
+            slots.add(new Slot(paramKey, new ArrayList<>(path), step, false));
+        } else if (node.isContainerNode()) {
+            path.add(step);
+            findSlots(node, path);
+            path.remove(path.size() - 1);
+        }
+    }
+
+    private String getParamKey(final JsonNode node) {
+        return node.isTextual() ? getParamKey(node.textValue()) : null;
+    }
+
+    private String getParamKey(final String text) {
+        if (text.startsWith(PARAM_PREFIX) && text.endsWith(PARAM_SUFFIX)) {
+            final String paramKey = text.substring(PARAM_PREFIX.length(), text.length() - PARAM_SUFFIX.length());
+            if (parameters.containsKey(paramKey)) {
+                return paramKey;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The location of a parameter in the operations tree. The path is made up
+     * of field names and array indices from the root to the parent node. If
+     * the parameter is a field name the step is that field name.
+     */
+    private static final class Slot {
+        private final String paramKey;
+        private final List<Object> parentPath;
+        private final Object step;
+        private final boolean fieldName;
+
+        private Slot(final String paramKey, final List<Object> parentPath, final Object step, final boolean fieldName) {
+            this.paramKey = paramKey;
+            this.parentPath = parentPath;
+            this.step = step;
+            this.fieldName = fieldName;
+        }
+
+        private void bind(final JsonNode root, final JsonNode value) {
+            JsonNode parent = root;
+            for (final Object pathStep : parentPath) {
+                parent = pathStep instanceof Integer ? parent.get((Integer) pathStep) : parent.get((String) pathStep);
+            }
+
+            if (fieldName) {
+                renameField((ObjectNode) parent, value);
+            } else if (step instanceof Integer) {
+                ((ArrayNode) parent).set((Integer) step, value);
+            } else {
+                ((ObjectNode) parent).set((String) step, value);
+            }
+        }
+
+        private void renameField(final ObjectNode parent, final JsonNode value) {
+            if (null == value || !value.isTextual()) {
+                throw new IllegalArgumentException("Parameter " + paramKey + " is used as a field name so its value must be a string");
+            }
+
+            // Rebuild the fields so the renamed field keeps its position
+            final List<Map.Entry<String, JsonNode>> fields = new ArrayList<>(parent.size());
+            parent.fields().forEachRemaining(fields::add);
+            parent.removeAll();
+            for (final Map.Entry<String, JsonNode> field : fields) {
+                parent.set(step.equals(field.getKey()) ? value.textValue() : field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String operations;
+        private final Map<String, ParameterDetail> parameters;
+
+        private Key(final String operations, final Map<String, ParameterDetail> parameters) {
+            this.operations = operations;
+            this.parameters = null == parameters ? null : new HashMap<>(parameters);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (null == obj || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            final Key key = (Key) obj;
+            return Objects.equals(operations, key.operations)
+                    && Objects.equals(parameters, key.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operations, parameters);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.jobtracker;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobTrackerTest {
+    private static final User USER_A = new User("userA");
+    private static final User USER_B = new User("userB");
+
+    private final AtomicLong time = new AtomicLong(1000L);
+
+    @BeforeAll
+    public static void setUpCache() {
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        CacheServiceLoader.initialise(properties);
+    }
+
+    @BeforeEach
+    public void before() {
+        new JobTracker().clear();
+    }
+
+    @Test
+    public void shouldGetJobsWithStatus() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        jobTracker.addOrUpdateJob(createJob("job1", USER_A, JobStatus.RUNNING), USER_A);
+        jobTracker.addOrUpdateJob(createJob("job2", USER_A, JobStatus.FINISHED), USER_A);
+        jobTracker.addOrUpdateJob(createJob("job3", USER_B, JobStatus.RUNNING), USER_B);
+
+        // When
+        final Set<String> runningJobIds = getJobIds(jobTracker.getAllJobsWithStatus(JobStatus.RUNNING));
+
+        // Then
+        assertEquals(Sets.newHashSet("job1", "job3"), runningJobIds);
+    }
+
+    @Test
+    public void shouldMoveJobBetweenStatusesWhenUpdated() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        jobTracker.addOrUpdateJob(createJob("job1", USER_A, JobStatus.RUNNING), USER_A);
+
+        // When
+        jobTracker.addOrUpdateJob(createJob("job1", USER_A, JobStatus.FAILED), USER_A);
+
+        // Then
+        assertEquals(Sets.newHashSet(), getJobIds(jobTracker.getAllJobsWithStatus(JobStatus.RUNNING)));
+        assertEquals(Sets.newHashSet("job1"), getJobIds(jobTracker.getAllJobsWithStatus(JobStatus.FAILED)));
+    }
+
+    @Test
+    public void shouldGetScheduledJobs() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        jobTracker.addOrUpdateJob(createJob("parent", USER_A, JobStatus.SCHEDULED_PARENT), USER_A);
+        jobTracker.addOrUpdateJob(createJob("child", USER_A, JobStatus.RUNNING), USER_A);
+
+        // When
+        final Set<String> scheduledJobIds = getJobIds(jobTracker.getAllScheduledJobs());
+
+        // Then
+        assertEquals(Sets.newHashSet("parent"), scheduledJobIds);
+    }
+
+    @Test
+    public void shouldGetJobsForUser() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        jobTracker.addOrUpdateJob(createJob("job1", USER_A, JobStatus.RUNNING), USER_A);
+        jobTracker.addOrUpdateJob(createJob("job2", USER_B, JobStatus.RUNNING), USER_B);
+        jobTracker.addOrUpdateJob(createJob("job3", USER_A, JobStatus.FINISHED), USER_A);
+
+        // When
+        final Set<String> userAJobIds = getJobIds(jobTracker.getAllJobsForUser(USER_A.getUserId()));
+
+        // Then
+        assertEquals(Sets.newHashSet("job1", "job3"), userAJobIds);
+        assertEquals(Sets.newHashSet("job1", "job2", "job3"), getJobIds(jobTracker.getAllJobs(USER_A)));
+    }
+
+    @Test
+    public void shouldNotGetJobsForUsersWhoseIdsStartWithTheUserId() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        final User user = new User("user");
+        final User userWithLongerId = new User("user:1");
+        jobTracker.addOrUpdateJob(createJob("job1", user, JobStatus.RUNNING), user);
+        jobTracker.addOrUpdateJob(createJob("job2", userWithLongerId, JobStatus.RUNNING), userWithLongerId);
+
+        // When
+        final Set<String> userJobIds = getJobIds(jobTracker.getAllJobsForUser(user.getUserId()));
+
+        // Then
+        assertEquals(Sets.newHashSet("job1"), userJobIds);
+        assertEquals(Sets.newHashSet("job2"), getJobIds(jobTracker.getAllJobsForUser(userWithLongerId.getUserId())));
+    }
+
+    @Test
+    public void shouldMoveJobBetweenUsersWhenUpdated() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        jobTracker.addOrUpdateJob(createJob("job1", USER_A, JobStatus.RUNNING), USER_A);
+        jobTracker.addOrUpdateJob(createJob("job2", USER_A, JobStatus.RUNNING), USER_A);
+
+        // When
+        jobTracker.addOrUpdateJob(createJob("job1", USER_B, JobStatus.RUNNING), USER_B);
+
+        // Then
+        assertEquals(Sets.newHashSet("job2"), getJobIds(jobTracker.getAllJobsForUser(USER_A.getUserId())));
+        assertEquals(Sets.newHashSet("job1"), getJobIds(jobTracker.getAllJobsForUser(USER_B.getUserId())));
+    }
+
+    @Test
+    public void shouldIndexAllJobsForUserWhenAddedConcurrently() throws InterruptedException {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final Set<String> expectedJobIds = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            final String jobId = "job" + i;
+            expectedJobIds.add(jobId);
+            executor.execute(() -> jobTracker.addOrUpdateJob(createJob(jobId, USER_A, JobStatus.RUNNING), USER_A));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(expectedJobIds, getJobIds(jobTracker.getAllJobsForUser(USER_A.getUserId())));
+    }
+
+    @Test
+    public void shouldClearJobsAndIndexes() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        jobTracker.addOrUpdateJob(createJob("job1", USER_A, JobStatus.RUNNING), USER_A);
+
+        // When
+        jobTracker.clear();
+
+        // Then
+        assertNull(jobTracker.getJob("job1", USER_A));
+        assertEquals(Sets.newHashSet(), getJobIds(jobTracker.getAllJobsWithStatus(JobStatus.RUNNING)));
+        assertEquals(Sets.newHashSet(), getJobIds(jobTracker.getAllJobsForUser(USER_A.getUserId())));
+    }
+
+    @Test
+    public void shouldRebuildMissingIndexesFromJobs() throws CacheOperationException {
+        // Given
+        final ICacheService service = CacheServiceLoader.getService();
+        service.clearCache(JobTracker.INDEX_VERSION_CACHE_NAME);
+        service.putInCache(JobTracker.CACHE_NAME, "parent", createJob("parent", USER_A, JobStatus.SCHEDULED_PARENT));
+        service.putInCache(JobTracker.CACHE_NAME, "child", createJob("child", USER_B, JobStatus.RUNNING));
+
+        // When
+        final JobTracker jobTracker = new JobTracker();
+
+        // Then
+        assertEquals(Sets.newHashSet("parent"), getJobIds(jobTracker.getAllScheduledJobs()));
+        assertEquals(Sets.newHashSet("child"), getJobIds(jobTracker.getAllJobsForUser(USER_B.getUserId())));
+    }
+
+    @Test
+    public void shouldRemoveFinishedJobsOnceTheirTimeToLiveHasPassed() {
+        // Given
+        final JobTracker jobTracker = new JobTracker(500L, time::get);
+        jobTracker.addOrUpdateJob(createJob("running", USER_A, JobStatus.RUNNING), USER_A);
+        jobTracker.addOrUpdateJob(createJob("finished", USER_A, JobStatus.FINISHED), USER_A);
+        time.addAndGet(400L);
+        jobTracker.addOrUpdateJob(createJob("cancelled", USER_A, JobStatus.CANCELLED), USER_A);
+
+        // When
+        time.addAndGet(200L);
+        final Set<String> jobIds = getJobIds(jobTracker.getAllJobs(USER_A));
+
+        // Then
+        assertEquals(Sets.newHashSet("running", "cancelled"), jobIds);
+        assertNull(jobTracker.getJob("finished", USER_A));
+        assertEquals(Sets.newHashSet("running", "cancelled"), getJobIds(jobTracker.getAllJobsForUser(USER_A.getUserId())));
+    }
+
+    @Test
+    public void shouldKeepFinishedJobsWhenNoTimeToLiveIsSet() {
+        // Given
+        final JobTracker jobTracker = new JobTracker(0L, time::get);
+        jobTracker.addOrUpdateJob(createJob("finished", USER_A, JobStatus.FINISHED), USER_A);
+
+        // When
+        time.addAndGet(Long.MAX_VALUE / 2);
+        jobTracker.removeExpiredJobs();
+
+        // Then
+        assertNotNull(jobTracker.getJob("finished", USER_A));
+    }
+
+    private static JobDetail createJob(final String jobId, final User user, final JobStatus status) {
+        return new JobDetail.Builder()
+                .jobId(jobId)
+                .user(user)
+                .status(status)
+                .build();
+    }
+
+    private static Set<String> getJobIds(final Iterable<JobDetail> jobDetails) {
+        final Set<String> jobIds = new HashSet<>();
+        jobDetails.forEach(jobDetail -> jobIds.add(jobDetail.getJobId()));
+        return jobIds;
+    }
+}
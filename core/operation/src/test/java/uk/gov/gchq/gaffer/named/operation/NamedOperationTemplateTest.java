@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NamedOperationTemplateTest {
+    private static final String OPERATIONS = "{\"operations\":[" +
+            "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\"}," +
+            "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\",\"resultLimit\":\"${limit}\",\"truncate\":\"${truncate}\"}" +
+            "]}";
+
+    @AfterEach
+    public void after() {
+        NamedOperationTemplate.invalidateAll();
+    }
+
+    @Test
+    public void shouldBindProvidedParameters() {
+        // Given
+        final NamedOperationTemplate template = NamedOperationTemplate.getTemplate(OPERATIONS, createParameters());
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", 5);
+        params.put("truncate", false);
+
+        // When
+        final OperationChain<?> opChain = template.getOperationChain(params);
+
+        // Then
+        assertEquals(2, opChain.getOperations().size());
+        assertTrue(opChain.getOperations().get(0) instanceof GetAllElements);
+        final Limit<?> limit = (Limit<?>) opChain.getOperations().get(1);
+        assertEquals(5, (int) limit.getResultLimit());
+        assertEquals(false, limit.getTruncate());
+    }
+
+    @Test
+    public void shouldBindDefaultValuesForMissingParameters() {
+        // Given
+        final NamedOperationTemplate template = NamedOperationTemplate.getTemplate(OPERATIONS, createParameters());
+
+        // When
+        final OperationChain<?> opChain = template.getOperationChain(Collections.singletonMap("limit", 5));
+
+        // Then
+        final Limit<?> limit = (Limit<?>) opChain.getOperations().get(1);
+        assertEquals(5, (int) limit.getResultLimit());
+        assertEquals(true, limit.getTruncate());
+    }
+
+    @Test
+    public void shouldNotShareBoundParametersBetweenOperationChains() {
+        // Given
+        final NamedOperationTemplate template = NamedOperationTemplate.getTemplate(OPERATIONS, createParameters());
+
+        // When
+        final OperationChain<?> opChain1 = template.getOperationChain(Collections.singletonMap("limit", 5));
+        final OperationChain<?> opChain2 = template.getOperationChain(Collections.singletonMap("limit", 7));
+
+        // Then
+        assertEquals(5, (int) ((Limit<?>) opChain1.getOperations().get(1)).getResultLimit());
+        assertEquals(7, (int) ((Limit<?>) opChain2.getOperations().get(1)).getResultLimit());
+        assertNotSame(opChain1.getOperations().get(1), opChain2.getOperations().get(1));
+    }
+
+    @Test
+    public void shouldThrowExceptionForMissingRequiredParameter() {
+        // Given
+        final NamedOperationTemplate template = NamedOperationTemplate.getTemplate(OPERATIONS, createParameters());
+
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> template.getOperationChain(null));
+        assertEquals("Missing parameter limit with no default", exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnexpectedParameter() {
+        // Given
+        final NamedOperationTemplate template = NamedOperationTemplate.getTemplate(OPERATIONS, createParameters());
+
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> template.getOperationChain(Collections.singletonMap("unknown", 1)));
+        assertEquals("Unexpected parameter name in NamedOperation", exception.getMessage());
+    }
+
+    @Test
+    public void shouldReuseTemplateForTheSameOperationsAndParameters() {
+        // When
+        final NamedOperationTemplate template1 = NamedOperationTemplate.getTemplate(OPERATIONS, createParameters());
+        final NamedOperationTemplate template2 = NamedOperationTemplate.getTemplate(new String(OPERATIONS), createParameters());
+
+        // Then
+        assertSame(template1, template2);
+    }
+
+    @Test
+    public void shouldRecompileTemplateAfterItIsInvalidated() {
+        // Given
+        final NamedOperationDetail namedOperation = new NamedOperationDetail.Builder()
+                .operationName("test")
+                .operationChain(OPERATIONS)
+                .parameters(createParameters())
+                .build();
+        final NamedOperationTemplate template = namedOperation.getOperationTemplate();
+
+        // When
+        NamedOperationTemplate.invalidate(namedOperation);
+
+        // Then
+        assertNotSame(template, namedOperation.getOperationTemplate());
+    }
+
+    @Test
+    public void shouldBindParameterUsedAsFieldName() {
+        // Given
+        final String operations = "{\"operations\":[" +
+                "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\"," +
+                "\"view\":{\"entities\":{\"${group}\":{\"properties\":[\"${property}\"]}}}}" +
+                "]}";
+        final Map<String, ParameterDetail> parameters = new HashMap<>();
+        parameters.put("group", new ParameterDetail.Builder()
+                .description("the group")
+                .valueClass(String.class)
+                .defaultValue("BasicEntity")
+                .build());
+        parameters.put("property", new ParameterDetail.Builder()
+                .description("the property")
+                .valueClass(String.class)
+                .defaultValue("count")
+                .build());
+        final NamedOperationTemplate template = NamedOperationTemplate.getTemplate(operations, parameters);
+
+        // When
+        final OperationChain<?> opChain = template.getOperationChain(Collections.singletonMap("group", "OtherEntity"));
+
+        // Then
+        final View view = ((GetAllElements) opChain.getOperations().get(0)).getView();
+        assertEquals(Collections.singleton("OtherEntity"), view.getEntityGroups());
+        assertEquals(Collections.singleton("count"), view.getEntity("OtherEntity").getProperties());
+    }
+
+    @Test
+    public void shouldThrowExceptionForNonStringParameterUsedAsFieldName() {
+        // Given
+        final String operations = "{\"operations\":[" +
+                "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\"," +
+                "\"view\":{\"entities\":{\"${group}\":{}}}}" +
+                "]}";
+        final Map<String, ParameterDetail> parameters = Collections.singletonMap("group", new ParameterDetail.Builder()
+                .description("the group")
+                .valueClass(Integer.class)
+                .defaultValue(1)
+                .build());
+        final NamedOperationTemplate template = NamedOperationTemplate.getTemplate(operations, parameters);
+
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> template.getOperationChain(null));
+        assertEquals("Parameter group is used as a field name so its value must be a string", exception.getMessage());
+    }
+
+    private Map<String, ParameterDetail> createParameters() {
+        final Map<String, ParameterDetail> parameters = new HashMap<>();
+        parameters.put("limit", new ParameterDetail.Builder()
+                .description("the limit")
+                .valueClass(Integer.class)
+                .required(true)
+                .build());
+        parameters.put("truncate", new ParameterDetail.Builder()
+                .description("whether to truncate")
+                .valueClass(Boolean.class)
+                .defaultValue(true)
+                .build());
+        return parameters;
+    }
+}
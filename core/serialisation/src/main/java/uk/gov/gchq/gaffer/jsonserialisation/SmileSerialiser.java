@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A {@code SmileSerialiser} serialises objects to and from Smile, the binary
+ * form of JSON. It uses the {@link com.fasterxml.jackson.databind.ObjectMapper}
+ * from the {@link JSONSerialiser}, so an object is serialised with the same
+ * structure, type ids and modules as it would be in JSON, only the encoding is
+ * different.
+ */
+public final class SmileSerialiser {
+    public static final String MEDIA_TYPE = "application/x-jackson-smile";
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    static {
+        // The caller owns the streams passed in
+        SMILE_FACTORY.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private SmileSerialiser() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Creates a generator that writes Smile to the output stream. Objects can
+     * be written to it with {@link JSONSerialiser#serialise(Object, JsonGenerator, boolean, String...)}.
+     * Closing the generator does not close the output stream.
+     *
+     * @param outputStream the output stream to write to
+     * @return the generator
+     * @throws IOException if the generator cannot be created
+     */
+    public static JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+        return SMILE_FACTORY.createGenerator(outputStream);
+    }
+
+    /**
+     * @param object          the object to be serialised
+     * @param fieldsToExclude optional property names to exclude
+     * @return the provided object serialised into Smile bytes
+     * @throws SerialisationException if the object fails to be serialised
+     */
+    public static byte[] serialise(final Object object, final String... fieldsToExclude) throws SerialisationException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        serialise(object, outputStream, fieldsToExclude);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * @param object          the object to be serialised
+     * @param outputStream    the output stream to write the Smile bytes to, this is not closed
+     * @param fieldsToExclude optional property names to exclude
+     * @throws SerialisationException if the object fails to be serialised
+     */
+    public static void serialise(final Object object, final OutputStream outputStream, final String... fieldsToExclude) throws SerialisationException {
+        try (final JsonGenerator generator = createGenerator(outputStream)) {
+            JSONSerialiser.serialise(object, generator, false, fieldsToExclude);
+        } catch (final IOException e) {
+            throw new SerialisationException("Failed to serialise object to smile: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param bytes the Smile bytes of the object to deserialise
+     * @param clazz the class of the object to deserialise
+     * @param <T>   the type of the object
+     * @return the deserialised object
+     * @throws SerialisationException if the bytes fail to deserialise
+     */
+    public static <T> T deserialise(final byte[] bytes, final Class<T> clazz) throws SerialisationException {
+        try (final JsonParser parser = SMILE_FACTORY.createParser(bytes)) {
+            return JSONSerialiser.getMapper().readValue(parser, clazz);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param bytes the Smile bytes of the object to deserialise
+     * @param type  the type reference of the object to deserialise
+     * @param <T>   the type of the object
+     * @return the deserialised object
+     * @throws SerialisationException if the bytes fail to deserialise
+     */
+    public static <T> T deserialise(final byte[] bytes, final TypeReference<T> type) throws SerialisationException {
+        return deserialise(new ByteArrayInputStream(bytes), type);
+    }
+
+    /**
+     * Deserialises an object directly from a stream of Smile bytes, without
+     * reading the whole stream into memory first. The stream is closed.
+     *
+     * @param stream the {@link InputStream} containing the Smile bytes of the object to deserialise
+     * @param type   the type reference of the object to deserialise
+     * @param <T>    the type of the object
+     * @return the deserialised object
+     * @throws SerialisationException if the bytes fail to deserialise
+     */
+    public static <T> T deserialise(final InputStream stream, final TypeReference<T> type) throws SerialisationException {
+        try (final InputStream stream2 = stream;
+             final JsonParser parser = SMILE_FACTORY.createParser(stream2)) {
+            return JSONSerialiser.getMapper().readValue(parser, type);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+}
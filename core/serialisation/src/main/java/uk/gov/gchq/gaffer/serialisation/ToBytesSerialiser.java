@@ -18,6 +18,9 @@ package uk.gov.gchq.gaffer.serialisation;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * A class that implements this interface is responsible for serialising an
  * object of class T to a byte array, and for deserialising it back again.
@@ -50,6 +53,30 @@ public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
     @Override
     byte[] serialise(final T object) throws SerialisationException;
 
+    /**
+     * Serialise some object and write the serialised bytes to the given stream.
+     * The bytes written are the same as those returned by {@link #serialise(Object)}.
+     * <p>
+     * The default implementation writes the result of {@link #serialise(Object)}.
+     * Serialisers can override this to write directly to the stream without
+     * creating an intermediate {@code byte[]}. Unless the serialiser class is
+     * final, the override should only do so for instances of that exact class
+     * and use this default otherwise, so a subclass that changes
+     * {@link #serialise(Object)} still writes its own bytes.
+     *
+     * @param object the object to be serialised
+     * @param out    the stream to write the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise or the bytes cannot be written
+     */
+    default void serialise(final T object, final OutputStream out) throws SerialisationException {
+        final byte[] bytes = serialise(object);
+        try {
+            out.write(bytes);
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to write serialised bytes to output stream", e);
+        }
+    }
+
     /**
      * @param allBytes The bytes to be decoded into characters
      * @param offset   The index of the first byte to decode
@@ -19,6 +19,9 @@ import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesViaStringDeserialiser;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * A {@code StringSerialiser} is used to serialise {@link String}s.
  */
@@ -40,6 +43,56 @@ public class StringSerialiser extends ToBytesViaStringDeserialiser<String> {
         return object;
     }
 
+    /**
+     * Writes the UTF-8 bytes of the string directly to the stream, one
+     * character at a time, rather than creating a {@code byte[]} copy of the
+     * string first. As with {@link String#getBytes(String)}, unpaired
+     * surrogates are replaced with '?'.
+     * If a charset other than UTF-8 has been set, or this is a subclass, this
+     * falls back to the default implementation.
+     *
+     * @param object the string to be serialised
+     * @param out    the stream to write the serialised bytes to
+     * @throws SerialisationException if the bytes cannot be written
+     */
+    @Override
+    public void serialise(final String object, final OutputStream out) throws SerialisationException {
+        if (getClass() != StringSerialiser.class || !CommonConstants.UTF_8.equals(getCharset())) {
+            super.serialise(object, out);
+            return;
+        }
+        if (null == object) {
+            return;
+        }
+
+        try {
+            final int length = object.length();
+            for (int i = 0; i < length; i++) {
+                final char c = object.charAt(i);
+                if (c < 0x80) {
+                    out.write(c);
+                } else if (c < 0x800) {
+                    out.write(0xc0 | (c >> 6));
+                    out.write(0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(object.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, object.charAt(++i));
+                    out.write(0xf0 | (codePoint >> 18));
+                    out.write(0x80 | ((codePoint >> 12) & 0x3f));
+                    out.write(0x80 | ((codePoint >> 6) & 0x3f));
+                    out.write(0x80 | (codePoint & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    out.write('?');
+                } else {
+                    out.write(0xe0 | (c >> 12));
+                    out.write(0x80 | ((c >> 6) & 0x3f));
+                    out.write(0x80 | (c & 0x3f));
+                }
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to write serialised bytes to output stream", e);
+        }
+    }
+
     @Override
     protected String deserialiseString(final String value) throws SerialisationException {
         return value;
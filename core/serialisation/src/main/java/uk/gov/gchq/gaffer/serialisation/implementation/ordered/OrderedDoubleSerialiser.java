@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.OutputStream;
+
 /**
  * An {@code OrderedDoubleSerialser} serialises a {@link Double} to
  * an array of bytes by directly converting the double to a raw long and
@@ -32,24 +34,26 @@ public class OrderedDoubleSerialiser implements ToBytesSerialiser<Double> {
 
     @Override
     public byte[] serialise(final Double object) {
-        long l = Double.doubleToRawLongBits(object);
-        if (l < 0) {
-            l = ~l;
-        } else {
-            l = l ^ 0x8000000000000000L;
+        return LONG_SERIALISER.serialise(toOrderedLong(object));
+    }
+
+    @Override
+    public void serialise(final Double object, final OutputStream out) throws SerialisationException {
+        if (getClass() != OrderedDoubleSerialiser.class) {
+            ToBytesSerialiser.super.serialise(object, out);
+            return;
         }
-        return LONG_SERIALISER.serialise(l);
+        LONG_SERIALISER.serialise(toOrderedLong(object), out);
+    }
+
+    @Override
+    public Double deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return fromOrderedLong(LONG_SERIALISER.deserialise(allBytes, offset, length));
     }
 
     @Override
     public Double deserialise(final byte[] bytes) throws SerialisationException {
-        long l = LONG_SERIALISER.deserialise(bytes);
-        if (l < 0) {
-            l = l ^ 0x8000000000000000L;
-        } else {
-            l = ~l;
-        }
-        return Double.longBitsToDouble(l);
+        return fromOrderedLong(LONG_SERIALISER.deserialise(bytes));
     }
 
     @Override
@@ -81,4 +85,19 @@ public class OrderedDoubleSerialiser implements ToBytesSerialiser<Double> {
     public int hashCode() {
         return OrderedDoubleSerialiser.class.getName().hashCode();
     }
+
+    private static long toOrderedLong(final Double object) {
+        final long l = Double.doubleToRawLongBits(object);
+        if (l < 0) {
+            return ~l;
+        }
+        return l ^ 0x8000000000000000L;
+    }
+
+    private static Double fromOrderedLong(final long l) {
+        if (l < 0) {
+            return Double.longBitsToDouble(l ^ 0x8000000000000000L);
+        }
+        return Double.longBitsToDouble(~l);
+    }
 }
@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.OutputStream;
+
 /**
  * An {@code OrderedFloatSerialser} serialises a {@link Float} to
  * an array of bytes by directly converting the float to a raw int and
@@ -32,24 +34,26 @@ public class OrderedFloatSerialiser implements ToBytesSerialiser<Float> {
 
     @Override
     public byte[] serialise(final Float object) {
-        int i = Float.floatToRawIntBits(object);
-        if (i < 0) {
-            i = ~i;
-        } else {
-            i = i ^ 0x80000000;
+        return INTEGER_SERIALISER.serialise(toOrderedInt(object));
+    }
+
+    @Override
+    public void serialise(final Float object, final OutputStream out) throws SerialisationException {
+        if (getClass() != OrderedFloatSerialiser.class) {
+            ToBytesSerialiser.super.serialise(object, out);
+            return;
         }
-        return INTEGER_SERIALISER.serialise(i);
+        INTEGER_SERIALISER.serialise(toOrderedInt(object), out);
+    }
+
+    @Override
+    public Float deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return fromOrderedInt(INTEGER_SERIALISER.deserialise(allBytes, offset, length));
     }
 
     @Override
     public Float deserialise(final byte[] bytes) throws SerialisationException {
-        int i = INTEGER_SERIALISER.deserialise(bytes);
-        if (i < 0) {
-            i = i ^ 0x80000000;
-        } else {
-            i = ~i;
-        }
-        return Float.intBitsToFloat(i);
+        return fromOrderedInt(INTEGER_SERIALISER.deserialise(bytes));
     }
 
     @Override
@@ -81,4 +85,19 @@ public class OrderedFloatSerialiser implements ToBytesSerialiser<Float> {
     public int hashCode() {
         return OrderedFloatSerialiser.class.getName().hashCode();
     }
+
+    private static int toOrderedInt(final Float object) {
+        final int i = Float.floatToRawIntBits(object);
+        if (i < 0) {
+            return ~i;
+        }
+        return i ^ 0x80000000;
+    }
+
+    private static Float fromOrderedInt(final int i) {
+        if (i < 0) {
+            return Float.intBitsToFloat(i ^ 0x80000000);
+        }
+        return Float.intBitsToFloat(~i);
+    }
 }
@@ -19,6 +19,9 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * An {@code OrderedIntegerSerialser} serialises a {@link Integer} to
  * an array of bytes. This serialiser preserves ordering.
@@ -30,47 +33,57 @@ public class OrderedIntegerSerialiser implements ToBytesSerialiser<Integer> {
 
     @Override
     public byte[] serialise(final Integer object) {
-        final Integer signedI = object ^ 0x80000000;
-        int shift = 56;
-        int prefix = (signedI.intValue()) < 0 ? 255 : 0;
+        final int signedI = object ^ 0x80000000;
+        final int length = getLength(signedI);
+        final byte[] ret = new byte[length + 1];
+        ret[0] = getLengthByte(signedI, length);
+        for (int index = 1; index <= length; index++) {
+            ret[index] = (byte) (signedI >> ((length - index) << 3));
+        }
+        return ret;
+    }
 
-        int index;
-        for (index = 0; index < 4 && (signedI.intValue() >> shift & 255) == prefix; ++index) {
-            shift -= 8;
+    @Override
+    public void serialise(final Integer object, final OutputStream out) throws SerialisationException {
+        if (getClass() != OrderedIntegerSerialiser.class) {
+            ToBytesSerialiser.super.serialise(object, out);
+            return;
         }
+        final int signedI = object ^ 0x80000000;
+        final int length = getLength(signedI);
+        try {
+            out.write(getLengthByte(signedI, length));
+            for (int index = 1; index <= length; index++) {
+                out.write(signedI >> ((length - index) << 3));
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to write serialised bytes to output stream", e);
+        }
+    }
 
-        byte[] ret = new byte[5 - index];
-        ret[0] = (byte) (4 - index);
+    @Override
+    public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final byte lengthByte = allBytes[offset];
+        if (lengthByte < 0 || lengthByte > 8) {
+            throw new SerialisationException("Unexpected length " + (255 & lengthByte));
+        }
 
-        for (index = 1; index < ret.length; ++index) {
-            ret[index] = (byte) (signedI.intValue() >> shift);
-            shift -= 8;
+        int i = 0;
+        int shift = 0;
+        for (int idx = offset + length - 1; idx > offset; idx--) {
+            i += (allBytes[idx] & 255) << shift;
+            shift += 8;
         }
 
-        if (signedI.intValue() < 0) {
-            ret[0] = (byte) (8 - ret[0]);
+        if (lengthByte > 4) {
+            i |= -1 << ((8 - lengthByte) << 3);
         }
-        return ret;
+        return i ^ 0x80000000;
     }
 
     @Override
     public Integer deserialise(final byte[] bytes) throws SerialisationException {
-        if (bytes[0] >= 0 && bytes[0] <= 8) {
-            int i = 0;
-            int shift = 0;
-
-            for (int idx = bytes.length - 1; idx >= 0 + 1; --idx) {
-                i = (int) ((long) i + (((long) bytes[idx] & 255L) << shift));
-                shift += 8;
-            }
-
-            if (bytes[0] > 4) {
-                i |= -1 << (8 - bytes[0] << 3);
-            }
-            return Integer.valueOf(i) ^ 0x80000000;
-        } else {
-            throw new SerialisationException("Unexpected length " + (255 & bytes[0]));
-        }
+        return deserialise(bytes, 0, bytes.length);
     }
 
     @Override
@@ -102,4 +115,25 @@ public class OrderedIntegerSerialiser implements ToBytesSerialiser<Integer> {
     public int hashCode() {
         return OrderedIntegerSerialiser.class.getName().hashCode();
     }
+
+    /**
+     * @param signedI the int with its sign bit flipped
+     * @return the number of bytes needed once the leading 0x00 or 0xff bytes are dropped
+     */
+    private static int getLength(final int signedI) {
+        final int prefix = signedI < 0 ? 0xff : 0x00;
+        int shift = 24;
+        int index;
+        for (index = 0; index < 4; index++) {
+            if (((signedI >> shift) & 0xff) != prefix) {
+                break;
+            }
+            shift -= 8;
+        }
+        return 4 - index;
+    }
+
+    private static byte getLengthByte(final int signedI, final int length) {
+        return (byte) (signedI < 0 ? 8 - length : length);
+    }
 }
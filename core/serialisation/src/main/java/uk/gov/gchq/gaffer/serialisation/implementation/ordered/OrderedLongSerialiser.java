@@ -19,6 +19,9 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * An {@code OrderedLongSerialser} serialises a {@link Long} to
  * an array of bytes. This serialiser preserves ordering.
@@ -30,55 +33,60 @@ public class OrderedLongSerialiser implements ToBytesSerialiser<Long> {
 
     @Override
     public byte[] serialise(final Long object) {
-        final Long signedL = object ^ 0x8000000000000000L;
-        int shift = 56;
-        int index;
-        int prefix = signedL < 0 ? 0xff : 0x00;
-
-        for (index = 0; index < 8; index++) {
-            if (((signedL >> shift) & 0xff) != prefix) {
-                break;
-            }
-
-            shift -= 8;
+        final long signedL = object ^ 0x8000000000000000L;
+        final int length = getLength(signedL);
+        final byte[] ret = new byte[length + 1];
+        ret[0] = getLengthByte(signedL, length);
+        for (int index = 1; index <= length; index++) {
+            ret[index] = (byte) (signedL >> ((length - index) << 3));
         }
+        return ret;
+    }
 
-        byte[] ret = new byte[9 - index];
-        ret[0] = (byte) (8 - index);
-        for (index = 1; index < ret.length; index++) {
-            ret[index] = (byte) (signedL >> shift);
-            shift -= 8;
+    @Override
+    public void serialise(final Long object, final OutputStream out) throws SerialisationException {
+        if (getClass() != OrderedLongSerialiser.class) {
+            ToBytesSerialiser.super.serialise(object, out);
+            return;
         }
-
-        if (signedL < 0) {
-            ret[0] = (byte) (16 - ret[0]);
+        final long signedL = object ^ 0x8000000000000000L;
+        final int length = getLength(signedL);
+        try {
+            out.write(getLengthByte(signedL, length));
+            for (int index = 1; index <= length; index++) {
+                out.write((int) (signedL >> ((length - index) << 3)));
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to write serialised bytes to output stream", e);
         }
-
-        return ret;
     }
 
     @Override
-    public Long deserialise(final byte[] bytes) throws SerialisationException {
+    public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final byte lengthByte = allBytes[offset];
+        if (lengthByte < 0 || lengthByte > 16) {
+            throw new SerialisationException("Unexpected length " + (0xff & lengthByte));
+        }
 
         long l = 0;
         int shift = 0;
-
-        if (bytes[0] < 0 || bytes[0] > 16) {
-            throw new SerialisationException("Unexpected length " + (0xff & bytes[0]));
-        }
-
-        for (int i = bytes.length - 1; i >= 0 + 1; i--) {
-            l += (bytes[i] & 0xffL) << shift;
+        for (int i = offset + length - 1; i > offset; i--) {
+            l += (allBytes[i] & 0xffL) << shift;
             shift += 8;
         }
 
-        if (bytes[0] > 8) {
-            l |= -1L << ((16 - bytes[0]) << 3);
+        if (lengthByte > 8) {
+            l |= -1L << ((16 - lengthByte) << 3);
         }
 
         return l ^ 0x8000000000000000L;
     }
 
+    @Override
+    public Long deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
     @Override
     public boolean canHandle(final Class clazz) {
         return Long.class.equals(clazz);
@@ -108,4 +116,25 @@ public class OrderedLongSerialiser implements ToBytesSerialiser<Long> {
     public int hashCode() {
         return OrderedLongSerialiser.class.getName().hashCode();
     }
+
+    /**
+     * @param signedL the long with its sign bit flipped
+     * @return the number of bytes needed once the leading 0x00 or 0xff bytes are dropped
+     */
+    private static int getLength(final long signedL) {
+        final int prefix = signedL < 0 ? 0xff : 0x00;
+        int shift = 56;
+        int index;
+        for (index = 0; index < 8; index++) {
+            if (((signedL >> shift) & 0xff) != prefix) {
+                break;
+            }
+            shift -= 8;
+        }
+        return 8 - index;
+    }
+
+    private static byte getLengthByte(final long signedL, final int length) {
+        return (byte) (signedL < 0 ? 16 - length : length);
+    }
 }
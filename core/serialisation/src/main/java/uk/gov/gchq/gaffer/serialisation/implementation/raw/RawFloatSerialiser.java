@@ -19,6 +19,9 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedFloatSerialiser}.
  * RawFloatSerialiser serialises Floats into an IEEE floating point little-endian byte array.
@@ -46,6 +49,23 @@ public class RawFloatSerialiser implements ToBytesSerialiser<Float> {
         return out;
     }
 
+    @Override
+    public void serialise(final Float f, final OutputStream out) throws SerialisationException {
+        if (getClass() != RawFloatSerialiser.class) {
+            ToBytesSerialiser.super.serialise(f, out);
+            return;
+        }
+        final int value = Float.floatToRawIntBits(f);
+        try {
+            out.write(value & 255);
+            out.write((value >> 8) & 255);
+            out.write((value >> 16) & 255);
+            out.write((value >> 24) & 255);
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to write serialised bytes to output stream", e);
+        }
+    }
+
     @Override
     public Float deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
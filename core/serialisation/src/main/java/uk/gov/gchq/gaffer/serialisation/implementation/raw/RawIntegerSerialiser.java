@@ -19,6 +19,9 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedIntegerSerialiser}.
  * RawIntegerSerialiser serialises Integers into a little-endian byte array.
@@ -45,6 +48,22 @@ public class RawIntegerSerialiser implements ToBytesSerialiser<Integer> {
         return out;
     }
 
+    @Override
+    public void serialise(final Integer value, final OutputStream out) throws SerialisationException {
+        if (getClass() != RawIntegerSerialiser.class) {
+            ToBytesSerialiser.super.serialise(value, out);
+            return;
+        }
+        try {
+            out.write(value & 255);
+            out.write((value >> 8) & 255);
+            out.write((value >> 16) & 255);
+            out.write((value >> 24) & 255);
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to write serialised bytes to output stream", e);
+        }
+    }
+
     @Override
     public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
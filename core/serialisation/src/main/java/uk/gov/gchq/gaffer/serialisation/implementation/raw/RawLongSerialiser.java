@@ -19,6 +19,9 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser}.
  * RawLongSerialiser serialises Longs into a little-endian byte array.
@@ -49,6 +52,26 @@ public class RawLongSerialiser implements ToBytesSerialiser<Long> {
         return out;
     }
 
+    @Override
+    public void serialise(final Long value, final OutputStream out) throws SerialisationException {
+        if (getClass() != RawLongSerialiser.class) {
+            ToBytesSerialiser.super.serialise(value, out);
+            return;
+        }
+        try {
+            out.write((int) (value & 255));
+            out.write((int) (value >> 8) & 255);
+            out.write((int) (value >> 16) & 255);
+            out.write((int) (value >> 24) & 255);
+            out.write((int) (value >> 32) & 255);
+            out.write((int) (value >> 40) & 255);
+            out.write((int) (value >> 48) & 255);
+            out.write((int) (value >> 56) & 255);
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to write serialised bytes to output stream", e);
+        }
+    }
+
     @Override
     public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
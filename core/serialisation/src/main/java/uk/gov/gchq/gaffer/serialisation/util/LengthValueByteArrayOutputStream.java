@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * A {@link ByteArrayOutputStream} that length-value pairs can be serialised
+ * straight into, in the same format as {@link LengthValueBytesSerialiserUtil}.
+ * <p>
+ * Each value is written directly into this stream's buffer, after a single
+ * byte reserved for its length. Lengths up to 127 fit in that byte; longer
+ * values are moved along to make room for the longer length. No intermediate
+ * {@code byte[]} is created for the value, so the stream can be {@link #reset()}
+ * and reused for every element a writer serialises.
+ * <p>
+ * {@link #getThreadStream()} gives each thread a single stream to reuse, which
+ * is shared by all of the element converters used on that thread.
+ */
+public class LengthValueByteArrayOutputStream extends ByteArrayOutputStream {
+    private static final int MAX_SINGLE_BYTE_LENGTH = 127;
+    private static final int MAX_THREAD_STREAM_CAPACITY = 1024 * 1024;
+    private static final ThreadLocal<LengthValueByteArrayOutputStream> THREAD_STREAMS = new ThreadLocal<>();
+
+    /**
+     * Returns the current thread's stream, reset ready to serialise another
+     * element. The stream is shared by every caller on the thread, so it must
+     * be finished with before this is called again on the same thread. A
+     * stream that has grown larger than {@value #MAX_THREAD_STREAM_CAPACITY}
+     * bytes is replaced, so one large element does not hold on to memory.
+     *
+     * @return the reset stream
+     */
+    public static LengthValueByteArrayOutputStream getThreadStream() {
+        LengthValueByteArrayOutputStream stream = THREAD_STREAMS.get();
+        if (null == stream || stream.capacity() > MAX_THREAD_STREAM_CAPACITY) {
+            stream = new LengthValueByteArrayOutputStream();
+            THREAD_STREAMS.set(stream);
+        } else {
+            stream.reset();
+        }
+        return stream;
+    }
+
+    /**
+     * Serialises the value and writes its length followed by its bytes.
+     *
+     * @param serialiser the serialiser, if null an empty value is written
+     * @param value      the value to serialise
+     * @param <T>        the type of the value
+     * @throws SerialisationException if the value fails to serialise
+     */
+    public synchronized <T> void writeLengthAndValue(final ToBytesSerialiser<T> serialiser, final T value)
+            throws SerialisationException {
+        final int lengthPosition = count;
+        write(0);
+        final int valuePosition = count;
+        if (null != serialiser) {
+            if (null == value) {
+                final byte[] nullBytes = serialiser.serialiseNull();
+                write(nullBytes, 0, nullBytes.length);
+            } else {
+                serialiser.serialise(value, this);
+            }
+        }
+
+        final int length = count - valuePosition;
+        if (length <= MAX_SINGLE_BYTE_LENGTH) {
+            buf[lengthPosition] = (byte) length;
+        } else {
+            final byte[] lengthBytes = CompactRawSerialisationUtils.writeLong(length);
+            final int extraLengthBytes = lengthBytes.length - 1;
+            for (int i = 0; i < extraLengthBytes; i++) {
+                write(0);
+            }
+            System.arraycopy(buf, valuePosition, buf, valuePosition + extraLengthBytes, length);
+            System.arraycopy(lengthBytes, 0, buf, lengthPosition, lengthBytes.length);
+        }
+    }
+
+    /**
+     * @return the size of the underlying buffer, which does not shrink when the stream is reset
+     */
+    public synchronized int capacity() {
+        return buf.length;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.jsonSerialisation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
+import uk.gov.gchq.gaffer.serialisation.ParameterisedTestObject;
+import uk.gov.gchq.gaffer.serialisation.SimpleTestObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SmileSerialiserTest {
+
+    @Test
+    public void shouldSerialiseAndDeserialiseObject() throws SerialisationException {
+        // Given
+        final ParameterisedTestObject<Integer> object = new ParameterisedTestObject<>();
+        object.setX("Test");
+        object.setK(2);
+
+        // When
+        final byte[] bytes = SmileSerialiser.serialise(object);
+        final ParameterisedTestObject deserialised = SmileSerialiser.deserialise(bytes, ParameterisedTestObject.class);
+
+        // Then
+        assertEquals("Test", deserialised.getX());
+        assertEquals(2, deserialised.getK());
+    }
+
+    @Test
+    public void shouldDeserialiseTheSameValueAsJson() throws SerialisationException {
+        // Given
+        final SimpleTestObject object = new SimpleTestObject();
+        object.setX("Test");
+
+        // When
+        final SimpleTestObject fromSmile = SmileSerialiser.deserialise(SmileSerialiser.serialise(object), SimpleTestObject.class);
+        final SimpleTestObject fromJson = JSONSerialiser.deserialise(JSONSerialiser.serialise(object), SimpleTestObject.class);
+
+        // Then
+        assertEquals(fromJson, fromSmile);
+    }
+
+    @Test
+    public void shouldDeserialiseArrayWrittenWithGeneratorFromStream() throws IOException {
+        // Given
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (final JsonGenerator generator = SmileSerialiser.createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (final String item : Arrays.asList("a", "b", "c")) {
+                JSONSerialiser.serialise(item, generator, false);
+            }
+            generator.writeEndArray();
+        }
+
+        // When
+        final List<String> result = SmileSerialiser.deserialise(new ByteArrayInputStream(outputStream.toByteArray()), new TypeReference<List<String>>() {
+        });
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "c"), result);
+    }
+
+    @Test
+    public void shouldThrowExceptionForJsonBytes() {
+        assertThrows(SerialisationException.class, () -> SmileSerialiser.deserialise("{\"x\":\"Test\"}".getBytes(), SimpleTestObject.class));
+    }
+}
@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -51,6 +52,20 @@ public abstract class ToBytesSerialisationTest<T> extends SerialisationTest<T, b
         assertArrayEquals(pair.getSecond(), serialise, Arrays.toString(serialise));
     }
 
+    @Test
+    public void shouldSerialiseToOutputStreamWithHistoricValues() throws SerialisationException {
+        for (final Pair<T, byte[]> pair : historicSerialisationPairs) {
+            // Given
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            ((ToBytesSerialiser<T>) serialiser).serialise(pair.getFirst(), out);
+
+            // Then
+            assertArrayEquals(serialiser.serialise(pair.getFirst()), out.toByteArray());
+        }
+    }
+
     @Test
     public void shouldHaveValidEqualsMethodForToByteSerialiser() {
         final Serialiser<T, byte[]> serialiser2 = getSerialisation();
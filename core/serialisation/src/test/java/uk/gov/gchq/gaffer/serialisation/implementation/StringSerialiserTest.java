@@ -22,6 +22,9 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
 
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -45,6 +48,42 @@ public class StringSerialiserTest extends ToBytesSerialisationTest<String> {
         }
     }
 
+    @Test
+    public void shouldSerialiseMultiByteCharactersToOutputStream() throws SerialisationException {
+        // Given
+        final String[] values = {"caf\u00e9", "\u65e5\u672c", "\ud83d\ude00", "unpaired \ud800 surrogate"};
+
+        for (final String value : values) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            ((StringSerialiser) serialiser).serialise(value, out);
+
+            // Then
+            assertArrayEquals(serialiser.serialise(value), out.toByteArray());
+        }
+    }
+
+    @Test
+    public void shouldUseOverriddenSerialiseWhenSubclassSerialisesToOutputStream() throws SerialisationException {
+        // Given
+        final StringSerialiser upperCaseSerialiser = new StringSerialiser() {
+            private static final long serialVersionUID = 2425405416862536475L;
+
+            @Override
+            public byte[] serialise(final String object) throws SerialisationException {
+                return super.serialise(object.toUpperCase());
+            }
+        };
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        upperCaseSerialiser.serialise("value", out);
+
+        // Then
+        assertArrayEquals(serialiser.serialise("VALUE"), out.toByteArray());
+    }
+
     @Test
     public void cantSerialiseLongClass() {
         assertFalse(serialiser.canHandle(Long.class));
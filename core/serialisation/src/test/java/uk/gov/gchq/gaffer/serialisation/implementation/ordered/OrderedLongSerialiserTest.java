@@ -22,6 +22,9 @@ import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialisationTest;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.io.ByteArrayOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -79,6 +82,29 @@ public class OrderedLongSerialiserTest extends ToBytesSerialisationTest<Long> {
         }
     }
 
+    @Test
+    public void shouldSerialiseToStreamAndDeserialiseFromOffset() throws SerialisationException {
+        // Given
+        final ToBytesSerialiser<Long> toBytesSerialiser = (ToBytesSerialiser<Long>) serialiser;
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Long[] values = {Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE};
+
+        // When
+        for (final Long value : values) {
+            toBytesSerialiser.serialise(value, out);
+        }
+
+        // Then
+        final byte[] bytes = out.toByteArray();
+        int offset = 0;
+        for (final Long value : values) {
+            final int length = serialiser.serialise(value).length;
+            assertEquals(value, toBytesSerialiser.deserialise(bytes, offset, length));
+            offset += length;
+        }
+        assertEquals(bytes.length, offset);
+    }
+
     @Test
     public void cantSerialiseStringClass() {
         assertFalse(serialiser.canHandle(String.class));
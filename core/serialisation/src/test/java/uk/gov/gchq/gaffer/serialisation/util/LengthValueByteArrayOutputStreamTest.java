@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.BytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class LengthValueByteArrayOutputStreamTest {
+
+    @Test
+    public void shouldWriteTheSameBytesAsLengthValueBytesSerialiserUtil() throws IOException {
+        // Given
+        final ToBytesSerialiser<String> stringSerialiser = new StringSerialiser();
+        final ToBytesSerialiser<byte[]> bytesSerialiser = new BytesSerialiser();
+        final String shortString = "Some value";
+        final String longString = createString(300);
+        final byte[] longBytes = new byte[70000];
+        Arrays.fill(longBytes, (byte) 7);
+
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        LengthValueBytesSerialiserUtil.serialise(stringSerialiser, shortString, expected);
+        LengthValueBytesSerialiserUtil.serialise(stringSerialiser, longString, expected);
+        LengthValueBytesSerialiserUtil.serialise(stringSerialiser, null, expected);
+        LengthValueBytesSerialiserUtil.serialise(null, shortString, expected);
+        LengthValueBytesSerialiserUtil.serialise(bytesSerialiser, longBytes, expected);
+        LengthValueBytesSerialiserUtil.serialise(stringSerialiser, shortString, expected);
+
+        // When
+        final LengthValueByteArrayOutputStream stream = new LengthValueByteArrayOutputStream();
+        stream.writeLengthAndValue(stringSerialiser, shortString);
+        stream.writeLengthAndValue(stringSerialiser, longString);
+        stream.writeLengthAndValue(stringSerialiser, null);
+        stream.writeLengthAndValue(null, shortString);
+        stream.writeLengthAndValue(bytesSerialiser, longBytes);
+        stream.writeLengthAndValue(stringSerialiser, shortString);
+
+        // Then
+        assertArrayEquals(expected.toByteArray(), stream.toByteArray());
+    }
+
+    @Test
+    public void shouldBeReusableAfterReset() throws IOException {
+        // Given
+        final ToBytesSerialiser<String> serialiser = new StringSerialiser();
+        final LengthValueByteArrayOutputStream stream = new LengthValueByteArrayOutputStream();
+        stream.writeLengthAndValue(serialiser, createString(500));
+
+        // When
+        stream.reset();
+        stream.writeLengthAndValue(serialiser, "Some value 1");
+        stream.writeLengthAndValue(serialiser, "Some value 2");
+
+        // Then
+        final int[] delimiter = {0};
+        final byte[] bytes = stream.toByteArray();
+        assertEquals("Some value 1", LengthValueBytesSerialiserUtil.deserialise(serialiser, bytes, delimiter));
+        assertEquals("Some value 2", LengthValueBytesSerialiserUtil.deserialise(serialiser, bytes, delimiter));
+        assertEquals(bytes.length, delimiter[0]);
+    }
+
+    @Test
+    public void shouldReuseTheThreadStreamUnlessItHasGrownTooLarge() throws IOException {
+        // Given
+        final ToBytesSerialiser<byte[]> serialiser = new BytesSerialiser();
+        final LengthValueByteArrayOutputStream first = LengthValueByteArrayOutputStream.getThreadStream();
+        first.writeLengthAndValue(serialiser, new byte[10]);
+
+        // When
+        final LengthValueByteArrayOutputStream second = LengthValueByteArrayOutputStream.getThreadStream();
+        second.writeLengthAndValue(serialiser, new byte[2 * 1024 * 1024]);
+        final LengthValueByteArrayOutputStream third = LengthValueByteArrayOutputStream.getThreadStream();
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(second, third);
+        assertEquals(0, third.size());
+    }
+
+    private static String createString(final int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        return builder.toString();
+    }
+}
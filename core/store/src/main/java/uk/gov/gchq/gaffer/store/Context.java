@@ -79,6 +79,24 @@ public class Context {
         return new Context(this);
     }
 
+    /**
+     * Creates a clone of the current {@link Context} that keeps the job ID.
+     * Like {@link #shallowClone()}, the clone shares the user, config,
+     * variables and exporters of this context, but it has its own original
+     * operation chain so it can be used by another thread.
+     *
+     * @return cloned {@link Context} with the same job ID
+     */
+    public Context shallowCloneWithJobId() {
+        final Context clone = new Context(user, config, jobId);
+        clone.exporters.putAll(exporters);
+        clone.variables = variables;
+        if (null != originalOpChain) {
+            clone.originalOpChain = originalOpChain.shallowClone();
+        }
+        return clone;
+    }
+
     private Context(final User user, final Map<String, Object> config) {
         if (null == user) {
             throw new IllegalArgumentException("User is required");
@@ -157,7 +157,11 @@ import uk.gov.gchq.gaffer.store.operation.handler.output.ToSetHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToSingletonListHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToStreamHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToVerticesHandler;
+import uk.gov.gchq.gaffer.store.optimiser.AdjacentIdsOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.FunctionsToViewOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.LimitPushdownOptimiser;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.RedundantOutputOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
@@ -194,6 +198,7 @@ public abstract class Store {
     private final Class<? extends Serialiser> requiredParentSerialiserClass;
     private final Map<Class<? extends Operation>, OperationHandler> operationHandlers = new LinkedHashMap<>();
     protected final List<OperationChainOptimiser> opChainOptimisers = new ArrayList<>();
+    private final List<OperationChainOptimiser> defaultOpChainOptimisers = new ArrayList<>();
     protected final OperationChainValidator opChainValidator;
     private final SchemaOptimiser schemaOptimiser;
     private final Boolean addCoreOpHandlers;
@@ -281,6 +286,7 @@ public abstract class Store {
         optimiseSchema();
         validateSchemas();
         addOpHandlers();
+        addDefaultOperationChainOptimisers();
         addExecutorService(properties);
 
         if (properties.getJobTrackerEnabled() && !jobsRescheduled) {
@@ -500,7 +506,9 @@ public abstract class Store {
         @Override
         public void run() {
 
-            if ((jobTracker.getJob(jobDetail.getJobId(), context.getUser()).getStatus().equals(JobStatus.CANCELLED))) {
+            // A parent job which is no longer tracked has been cancelled and since expired
+            final JobDetail parentJobDetail = jobTracker.getJob(jobDetail.getJobId(), context.getUser());
+            if (null == parentJobDetail || JobStatus.CANCELLED.equals(parentJobDetail.getStatus())) {
                 Thread.currentThread().interrupt();
                 return;
             }
@@ -792,7 +800,7 @@ public abstract class Store {
 
     protected JobTracker createJobTracker() {
         if (properties.getJobTrackerEnabled()) {
-            return new JobTracker();
+            return new JobTracker(properties.getJobTrackerFinishedJobTtlMillis());
         }
         return null;
     }
@@ -813,6 +821,38 @@ public abstract class Store {
         opChainOptimisers.addAll(newOpChainOptimisers);
     }
 
+    /**
+     * Creates the store agnostic {@link OperationChainOptimiser}s enabled in the
+     * store properties. These are applied in order, before any optimisers added
+     * by the store implementation. They are all disabled unless enabled in the
+     * store properties.
+     *
+     * @return the default operation chain optimisers
+     */
+    protected List<OperationChainOptimiser> createDefaultOperationChainOptimisers() {
+        final List<OperationChainOptimiser> optimisers = new ArrayList<>();
+        if (properties.getFunctionsToViewOptimiserEnabled()) {
+            optimisers.add(new FunctionsToViewOptimiser(this));
+        }
+        if (properties.getAdjacentIdsOptimiserEnabled()) {
+            optimisers.add(new AdjacentIdsOptimiser());
+        }
+        if (properties.getRedundantOutputOptimiserEnabled()) {
+            optimisers.add(new RedundantOutputOptimiser());
+        }
+        if (properties.getLimitPushdownOptimiserEnabled()) {
+            optimisers.add(new LimitPushdownOptimiser());
+        }
+        return optimisers;
+    }
+
+    private void addDefaultOperationChainOptimisers() {
+        opChainOptimisers.removeAll(defaultOpChainOptimisers);
+        defaultOpChainOptimisers.clear();
+        defaultOpChainOptimisers.addAll(createDefaultOperationChainOptimisers());
+        opChainOptimisers.addAll(0, defaultOpChainOptimisers);
+    }
+
     /**
      * Any additional operations that a store can handle should be registered in
      * this method by calling addOperationHandler(...)
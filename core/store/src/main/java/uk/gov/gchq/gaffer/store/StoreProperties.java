@@ -68,6 +68,13 @@ public class StoreProperties implements Cloneable {
 
     public static final String JOB_TRACKER_ENABLED = "gaffer.store.job.tracker.enabled";
 
+    /**
+     * The time in milliseconds that finished, failed and cancelled jobs are kept
+     * in the job tracker. A value of 0 keeps them until the job tracker is cleared.
+     */
+    public static final String JOB_TRACKER_FINISHED_JOB_TTL_MILLIS = "gaffer.store.job.tracker.finished.ttlMillis";
+    public static final String JOB_TRACKER_FINISHED_JOB_TTL_MILLIS_DEFAULT = "0";
+
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
@@ -77,6 +84,15 @@ public class StoreProperties implements Cloneable {
 
     public static final String ADMIN_AUTH = "gaffer.store.admin.auth";
 
+    /**
+     * Enables or disables each of the store agnostic operation chain optimisers.
+     * They are all disabled by default.
+     */
+    public static final String OPTIMISER_LIMIT_PUSHDOWN = "gaffer.store.optimiser.limitPushdown";
+    public static final String OPTIMISER_FUNCTIONS_TO_VIEW = "gaffer.store.optimiser.functionsToView";
+    public static final String OPTIMISER_ADJACENT_IDS = "gaffer.store.optimiser.adjacentIds";
+    public static final String OPTIMISER_REDUNDANT_OUTPUT = "gaffer.store.optimiser.redundantOutput";
+
     /**
      * CSV of extra packages to be included in the reflection scanning.
      */
@@ -340,6 +356,46 @@ public class StoreProperties implements Cloneable {
         set(JOB_TRACKER_ENABLED, jobTrackerEnabled.toString());
     }
 
+    public Long getJobTrackerFinishedJobTtlMillis() {
+        return Long.parseLong(get(JOB_TRACKER_FINISHED_JOB_TTL_MILLIS, JOB_TRACKER_FINISHED_JOB_TTL_MILLIS_DEFAULT));
+    }
+
+    public void setJobTrackerFinishedJobTtlMillis(final Long finishedJobTtlMillis) {
+        set(JOB_TRACKER_FINISHED_JOB_TTL_MILLIS, finishedJobTtlMillis.toString());
+    }
+
+    public Boolean getLimitPushdownOptimiserEnabled() {
+        return Boolean.valueOf(get(OPTIMISER_LIMIT_PUSHDOWN, "false"));
+    }
+
+    public void setLimitPushdownOptimiserEnabled(final Boolean enabled) {
+        set(OPTIMISER_LIMIT_PUSHDOWN, enabled.toString());
+    }
+
+    public Boolean getFunctionsToViewOptimiserEnabled() {
+        return Boolean.valueOf(get(OPTIMISER_FUNCTIONS_TO_VIEW, "false"));
+    }
+
+    public void setFunctionsToViewOptimiserEnabled(final Boolean enabled) {
+        set(OPTIMISER_FUNCTIONS_TO_VIEW, enabled.toString());
+    }
+
+    public Boolean getAdjacentIdsOptimiserEnabled() {
+        return Boolean.valueOf(get(OPTIMISER_ADJACENT_IDS, "false"));
+    }
+
+    public void setAdjacentIdsOptimiserEnabled(final Boolean enabled) {
+        set(OPTIMISER_ADJACENT_IDS, enabled.toString());
+    }
+
+    public Boolean getRedundantOutputOptimiserEnabled() {
+        return Boolean.valueOf(get(OPTIMISER_REDUNDANT_OUTPUT, "false"));
+    }
+
+    public void setRedundantOutputOptimiserEnabled(final Boolean enabled) {
+        set(OPTIMISER_REDUNDANT_OUTPUT, enabled.toString());
+    }
+
     public String getSchemaClassName() {
         return get(SCHEMA_CLASS, Schema.class.getName());
     }
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.graph.Walk;
+import uk.gov.gchq.gaffer.data.graph.entity.EntityMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@code CompactWalkGraph} is the in-memory graph used by the streaming mode
+ * of the {@link GetWalksHandler}.
+ * <p>
+ * Each vertex is mapped to an int ordinal and, for each hop, the destinations
+ * of a vertex are held in an int array indexed by the ordinal of the source.
+ * The {@link Walk}s are then created lazily by an iterative depth-first search,
+ * so only the current path is held on the stack rather than every walk.
+ */
+class CompactWalkGraph {
+    private final Map<Object, Integer> vertexOrdinals = new HashMap<>();
+    private final List<Object> vertices = new ArrayList<>();
+    private final List<Hop> hops = new ArrayList<>();
+    private final List<EntityMap> entityMaps = new ArrayList<>();
+
+    /**
+     * Adds the results of a single GetElements operation to the graph. The
+     * edges are only added as a new hop if the graph has fewer than the
+     * required number of hops.
+     *
+     * @param results the results of the GetElements operation
+     * @param numHops the number of hops in a complete walk
+     * @return the seeds for the next GetElements operation
+     */
+    List<Object> addResults(final Iterable<Element> results, final int numHops) {
+        final Hop hop = new Hop();
+        final EntityMap entityMap = new EntityMap();
+
+        final List<Object> nextSeeds = new ArrayList<>();
+        for (final Element e : results) {
+            if (e instanceof Edge) {
+                final Edge edge = (Edge) e;
+                final Object nextSeed = edge.getAdjacentMatchedVertexValue();
+                nextSeeds.add(nextSeed);
+                hop.putEdge(getOrdinal(edge.getMatchedVertexValue()), getOrdinal(nextSeed), edge);
+            } else {
+                final Entity entity = (Entity) e;
+                entityMap.putEntity(entity.getVertex(), entity);
+            }
+        }
+
+        if (numHops > hops.size()) {
+            hops.add(hop);
+        }
+        entityMaps.add(entityMap);
+
+        return nextSeeds;
+    }
+
+    private int getOrdinal(final Object vertex) {
+        Integer ordinal = vertexOrdinals.get(vertex);
+        if (null == ordinal) {
+            ordinal = vertices.size();
+            vertexOrdinals.put(vertex, ordinal);
+            vertices.add(vertex);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Lazily creates the walks starting at each of the seeds, in seed order.
+     *
+     * @param seeds          the seeds to start walking from
+     * @param numHops        the number of hops in a complete walk
+     * @param includePartial true if walks that end before the final hop should be included
+     * @return the walks
+     */
+    CloseableIterable<Walk> getWalks(final Iterable<? extends EntityId> seeds, final int numHops, final boolean includePartial) {
+        return new CloseableIterable<Walk>() {
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public CloseableIterator<Walk> iterator() {
+                return new WalkIterator(seeds.iterator(), numHops, includePartial);
+            }
+        };
+    }
+
+    /**
+     * The edges of a single hop. The destination ordinals of each source
+     * ordinal are held in an int array, the edges between each pair of
+     * vertices are held in a map keyed by both ordinals.
+     */
+    private static final class Hop {
+        private int[][] destinations = new int[16][];
+        private int[] numDestinations = new int[16];
+        private final Map<Long, Set<Edge>> edges = new HashMap<>();
+
+        void putEdge(final int source, final int destination, final Edge edge) {
+            final Long key = toKey(source, destination);
+            Set<Edge> edgeSet = edges.get(key);
+            if (null == edgeSet) {
+                edgeSet = new HashSet<>(2);
+                edges.put(key, edgeSet);
+                addDestination(source, destination);
+            }
+            edgeSet.add(edge);
+        }
+
+        int getNumDestinations(final int source) {
+            return source < numDestinations.length ? numDestinations[source] : 0;
+        }
+
+        int getDestination(final int source, final int index) {
+            return destinations[source][index];
+        }
+
+        Set<Edge> getEdges(final int source, final int destination) {
+            final Set<Edge> edgeSet = edges.get(toKey(source, destination));
+            return null == edgeSet ? Collections.emptySet() : edgeSet;
+        }
+
+        private void addDestination(final int source, final int destination) {
+            if (source >= destinations.length) {
+                final int newLength = Math.max(source + 1, destinations.length << 1);
+                destinations = Arrays.copyOf(destinations, newLength);
+                numDestinations = Arrays.copyOf(numDestinations, newLength);
+            }
+
+            int[] sourceDestinations = destinations[source];
+            if (null == sourceDestinations) {
+                sourceDestinations = new int[2];
+                destinations[source] = sourceDestinations;
+            } else if (numDestinations[source] == sourceDestinations.length) {
+                sourceDestinations = Arrays.copyOf(sourceDestinations, sourceDestinations.length << 1);
+                destinations[source] = sourceDestinations;
+            }
+            sourceDestinations[numDestinations[source]++] = destination;
+        }
+
+        private static Long toKey(final int source, final int destination) {
+            return ((long) source << 32) | (destination & 0xFFFFFFFFL);
+        }
+    }
+
+    private final class WalkIterator implements CloseableIterator<Walk> {
+        private final Iterator<? extends EntityId> seeds;
+        private final int numHops;
+        private final boolean includePartial;
+
+        // The vertex ordinals of the current path and, for each position in the
+        // path, the index of the next destination to visit.
+        private final int[] path;
+        private final int[] nextDestination;
+        private int depth = -1;
+        private Walk next;
+
+        private WalkIterator(final Iterator<? extends EntityId> seeds, final int numHops, final boolean includePartial) {
+            this.seeds = seeds;
+            this.numHops = numHops;
+            this.includePartial = includePartial;
+            this.path = new int[numHops + 1];
+            this.nextDestination = new int[numHops + 1];
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next) {
+                if (depth < 0) {
+                    if (!seeds.hasNext()) {
+                        return false;
+                    }
+                    next = pushSeed(seeds.next().getVertex());
+                } else if (nextDestination[depth] < getNumDestinations(depth)) {
+                    next = push(getHop(depth).getDestination(path[depth], nextDestination[depth]++));
+                } else {
+                    depth--;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Walk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Walk walk = next;
+            next = null;
+            return walk;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * Starts a new path at a seed. A seed that is not in the graph has no
+         * edges, so it is a dead end and is not added to the graph.
+         *
+         * @param seed the seed vertex
+         * @return the completed walk, or null if there isn't one
+         */
+        private Walk pushSeed(final Object seed) {
+            final Integer ordinal = vertexOrdinals.get(seed);
+            if (null != ordinal) {
+                return push(ordinal);
+            }
+
+            if (0 == numHops || includePartial) {
+                final Walk.Builder builder = new Walk.Builder();
+                if (!entityMaps.isEmpty()) {
+                    builder.entities(entityMaps.get(0).get(seed));
+                }
+                return builder.build();
+            }
+            return null;
+        }
+
+        /**
+         * Adds a vertex to the current path. If the vertex completes a walk,
+         * or is a dead end, it is removed again straight away.
+         *
+         * @param vertex the vertex ordinal
+         * @return the completed walk, or null if there isn't one
+         */
+        private Walk push(final int vertex) {
+            depth++;
+            path[depth] = vertex;
+            nextDestination[depth] = 0;
+
+            Walk walk = null;
+            if (numHops == depth) {
+                walk = buildWalk();
+                depth--;
+            } else if (0 == getNumDestinations(depth)) {
+                if (includePartial) {
+                    walk = buildWalk();
+                }
+                depth--;
+            }
+            return walk;
+        }
+
+        private Hop getHop(final int position) {
+            return hops.get(position);
+        }
+
+        private int getNumDestinations(final int position) {
+            return position < hops.size() ? getHop(position).getNumDestinations(path[position]) : 0;
+        }
+
+        private Walk buildWalk() {
+            final Walk.Builder builder = new Walk.Builder();
+            for (int position = 0; position <= depth; position++) {
+                if (position < entityMaps.size()) {
+                    builder.entities(entityMaps.get(position).get(vertices.get(path[position])));
+                }
+                if (position < depth) {
+                    builder.edges(getHop(position).getEdges(path[position], path[position + 1]));
+                }
+            }
+            return builder.build();
+        }
+    }
+}
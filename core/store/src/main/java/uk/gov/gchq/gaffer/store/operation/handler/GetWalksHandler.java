@@ -17,10 +17,14 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.BatchedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -51,6 +55,11 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -78,9 +87,24 @@ import java.util.stream.Collectors;
  * (for applications where performance is paramount and any issues arising from
  * excessive memory usage can be mitigated, this flag can be disabled).
  * <p>
+ * The handler also has some settings to reduce the memory used by large
+ * GetWalks operations: <ul> <li>streaming - instead of building the adjacency
+ * maps and collecting every walk into a list, each vertex is mapped to an int
+ * ordinal and the walks are created lazily using an iterative depth-first
+ * search over compact adjacency arrays. The walks are returned in seed order,
+ * but the walks from each seed may be in a different order. The prune setting
+ * is not used in this mode.</li> <li>batchSize - split the seeds of each
+ * GetElements operation into batches of this size.</li> <li>batchParallelism -
+ * execute up to this many batches in parallel. The batches from all requests
+ * share a single pool of this many daemon threads, owned by the handler. The
+ * results of each batch are held in memory until all batches have
+ * completed.</li> </ul> Streaming is
+ * disabled and batching is not set by default.
+ * <p>
  * This operation handler can be modified by supplying an
  * operationDeclarations.json file in order to limit the maximum number of hops
- * permitted or to enable/disable the pruning feature.
+ * permitted, to enable/disable the pruning feature or to change the streaming
+ * and batch settings.
  * <p>
  * Currently the handler only supports creating {@link Walk}s which contain
  * {@link Edge}s.
@@ -88,6 +112,10 @@ import java.util.stream.Collectors;
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
     private Integer maxHops = null;
     private boolean prune = true;
+    private boolean streaming = false;
+    private Integer batchSize = null;
+    private Integer batchParallelism = null;
+    private ExecutorService batchExecutor;
 
     @Override
     public Iterable<Walk> doOperation(final GetWalks getWalks, final Context context, final Store store) throws OperationException {
@@ -115,6 +143,10 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             throw new OperationException("GetWalks operation contains " + hops + " hops. The maximum number of hops is: " + maxHops);
         }
 
+        if (streaming) {
+            return getWalksStreaming(getWalks, originalInput, resultLimit, context, store, hops);
+        }
+
         final AdjacencyMaps adjacencyMaps = prune && !getWalks.isIncludePartial() ? new PrunedAdjacencyMaps() : new SimpleAdjacencyMaps();
         final EntityMaps entityMaps = new SimpleEntityMaps();
 
@@ -125,12 +157,12 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             if (isWhileOperation(operation)) {
                 seeds = executeWhileOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, results -> addResults(results, hops, adjacencyMaps, entityMaps)
                 );
             } else {
                 seeds = executeOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, results -> addResults(results, hops, adjacencyMaps, entityMaps)
                 );
             }
         }
@@ -165,6 +197,62 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.prune = prune;
     }
 
+    public Boolean getStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(final Boolean streaming) {
+        this.streaming = null != streaming && streaming;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        if (null != batchSize && batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public Integer getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(final Integer batchParallelism) {
+        if (null != batchParallelism && batchParallelism < 1) {
+            throw new IllegalArgumentException("batchParallelism must be at least 1");
+        }
+        synchronized (this) {
+            this.batchParallelism = batchParallelism;
+            if (null != batchExecutor) {
+                batchExecutor.shutdown();
+                batchExecutor = null;
+            }
+        }
+    }
+
+    private Iterable<Walk> getWalksStreaming(final GetWalks getWalks,
+                                             final List<EntityId> originalInput,
+                                             final Integer resultLimit,
+                                             final Context context,
+                                             final Store store,
+                                             final int hops) throws OperationException {
+        final CompactWalkGraph graph = new CompactWalkGraph();
+
+        List<?> seeds = originalInput;
+        for (final OperationChain<Iterable<Element>> operation : getWalks.getOperations()) {
+            if (isWhileOperation(operation)) {
+                seeds = executeWhileOperation(operation, seeds, resultLimit, context, store, results -> graph.addResults(results, hops));
+            } else {
+                seeds = executeOperation(operation, seeds, resultLimit, context, store, results -> graph.addResults(results, hops));
+            }
+        }
+
+        return graph.getWalks(originalInput, hops, getWalks.isIncludePartial());
+    }
+
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
         return 1 == operation.getOperations().size()
                 && operation.getOperations().get(0) instanceof While;
@@ -175,9 +263,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                           final Integer resultLimit,
                                           final Context context,
                                           final Store store,
-                                          final int hops,
-                                          final AdjacencyMaps adjacencyMaps,
-                                          final EntityMaps entityMaps) throws OperationException {
+                                          final Function<Iterable<Element>, List<?>> addResults) throws OperationException {
         List<?> resultSeeds = seeds;
         final While whileOp = (While) operation.getOperations().get(0);
         if (null != whileOp.getOperation()) {
@@ -212,7 +298,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 resultSeeds = executeOperation(
                         (Output) whileOpClone.getOperation(),
                         resultSeeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, addResults
                 );
             }
         }
@@ -225,11 +311,14 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                      final Integer resultLimit,
                                      final Context context,
                                      final Store store,
-                                     final int hops,
-                                     final AdjacencyMaps adjacencyMaps,
-                                     final EntityMaps entityMaps) throws OperationException {
-        final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
+                                     final Function<Iterable<Element>, List<?>> addResults) throws OperationException {
+        return addResults.apply(executeOperation(operation, seeds, resultLimit, context, store));
+    }
 
+    private List<?> addResults(final Iterable<Element> results,
+                               final int hops,
+                               final AdjacencyMaps adjacencyMaps,
+                               final EntityMaps entityMaps) {
         final AdjacencyMap adjacencyMap = new AdjacencyMap();
         final EntityMap entityMap = new EntityMap();
 
@@ -259,17 +348,86 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                                final Integer resultLimit,
                                                final Context context,
                                                final Store store) throws OperationException {
+        final Iterable<Element> results;
+        if (null == batchSize || seeds.size() <= batchSize) {
+            results = store.execute(createSeededOperation(operation, seeds), context);
+        } else if (null != batchParallelism && batchParallelism > 1) {
+            results = executeBatchesInParallel(operation, Lists.partition(seeds, batchSize), resultLimit, context, store);
+        } else {
+            final Iterator<? extends List<?>> batches = Lists.partition(seeds, batchSize).iterator();
+            results = new BatchedIterable<Element>() {
+                @Override
+                protected Iterable<Element> createBatch() {
+                    if (!batches.hasNext()) {
+                        return null;
+                    }
+                    try {
+                        return store.execute(createSeededOperation((Output<Iterable<Element>>) operation.shallowClone(), batches.next()), context);
+                    } catch (final OperationException e) {
+                        throw new GafferRuntimeException("Unable to execute a batch of a GetWalks operation", e);
+                    }
+                }
+            };
+        }
+
+        // Execute an the operation chain on the supplied store and cache
+        // the seeds in memory using an ArrayList.
+        return new LimitedCloseableIterable<>(results, 0, resultLimit, false);
+    }
+
+    private Iterable<Element> executeBatchesInParallel(final Output<Iterable<Element>> operation,
+                                                       final List<? extends List<?>> batches,
+                                                       final Integer resultLimit,
+                                                       final Context context,
+                                                       final Store store) throws OperationException {
+        final ExecutorService executor = getBatchExecutor();
+        final List<Future<List<Element>>> futures = new ArrayList<>(batches.size());
+        try {
+            for (final List<?> batch : batches) {
+                final Output<Iterable<Element>> batchOperation = createSeededOperation((Output<Iterable<Element>>) operation.shallowClone(), batch);
+                futures.add(executor.submit(() -> Lists.newArrayList(
+                        new LimitedCloseableIterable<>(store.execute(batchOperation, context.shallowCloneWithJobId()), 0, resultLimit, false))));
+            }
 
-        final Output<Iterable<Element>> convertedOp = new OperationChain.Builder()
+            final Iterable[] results = new Iterable[futures.size()];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = futures.get(i).get();
+            }
+            return new ChainedIterable<>(results);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted while executing a GetWalks operation", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof OperationException) {
+                throw (OperationException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OperationException("Unable to execute a batch of a GetWalks operation", e.getCause());
+        } finally {
+            // Cancel any outstanding batches if a batch failed, the executor is shared so cannot be shut down
+            for (final Future<List<Element>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getBatchExecutor() {
+        if (null == batchExecutor) {
+            batchExecutor = Executors.newFixedThreadPool(batchParallelism,
+                    new ThreadFactoryBuilder().setNameFormat("get-walks-batch-%d").setDaemon(true).build());
+        }
+        return batchExecutor;
+    }
+
+    private Output<Iterable<Element>> createSeededOperation(final Output<Iterable<Element>> operation, final List<?> seeds) {
+        return new OperationChain.Builder()
                 .first(new ToEntitySeeds.Builder()
                         .input(seeds)
                         .build())
                 .then(OperationChain.wrap(operation))
                 .build();
-
-        // Execute an the operation chain on the supplied store and cache
-        // the seeds in memory using an ArrayList.
-        return new LimitedCloseableIterable<>(store.execute(convertedOp, context), 0, resultLimit, false);
     }
 
     private List<Walk> walk(final Object curr, final Object prev, final GraphWindow graphWindow, final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue, final int hops, final boolean includePartial) {
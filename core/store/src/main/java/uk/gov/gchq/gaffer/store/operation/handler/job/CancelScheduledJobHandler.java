@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.job;
 
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.jobtracker.JobStatus;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.job.CancelScheduledJob;
@@ -33,8 +34,11 @@ public class CancelScheduledJobHandler implements OperationHandler<CancelSchedul
             throw new OperationException("job id must be specified");
         }
 
-        if (store.getJobTracker().getJob(operation.getJobId(), context.getUser()).getStatus().equals(JobStatus.SCHEDULED_PARENT)) {
-            store.getJobTracker().getJob(operation.getJobId(), context.getUser()).setStatus(JobStatus.CANCELLED);
+        final JobDetail jobDetail = store.getJobTracker().getJob(operation.getJobId(), context.getUser());
+        if (null != jobDetail && JobStatus.SCHEDULED_PARENT.equals(jobDetail.getStatus())) {
+            final JobDetail cancelledJobDetail = new JobDetail(jobDetail, new JobDetail());
+            cancelledJobDetail.setStatus(JobStatus.CANCELLED);
+            store.getJobTracker().addOrUpdateJob(cancelledJobDetail, context.getUser());
         } else {
             throw new OperationException("Job with jobId: " + operation.getJobId() + " is not a scheduled job and cannot be cancelled.");
         }
@@ -27,6 +27,7 @@ import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyedMatch;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
@@ -34,7 +35,25 @@ import java.util.ArrayList;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
 
+/**
+ * Handler for the {@link Join} operation. By default both inputs are limited to
+ * the collectionLimit and joined in memory.
+ * <p>
+ * Setting the {@link #SPILL_TO_DISK} option to true allows inputs larger than
+ * the collectionLimit to be joined. Both inputs are partitioned by match key
+ * into temporary files, so only the match candidates of a single partition are
+ * held in memory and limited to the collectionLimit. The number of partitions
+ * can be set using the {@link #SPILL_PARTITIONS} option. This requires a
+ * {@link KeyedMatch} match method and the results will not be in the same
+ * order as the keyed input.
+ *
+ * @param <I> the type of input objects
+ */
 public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<? extends MapTuple>> {
+    public static final String SPILL_TO_DISK = "gaffer.join.spillToDisk";
+    public static final String SPILL_PARTITIONS = "gaffer.join.spill.partitions";
+    public static final int SPILL_PARTITIONS_DEFAULT = 64;
+
     @Override
     public Iterable<? extends MapTuple> doOperation(final Join<I> operation, final Context context, final Store store) throws OperationException {
         final int limit = operation.getCollectionLimit() != null ? operation.getCollectionLimit() : 100000;
@@ -70,6 +89,25 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
                         context,
                         store);
 
+        if (Boolean.parseBoolean(operation.getOption(SPILL_TO_DISK))) {
+            if (!(operation.getMatchMethod() instanceof KeyedMatch)) {
+                throw new OperationException("Spilling a join to disk requires a match method that implements "
+                        + KeyedMatch.class.getSimpleName());
+            }
+            final int numPartitions;
+            try {
+                numPartitions = Integer.parseInt(operation.getOption(SPILL_PARTITIONS, String.valueOf(SPILL_PARTITIONS_DEFAULT)));
+            } catch (final NumberFormatException e) {
+                throw new OperationException("Option " + SPILL_PARTITIONS + " must be an integer", e);
+            }
+            if (numPartitions < 1) {
+                throw new OperationException("Option " + SPILL_PARTITIONS + " must be at least 1");
+            }
+            return new PartitionedJoin(operation.getInput(), rightIterable, joinFunction,
+                    (KeyedMatch) operation.getMatchMethod(), matchKey, operation.isFlatten(),
+                    numPartitions, limit, store.getSchema());
+        }
+
         final Iterable limitedLeftIterable;
         final Iterable limitedRightIterable;
 
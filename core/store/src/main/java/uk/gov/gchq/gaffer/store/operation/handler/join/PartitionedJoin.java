@@ -0,0 +1,398 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.join;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinFunction;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyedMatch;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@code PartitionedJoin} joins two inputs that are too large to be held in
+ * memory. Both inputs are hash partitioned on their match keys into temporary
+ * files, then each partition is joined in turn using the {@link JoinFunction}.
+ * As a {@link KeyedMatch} can only match objects with equal keys, joining the
+ * partitions independently gives the same results as joining the full inputs,
+ * but only the match candidates of a single partition need to fit within the
+ * collection limit.
+ * <p>
+ * Results are returned partition by partition, so are not in the same order
+ * as the keyed input. The results can only be iterated once; the temporary
+ * files are deleted as each partition is consumed, and the directory and any
+ * remaining files are deleted when the results are exhausted or the iterable
+ * is closed.
+ */
+class PartitionedJoin implements CloseableIterable<MapTuple> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedJoin.class);
+    private static final String KEYS_FILE_PREFIX = "keys-";
+    private static final String CANDIDATES_FILE_PREFIX = "candidates-";
+
+    private final JoinFunction joinFunction;
+    private final KeyedMatch match;
+    private final MatchKey matchKey;
+    private final boolean flatten;
+    private final RecordSerialiser serialiser;
+    private final Path directory;
+    private final Path[] keyFiles;
+    private final Path[] candidateFiles;
+    private boolean iterated = false;
+    private boolean closed = false;
+
+    PartitionedJoin(final Iterable left, final Iterable right, final JoinFunction joinFunction,
+                    final KeyedMatch match, final MatchKey matchKey, final boolean flatten,
+                    final int numPartitions, final int candidateLimit, final Schema schema) throws OperationException {
+        if (numPartitions < 1) {
+            throw new IllegalArgumentException("The number of partitions must be at least 1");
+        }
+
+        this.joinFunction = joinFunction;
+        this.match = match;
+        this.matchKey = matchKey;
+        this.flatten = flatten;
+        this.serialiser = new RecordSerialiser(schema);
+        this.keyFiles = new Path[numPartitions];
+        this.candidateFiles = new Path[numPartitions];
+
+        final Iterable keys = MatchKey.LEFT.equals(matchKey) ? left : right;
+        final Iterable candidates = MatchKey.LEFT.equals(matchKey) ? right : left;
+
+        try {
+            directory = Files.createTempDirectory("gaffer-join-");
+        } catch (final IOException e) {
+            throw new OperationException("Unable to create a directory to spill the join inputs to", e);
+        }
+
+        try {
+            final int[] candidateCounts = partition(candidates, CANDIDATES_FILE_PREFIX, candidateFiles, match::getCandidateKey);
+            for (final int count : candidateCounts) {
+                if (count > candidateLimit) {
+                    throw new OperationException("Join exceeded the collectionLimit, a partition contained " + count
+                            + " match candidates. A solution is to increase the number of partitions or the collectionLimit value in the join operation.");
+                }
+            }
+            partition(keys, KEYS_FILE_PREFIX, keyFiles, match::getKey);
+        } catch (final IOException | UncheckedIOException e) {
+            close();
+            throw new OperationException("Unable to spill the join inputs to disk", e);
+        } catch (final OperationException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public CloseableIterator<MapTuple> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("The results of a partitioned join can only be iterated once");
+        }
+        iterated = true;
+        return new PartitionIterator();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (final Path[] files : new Path[][]{keyFiles, candidateFiles}) {
+            for (int i = 0; i < files.length; i++) {
+                delete(files[i]);
+                files[i] = null;
+            }
+        }
+        delete(directory);
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    private int[] partition(final Iterable input, final String filePrefix, final Path[] files,
+                            final Function<Object, Object> keyFunction) throws IOException {
+        final int[] counts = new int[files.length];
+        final DataOutputStream[] outputs = new DataOutputStream[files.length];
+        try {
+            for (int i = 0; i < files.length; i++) {
+                files[i] = directory.resolve(filePrefix + i);
+                outputs[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(files[i])));
+            }
+            if (null != input) {
+                for (final Object obj : input) {
+                    final int partition = getPartition(keyFunction.apply(obj));
+                    serialiser.write(obj, outputs[partition]);
+                    counts[partition]++;
+                }
+            }
+        } finally {
+            CloseableUtil.close(input);
+            CloseableUtil.close((AutoCloseable[]) outputs);
+        }
+        return counts;
+    }
+
+    private int getPartition(final Object key) {
+        final int hash = Objects.hashCode(key);
+        return Math.floorMod(hash ^ (hash >>> 16), keyFiles.length);
+    }
+
+    private List<MapTuple> joinPartition(final int partition) {
+        final List<Object> candidates = new ArrayList<>();
+        for (final Object candidate : new PartitionFile(candidateFiles[partition])) {
+            candidates.add(candidate);
+        }
+        delete(candidateFiles[partition]);
+        candidateFiles[partition] = null;
+        final PartitionFile keys = new PartitionFile(keyFiles[partition]);
+
+        final List<MapTuple> results;
+        if (MatchKey.LEFT.equals(matchKey)) {
+            results = joinFunction.join(keys, candidates, match, matchKey, flatten);
+        } else {
+            results = joinFunction.join(candidates, keys, match, matchKey, flatten);
+        }
+
+        delete(keyFiles[partition]);
+        keyFiles[partition] = null;
+        return results;
+    }
+
+    private static void delete(final Path file) {
+        if (null != file) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to delete join spill file {}", file, e);
+            }
+        }
+    }
+
+    private final class PartitionIterator implements CloseableIterator<MapTuple> {
+        private int partition = 0;
+        private Iterator<MapTuple> results = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!results.hasNext() && partition < keyFiles.length) {
+                results = joinPartition(partition++).iterator();
+            }
+            if (!results.hasNext()) {
+                PartitionedJoin.this.close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public MapTuple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return results.next();
+        }
+
+        @Override
+        public void close() {
+            PartitionedJoin.this.close();
+        }
+    }
+
+    /**
+     * An {@link Iterable} over the records written to a single partition file.
+     */
+    private final class PartitionFile implements Iterable<Object> {
+        private final Path file;
+
+        private PartitionFile(final Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            final DataInputStream input;
+            try {
+                input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Unable to read join spill file " + file, e);
+            }
+
+            return new Iterator<Object>() {
+                private boolean hasNext = readNext();
+                private Object next;
+
+                private boolean readNext() {
+                    try {
+                        final int recordType = input.read();
+                        if (-1 == recordType) {
+                            input.close();
+                            return false;
+                        }
+                        next = serialiser.read(recordType, input);
+                        return true;
+                    } catch (final IOException e) {
+                        CloseableUtil.close(input);
+                        throw new UncheckedIOException("Unable to read join spill file " + file, e);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return hasNext;
+                }
+
+                @Override
+                public Object next() {
+                    if (!hasNext) {
+                        throw new NoSuchElementException();
+                    }
+                    final Object result = next;
+                    hasNext = readNext();
+                    return result;
+                }
+            };
+        }
+    }
+
+    /**
+     * Writes each object as a record type byte followed by the length and
+     * serialised bytes. {@link Element}s that fully conform to the schema are
+     * written with the compact schema {@link ElementSerialiser}, anything else
+     * falls back to Java serialisation.
+     */
+    private static final class RecordSerialiser {
+        private static final int NULL_RECORD = 0;
+        private static final int ELEMENT_RECORD = 1;
+        private static final int EDGE_MATCHED_DESTINATION_RECORD = 2;
+        private static final int JAVA_RECORD = 3;
+
+        private final Schema schema;
+        private final ElementSerialiser elementSerialiser;
+        private final JavaSerialiser javaSerialiser = new JavaSerialiser();
+
+        private RecordSerialiser(final Schema schema) {
+            this.schema = schema;
+            this.elementSerialiser = null != schema && schema.getVertexSerialiser() instanceof ToBytesSerialiser
+                    ? new ElementSerialiser(schema) : null;
+        }
+
+        private void write(final Object obj, final DataOutputStream output) throws IOException {
+            if (null == obj) {
+                output.writeByte(NULL_RECORD);
+                return;
+            }
+
+            int recordType = JAVA_RECORD;
+            byte[] bytes = null;
+            if (canSerialiseElement(obj)) {
+                final Element element = (Element) obj;
+                try {
+                    bytes = elementSerialiser.serialise(element);
+                    recordType = element instanceof Edge && EdgeId.MatchedVertex.DESTINATION == ((Edge) element).getMatchedVertex()
+                            ? EDGE_MATCHED_DESTINATION_RECORD : ELEMENT_RECORD;
+                } catch (final SerialisationException | ClassCastException e) {
+                    LOGGER.debug("Unable to serialise element using the schema serialisers, falling back to Java serialisation", e);
+                }
+            }
+            if (null == bytes) {
+                bytes = javaSerialiser.serialise(obj);
+            }
+            output.writeByte(recordType);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+
+        private Object read(final int recordType, final DataInputStream input) throws IOException {
+            if (NULL_RECORD == recordType) {
+                return null;
+            }
+
+            final byte[] bytes = new byte[input.readInt()];
+            try {
+                input.readFully(bytes);
+            } catch (final EOFException e) {
+                throw new IOException("Join spill file was truncated", e);
+            }
+
+            switch (recordType) {
+                case ELEMENT_RECORD:
+                    return elementSerialiser.deserialise(bytes);
+                case EDGE_MATCHED_DESTINATION_RECORD:
+                    final Edge edge = (Edge) elementSerialiser.deserialise(bytes);
+                    edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION);
+                    return edge;
+                case JAVA_RECORD:
+                    return javaSerialiser.deserialise(bytes);
+                default:
+                    throw new SerialisationException("Unknown join spill record type: " + recordType);
+            }
+        }
+
+        private boolean canSerialiseElement(final Object obj) {
+            if (null == elementSerialiser || !(obj instanceof Element)) {
+                return false;
+            }
+
+            final Element element = (Element) obj;
+            final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+            if (null == elementDef || !elementDef.getProperties().containsAll(element.getProperties().keySet())) {
+                return false;
+            }
+
+            for (final String propertyName : elementDef.getProperties()) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyName);
+                if (null == typeDef || !(typeDef.getSerialiser() instanceof ToBytesSerialiser)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -16,20 +16,29 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
-import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Tests for matches for Elements within a Join Operation, groupBy properties can be optionally specified.
+ * <p>
+ * The match candidates are indexed by their class, group, identifiers and groupBy
+ * property values, so each call to {@link #matching(Object)} is a single hash lookup
+ * rather than a comparison against every candidate.
+ * </p>
  */
-public class ElementMatch implements Match {
+public class ElementMatch implements KeyedMatch {
     private ElementJoinComparator elementJoinComparator;
     private Iterable matchCandidates;
+    private Map<List<Object>, List<Element>> keyedMatchCandidates;
 
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "ElementMatch must be initialised with non-null match candidates";
 
@@ -47,6 +56,8 @@ public class ElementMatch implements Match {
 
     public void setElementGroupByProperties(final Set<String> groupByProperties) {
         elementJoinComparator.setGroupByProperties(groupByProperties);
+        // The index is keyed on the groupBy properties so needs rebuilding
+        keyedMatchCandidates = null;
     }
 
     @Override
@@ -55,6 +66,7 @@ public class ElementMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         this.matchCandidates = matchCandidates;
+        keyedMatchCandidates = null;
     }
 
     @Override
@@ -62,15 +74,68 @@ public class ElementMatch implements Match {
         if (matchCandidates == null) {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
+        if (null == keyedMatchCandidates) {
+            keyedMatchCandidates = createIndex();
+        }
+
+        final List matches = new ArrayList<>();
+        if (null != testObject) {
+            final List<Element> candidates = keyedMatchCandidates.get(createKey((Element) testObject));
+            if (null != candidates) {
+                for (final Element candidate : candidates) {
+                    matches.add(candidate.shallowClone());
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public Object getKey(final Object testObject) {
+        return null == testObject ? null : createKey((Element) testObject);
+    }
 
-        List matches = new ArrayList<>();
+    @Override
+    public Object getCandidateKey(final Object matchCandidate) {
+        return getKey(matchCandidate);
+    }
 
+    private Map<List<Object>, List<Element>> createIndex() {
+        final Map<List<Object>, List<Element>> index = new HashMap<>();
+        for (final Object matchCandidate : matchCandidates) {
+            if (null != matchCandidate) {
+                index.computeIfAbsent(createKey((Element) matchCandidate), k -> new ArrayList<>(1))
+                        .add((Element) matchCandidate);
+            }
+        }
+        return index;
+    }
 
-        for (final Object entry : matchCandidates) {
-            if (elementJoinComparator.test((Element) entry, (Element) testObject)) {
-                matches.add(((Element) entry).shallowClone());
+    /**
+     * Creates a key containing the fields compared by the {@link ElementJoinComparator}.
+     *
+     * @param element the element to create the key for
+     * @return the key
+     */
+    private List<Object> createKey(final Element element) {
+        final Set<String> groupByProperties = elementJoinComparator.getGroupByProperties();
+        final int numGroupBys = null == groupByProperties ? 0 : groupByProperties.size();
+        final List<Object> key = new ArrayList<>(5 + numGroupBys);
+        key.add(element.getClass());
+        key.add(element.getGroup());
+        if (element instanceof Entity) {
+            key.add(((Entity) element).getVertex());
+        } else {
+            final Edge edge = (Edge) element;
+            key.add(edge.getSource());
+            key.add(edge.getDestination());
+            key.add(edge.getDirectedType());
+        }
+        if (numGroupBys > 0) {
+            for (final String groupByProperty : groupByProperties) {
+                key.add(element.getProperty(groupByProperty));
             }
         }
-        return matches;
+        return key;
     }
 }
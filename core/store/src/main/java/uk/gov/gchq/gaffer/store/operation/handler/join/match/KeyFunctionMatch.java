@@ -21,7 +21,6 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
-import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.koryphe.impl.function.Identity;
 
 import java.util.ArrayList;
@@ -37,7 +36,7 @@ import java.util.function.Function;
  */
 
 @JsonPropertyOrder(value = {"class", "firstKeyFunction", "secondKeyFunction"}, alphabetic = true)
-public class KeyFunctionMatch implements Match {
+public class KeyFunctionMatch implements KeyedMatch {
 
     private static final String NULL_FUNCTION_ERROR_MESSAGE = "Key functions for left and right input cannot be null";
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "Iterable of match candidates cannot be null";
@@ -62,9 +61,10 @@ public class KeyFunctionMatch implements Match {
         if (matchCandidates == null) {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
+        keyedMatchCandidates = new HashMap<>();
         // Iterates over match candidates, creates an index using second key function.
         for (final Object matchCandidate : matchCandidates) {
-            Object key = secondKeyFunction.apply(matchCandidate);
+            Object key = getCandidateKey(matchCandidate);
             List list = keyedMatchCandidates.get(key);
             if (list == null) {
                 list = new ArrayList();
@@ -100,11 +100,21 @@ public class KeyFunctionMatch implements Match {
             throw new IllegalArgumentException(NULL_FUNCTION_ERROR_MESSAGE);
         }
 
-        Object testObjectKey = firstKeyFunction.apply(testObject);
+        Object testObjectKey = getKey(testObject);
 
         return this.keyedMatchCandidates.getOrDefault(testObjectKey, new ArrayList());
     }
 
+    @Override
+    public Object getKey(final Object testObject) {
+        return null == testObject ? null : firstKeyFunction.apply(testObject);
+    }
+
+    @Override
+    public Object getCandidateKey(final Object matchCandidate) {
+        return null == matchCandidate ? null : secondKeyFunction.apply(matchCandidate);
+    }
+
     public static final class Builder {
         private Function firstKeyFunction = new Identity();
         private Function secondKeyFunction = new Identity();
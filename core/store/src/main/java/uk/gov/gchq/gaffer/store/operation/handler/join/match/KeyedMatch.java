@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.join.match;
+
+import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
+
+/**
+ * A {@link Match} that only matches objects with equal keys. This allows the
+ * inputs of a Join to be split into partitions by key, with each partition
+ * joined independently of the others.
+ */
+public interface KeyedMatch extends Match {
+
+    /**
+     * Gets the key of an object that will be passed to {@link #matching(Object)}.
+     *
+     * @param testObject the object to be tested
+     * @return the key
+     */
+    Object getKey(final Object testObject);
+
+    /**
+     * Gets the key of a match candidate. A candidate can only be matched to
+     * a test object with an equal key.
+     *
+     * @param matchCandidate the match candidate
+     * @return the key
+     */
+    Object getCandidateKey(final Object matchCandidate);
+}
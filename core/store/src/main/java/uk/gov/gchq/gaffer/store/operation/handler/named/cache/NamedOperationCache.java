@@ -24,6 +24,7 @@ import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
+import uk.gov.gchq.gaffer.named.operation.NamedOperationTemplate;
 import uk.gov.gchq.gaffer.named.operation.cache.exception.CacheOperationFailedException;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -158,6 +159,7 @@ public class NamedOperationCache {
      *                                       cache
      */
     public void clear() throws CacheOperationFailedException {
+        NamedOperationTemplate.invalidateAll();
         try {
             CacheServiceLoader.getService().clearCache(CACHE_NAME);
         } catch (final CacheOperationException e) {
@@ -248,6 +250,7 @@ public class NamedOperationCache {
         }
         if (existing.hasWriteAccess(user, adminAuth)) {
             addToCache(name, namedOperation, true);
+            NamedOperationTemplate.invalidate(existing);
         } else {
             throw new CacheOperationFailedException("User " + user.getUserId() + " does not have permission to overwrite");
         }
@@ -260,6 +263,7 @@ public class NamedOperationCache {
         final NamedOperationDetail existing = getFromCache(name);
         if (existing.hasWriteAccess(user, adminAuth)) {
             deleteFromCache(name);
+            NamedOperationTemplate.invalidate(existing);
         } else {
             throw new CacheOperationFailedException("User " + user +
                     " does not have authority to delete named operation: " + name);
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices.UseMatchedVertex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link OperationChainOptimiser} that merges a hop written as
+ * {@link GetElements} -&gt; {@link ToVertices} -&gt; {@link ToEntitySeeds} into a
+ * single {@link GetAdjacentIds}, so the following operation, usually another
+ * {@link GetElements}, is fed by the store's adjacent ids handler rather than by
+ * full edges that are converted to seeds.
+ * <p>
+ * The hop is only merged when it returns the same seeds as {@link GetAdjacentIds}:
+ * the {@link GetElements} has its own input of {@link EntityId}s, a view containing
+ * only edges, with no group by, aggregator, transformer or filters applied after
+ * aggregation, and does not match seeds by equality, and the {@link ToVertices} uses
+ * the vertex opposite the matched vertex.
+ * </p>
+ * <p>
+ * Disabled by default, see
+ * {@link uk.gov.gchq.gaffer.store.StoreProperties#OPTIMISER_ADJACENT_IDS}.
+ * </p>
+ */
+public class AdjacentIdsOptimiser extends AbstractOperationChainOptimiser {
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        return Collections.singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        int index = 0;
+        while (index < ops.size()) {
+            if (index + 2 < ops.size() && isAdjacentIdsHop(ops.get(index), ops.get(index + 1), ops.get(index + 2))) {
+                optimisedOps.add(toGetAdjacentIds((GetElements) ops.get(index)));
+                index += 3;
+            } else {
+                optimisedOps.add(ops.get(index));
+                index++;
+            }
+        }
+        return optimisedOps;
+    }
+
+    @SuppressWarnings("deprecation")
+    private boolean isAdjacentIdsHop(final Operation getOp, final Operation toVerticesOp, final Operation toEntitySeedsOp) {
+        if (!(getOp instanceof GetElements) || !(toVerticesOp instanceof ToVertices) || !(toEntitySeedsOp instanceof ToEntitySeeds)) {
+            return false;
+        }
+
+        final GetElements getElements = (GetElements) getOp;
+        final View view = getElements.getView();
+        if (null == view || view.hasEntities() || !view.hasEdges() || view.isAllEntities()
+                || hasPostAggregationElements(view)
+                || SeedMatchingType.EQUAL == getElements.getSeedMatching()
+                || !isEntityIds(getElements.getInput())) {
+            return false;
+        }
+
+        final ToVertices toVertices = (ToVertices) toVerticesOp;
+        if (null != toVertices.getInput() || null != toVertices.getEdgeVertices()
+                || UseMatchedVertex.OPPOSITE != toVertices.getUseMatchedVertex()
+                || hasOptions(toVertices)) {
+            return false;
+        }
+
+        return null == ((ToEntitySeeds) toEntitySeedsOp).getInput() && !hasOptions(toEntitySeedsOp);
+    }
+
+    /**
+     * The adjacent ids handlers do not aggregate the edges they find, so a view that
+     * aggregates the edges, or filters or transforms them after aggregation, may
+     * select different edges and therefore different adjacent ids.
+     */
+    private boolean hasPostAggregationElements(final View view) {
+        final List<ViewElementDefinition> elementDefs = new ArrayList<>(view.getEdges().values());
+        if (null != view.getGlobalElements()) {
+            elementDefs.addAll(view.getGlobalElements());
+        }
+        if (null != view.getGlobalEdges()) {
+            elementDefs.addAll(view.getGlobalEdges());
+        }
+        for (final ViewElementDefinition elementDef : elementDefs) {
+            if (null != elementDef.getGroupBy()
+                    || null != elementDef.getAggregator()
+                    || elementDef.hasPostAggregationFilters()
+                    || null != elementDef.getTransformer()
+                    || elementDef.hasPostTransformFilters()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEntityIds(final Iterable<?> input) {
+        if (null == input) {
+            return false;
+        }
+        for (final Object seed : input) {
+            if (!(seed instanceof EntityId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasOptions(final Operation op) {
+        return null != op.getOptions() && !op.getOptions().isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private GetAdjacentIds toGetAdjacentIds(final GetElements getElements) {
+        return new GetAdjacentIds.Builder()
+                .input((Iterable<? extends EntityId>) getElements.getInput())
+                .view(getElements.getView())
+                .directedType(getElements.getDirectedType())
+                .inOutType(getElements.getIncludeIncomingOutGoing())
+                .options(getElements.getOptions())
+                .build();
+    }
+}
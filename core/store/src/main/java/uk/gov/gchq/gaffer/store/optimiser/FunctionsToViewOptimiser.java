@@ -0,0 +1,264 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link OperationChainOptimiser} that folds a {@link Filter} or {@link Transform}
+ * into the {@link View} of the {@link GetElements} or {@link GetAllElements} directly
+ * before it, so the store applies the functions while it reads the elements.
+ * <p>
+ * A {@link Filter} is added to the post transform filters of the view, so it is
+ * only folded if the store has the {@link StoreTrait#POST_TRANSFORMATION_FILTERING}
+ * trait. Groups the {@link Filter} would remove are removed from the view.
+ * A {@link Transform} is added to the transformers of the view, so it is only
+ * folded if the store has the {@link StoreTrait#TRANSFORMATION} trait, no group in
+ * the view has a post transform filter and the transform only projects onto
+ * properties in the schema or transient properties in the view.
+ * </p>
+ * <p>
+ * Views using global definitions, all entities/edges flags or property selections
+ * are not changed, nor are functions with their own input or options.
+ * </p>
+ * <p>
+ * Disabled by default, see
+ * {@link uk.gov.gchq.gaffer.store.StoreProperties#OPTIMISER_FUNCTIONS_TO_VIEW}.
+ * </p>
+ */
+public class FunctionsToViewOptimiser extends AbstractOperationChainOptimiser {
+    private final Store store;
+
+    public FunctionsToViewOptimiser(final Store store) {
+        this.store = store;
+    }
+
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        return Collections.singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        for (final Operation op : ops) {
+            final int previousIndex = optimisedOps.size() - 1;
+            final Operation foldedOp = previousIndex < 0 ? null : fold(optimisedOps.get(previousIndex), op);
+            if (null == foldedOp) {
+                optimisedOps.add(op);
+            } else {
+                optimisedOps.set(previousIndex, foldedOp);
+            }
+        }
+        return optimisedOps;
+    }
+
+    private Operation fold(final Operation previousOp, final Operation op) {
+        if (!(previousOp instanceof GetElements || previousOp instanceof GetAllElements)) {
+            return null;
+        }
+
+        final View view = ((GraphFilters) previousOp).getView();
+        if (!canFoldInto(view)) {
+            return null;
+        }
+
+        final View foldedView;
+        if (op instanceof Filter && isFoldable(op, ((Filter) op).getInput())
+                && store.hasTrait(StoreTrait.POST_TRANSFORMATION_FILTERING)) {
+            foldedView = foldFilter(view, (Filter) op);
+        } else if (op instanceof Transform && isFoldable(op, ((Transform) op).getInput())
+                && store.hasTrait(StoreTrait.TRANSFORMATION)) {
+            foldedView = foldTransform(view, (Transform) op);
+        } else {
+            foldedView = null;
+        }
+
+        if (null == foldedView) {
+            return null;
+        }
+
+        final Operation getOp = previousOp.shallowClone();
+        ((GraphFilters) getOp).setView(foldedView);
+        return getOp;
+    }
+
+    private boolean canFoldInto(final View view) {
+        if (null == view || View.class != view.getClass() || !view.hasGroups()
+                || view.isAllEntities() || view.isAllEdges()
+                || hasDefinitions(view.getGlobalElements())
+                || hasDefinitions(view.getGlobalEntities())
+                || hasDefinitions(view.getGlobalEdges())) {
+            return false;
+        }
+
+        for (final String group : view.getGroups()) {
+            final ViewElementDefinition elementDef = view.getElement(group);
+            if (null != elementDef && !elementDef.isAllProperties()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasDefinitions(final List<?> definitions) {
+        return null != definitions && !definitions.isEmpty();
+    }
+
+    private boolean isFoldable(final Operation op, final Object input) {
+        return null == input && (null == op.getOptions() || op.getOptions().isEmpty());
+    }
+
+    private View foldFilter(final View view, final Filter filter) {
+        final boolean allGroups = null == filter.getEntities() && null == filter.getEdges();
+        final View.Builder builder = new View.Builder().config(view.getConfig());
+        boolean hasGroups = false;
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            final ElementFilter groupFilter = allGroups ? null : getGroupFunction(filter.getEntities(), entry.getKey());
+            if (allGroups || null != groupFilter) {
+                builder.entity(entry.getKey(), addPostTransformFilters(entry.getValue(),
+                        filter.getGlobalElements(), filter.getGlobalEntities(), groupFilter));
+                hasGroups = true;
+            }
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            final ElementFilter groupFilter = allGroups ? null : getGroupFunction(filter.getEdges(), entry.getKey());
+            if (allGroups || null != groupFilter) {
+                builder.edge(entry.getKey(), addPostTransformFilters(entry.getValue(),
+                        filter.getGlobalElements(), filter.getGlobalEdges(), groupFilter));
+                hasGroups = true;
+            }
+        }
+
+        // Do not fold a filter that removes every group, as an empty view is treated as a full view.
+        return hasGroups ? builder.build() : null;
+    }
+
+    private View foldTransform(final View view, final Transform transform) {
+        final View.Builder builder = new View.Builder().config(view.getConfig());
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            if (null != transform.getEntities() && !transform.getEntities().containsKey(entry.getKey())) {
+                return null;
+            }
+            final ElementTransformer transformer = getGroupFunction(transform.getEntities(), entry.getKey());
+            if (!canAddTransformer(entry.getKey(), entry.getValue(), transformer)) {
+                return null;
+            }
+            builder.entity(entry.getKey(), addTransformer(entry.getValue(), transformer));
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            if (null != transform.getEdges() && !transform.getEdges().containsKey(entry.getKey())) {
+                return null;
+            }
+            final ElementTransformer transformer = getGroupFunction(transform.getEdges(), entry.getKey());
+            if (!canAddTransformer(entry.getKey(), entry.getValue(), transformer)) {
+                return null;
+            }
+            builder.edge(entry.getKey(), addTransformer(entry.getValue(), transformer));
+        }
+        return builder.build();
+    }
+
+    private <T> T getGroupFunction(final Map<String, T> functions, final String group) {
+        return null == functions ? null : functions.get(group);
+    }
+
+    private boolean canAddTransformer(final String group, final ViewElementDefinition elementDef, final ElementTransformer transformer) {
+        if (null == transformer) {
+            return true;
+        }
+        if (null != elementDef && null != elementDef.getPostTransformFilter()) {
+            return false;
+        }
+
+        final SchemaElementDefinition schemaElementDef = store.getSchema().getElement(group);
+        for (final TupleAdaptedFunction<String, ?, ?> function : transformer.getComponents()) {
+            if (null == function.getProjection()) {
+                return false;
+            }
+            for (final String property : function.getProjection()) {
+                final boolean isSchemaProperty = null != schemaElementDef && schemaElementDef.getProperties().contains(property);
+                final boolean isTransientProperty = null != elementDef && elementDef.getTransientProperties().contains(property);
+                if (!isSchemaProperty && !isTransientProperty) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private ViewElementDefinition addPostTransformFilters(final ViewElementDefinition elementDef, final ElementFilter... filters) {
+        final List<TupleAdaptedPredicate<String, ?>> functions = new ArrayList<>();
+        if (null != elementDef && null != elementDef.getPostTransformFilter()) {
+            functions.addAll(elementDef.getPostTransformFilter().getComponents());
+        }
+        for (final ElementFilter filter : filters) {
+            if (null != filter) {
+                functions.addAll(filter.getComponents());
+            }
+        }
+
+        final ViewElementDefinition.Builder builder = new ViewElementDefinition.Builder().merge(elementDef);
+        if (!functions.isEmpty()) {
+            builder.postTransformFilterFunctions(functions);
+        }
+        return builder.build();
+    }
+
+    private ViewElementDefinition addTransformer(final ViewElementDefinition elementDef, final ElementTransformer transformer) {
+        final ViewElementDefinition.Builder builder = new ViewElementDefinition.Builder().merge(elementDef);
+        if (null != transformer && !transformer.getComponents().isEmpty()) {
+            final List<TupleAdaptedFunction<String, ?, ?>> functions = new ArrayList<>();
+            if (null != elementDef && null != elementDef.getTransformer()) {
+                functions.addAll(elementDef.getTransformer().getComponents());
+            }
+            functions.addAll(transformer.getComponents());
+            builder.transformFunctions(functions);
+        }
+        return builder.build();
+    }
+}
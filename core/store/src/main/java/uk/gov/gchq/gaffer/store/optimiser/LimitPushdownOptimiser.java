@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link OperationChainOptimiser} that pushes a {@link Limit} down into the
+ * {@link GetElements} or {@link GetAllElements} operation directly before it.
+ * <p>
+ * The limit is added to the get operation as the {@link #SCAN_LIMIT} option, so
+ * stores that support it can stop scanning once enough elements have been found.
+ * The {@link Limit} itself is left in the chain, so stores that ignore the option
+ * still return the correct results. Only truncating limits are pushed down, as a
+ * non truncating limit needs to see the elements after the limit to fail.
+ * </p>
+ * <p>
+ * Disabled by default, see
+ * {@link uk.gov.gchq.gaffer.store.StoreProperties#OPTIMISER_LIMIT_PUSHDOWN}.
+ * </p>
+ */
+public class LimitPushdownOptimiser extends AbstractOperationChainOptimiser {
+    /**
+     * The maximum number of elements a get operation needs to return.
+     */
+    public static final String SCAN_LIMIT = "gaffer.store.optimiser.scanLimit";
+
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        if ((currentOp instanceof GetElements || currentOp instanceof GetAllElements) && isPushable(nextOp)) {
+            final int resultLimit = ((Limit) nextOp).getResultLimit();
+            final Operation getOp = currentOp.shallowClone();
+            final Map<String, String> options = null == currentOp.getOptions() ? new HashMap<>() : new HashMap<>(currentOp.getOptions());
+            final String existingLimit = options.get(SCAN_LIMIT);
+            if (null == existingLimit || Integer.parseInt(existingLimit) > resultLimit) {
+                options.put(SCAN_LIMIT, Integer.toString(resultLimit));
+            }
+            getOp.setOptions(options);
+            return Collections.singletonList(getOp);
+        }
+        return Collections.singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        return ops;
+    }
+
+    private boolean isPushable(final Operation op) {
+        if (!(op instanceof Limit)) {
+            return false;
+        }
+        final Limit limit = (Limit) op;
+        return null == limit.getInput()
+                && null != limit.getResultLimit()
+                && !Boolean.FALSE.equals(limit.getTruncate());
+    }
+
+    /**
+     * Gets the scan limit that has been pushed down into a get operation.
+     *
+     * @param operation the get operation
+     * @return the scan limit, or null if there is no scan limit
+     */
+    public static Integer getScanLimit(final Operation operation) {
+        final String scanLimit = operation.getOption(SCAN_LIMIT);
+        return null == scanLimit ? null : Integer.valueOf(scanLimit);
+    }
+}
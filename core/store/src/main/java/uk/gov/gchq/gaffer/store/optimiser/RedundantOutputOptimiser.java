@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.operation.io.Input;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link OperationChainOptimiser} that removes {@link ToSet} and
+ * {@link DiscardOutput} operations that have no effect on the result of the chain:
+ * <ul>
+ * <li>a {@link ToSet} followed by another {@link ToSet}</li>
+ * <li>a {@link ToSet} followed by a {@link DiscardOutput}</li>
+ * <li>a {@link DiscardOutput} following another {@link DiscardOutput}</li>
+ * </ul>
+ * Operations are only removed when the following operation takes its input from
+ * the chain rather than having its own input.
+ * <p>
+ * Disabled by default, see
+ * {@link uk.gov.gchq.gaffer.store.StoreProperties#OPTIMISER_REDUNDANT_OUTPUT}.
+ * </p>
+ */
+public class RedundantOutputOptimiser extends AbstractOperationChainOptimiser {
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        if (currentOp instanceof ToSet
+                && (nextOp instanceof ToSet || nextOp instanceof DiscardOutput)
+                && null == ((Input) nextOp).getInput()) {
+            return Collections.emptyList();
+        }
+
+        if (currentOp instanceof DiscardOutput && previousOp instanceof DiscardOutput) {
+            return Collections.emptyList();
+        }
+
+        return Collections.singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        return ops;
+    }
+}
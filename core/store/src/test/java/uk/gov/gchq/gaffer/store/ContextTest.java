@@ -168,6 +168,33 @@ public class ContextTest {
         assertEquals(context.getVariables(), clonedContext.getVariables());
     }
 
+    @Test
+    public void shouldShallowCloneContextWithTheSameJobId() {
+        // Given
+        final Context context = new Context(new User());
+        final Exporter exporter = mock(Exporter.class);
+        context.addExporter(exporter);
+        final OperationChain opChain = mock(OperationChain.class);
+        final OperationChain opChainClone = mock(OperationChain.class);
+        given(opChain.shallowClone()).willReturn(opChainClone);
+        context.setOriginalOpChain(opChain);
+        context.setConfig("key", "value");
+        context.setVariable("variable", "value");
+
+        // When
+        final Context clone = context.shallowCloneWithJobId();
+
+        // Then
+        assertNotSame(context, clone);
+        assertSame(context.getUser(), clone.getUser());
+        assertEquals(context.getJobId(), clone.getJobId());
+        assertSame(opChainClone, clone.getOriginalOpChain());
+        assertEquals(1, clone.getExporters().size());
+        assertSame(exporter, clone.getExporters().iterator().next());
+        assertEquals(context.getConfig("key"), clone.getConfig("key"));
+        assertEquals(context.getVariables(), clone.getVariables());
+    }
+
     @Test
     public void shouldAddVariables() {
         // Given
@@ -30,7 +30,9 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class StorePropertiesTest {
 
@@ -204,6 +206,36 @@ public class StorePropertiesTest {
         assertEquals(adminAuth, props.getAdminAuth());
     }
 
+    @Test
+    public void shouldDisableOperationChainOptimisersByDefault() {
+        // Given
+        final StoreProperties props = createStoreProperties();
+
+        // When / Then
+        assertFalse(props.getLimitPushdownOptimiserEnabled());
+        assertFalse(props.getFunctionsToViewOptimiserEnabled());
+        assertFalse(props.getAdjacentIdsOptimiserEnabled());
+        assertFalse(props.getRedundantOutputOptimiserEnabled());
+    }
+
+    @Test
+    public void shouldEnableOperationChainOptimisers() {
+        // Given
+        final StoreProperties props = createStoreProperties();
+
+        // When
+        props.setLimitPushdownOptimiserEnabled(true);
+        props.setFunctionsToViewOptimiserEnabled(true);
+        props.setAdjacentIdsOptimiserEnabled(true);
+        props.setRedundantOutputOptimiserEnabled(true);
+
+        // Then
+        assertTrue(props.getLimitPushdownOptimiserEnabled());
+        assertTrue(props.getFunctionsToViewOptimiserEnabled());
+        assertTrue(props.getAdjacentIdsOptimiserEnabled());
+        assertTrue(props.getRedundantOutputOptimiserEnabled());
+    }
+
     public static final class TestCustomJsonModules1 implements JSONSerialiserModules {
         public static List<Module> modules;
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.integration.performance;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
+import uk.gov.gchq.gaffer.data.element.function.ExtractId;
+import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.ElementMatch;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the time taken to match every element of one join input against
+ * another using the {@link ElementMatch} index, the {@link KeyFunctionMatch}
+ * index and a nested loop over the candidates with an {@link ElementJoinComparator},
+ * which is how {@link ElementMatch} used to be implemented.
+ */
+public class JoinMatchPerformanceIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JoinMatchPerformanceIT.class);
+    private static final int NUM_ELEMENTS = 20000;
+    private static final int NUM_VERTICES = 5000;
+
+    @Test
+    public void shouldMatchFasterWithIndexThanNestedLoop() {
+        // Given
+        final List<Element> left = createElements(0);
+        final List<Element> right = createElements(NUM_ELEMENTS / 2);
+
+        // When
+        final long nestedLoopStart = System.nanoTime();
+        final long nestedLoopMatches = countNestedLoopMatches(left, right);
+        final long nestedLoopNanos = System.nanoTime() - nestedLoopStart;
+
+        final long elementMatchStart = System.nanoTime();
+        final long elementMatchMatches = countMatches(new ElementMatch(TestPropertyNames.COUNT), left, right);
+        final long elementMatchNanos = System.nanoTime() - elementMatchStart;
+
+        final long keyFunctionMatchStart = System.nanoTime();
+        final long keyFunctionMatchMatches = countMatches(new KeyFunctionMatch.Builder()
+                .firstKeyFunction(new ExtractId(IdentifierType.VERTEX))
+                .secondKeyFunction(new ExtractId(IdentifierType.VERTEX))
+                .build(), left, right);
+        final long keyFunctionMatchNanos = System.nanoTime() - keyFunctionMatchStart;
+
+        // Then
+        LOGGER.info("Matched {} left elements against {} right elements", left.size(), right.size());
+        LOGGER.info("Nested loop: {} matches in {} ms", nestedLoopMatches, nestedLoopNanos / 1000000);
+        LOGGER.info("ElementMatch: {} matches in {} ms", elementMatchMatches, elementMatchNanos / 1000000);
+        LOGGER.info("KeyFunctionMatch: {} matches in {} ms", keyFunctionMatchMatches, keyFunctionMatchNanos / 1000000);
+        assertEquals(nestedLoopMatches, elementMatchMatches);
+        assertTrue(elementMatchNanos < nestedLoopNanos,
+                "ElementMatch took " + elementMatchNanos + "ns, nested loop took " + nestedLoopNanos + "ns");
+    }
+
+    private static long countMatches(final Match match, final List<Element> left, final List<Element> right) {
+        match.init(right);
+        long count = 0;
+        for (final Element element : left) {
+            count += match.matching(element).size();
+        }
+        return count;
+    }
+
+    private static long countNestedLoopMatches(final List<Element> left, final List<Element> right) {
+        final ElementJoinComparator comparator = new ElementJoinComparator(TestPropertyNames.COUNT);
+        long count = 0;
+        for (final Element element : left) {
+            final List<Element> matches = new ArrayList<>();
+            for (final Element candidate : right) {
+                if (comparator.test(candidate, element)) {
+                    matches.add(candidate.shallowClone());
+                }
+            }
+            count += matches.size();
+        }
+        return count;
+    }
+
+    private static List<Element> createElements(final int offset) {
+        final List<Element> elements = new ArrayList<>(NUM_ELEMENTS);
+        for (int i = offset; i < offset + NUM_ELEMENTS; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % NUM_VERTICES))
+                    .property(TestPropertyNames.COUNT, (long) (i % 3))
+                    .build());
+        }
+        return elements;
+    }
+}
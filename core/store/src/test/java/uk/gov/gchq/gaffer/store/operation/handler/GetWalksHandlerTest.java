@@ -18,21 +18,53 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class GetWalksHandlerTest {
+    private static final List<Edge> EDGES = Arrays.asList(
+            createEdge("A", "B"),
+            createEdge("A", "C"),
+            createEdge("B", "D"),
+            createEdge("C", "D"),
+            createEdge("C", "E"),
+            createEdge("D", "A"));
+
     @Test
     public void shouldHandleNullInput() throws Exception {
         // Given
@@ -67,4 +99,177 @@ public class GetWalksHandlerTest {
         // Then
         assertNotNull(deserialisedObj);
     }
+
+    @Test
+    public void shouldReturnSameWalksWhenStreaming() throws Exception {
+        // Given
+        final Store store = createStore();
+        final Context context = new Context(new User());
+
+        final GetWalksHandler streamingHandler = new GetWalksHandler();
+        streamingHandler.setStreaming(true);
+
+        // When
+        final Iterable<Walk> expected = new GetWalksHandler().doOperation(createGetWalks(), context, store);
+        final Iterable<Walk> result = streamingHandler.doOperation(createGetWalks(), context, store);
+
+        // Then
+        assertEquals(4, new HashSet<>(toList(expected)).size());
+        assertEquals(new HashSet<>(toList(expected)), new HashSet<>(toList(result)));
+    }
+
+    @Test
+    public void shouldReturnSameWalksWhenStreamingFromASeedWithNoEdges() throws Exception {
+        // Given
+        final Store store = createStore();
+        final Context context = new Context(new User());
+
+        final GetWalksHandler streamingHandler = new GetWalksHandler();
+        streamingHandler.setStreaming(true);
+
+        for (final boolean includePartial : new boolean[]{true, false}) {
+            // When
+            final List<Walk> expected = toList(new GetWalksHandler().doOperation(createGetWalks(includePartial, "A", "Z", "C"), context, store));
+            final List<Walk> result = toList(streamingHandler.doOperation(createGetWalks(includePartial, "A", "Z", "C"), context, store));
+
+            // Then
+            assertEquals(expected.size(), result.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(result));
+            assertEquals(includePartial, result.stream().anyMatch(walk -> walk.getEdges().isEmpty()));
+        }
+    }
+
+    @Test
+    public void shouldReturnSameWalksWhenStreamingWithParallelBatches() throws Exception {
+        // Given
+        final Store store = createStore();
+        final Context context = new Context(new User());
+
+        final GetWalksHandler streamingHandler = new GetWalksHandler();
+        streamingHandler.setStreaming(true);
+        streamingHandler.setBatchSize(1);
+        streamingHandler.setBatchParallelism(2);
+
+        // When
+        final Iterable<Walk> expected = new GetWalksHandler().doOperation(createGetWalks(), context, store);
+        final Iterable<Walk> result = streamingHandler.doOperation(createGetWalks(), context, store);
+
+        // Then
+        assertEquals(new HashSet<>(toList(expected)), new HashSet<>(toList(result)));
+    }
+
+    @Test
+    public void shouldShareBatchThreadsAcrossRequests() throws Exception {
+        // Given
+        final Store store = createStore();
+        final Context context = new Context(new User());
+
+        final GetWalksHandler batchedHandler = new GetWalksHandler();
+        batchedHandler.setBatchSize(1);
+        batchedHandler.setBatchParallelism(2);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            toList(batchedHandler.doOperation(createGetWalks(), context, store));
+        }
+
+        // Then
+        final long batchThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("get-walks-batch-"))
+                .count();
+        assertTrue(batchThreads <= 2, "Expected at most 2 batch threads but found " + batchThreads);
+    }
+
+    @Test
+    public void shouldKeepTheJobIdWhenExecutingBatchesInParallel() throws Exception {
+        // Given
+        final Store store = createStore();
+        final Context context = new Context(new User());
+
+        final GetWalksHandler batchedHandler = new GetWalksHandler();
+        batchedHandler.setBatchSize(1);
+        batchedHandler.setBatchParallelism(2);
+
+        // When
+        toList(batchedHandler.doOperation(createGetWalks(), context, store));
+
+        // Then
+        final ArgumentCaptor<Context> contextCaptor = ArgumentCaptor.forClass(Context.class);
+        verify(store, atLeastOnce()).execute(any(Output.class), contextCaptor.capture());
+        for (final Context batchContext : contextCaptor.getAllValues()) {
+            assertEquals(context.getJobId(), batchContext.getJobId());
+        }
+    }
+
+    @Test
+    public void shouldReturnSameWalksWithSequentialBatches() throws Exception {
+        // Given
+        final Store store = createStore();
+        final Context context = new Context(new User());
+
+        final GetWalksHandler batchedHandler = new GetWalksHandler();
+        batchedHandler.setBatchSize(1);
+
+        // When
+        final Iterable<Walk> expected = new GetWalksHandler().doOperation(createGetWalks(), context, store);
+        final Iterable<Walk> result = batchedHandler.doOperation(createGetWalks(), context, store);
+
+        // Then
+        assertEquals(new HashSet<>(toList(expected)), new HashSet<>(toList(result)));
+    }
+
+    private static GetWalks createGetWalks() {
+        return createGetWalks(false, "A", "C");
+    }
+
+    private static GetWalks createGetWalks(final boolean includePartial, final String... seeds) {
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+        final EntitySeed[] input = new EntitySeed[seeds.length];
+        for (int i = 0; i < seeds.length; i++) {
+            input[i] = new EntitySeed(seeds[i]);
+        }
+        return new GetWalks.Builder()
+                .input(input)
+                .operations(new GetElements.Builder().view(view).build(),
+                        new GetElements.Builder().view(view).build())
+                .includePartial(includePartial)
+                .build();
+    }
+
+    private static Store createStore() throws Exception {
+        final Store store = mock(Store.class);
+        given(store.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            final OperationChain<?> chain = invocation.getArgument(0);
+            final ToEntitySeeds toEntitySeeds = (ToEntitySeeds) chain.getOperations().get(0);
+            final List<Element> results = new ArrayList<>();
+            for (final Object seed : toEntitySeeds.getInput()) {
+                final Object vertex = seed instanceof EntityId ? ((EntityId) seed).getVertex() : seed;
+                for (final Edge edge : EDGES) {
+                    if (edge.getSource().equals(vertex)) {
+                        results.add(edge);
+                    }
+                }
+            }
+            return results;
+        });
+        return store;
+    }
+
+    private static Edge createEdge(final String source, final String destination) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .matchedVertex(EdgeId.MatchedVertex.SOURCE)
+                .build();
+    }
+
+    private static List<Walk> toList(final Iterable<Walk> walks) {
+        final List<Walk> list = new ArrayList<>();
+        walks.forEach(list::add);
+        return list;
+    }
 }
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
+import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
 import uk.gov.gchq.gaffer.store.Context;
@@ -28,12 +29,14 @@ import uk.gov.gchq.gaffer.store.operation.handler.join.JoinHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.ElementMatch;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
@@ -104,4 +107,55 @@ public class JoinHandlerTest {
             assertEquals("A match method must be supplied", e.getMessage());
         }
     }
+
+    @Test
+    public void shouldJoinInputsLargerThanLimitWhenSpillingToDisk() throws OperationException {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+        final List<Integer> inputList = Arrays.asList(1, 2, 3);
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(inputList)
+                .joinType(JoinType.FULL)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new KeyFunctionMatch())
+                .collectionLimit(1)
+                .option(JoinHandler.SPILL_TO_DISK, "true")
+                .option(JoinHandler.SPILL_PARTITIONS, "8")
+                .build();
+
+        // When
+        final Iterable<? extends MapTuple> results = handler.doOperation(joinOp, context, store);
+
+        // Then
+        final List<Object> leftValues = new ArrayList<>();
+        for (final MapTuple tuple : results) {
+            leftValues.add(tuple.get(MatchKey.LEFT.name()));
+            assertNull(tuple.get(MatchKey.RIGHT.name()));
+        }
+        leftValues.sort(null);
+        assertEquals(inputList, leftValues);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenSpillingToDiskWithoutKeyedMatch() {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(Arrays.asList(1, 2, 3))
+                .joinType(JoinType.FULL)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(mock(Match.class))
+                .option(JoinHandler.SPILL_TO_DISK, "true")
+                .build();
+
+        // When / Then
+        try {
+            handler.doOperation(joinOp, context, store);
+            fail("exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage().contains("KeyedMatch"));
+        }
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.join;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.ElementMatch;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedJoinTest {
+
+    private static final Schema SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "int")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property(TestPropertyNames.COUNT, "int")
+                    .build())
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .serialiser(new CompactRawIntegerSerialiser())
+                    .build())
+            .type("true", Boolean.class)
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    @Test
+    public void shouldReturnSameResultsAsInMemoryJoinForAllJoinTypes() throws OperationException {
+        // Given
+        final List<Integer> left = new ArrayList<>();
+        final List<Integer> right = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            left.add(i % 50);
+            right.add(i % 70 + 20);
+        }
+
+        for (final JoinType joinType : JoinType.values()) {
+            for (final MatchKey matchKey : MatchKey.values()) {
+                for (final boolean flatten : new boolean[]{true, false}) {
+                    // When
+                    final List<MapTuple> expected = joinType.createInstance()
+                            .join(left, right, new KeyFunctionMatch(), matchKey, flatten);
+                    final List<MapTuple> results = toList(new PartitionedJoin(left, right, joinType.createInstance(),
+                            new KeyFunctionMatch(), matchKey, flatten, 7, 100, null));
+
+                    // Then
+                    assertEquals(toSortedStrings(expected), toSortedStrings(results), joinType + " " + matchKey + " " + flatten);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldJoinElementsSerialisedWithSchema() throws OperationException {
+        // Given
+        final Edge matchedDestinationEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("a")
+                .dest("b")
+                .directed(true)
+                .matchedVertex(EdgeId.MatchedVertex.DESTINATION)
+                .property(TestPropertyNames.COUNT, 1)
+                .build();
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("a")
+                .property(TestPropertyNames.COUNT, 2)
+                .build();
+        final Entity entityNotInSchema = new Entity.Builder()
+                .group(TestGroups.ENTITY_2)
+                .vertex("c")
+                .property(TestPropertyNames.PROP_1, "value")
+                .build();
+        final List<Element> elements = Arrays.asList(matchedDestinationEdge, entity, entityNotInSchema);
+
+        // When
+        final List<MapTuple> results = toList(new PartitionedJoin(elements, elements, JoinType.INNER.createInstance(),
+                new ElementMatch(), MatchKey.LEFT, true, 3, 10, SCHEMA));
+
+        // Then
+        assertEquals(3, results.size());
+        for (final MapTuple tuple : results) {
+            final Element leftElement = (Element) tuple.get(MatchKey.LEFT.name());
+            final Element rightElement = (Element) tuple.get(MatchKey.RIGHT.name());
+            assertEquals(leftElement, rightElement);
+            assertEquals(leftElement.getProperties(), rightElement.getProperties());
+            if (leftElement instanceof Edge) {
+                assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) leftElement).getMatchedVertex());
+                assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) rightElement).getMatchedVertex());
+            }
+        }
+    }
+
+    @Test
+    public void shouldJoinNullObjects() throws OperationException {
+        // Given
+        final List<Integer> left = Arrays.asList(1, null);
+        final List<Integer> right = Arrays.asList(null, 2);
+
+        // When
+        final List<MapTuple> results = toList(new PartitionedJoin(left, right, JoinType.FULL.createInstance(),
+                new KeyFunctionMatch(new Identity(), new Identity()), MatchKey.LEFT, false, 4, 10, null));
+
+        // Then
+        assertEquals(toSortedStrings(JoinType.FULL.createInstance().join(left, right, new KeyFunctionMatch(), MatchKey.LEFT, false)),
+                toSortedStrings(results));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenPartitionExceedsLimit() {
+        // Given
+        final List<Integer> left = Collections.singletonList(1);
+        final List<Integer> right = Arrays.asList(1, 1, 1);
+
+        // When / Then
+        final OperationException exception = assertThrows(OperationException.class, () ->
+                new PartitionedJoin(left, right, JoinType.INNER.createInstance(), new KeyFunctionMatch(),
+                        MatchKey.LEFT, true, 4, 2, null));
+        assertTrue(exception.getMessage().contains("exceeded"));
+    }
+
+    @Test
+    public void shouldOnlyAllowResultsToBeIteratedOnce() throws OperationException {
+        // Given
+        final PartitionedJoin join = new PartitionedJoin(Arrays.asList(1, 2), Arrays.asList(1, 2),
+                JoinType.INNER.createInstance(), new KeyFunctionMatch(), MatchKey.LEFT, true, 2, 10, null);
+        toList(join);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, join::iterator);
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesWhenResultsAreExhausted() throws OperationException {
+        // Given
+        final PartitionedJoin join = new PartitionedJoin(Arrays.asList(1, 2, 3), Arrays.asList(1, 2, 3),
+                JoinType.INNER.createInstance(), new KeyFunctionMatch(), MatchKey.LEFT, true, 3, 10, null);
+        final CloseableIterator<MapTuple> itr = join.iterator();
+
+        // When
+        while (itr.hasNext()) {
+            itr.next();
+        }
+
+        // Then
+        assertFalse(Files.exists(join.getDirectory()));
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesWhenClosed() throws OperationException {
+        // Given
+        final PartitionedJoin join = new PartitionedJoin(Arrays.asList(1, 2, 3), Arrays.asList(1, 2, 3),
+                JoinType.INNER.createInstance(), new KeyFunctionMatch(), MatchKey.LEFT, true, 3, 10, null);
+        assertTrue(Files.exists(join.getDirectory()));
+
+        // When
+        join.close();
+
+        // Then
+        assertFalse(Files.exists(join.getDirectory()));
+    }
+
+    private static List<MapTuple> toList(final PartitionedJoin join) {
+        final List<MapTuple> results = new ArrayList<>();
+        try (final CloseableIterator<MapTuple> itr = join.iterator()) {
+            itr.forEachRemaining(results::add);
+        }
+        return results;
+    }
+
+    private static List<String> toSortedStrings(final List<MapTuple> tuples) {
+        final List<String> strings = new ArrayList<>();
+        for (final MapTuple tuple : tuples) {
+            strings.add(tuple.get(MatchKey.LEFT.name()) + "|" + tuple.get(MatchKey.RIGHT.name()));
+        }
+        Collections.sort(strings);
+        return strings;
+    }
+}
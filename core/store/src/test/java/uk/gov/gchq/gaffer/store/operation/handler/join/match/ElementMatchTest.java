@@ -16,15 +16,20 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -237,4 +242,118 @@ public class ElementMatchTest {
         // Then
         assertEquals(0, matchingElements.size());
     }
+
+    @Test
+    public void shouldMatchEdgesOnIdentifiers() {
+        // Given
+        final Edge testEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+        final Edge reversedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("dest")
+                .dest("source")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+        final Edge undirectedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(false)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(reversedEdge, undirectedEdge, testEdge.shallowClone()));
+
+        // When
+        final List<Element> matchingElements = elementMatch.matching(testEdge);
+
+        // Then
+        assertEquals(Collections.singletonList(testEdge), matchingElements);
+    }
+
+    @Test
+    public void shouldNotMatchEntityAgainstEdgeWithSameGroup() {
+        // Given
+        final Entity testEntity = new Entity(TestGroups.ENTITY, "vertex");
+        final Edge edge = new Edge(TestGroups.ENTITY, "vertex", "vertex", true);
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(edge));
+
+        // When
+        final List<Element> matchingElements = elementMatch.matching(testEntity);
+
+        // Then
+        assertEquals(0, matchingElements.size());
+    }
+
+    @Test
+    public void shouldReindexWhenGroupByPropertiesAreChangedAfterInit() {
+        // Given
+        final Entity testEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+        final Entity testEntity2 = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(testEntity.shallowClone(), testEntity2.shallowClone()));
+        assertEquals(2, elementMatch.matching(testEntity).size());
+
+        // When
+        elementMatch.setElementGroupByProperties(Sets.newHashSet(TestPropertyNames.COUNT));
+        final List<Element> matchingElements = elementMatch.matching(testEntity);
+
+        // Then
+        assertEquals(Collections.singletonList(testEntity), matchingElements);
+    }
+
+    @Test
+    public void shouldMatchSameElementsAsElementJoinComparator() {
+        // Given
+        final List<Element> candidates = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            candidates.add(new Entity.Builder()
+                    .group(0 == i % 2 ? TestGroups.ENTITY : TestGroups.ENTITY_2)
+                    .vertex("vertex" + (i % 10))
+                    .property(TestPropertyNames.COUNT, (long) (i % 3))
+                    .build());
+            candidates.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("vertex" + (i % 10))
+                    .dest("vertex" + (i % 7))
+                    .directed(0 == i % 2)
+                    .property(TestPropertyNames.COUNT, (long) (i % 3))
+                    .build());
+        }
+        final ElementJoinComparator comparator = new ElementJoinComparator(TestPropertyNames.COUNT);
+        final ElementMatch elementMatch = new ElementMatch(TestPropertyNames.COUNT);
+        elementMatch.init(candidates);
+
+        for (final Element testElement : candidates) {
+            // When
+            final List<Element> matchingElements = elementMatch.matching(testElement);
+
+            // Then
+            final List<Element> expected = new ArrayList<>();
+            for (final Element candidate : candidates) {
+                if (comparator.test(candidate, testElement)) {
+                    expected.add(candidate);
+                }
+            }
+            assertEquals(expected, matchingElements);
+        }
+    }
 }
@@ -38,6 +38,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class KeyFunctionMatchTest {
 
@@ -317,6 +318,19 @@ public class KeyFunctionMatchTest {
         assertEquals(expected, match.matching(testItem));
     }
 
+    @Test
+    public void shouldReturnNullKeysForNullObjects() {
+        // given
+        KeyFunctionMatch match = new KeyFunctionMatch.Builder()
+                .firstKeyFunction(item -> item.toString())
+                .secondKeyFunction(item -> item.toString())
+                .build();
+
+        // when / then
+        assertNull(match.getKey(null));
+        assertNull(match.getCandidateKey(null));
+    }
+
     @Test
     public void shouldThrowExceptionIfListIsNull() {
         // given
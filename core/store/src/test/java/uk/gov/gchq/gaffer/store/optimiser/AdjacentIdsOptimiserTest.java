@@ -0,0 +1,295 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices.UseMatchedVertex;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class AdjacentIdsOptimiserTest {
+    private static final View EDGE_VIEW = new View.Builder()
+            .edge(TestGroups.EDGE)
+            .build();
+
+    private final AdjacentIdsOptimiser optimiser = new AdjacentIdsOptimiser();
+
+    @Test
+    public void shouldMergeHopIntoGetAdjacentIds() {
+        // Given
+        final GetElements nextGetElements = new GetElements();
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"), new EntitySeed("B"))
+                        .view(EDGE_VIEW)
+                        .directedType(DirectedType.DIRECTED)
+                        .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                        .option("key", "value")
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.OPPOSITE)
+                        .build(),
+                new ToEntitySeeds(),
+                nextGetElements);
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        final GetAdjacentIds getAdjacentIds = (GetAdjacentIds) ops.get(0);
+        assertEquals(Lists.newArrayList(new EntitySeed("A"), new EntitySeed("B")), Lists.newArrayList(getAdjacentIds.getInput()));
+        assertSame(EDGE_VIEW, getAdjacentIds.getView());
+        assertEquals(DirectedType.DIRECTED, getAdjacentIds.getDirectedType());
+        assertEquals(IncludeIncomingOutgoingType.OUTGOING, getAdjacentIds.getIncludeIncomingOutGoing());
+        assertEquals("value", getAdjacentIds.getOption("key"));
+        assertSame(nextGetElements, ops.get(1));
+    }
+
+    @Test
+    public void shouldNotMergeHopWithEntitiesInView() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .view(new View.Builder()
+                                .entity(TestGroups.ENTITY)
+                                .edge(TestGroups.EDGE)
+                                .build())
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.OPPOSITE)
+                        .build(),
+                new ToEntitySeeds());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotMergeHopWithEdgeSeeds() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"), new EdgeSeed("A", "B", true))
+                        .view(EDGE_VIEW)
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.OPPOSITE)
+                        .build(),
+                new ToEntitySeeds());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotMergeHopWithoutInput() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .view(EDGE_VIEW)
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.OPPOSITE)
+                        .build(),
+                new ToEntitySeeds());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotMergeHopUsingMatchedVertex() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .view(EDGE_VIEW)
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.EQUAL)
+                        .build(),
+                new ToEntitySeeds());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotMergeHopWithEdgeVertices() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .view(EDGE_VIEW)
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.OPPOSITE)
+                        .edgeVertices(ToVertices.EdgeVertices.BOTH)
+                        .build(),
+                new ToEntitySeeds());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldMergeHopWithPreAggregationFilterInView() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .view(new View.Builder()
+                                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                        .preAggregationFilter(new ElementFilter.Builder()
+                                                .select(TestPropertyNames.COUNT)
+                                                .execute(new IsMoreThan(1))
+                                                .build())
+                                        .build())
+                                .build())
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.OPPOSITE)
+                        .build(),
+                new ToEntitySeeds());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        assertEquals(GetAdjacentIds.class, ops.get(0).getClass());
+    }
+
+    @Test
+    public void shouldNotMergeHopWithGroupByInView() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .view(new View.Builder()
+                                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                        .groupBy()
+                                        .build())
+                                .build())
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.OPPOSITE)
+                        .build(),
+                new ToEntitySeeds());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotMergeHopWithAggregatorInView() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .view(new View.Builder()
+                                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                        .aggregator(new ElementAggregator.Builder()
+                                                .select(TestPropertyNames.COUNT)
+                                                .execute(new Max())
+                                                .build())
+                                        .build())
+                                .build())
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.OPPOSITE)
+                        .build(),
+                new ToEntitySeeds());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotMergeHopWithPostAggregationFilterInView() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .view(new View.Builder()
+                                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                        .postAggregationFilter(new ElementFilter.Builder()
+                                                .select(TestPropertyNames.COUNT)
+                                                .execute(new IsMoreThan(1))
+                                                .build())
+                                        .build())
+                                .build())
+                        .build(),
+                new ToVertices.Builder()
+                        .useMatchedVertex(UseMatchedVertex.OPPOSITE)
+                        .build(),
+                new ToEntitySeeds());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class FunctionsToViewOptimiserTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "int")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .property(TestPropertyNames.COUNT, "int")
+                    .property(TestPropertyNames.PROP_1, "string")
+                    .build())
+            .build();
+
+    private Store store;
+    private FunctionsToViewOptimiser optimiser;
+
+    @BeforeEach
+    public void setup() {
+        store = mock(Store.class);
+        given(store.getSchema()).willReturn(SCHEMA);
+        given(store.hasTrait(StoreTrait.POST_TRANSFORMATION_FILTERING)).willReturn(true);
+        given(store.hasTrait(StoreTrait.TRANSFORMATION)).willReturn(true);
+        optimiser = new FunctionsToViewOptimiser(store);
+    }
+
+    @Test
+    public void shouldFoldFilterIntoPostTransformFilter() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build();
+        final GetAllElements getAllElements = new GetAllElements.Builder().view(view).build();
+        final Filter filter = new Filter.Builder()
+                .edge(TestGroups.EDGE, new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(5))
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, filter)).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        final View foldedView = ((GetAllElements) ops.get(0)).getView();
+        assertEquals(1, foldedView.getEdges().size());
+        assertTrue(foldedView.getEntities().isEmpty());
+        assertEquals(filter.getEdges().get(TestGroups.EDGE).getComponents(),
+                foldedView.getEdge(TestGroups.EDGE).getPostTransformFilter().getComponents());
+        assertSame(view, getAllElements.getView());
+    }
+
+    @Test
+    public void shouldFoldGlobalFilterIntoEveryGroupAfterExistingFilters() {
+        // Given
+        final ElementFilter existingFilter = new ElementFilter.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(1))
+                .build();
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .postTransformFilter(existingFilter)
+                        .build())
+                .edge(TestGroups.EDGE)
+                .build();
+        final ElementFilter globalFilter = new ElementFilter.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(5))
+                .build();
+        final Filter filter = new Filter.Builder()
+                .globalElements(globalFilter)
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(new GetAllElements.Builder().view(view).build(), filter)).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        final View foldedView = ((GetAllElements) ops.get(0)).getView();
+        final ElementFilter entityFilter = foldedView.getEntity(TestGroups.ENTITY).getPostTransformFilter();
+        assertEquals(2, entityFilter.getComponents().size());
+        assertSame(existingFilter.getComponents().get(0), entityFilter.getComponents().get(0));
+        assertSame(globalFilter.getComponents().get(0), entityFilter.getComponents().get(1));
+        assertEquals(globalFilter.getComponents(), foldedView.getEdge(TestGroups.EDGE).getPostTransformFilter().getComponents());
+        assertEquals(1, existingFilter.getComponents().size());
+    }
+
+    @Test
+    public void shouldNotFoldFilterWhenStoreCannotApplyPostTransformFilters() {
+        // Given
+        given(store.hasTrait(StoreTrait.POST_TRANSFORMATION_FILTERING)).willReturn(false);
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .build();
+        final Filter filter = new Filter.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, filter)).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertSame(getAllElements, ops.get(0));
+        assertSame(filter, ops.get(1));
+    }
+
+    @Test
+    public void shouldNotFoldFilterThatRemovesEveryGroup() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder().entity(TestGroups.ENTITY).build())
+                .build();
+        final Filter filter = new Filter.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, filter)).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+    }
+
+    @Test
+    public void shouldFoldTransformAndThenFilter() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+        final ElementTransformer transformer = new ElementTransformer.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new ToString())
+                .project(TestPropertyNames.PROP_1)
+                .build();
+        final Transform transform = new Transform.Builder()
+                .edge(TestGroups.EDGE, transformer)
+                .build();
+        final Filter filter = new Filter.Builder()
+                .edge(TestGroups.EDGE, new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(5))
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(new GetAllElements.Builder().view(view).build(), transform, filter)).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        final ViewElementDefinition edgeDef = ((GetAllElements) ops.get(0)).getView().getEdge(TestGroups.EDGE);
+        assertEquals(transformer.getComponents(), edgeDef.getTransformer().getComponents());
+        assertEquals(1, edgeDef.getPostTransformFilter().getComponents().size());
+    }
+
+    @Test
+    public void shouldNotFoldTransformProjectingOntoUnknownProperty() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .build();
+        final Transform transform = new Transform.Builder()
+                .edge(TestGroups.EDGE, new ElementTransformer.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new ToString())
+                        .project(TestPropertyNames.PROP_2)
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, transform)).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertNull(((GetAllElements) ops.get(0)).getView().getEdge(TestGroups.EDGE).getTransformer());
+    }
+
+    @Test
+    public void shouldNotFoldTransformAfterPostTransformFilter() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.COUNT)
+                                        .execute(new IsMoreThan(5))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        final Transform transform = new Transform.Builder()
+                .edge(TestGroups.EDGE, new ElementTransformer.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new ToString())
+                        .project(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, transform)).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+    }
+
+    @Test
+    public void shouldNotFoldIntoViewWithPropertySelection() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .properties(TestPropertyNames.PROP_1)
+                                .build())
+                        .build())
+                .build();
+        final Filter filter = new Filter.Builder()
+                .edge(TestGroups.EDGE, new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(5))
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, filter)).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertFalse(((GetAllElements) ops.get(0)).getView().hasPostTransformFilters());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class LimitPushdownOptimiserTest {
+    private final LimitPushdownOptimiser optimiser = new LimitPushdownOptimiser();
+
+    @Test
+    public void shouldAddScanLimitToGetAllElementsFollowedByLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder().entity(TestGroups.ENTITY).build())
+                .build();
+        final Limit<Element> limit = new Limit.Builder<Element>().resultLimit(10).build();
+        final OperationChain<Long> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(limit)
+                .then(new Count<>())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(3, ops.size());
+        assertEquals(Integer.valueOf(10), LimitPushdownOptimiser.getScanLimit(ops.get(0)));
+        assertEquals(getAllElements.getView(), ((GetAllElements) ops.get(0)).getView());
+        assertSame(limit, ops.get(1));
+        assertNull(getAllElements.getOptions());
+    }
+
+    @Test
+    public void shouldAddScanLimitToGetElementsFollowedByLimit() {
+        // Given
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .build())
+                .then(new Limit.Builder<Element>().resultLimit(5).build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Integer.valueOf(5), LimitPushdownOptimiser.getScanLimit(ops.get(0)));
+    }
+
+    @Test
+    public void shouldKeepTheSmallestScanLimit() {
+        // Given
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .option(LimitPushdownOptimiser.SCAN_LIMIT, "3")
+                        .build())
+                .then(new Limit.Builder<Element>().resultLimit(10).build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Integer.valueOf(3), LimitPushdownOptimiser.getScanLimit(ops.get(0)));
+    }
+
+    @Test
+    public void shouldNotAddScanLimitForNonTruncatingLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Limit.Builder<Element>().resultLimit(10).truncate(false).build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertSame(getAllElements, ops.get(0));
+        assertNull(LimitPushdownOptimiser.getScanLimit(ops.get(0)));
+    }
+
+    @Test
+    public void shouldNotAddScanLimitWhenLimitIsNotNextOperation() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final OperationChain<Iterable<? extends Element>> opChain = new OperationChain<>(
+                getAllElements,
+                new ToSet<>(),
+                new Limit.Builder<Element>().resultLimit(10).build());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertSame(getAllElements, ops.get(0));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RedundantOutputOptimiserTest {
+    private final RedundantOutputOptimiser optimiser = new RedundantOutputOptimiser();
+
+    @Test
+    public void shouldRemoveRepeatedToSet() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToSet<Element> lastToSet = new ToSet<>();
+        final OperationChain<?> opChain = new OperationChain<>(getAllElements, new ToSet<>(), new ToSet<>(), lastToSet);
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, lastToSet), ops);
+    }
+
+    @Test
+    public void shouldRemoveToSetBeforeDiscardOutput() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final DiscardOutput discardOutput = new DiscardOutput();
+        final OperationChain<?> opChain = new OperationChain<>(getAllElements, new ToSet<>(), discardOutput);
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, discardOutput), ops);
+    }
+
+    @Test
+    public void shouldRemoveRepeatedDiscardOutput() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final DiscardOutput discardOutput = new DiscardOutput();
+        final GetAllElements nextGetAllElements = new GetAllElements();
+        final OperationChain<?> opChain = new OperationChain<>(getAllElements, discardOutput, new DiscardOutput(), nextGetAllElements);
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, discardOutput, nextGetAllElements), ops);
+    }
+
+    @Test
+    public void shouldNotRemoveToSetWhenNextToSetHasItsOwnInput() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToSet<Element> toSet = new ToSet<>();
+        final ToSet<Object> toSetWithInput = new ToSet.Builder<>()
+                .input(Collections.singletonList("input"))
+                .build();
+        final OperationChain<?> opChain = new OperationChain<>(getAllElements, toSet, toSetWithInput);
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, toSet, toSetWithInput), ops);
+    }
+
+    @Test
+    public void shouldNotRemoveToSetFollowedByOtherOperations() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToSet<Element> toSet = new ToSet<>();
+        final Count<Element> count = new Count<>();
+        final OperationChain<?> opChain = new OperationChain<>(getAllElements, toSet, count);
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, toSet, count), ops);
+    }
+}
@@ -16,13 +16,26 @@
 
 package uk.gov.gchq.gaffer.cache.impl;
 
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
 
 import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheListener;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link ICache} interface, using a Hazelcast {@link IMap}
@@ -33,6 +46,7 @@ import java.util.Set;
  */
 public class HazelcastCache <K, V> implements ICache<K, V> {
     private final IMap<K, V> distributedMap;
+    private final Map<ICacheListener<K>, String> listenerIds = new ConcurrentHashMap<>();
 
     public HazelcastCache(final IMap <K, V> distributedMap) {
         this.distributedMap = distributedMap;
@@ -43,6 +57,14 @@ public class HazelcastCache <K, V> implements ICache<K, V> {
         return distributedMap.get(key);
     }
 
+    @Override
+    public Map<K, V> getAll(final Collection<K> keys) {
+        final Set<K> keySet = keys.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        return distributedMap.getAll(keySet);
+    }
+
     @Override
     public void put(final K key, final V value) throws CacheOperationException {
         try {
@@ -80,4 +102,56 @@ public class HazelcastCache <K, V> implements ICache<K, V> {
             throw new CacheOperationException(e);
         }
     }
+
+    @Override
+    public boolean addListener(final ICacheListener<K> listener) {
+        listenerIds.put(listener, distributedMap.addEntryListener(new ChangeListener<>(listener), false));
+        return true;
+    }
+
+    @Override
+    public void removeListener(final ICacheListener<K> listener) {
+        final String listenerId = listenerIds.remove(listener);
+        if (null != listenerId) {
+            distributedMap.removeEntryListener(listenerId);
+        }
+    }
+
+    /**
+     * Passes the changes to entries in the map, made by any member of the
+     * cluster, on to an {@link ICacheListener}.
+     */
+    private static final class ChangeListener<K, V> implements EntryUpdatedListener<K, V>,
+            EntryRemovedListener<K, V>, EntryEvictedListener<K, V>, MapClearedListener, MapEvictedListener {
+        private final ICacheListener<K> listener;
+
+        private ChangeListener(final ICacheListener<K> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void entryUpdated(final EntryEvent<K, V> event) {
+            listener.entryChanged(event.getKey());
+        }
+
+        @Override
+        public void entryRemoved(final EntryEvent<K, V> event) {
+            listener.entryChanged(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<K, V> event) {
+            listener.entryChanged(event.getKey());
+        }
+
+        @Override
+        public void mapCleared(final MapEvent event) {
+            listener.cacheCleared();
+        }
+
+        @Override
+        public void mapEvicted(final MapEvent event) {
+            listener.cacheCleared();
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code ChunkedOutputExecutor} runs the tasks that write chunked results
+ * back to REST clients.
+ * <p>
+ * The number of threads and the number of queued tasks are bounded and can be
+ * set with the {@link SystemProperty#CHUNKED_OUTPUT_THREADS} and
+ * {@link SystemProperty#CHUNKED_OUTPUT_QUEUE_SIZE} system properties. If the
+ * JVM supports virtual threads they are used, otherwise daemon threads are
+ * created. Tasks submitted when the queue is full are rejected with a
+ * {@link RejectedExecutionException}.
+ */
+public final class ChunkedOutputExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedOutputExecutor.class);
+
+    private static ThreadPoolExecutor service;
+
+    private ChunkedOutputExecutor() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Runs the task on the executor, creating the executor if required.
+     *
+     * @param task the task to run
+     * @throws RejectedExecutionException if the executor is busy
+     */
+    public static void execute(final Runnable task) {
+        getService().execute(task);
+    }
+
+    public static synchronized void shutdown() {
+        if (null != service) {
+            service.shutdown();
+        }
+        service = null;
+    }
+
+    private static synchronized ThreadPoolExecutor getService() {
+        if (null == service) {
+            final int threads = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_OUTPUT_THREADS,
+                    SystemProperty.CHUNKED_OUTPUT_THREADS_DEFAULT));
+            final int queueSize = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_OUTPUT_QUEUE_SIZE,
+                    SystemProperty.CHUNKED_OUTPUT_QUEUE_SIZE_DEFAULT));
+            LOGGER.debug("Initialising ChunkedOutputExecutor with {} threads and a queue size of {}", threads, queueSize);
+            service = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize), createThreadFactory());
+            service.allowCoreThreadTimeOut(true);
+        }
+        return service;
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Virtual threads are not available, using platform threads");
+            return runnable -> {
+                final Thread thread = new Thread(runnable, "chunked-output");
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
@@ -27,7 +27,9 @@ import uk.gov.gchq.gaffer.rest.mapper.GenericExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.ProcessingExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.UnauthorisedExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.WebApplicationExceptionMapper;
+import uk.gov.gchq.gaffer.rest.serialisation.CloseableIterableMessageBodyWriter;
 import uk.gov.gchq.gaffer.rest.serialisation.RestJsonProvider;
+import uk.gov.gchq.gaffer.rest.serialisation.SmileMessageBodyWriter;
 import uk.gov.gchq.gaffer.rest.serialisation.TextMessageBodyWriter;
 
 import java.util.HashSet;
@@ -54,6 +56,8 @@ public abstract class ApplicationConfig extends ResourceConfig {
         resources.add(SwaggerSerializers.class);
         resources.add(RestJsonProvider.class);
         resources.add(TextMessageBodyWriter.class);
+        resources.add(SmileMessageBodyWriter.class);
+        resources.add(CloseableIterableMessageBodyWriter.class);
     }
 
     protected void addExceptionMappers() {
@@ -16,8 +16,8 @@
 
 package uk.gov.gchq.gaffer.rest.service.v2;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.glassfish.jersey.server.ChunkedOutput;
@@ -29,6 +29,7 @@ import uk.gov.gchq.gaffer.commonutil.Required;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.core.exception.ChunkedErrorFrame;
 import uk.gov.gchq.gaffer.core.exception.Error;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
@@ -38,6 +39,7 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.rest.ChunkedOutputExecutor;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.service.v2.example.ExamplesFactory;
@@ -50,15 +52,16 @@ import javax.inject.Inject;
 import javax.ws.rs.core.Response;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
@@ -122,67 +125,36 @@ public class OperationServiceV2 implements IOperationServiceV2 {
         return executeChunkedChain(OperationChain.wrap(operation));
     }
 
-    @SuppressFBWarnings
     @Override
     public Response executeChunkedChain(final OperationChain opChain) {
-        // Create chunked output instance
-        final Throwable[] threadException = new Throwable[1];
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
         final Context context = userFactory.createContext();
 
-        // create thread to write chunks to the chunked output object
-        Thread thread = new Thread(() -> {
-            try {
-                final Object result = _execute(opChain, context).getFirst();
-                chunkResult(result, output);
-            } catch (final Exception e) {
-                throw new RuntimeException(e);
-            } finally {
-                CloseableUtil.close(output);
-                CloseableUtil.close(opChain);
-            }
-        });
-
-        // By default threads throw nothing, so set the ExceptionHandler
-        thread.setUncaughtExceptionHandler((thread1, exception) -> threadException[0] = exception.getCause());
-
-        thread.start();
-
-        // Sleep to check exception will be caught
+        // Execute the chain on the request thread, so any failure is reported before the response starts
+        final Object result;
         try {
-            Thread.sleep(1000);
-        } catch (final InterruptedException e) {
-            return Response.status(INTERNAL_SERVER_ERROR)
-                    .entity(new Error.ErrorBuilder()
-                            .status(Status.INTERNAL_SERVER_ERROR)
-                            .statusCode(500)
-                            .simpleMessage(e.getMessage())
-                            .build())
-                    .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                    .build();
+            result = _execute(opChain, context).getFirst();
+        } catch (final Exception e) {
+            CloseableUtil.close(opChain);
+            return createChunkedErrorResponse(getErrorStatus(e), e.getMessage());
         }
 
-        // If there was an UnauthorisedException thrown return 403, else return a 500
-        if (null != threadException[0]) {
-            if (threadException.getClass().equals(UnauthorisedException.class)) {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.FORBIDDEN)
-                                .statusCode(403)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
-            } else {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.INTERNAL_SERVER_ERROR)
-                                .statusCode(500)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
-            }
+        // Write the chunks to the chunked output object on the chunked output executor
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+        try {
+            ChunkedOutputExecutor.execute(() -> {
+                try {
+                    chunkResult(result, output);
+                } finally {
+                    CloseableUtil.close(output);
+                    CloseableUtil.close(opChain);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Unable to write chunked results as the chunked output executor is busy", e);
+            CloseableUtil.close(result);
+            CloseableUtil.close(output);
+            CloseableUtil.close(opChain);
+            return createChunkedErrorResponse(Status.SERVICE_UNAVAILABLE, "The server is too busy to return chunked results");
         }
 
         // Return ok output
@@ -294,26 +266,73 @@ public class OperationServiceV2 implements IOperationServiceV2 {
     }
 
     protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
-        if (result instanceof Iterable) {
-            final Iterable itr = (Iterable) result;
-            try {
-                for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
+        // One generator and buffer are reused for every chunk, rather than creating them for each item
+        final StringWriter writer = new StringWriter();
+        try (final JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            generator.setRootValueSeparator(null);
+            if (result instanceof Iterable) {
+                final Iterable itr = (Iterable) result;
+                try {
+                    for (final Object item : itr) {
+                        writeChunk(item, generator, writer, output);
+                    }
+                } finally {
+                    CloseableUtil.close(itr);
                 }
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            } finally {
-                CloseableUtil.close(itr);
-            }
-        } else {
-            try {
-                output.write(mapper.writeValueAsString(result));
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
+            } else {
+                writeChunk(result, generator, writer, output);
             }
+        } catch (final IOException ioe) {
+            LOGGER.warn("IOException (chunks)", ioe);
+        } catch (final RuntimeException e) {
+            // The response has already started, so the failure is reported in a final error frame
+            LOGGER.error("Failed to write chunked results", e);
+            writeErrorFrame(e, output);
         }
     }
 
+    private void writeChunk(final Object item, final JsonGenerator generator, final StringWriter writer,
+                            final ChunkedOutput<String> output) throws IOException {
+        mapper.writeValue(generator, item);
+        generator.flush();
+        output.write(writer.toString());
+        writer.getBuffer().setLength(0);
+    }
+
+    private void writeErrorFrame(final RuntimeException e, final ChunkedOutput<String> output) {
+        final Status status = getErrorStatus(e);
+        final Error error = new Error.ErrorBuilder()
+                .status(status)
+                .simpleMessage(e.getMessage())
+                .build();
+        try {
+            output.write(mapper.writeValueAsString(new ChunkedErrorFrame(error)));
+        } catch (final IOException ioe) {
+            LOGGER.warn("Unable to write the chunked error frame", ioe);
+        }
+    }
+
+    private Status getErrorStatus(final Exception e) {
+        if (e instanceof UnauthorisedException) {
+            return Status.FORBIDDEN;
+        }
+        if (e instanceof GafferRuntimeException && null != ((GafferRuntimeException) e).getStatus()) {
+            return ((GafferRuntimeException) e).getStatus();
+        }
+        return Status.INTERNAL_SERVER_ERROR;
+    }
+
+    private Response createChunkedErrorResponse(final Status status, final String message) {
+        return Response.status(status.getStatusCode())
+                .entity(new Error.ErrorBuilder()
+                        .status(status)
+                        .statusCode(status.getStatusCode())
+                        .simpleMessage(message)
+                        .build())
+                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .build();
+    }
+
     private Operation generateExampleJson(final Class<? extends Operation> opClass) throws IllegalAccessException, InstantiationException {
         return examplesFactory.generateExample(opClass);
     }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkedOutputExecutorTest {
+
+    @AfterEach
+    public void after() {
+        ChunkedOutputExecutor.shutdown();
+        System.clearProperty(SystemProperty.CHUNKED_OUTPUT_THREADS);
+        System.clearProperty(SystemProperty.CHUNKED_OUTPUT_QUEUE_SIZE);
+    }
+
+    @Test
+    public void shouldRunTask() throws InterruptedException {
+        // Given
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        // When
+        ChunkedOutputExecutor.execute(latch::countDown);
+
+        // Then
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldRunTaskAfterShutdown() throws InterruptedException {
+        // Given
+        final CountDownLatch latch = new CountDownLatch(1);
+        ChunkedOutputExecutor.execute(() -> {
+        });
+        ChunkedOutputExecutor.shutdown();
+
+        // When
+        ChunkedOutputExecutor.execute(latch::countDown);
+
+        // Then
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldRejectTasksWhenQueueIsFull() throws InterruptedException {
+        // Given
+        System.setProperty(SystemProperty.CHUNKED_OUTPUT_THREADS, "1");
+        System.setProperty(SystemProperty.CHUNKED_OUTPUT_QUEUE_SIZE, "1");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        ChunkedOutputExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        ChunkedOutputExecutor.execute(() -> {
+        });
+
+        // When / Then
+        try {
+            assertThrows(RejectedExecutionException.class, () -> ChunkedOutputExecutor.execute(() -> {
+            }));
+        } finally {
+            release.countDown();
+        }
+    }
+}
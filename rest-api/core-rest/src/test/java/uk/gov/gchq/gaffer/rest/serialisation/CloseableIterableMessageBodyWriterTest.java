@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.JsonAssert;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CloseableIterableMessageBodyWriterTest {
+
+    @Test
+    public void shouldOnlyHandleCloseableIterables() {
+        // Given
+        final CloseableIterableMessageBodyWriter writer = new CloseableIterableMessageBodyWriter();
+
+        // When / Then
+        assertTrue(writer.isWriteable(WrappedCloseableIterable.class, null, null, null));
+        assertFalse(writer.isWriteable(List.class, null, null, null));
+        assertFalse(writer.isWriteable(Object.class, null, null, null));
+        assertFalse(writer.isWriteable(null, null, null, null));
+    }
+
+    @Test
+    public void shouldStreamIterableAsJsonArrayAndCloseIt() throws IOException {
+        // Given
+        final CloseableIterableMessageBodyWriter writer = new CloseableIterableMessageBodyWriter();
+        final List<Element> elements = Arrays.asList(
+                new Entity(TestGroups.ENTITY, "vertex1"),
+                new Entity(TestGroups.ENTITY, "vertex2"));
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final CloseableIterable<Element> iterable = new CloseableIterable<Element>() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+
+            @Override
+            public CloseableIterator<Element> iterator() {
+                return new WrappedCloseableIterator<>(elements.iterator());
+            }
+        };
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        writer.writeTo(iterable, null, null, null, null, null, outputStream);
+
+        // Then
+        JsonAssert.assertEquals(JSONSerialiser.serialise(elements), outputStream.toByteArray());
+        assertTrue(closed.get());
+    }
+}
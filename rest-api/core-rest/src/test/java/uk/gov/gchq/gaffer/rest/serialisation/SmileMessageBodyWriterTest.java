@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SmileMessageBodyWriterTest {
+
+    @Test
+    public void shouldHandleAllObjectTypes() {
+        // Given
+        final SmileMessageBodyWriter writer = new SmileMessageBodyWriter();
+
+        // When / Then
+        assertTrue(writer.isWriteable(null, null, null, null));
+        assertTrue(writer.isWriteable(String.class, null, null, null));
+        assertTrue(writer.isWriteable(Object.class, null, null, null));
+    }
+
+    @Test
+    public void shouldSerialiseObjectToSmileAndWrite() throws IOException {
+        // Given
+        final SmileMessageBodyWriter writer = new SmileMessageBodyWriter();
+        final Entity entity = createEntity("vertex1");
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        writer.writeTo(entity, null, null, null, null, null, outputStream);
+
+        // Then
+        assertEquals(entity, SmileSerialiser.deserialise(outputStream.toByteArray(), Element.class));
+    }
+
+    @Test
+    public void shouldWriteIterableAsArrayAndCloseIt() throws IOException {
+        // Given
+        final SmileMessageBodyWriter writer = new SmileMessageBodyWriter();
+        final List<Element> elements = Arrays.asList(createEntity("vertex1"), createEntity("vertex2"));
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final CloseableIterable<Element> iterable = new CloseableIterable<Element>() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+
+            @Override
+            public CloseableIterator<Element> iterator() {
+                return new WrappedCloseableIterator<>(elements.iterator());
+            }
+        };
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        writer.writeTo(iterable, null, null, null, null, null, outputStream);
+
+        // Then
+        final List<Element> result = SmileSerialiser.deserialise(outputStream.toByteArray(), new TypeReference<List<Element>>() {
+        });
+        assertEquals(elements, result);
+        assertTrue(closed.get());
+    }
+
+    private static Entity createEntity(final String vertex) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, 1)
+                .build();
+    }
+}
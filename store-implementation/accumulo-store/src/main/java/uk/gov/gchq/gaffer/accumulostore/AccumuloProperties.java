@@ -45,6 +45,12 @@ public class AccumuloProperties extends StoreProperties {
     public static final String NAMESPACE = "accumulo.namespace";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String PREFETCH_DEPTH_FOR_BATCH_SCANNER = "accumulo.batchScannerPrefetchDepth";
+    public static final String THREADS_FOR_BATCH_SCANNER_PREFETCH = "accumulo.batchScannerPrefetchThreads";
+    public static final String THREADS_FOR_PARALLEL_DECODE = "accumulo.parallelDecodeThreads";
+    public static final String MAX_BATCHES_FOR_PARALLEL_DECODE = "accumulo.parallelDecodeMaxBatches";
+    public static final String INGEST_BUFFER_SIZE = "accumulo.ingestBufferSize";
+    public static final String INGEST_THREADS = "accumulo.ingestThreads";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
@@ -58,6 +64,12 @@ public class AccumuloProperties extends StoreProperties {
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String PREFETCH_DEPTH_FOR_BATCH_SCANNER_DEFAULT = "0";
+    private static final String THREADS_FOR_BATCH_SCANNER_PREFETCH_DEFAULT = "10";
+    private static final String THREADS_FOR_PARALLEL_DECODE_DEFAULT = "0";
+    private static final String MAX_BATCHES_FOR_PARALLEL_DECODE_DEFAULT = "16";
+    private static final String INGEST_BUFFER_SIZE_DEFAULT = "0";
+    private static final String INGEST_THREADS_DEFAULT = "1";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
@@ -303,6 +315,130 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets the number of batches of seeds that should be opened in the
+     * background while the current batch scanner is being read. If this is 0
+     * the next batch is only opened once the current batch has been read.
+     *
+     * @return An integer representing the number of batch scanners to prefetch.
+     */
+    public int getPrefetchDepthForBatchScanner() {
+        return Integer.parseInt(get(PREFETCH_DEPTH_FOR_BATCH_SCANNER, PREFETCH_DEPTH_FOR_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Sets the number of batches of seeds that should be opened in the
+     * background while the current batch scanner is being read.
+     *
+     * @param prefetchDepthForBatchScanner the number of batch scanners to prefetch.
+     */
+    public void setPrefetchDepthForBatchScanner(final String prefetchDepthForBatchScanner) {
+        set(PREFETCH_DEPTH_FOR_BATCH_SCANNER, prefetchDepthForBatchScanner);
+    }
+
+    /**
+     * Gets the number of threads, shared by all queries against the store,
+     * used to open the prefetched batch scanners.
+     *
+     * @return An integer representing the number of threads used to prefetch batch scanners.
+     */
+    public int getThreadsForBatchScannerPrefetch() {
+        return Integer.parseInt(get(THREADS_FOR_BATCH_SCANNER_PREFETCH, THREADS_FOR_BATCH_SCANNER_PREFETCH_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads, shared by all queries against the store,
+     * used to open the prefetched batch scanners.
+     *
+     * @param threadsForBatchScannerPrefetch the number of threads used to prefetch batch scanners.
+     */
+    public void setThreadsForBatchScannerPrefetch(final String threadsForBatchScannerPrefetch) {
+        set(THREADS_FOR_BATCH_SCANNER_PREFETCH, threadsForBatchScannerPrefetch);
+    }
+
+    /**
+     * Gets the number of threads to use to convert the key/values returned by
+     * a batch scanner into elements. The threads are shared by all queries
+     * against the store. If this is 0 the key/values are converted on the
+     * thread consuming the results.
+     *
+     * @return An integer representing the number of threads to use to convert
+     * key/values into elements.
+     */
+    public int getThreadsForParallelDecode() {
+        return Integer.parseInt(get(THREADS_FOR_PARALLEL_DECODE, THREADS_FOR_PARALLEL_DECODE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads to use to convert the key/values returned by
+     * a batch scanner into elements.
+     *
+     * @param threadsForParallelDecode the number of threads to use to convert key/values into elements.
+     */
+    public void setThreadsForParallelDecode(final String threadsForParallelDecode) {
+        set(THREADS_FOR_PARALLEL_DECODE, threadsForParallelDecode);
+    }
+
+    /**
+     * Gets the maximum number of batches of key/values that can be read ahead
+     * of the consumer when converting key/values in parallel.
+     *
+     * @return An integer representing the maximum number of batches to read ahead.
+     */
+    public int getMaxBatchesForParallelDecode() {
+        return Integer.parseInt(get(MAX_BATCHES_FOR_PARALLEL_DECODE, MAX_BATCHES_FOR_PARALLEL_DECODE_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of batches of key/values that can be read ahead
+     * of the consumer when converting key/values in parallel.
+     *
+     * @param maxBatchesForParallelDecode the maximum number of batches to read ahead.
+     */
+    public void setMaxBatchesForParallelDecode(final String maxBatchesForParallelDecode) {
+        set(MAX_BATCHES_FOR_PARALLEL_DECODE, maxBatchesForParallelDecode);
+    }
+
+    /**
+     * Gets the number of elements to buffer when adding elements, so that
+     * elements with the same key can be aggregated before they are sent to
+     * Accumulo. If this is 0 the elements are not buffered.
+     *
+     * @return An integer representing the number of elements to buffer.
+     */
+    public int getIngestBufferSize() {
+        return Integer.parseInt(get(INGEST_BUFFER_SIZE, INGEST_BUFFER_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements to buffer when adding elements.
+     *
+     * @param ingestBufferSize the number of elements to buffer.
+     */
+    public void setIngestBufferSize(final String ingestBufferSize) {
+        set(INGEST_BUFFER_SIZE, ingestBufferSize);
+    }
+
+    /**
+     * Gets the number of threads to use to convert elements into mutations
+     * when adding elements.
+     *
+     * @return An integer representing the number of threads to use to build mutations.
+     */
+    public int getIngestThreads() {
+        return Integer.parseInt(get(INGEST_THREADS, INGEST_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads to use to convert elements into mutations
+     * when adding elements.
+     *
+     * @param ingestThreads the number of threads to use to build mutations.
+     */
+    public void setIngestThreads(final String ingestThreads) {
+        set(INGEST_THREADS, ingestThreads);
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
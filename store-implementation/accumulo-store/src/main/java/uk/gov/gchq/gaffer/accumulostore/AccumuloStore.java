@@ -16,7 +16,9 @@
 
 package uk.gov.gchq.gaffer.accumulostore;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchWriter;
@@ -99,16 +101,25 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -151,8 +162,12 @@ public class AccumuloStore extends Store {
             ));
     public static final String FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS = "Failed to create an accumulo {} from element of type {} when trying to insert elements";
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
+    private static final int INGEST_BATCH_SIZE_WITHOUT_AGGREGATION = 10000;
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private ExecutorService decodePool;
+    private ExecutorService prefetchPool;
+    private ExecutorService ingestPool;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -208,6 +223,57 @@ public class AccumuloStore extends Store {
         return connection;
     }
 
+    /**
+     * Returns the pool of threads used to convert the key/values returned by
+     * batch scanners into elements. The pool is shared by all queries against
+     * this store, is sized by {@link AccumuloProperties#getThreadsForParallelDecode()}
+     * and is created when it is first needed. Its threads are daemon threads so
+     * they do not prevent the JVM from exiting.
+     *
+     * @return the decode pool
+     */
+    public synchronized ExecutorService getDecodePool() {
+        if (null == decodePool) {
+            decodePool = Executors.newFixedThreadPool(getProperties().getThreadsForParallelDecode(),
+                    new ThreadFactoryBuilder().setNameFormat("accumulo-parallel-decode-%d").setDaemon(true).build());
+        }
+        return decodePool;
+    }
+
+    /**
+     * Returns the pool of threads used to open the prefetched batch scanners
+     * when retrieving elements. The pool is shared by all queries against this
+     * store, is sized by {@link AccumuloProperties#getThreadsForBatchScannerPrefetch()}
+     * and is created when it is first needed. Its threads are daemon threads so
+     * they do not prevent the JVM from exiting.
+     *
+     * @return the prefetch pool
+     */
+    public synchronized ExecutorService getPrefetchPool() {
+        if (null == prefetchPool) {
+            prefetchPool = Executors.newFixedThreadPool(getProperties().getThreadsForBatchScannerPrefetch(),
+                    new ThreadFactoryBuilder().setNameFormat("accumulo-batch-scanner-prefetch-%d").setDaemon(true).build());
+        }
+        return prefetchPool;
+    }
+
+    /**
+     * Returns the pool of threads used to build mutations and add them to the
+     * batch writer when adding elements. The pool is shared by all ingests into
+     * this store, is sized by {@link AccumuloProperties#getIngestThreads()} and
+     * is created when it is first needed. Its threads are daemon threads so
+     * they do not prevent the JVM from exiting.
+     *
+     * @return the ingest pool
+     */
+    public synchronized ExecutorService getIngestPool() {
+        if (null == ingestPool) {
+            ingestPool = Executors.newFixedThreadPool(getProperties().getIngestThreads(),
+                    new ThreadFactoryBuilder().setNameFormat("accumulo-ingest-%d").setDaemon(true).build());
+        }
+        return ingestPool;
+    }
+
     public String getTableName() {
         if (StringUtils.isNotBlank(getProperties().getNamespace())) {
             return String.format("%s.%s", getProperties().getNamespace(), getGraphId());
@@ -424,62 +490,194 @@ public class AccumuloStore extends Store {
         insertGraphElements(elements);
     }
 
+    /**
+     * Converts the elements to {@link Mutation}s and writes them to Accumulo.
+     * <p>
+     * If {@link AccumuloProperties#getIngestBufferSize()} is greater than 0 the
+     * elements are read into a buffer of that size and elements with the same
+     * key are aggregated client side before they are written. If
+     * {@link AccumuloProperties#getIngestThreads()} is greater than 1 the
+     * mutations for each buffer are built and added to the {@link BatchWriter}
+     * by a pool of threads. Within a buffer, all the keys for the same row are
+     * put in a single mutation.
+     *
+     * @param elements The elements to be added.
+     * @throws StoreException If there is a failure to insert the elements into a table.
+     */
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
+        if (null == elements) {
+            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+        }
+
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
-        // Loop through elements, convert to mutations, and add to
-        // BatchWriter.as
-        // The BatchWriter takes care of batching them up, sending them without
-        // too high a latency, etc.
-        if (null != elements) {
-            for (final Element element : elements) {
-
-                final Pair<Key, Key> keys;
-                try {
-                    keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
-                    continue;
-                }
-                final Value value;
-                try {
-                    value = keyPackage.getKeyConverter().getValueFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
-                    continue;
-                }
-                final Mutation m = new Mutation(keys.getFirst().getRow());
-                m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                        new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
-                try {
-                    writer.addMutation(m);
-                } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
-                    continue;
-                }
-                // If the GraphElement is a Vertex then there will only be 1 key,
-                // and the second will be null.
-                // If the GraphElement is an Edge then there will be 2 keys.
-                if (null != keys.getSecond()) {
-                    final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                    m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                            new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                            value);
-                    try {
-                        writer.addMutation(m2);
-                    } catch (final MutationsRejectedException e) {
-                        LOGGER.error("Failed to create an accumulo key mutation");
+        try {
+            final int bufferSize = getProperties().getIngestBufferSize();
+            final int threads = getProperties().getIngestThreads();
+            if (bufferSize < 1 && threads < 2) {
+                // Loop through elements, convert to mutations, and add to
+                // BatchWriter. The BatchWriter takes care of batching them up,
+                // sending them without too high a latency, etc.
+                for (final Element element : elements) {
+                    if (null != element) {
+                        writeMutations(writer, Collections.singletonList(element));
                     }
                 }
+            } else {
+                insertGraphElementsInBatches(writer, elements, bufferSize, threads);
+            }
+        } finally {
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                LOGGER.warn("Accumulo batch writer failed to close", e);
+            }
+        }
+    }
+
+    private void insertGraphElementsInBatches(final BatchWriter writer, final Iterable<? extends Element> elements,
+                                              final int bufferSize, final int threads) throws StoreException {
+        final Map<String, Set<String>> groupBys = bufferSize > 0 ? getIngestAggregationGroupBys() : null;
+        final int batchSize = null != groupBys ? bufferSize : INGEST_BATCH_SIZE_WITHOUT_AGGREGATION;
+        final ExecutorService executor = threads > 1 ? getIngestPool() : null;
+        final List<Element> batch = new ArrayList<>(batchSize);
+        for (final Element element : elements) {
+            if (null != element) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    writeBatch(writer, batch, groupBys, executor, threads);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(writer, batch, groupBys, executor, threads);
+        }
+    }
+
+    /**
+     * Returns the properties to group elements by when they are aggregated
+     * client side. These are the ingest group by properties, which include the
+     * visibility property, plus the timestamp property. Both the visibility
+     * and the timestamp are part of the Accumulo key, so elements that differ
+     * in either are never combined by Accumulo.
+     *
+     * @return a map of group to the properties to group by
+     */
+    private Map<String, Set<String>> getIngestAggregationGroupBys() {
+        final String timestampProperty = getSchema().getConfig(AccumuloStoreConstants.TIMESTAMP_PROPERTY);
+        final Map<String, Set<String>> groupBys = AggregatorUtil.getIngestGroupBys(getSchema());
+        for (final Entry<String, Set<String>> entry : groupBys.entrySet()) {
+            final SchemaElementDefinition elementDef = getSchema().getElement(entry.getKey());
+            final Set<String> groupBy = new LinkedHashSet<>(entry.getValue());
+            if (null != timestampProperty && elementDef.containsProperty(timestampProperty)) {
+                groupBy.add(timestampProperty);
             }
+            entry.setValue(groupBy);
+        }
+        return groupBys;
+    }
+
+    private void writeBatch(final BatchWriter writer, final List<Element> batch, final Map<String, Set<String>> groupBys,
+                            final ExecutorService executor, final int threads) throws StoreException {
+        final List<Element> elements;
+        if (null != groupBys) {
+            elements = aggregate(batch, groupBys);
         } else {
-            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+            elements = batch;
         }
-        try {
-            writer.close();
-        } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+
+        if (null == executor) {
+            writeMutations(writer, elements);
+            return;
+        }
+
+        final int partitionSize = (elements.size() + threads - 1) / threads;
+        final List<Future<?>> futures = new ArrayList<>(threads);
+        for (final List<Element> partition : Lists.partition(elements, Math.max(1, partitionSize))) {
+            futures.add(executor.submit(() -> writeMutations(writer, partition)));
+        }
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StoreException("Interrupted whilst adding elements", e);
+            } catch (final ExecutionException e) {
+                throw new StoreException("Failed to add elements", e.getCause());
+            }
+        }
+    }
+
+    private List<Element> aggregate(final List<Element> batch, final Map<String, Set<String>> groupBys) {
+        final Collection<String> aggregatedGroups = getSchema().getAggregatedGroups();
+        final AggregatorUtil.ToElementKey toKey = new AggregatorUtil.ToElementKey(groupBys);
+        final AggregatorUtil.IngestElementBinaryOperator aggregator = new AggregatorUtil.IngestElementBinaryOperator(getSchema());
+        final Map<Element, Element> aggregated = new LinkedHashMap<>();
+        final List<Element> elements = new ArrayList<>(batch.size());
+        for (final Element element : batch) {
+            if (aggregatedGroups.contains(element.getGroup())) {
+                aggregated.merge(toKey.apply(element), element, aggregator);
+            } else {
+                elements.add(element);
+            }
+        }
+        elements.addAll(aggregated.values());
+        return elements;
+    }
+
+    /**
+     * Converts the elements to mutations and adds them to the writer. The keys
+     * for the same row, such as both keys of a self-loop edge, are put in the
+     * same mutation.
+     *
+     * @param writer   the writer to add the mutations to
+     * @param elements the elements to convert
+     */
+    private void writeMutations(final BatchWriter writer, final Iterable<? extends Element> elements) {
+        final Map<Text, Mutation> mutations = new LinkedHashMap<>();
+        for (final Element element : elements) {
+            final Pair<Key, Key> keys;
+            try {
+                keys = keyPackage.getKeyConverter().getKeysFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+                continue;
+            }
+            final Value value;
+            try {
+                value = keyPackage.getKeyConverter().getValueFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+                continue;
+            }
+            putKey(mutations, keys.getFirst(), value);
+            // If the GraphElement is a Vertex then there will only be 1 key,
+            // and the second will be null.
+            // If the GraphElement is an Edge then there will be 2 keys.
+            if (null != keys.getSecond()) {
+                putKey(mutations, keys.getSecond(), value);
+            }
+        }
+
+        for (final Mutation mutation : mutations.values()) {
+            try {
+                writer.addMutation(mutation);
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Failed to create an accumulo key mutation");
+            }
+        }
+    }
+
+    private static void putKey(final Map<Text, Mutation> mutations, final Key key, final Value value) {
+        final Text row = key.getRow();
+        Mutation mutation = mutations.get(row);
+        if (null == mutation) {
+            mutation = new Mutation(row);
+            mutations.put(row, mutation);
         }
+        mutation.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
     }
 
     /**
@@ -25,27 +25,32 @@ import org.apache.accumulo.core.data.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
-import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters, I_ITEM>
         extends AccumuloRetriever<OP, Element> {
@@ -88,36 +93,51 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    /**
+     * Iterates over the elements for the seeds, using a new {@link BatchScanner}
+     * for each batch of {@link AccumuloProperties#getMaxEntriesForBatchScanner()} seeds.
+     * <p>
+     * If {@link AccumuloProperties#getPrefetchDepthForBatchScanner()} is greater
+     * than 0 then up to that many of the following batches have their ranges
+     * created and scanners opened on the store's shared
+     * {@link AccumuloStore#getPrefetchPool()} while the current batch is read,
+     * so the tablet servers are not left idle between batches. Batches are
+     * returned in seed order, however many threads the pool has. The
+     * prefetched scanners are closed once the iterator is exhausted, a batch
+     * fails or the iterator is closed.
+     */
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
+        private final int prefetchDepth;
+        private final ExecutorService prefetchPool;
+        private final Deque<CompletableFuture<ScannerBatch>> prefetchedBatches = new ArrayDeque<>();
+        private final Queue<CompletableFuture<ScannerBatch>> unopenedBatches = new ArrayDeque<>();
+        private final Set<BatchScanner> prefetchedScanners = new HashSet<>();
+        private volatile boolean prefetchClosed;
         private BatchScanner scanner;
-        private Iterator<Entry<Key, Value>> scannerIterator;
+        private CloseableIterator<Element> elementIterator;
         private Element nextElm;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            prefetchDepth = Math.max(0, store.getProperties().getPrefetchDepthForBatchScanner());
 
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
             try {
-                scanner = getScanner(ranges);
+                setBatch(new ScannerBatch(getScanner(createRanges())));
             } catch (final Exception e) {
                 CloseableUtil.close(idsIterator);
                 CloseableUtil.close(ids);
                 throw new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
+
+            if (prefetchDepth > 0) {
+                prefetchPool = store.getPrefetchPool();
+                prefetch();
+            } else {
+                prefetchPool = null;
+            }
         }
 
         @Override
@@ -126,55 +146,19 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             if (null != nextElm) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Entry<Key, Value> entry = scannerIterator.next();
-                try {
-                    nextElm = elementConverter.getFullElement(
-                            entry.getKey(),
-                            entry.getValue(),
-                            includeMatchedVertex);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
-                            e);
-                    continue;
-                }
-                doTransformation(nextElm);
-                if (doPostFilter(nextElm)) {
-                    ViewUtil.removeProperties(operation.getView(), nextElm);
+            while (true) {
+                if (elementIterator.hasNext()) {
+                    nextElm = elementIterator.next();
                     return true;
-                } else {
-                    nextElm = null;
-                }
-            }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
                 }
+
+                // If current scanner is spent then move on to the next batch
+                // of seeds, if there are no more seeds then return false.
+                elementIterator.close();
                 scanner.close();
-                try {
-                    scanner = getScanner(ranges);
-                } catch (final TableNotFoundException | StoreException e) {
-                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                if (!nextBatch()) {
                     return false;
                 }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
             }
         }
 
@@ -197,9 +181,155 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         @Override
         public void close() {
+            closePrefetchedBatches();
+            if (null != elementIterator) {
+                elementIterator.close();
+            }
             if (null != scanner) {
                 scanner.close();
             }
         }
+
+        private boolean nextBatch() {
+            if (null == prefetchPool) {
+                if (!idsIterator.hasNext()) {
+                    return false;
+                }
+                try {
+                    setBatch(new ScannerBatch(getScanner(createRanges())));
+                } catch (final TableNotFoundException | StoreException e) {
+                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                    return false;
+                }
+                return true;
+            }
+
+            final CompletableFuture<ScannerBatch> future = prefetchedBatches.poll();
+            if (null == future) {
+                closePrefetchedBatches();
+                return false;
+            }
+
+            final ScannerBatch batch;
+            try {
+                batch = future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted waiting for the next batch scanner, returning iterator doesn't have any more elements", e);
+                closePrefetchedBatches();
+                return false;
+            } catch (final ExecutionException e) {
+                LOGGER.error("{} returning iterator doesn't have any more elements", e.getCause().getMessage(), e.getCause());
+                closePrefetchedBatches();
+                return false;
+            }
+            if (null == batch) {
+                closePrefetchedBatches();
+                return false;
+            }
+
+            synchronized (prefetchedScanners) {
+                prefetchedScanners.remove(batch.scanner);
+            }
+            setBatch(batch);
+            prefetch();
+            return true;
+        }
+
+        private void setBatch(final ScannerBatch batch) {
+            scanner = batch.scanner;
+            elementIterator = createElementIterator(batch.iterator, includeMatchedVertex);
+        }
+
+        private void prefetch() {
+            while (prefetchedBatches.size() < prefetchDepth) {
+                final CompletableFuture<ScannerBatch> batch = new CompletableFuture<>();
+                synchronized (idsIterator) {
+                    unopenedBatches.add(batch);
+                }
+                prefetchedBatches.add(batch);
+                prefetchPool.execute(this::openNextBatch);
+            }
+        }
+
+        /**
+         * Opens a scanner for the next batch of seeds. The prefetch tasks of
+         * this iterator may run on different pool threads and in any order, so
+         * each task takes the oldest unopened batch together with the next
+         * seeds while holding the lock on the seeds. The consumer waits on the
+         * batches in the order they were added, so it reads them in seed order.
+         * Each opened scanner is recorded until the consumer takes it, so it
+         * can be closed if the iterator is closed first.
+         */
+        private void openNextBatch() {
+            CompletableFuture<ScannerBatch> batchFuture = null;
+            try {
+                final Set<Range> ranges;
+                synchronized (idsIterator) {
+                    batchFuture = unopenedBatches.poll();
+                    if (prefetchClosed || !idsIterator.hasNext()) {
+                        batchFuture.complete(null);
+                        return;
+                    }
+                    ranges = createRanges();
+                }
+                final ScannerBatch batch = new ScannerBatch(getScanner(ranges));
+                synchronized (prefetchedScanners) {
+                    if (prefetchClosed) {
+                        batch.scanner.close();
+                        batchFuture.complete(null);
+                        return;
+                    }
+                    prefetchedScanners.add(batch.scanner);
+                }
+                batchFuture.complete(batch);
+            } catch (final Exception e) {
+                if (null != batchFuture) {
+                    batchFuture.completeExceptionally(e);
+                }
+            }
+        }
+
+        private void closePrefetchedBatches() {
+            if (null == prefetchPool) {
+                return;
+            }
+            prefetchedBatches.clear();
+            synchronized (prefetchedScanners) {
+                prefetchClosed = true;
+                for (final BatchScanner prefetchedScanner : prefetchedScanners) {
+                    prefetchedScanner.close();
+                }
+                prefetchedScanners.clear();
+            }
+        }
+
+        private Set<Range> createRanges() {
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+            return ranges;
+        }
+    }
+
+    /**
+     * A {@link BatchScanner} and its iterator. Creating the iterator starts
+     * the scan, so the tablet servers begin returning results straight away.
+     */
+    private static final class ScannerBatch {
+        private final BatchScanner scanner;
+        private final Iterator<Entry<Key, Value>> iterator;
+
+        private ScannerBatch(final BatchScanner scanner) {
+            this.scanner = scanner;
+            this.iterator = scanner.iterator();
+        }
     }
 }
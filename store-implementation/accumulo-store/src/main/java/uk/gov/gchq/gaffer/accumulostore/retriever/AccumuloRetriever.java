@@ -19,28 +19,42 @@ package uk.gov.gchq.gaffer.accumulostore.retriever;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ParallelTransformIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.StreamIterator;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 
 public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM> implements CloseableIterable<O_ITEM> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloRetriever.class);
@@ -79,7 +93,17 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @param element the element to transform
      */
     public void doTransformation(final Element element) {
-        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
+        doTransformation(element, operation.getView());
+    }
+
+    /**
+     * Performs any transformations specified in the provided view on an element
+     *
+     * @param element the element to transform
+     * @param view    the view containing the transformations
+     */
+    protected void doTransformation(final Element element, final View view) {
+        final ViewElementDefinition viewDef = view.getElement(element.getGroup());
         if (null != viewDef) {
             transform(element, viewDef.getTransformer());
         }
@@ -92,13 +116,75 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @return the result of validating the element against the post filters
      */
     public boolean doPostFilter(final Element element) {
-        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
+        return doPostFilter(element, operation.getView());
+    }
+
+    /**
+     * Performs any post Filtering specified in the provided view on an element
+     *
+     * @param element the element to post Filter
+     * @param view    the view containing the post filters
+     * @return the result of validating the element against the post filters
+     */
+    protected boolean doPostFilter(final Element element, final View view) {
+        final ViewElementDefinition viewDef = view.getElement(element.getGroup());
         if (null != viewDef) {
             return postFilter(element, viewDef.getPostTransformFilter());
         }
         return true;
     }
 
+    /**
+     * Creates an iterator that converts the key/values from a scanner into
+     * elements, applying the transformations and post filters in the view.
+     * Key/values that cannot be converted, or whose elements fail the post
+     * filters, are skipped.
+     * <p>
+     * If {@link AccumuloProperties#getThreadsForParallelDecode()} is greater
+     * than 0 the key/values are converted by the store's shared
+     * {@link AccumuloStore#getDecodePool()}. Each chunk being decoded uses its
+     * own copy of the view, as the view functions are not thread safe.
+     * The order of the key/values is preserved unless the
+     * {@link AccumuloStoreConstants#OPERATION_PARALLEL_DECODE_PRESERVE_ORDER}
+     * option on the operation is set to false.
+     *
+     * @param entries              the key/values from the scanner
+     * @param includeMatchedVertex true if the matched vertex should be set on edges
+     * @return an iterator of the converted elements
+     */
+    protected CloseableIterator<Element> createElementIterator(final Iterator<Entry<Key, Value>> entries,
+                                                               final boolean includeMatchedVertex) {
+        final int threads = store.getProperties().getThreadsForParallelDecode();
+        if (threads < 1) {
+            final Function<Entry<Key, Value>, Element> decoder = createDecoder(operation.getView(), includeMatchedVertex);
+            return new StreamIterator<>(Streams.toStream(entries).map(decoder).filter(Objects::nonNull));
+        }
+
+        final boolean preserveOrder = Boolean.parseBoolean(
+                operation.getOption(AccumuloStoreConstants.OPERATION_PARALLEL_DECODE_PRESERVE_ORDER, "true"));
+        return new ParallelTransformIterator<>(entries,
+                () -> createDecoder(operation.getView().clone(), includeMatchedVertex),
+                store.getDecodePool(), store.getProperties().getMaxBatchesForParallelDecode(), preserveOrder);
+    }
+
+    private Function<Entry<Key, Value>, Element> createDecoder(final View view, final boolean includeMatchedVertex) {
+        return entry -> {
+            final Element element;
+            try {
+                element = elementConverter.getFullElement(entry.getKey(), entry.getValue(), includeMatchedVertex);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to re-create an element from a key value entry set, skipping entry", e);
+                return null;
+            }
+            doTransformation(element, view);
+            if (!doPostFilter(element, view)) {
+                return null;
+            }
+            ViewUtil.removeProperties(view, element);
+            return element;
+        };
+    }
+
     @Override
     public void close() {
         if (null != iterator) {
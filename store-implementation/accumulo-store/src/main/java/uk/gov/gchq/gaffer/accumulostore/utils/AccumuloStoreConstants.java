@@ -81,6 +81,7 @@ public final class AccumuloStoreConstants {
 
     // Operations options
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
+    public static final String OPERATION_PARALLEL_DECODE_PRESERVE_ORDER = "accumulostore.operation.parallelDecode.preserveOrder";
 
     // General use constants
     public static final byte[] EMPTY_BYTES = new byte[0];
@@ -64,6 +64,12 @@ public class AccumuloPropertiesTest {
         final String ZOOKEEPERS = "accumulo.zookeepers";
         final String INSTANCE = "accumulo.instance";
         final String NUM_THREADS_SCANNER = "8";
+        final String PREFETCH_DEPTH_SCANNER = "2";
+        final String PREFETCH_THREADS_SCANNER = "3";
+        final String PARALLEL_DECODE_THREADS = "4";
+        final String PARALLEL_DECODE_MAX_BATCHES = "8";
+        final String INGEST_BUFFER_SIZE = "1000";
+        final String INGEST_THREADS = "4";
         final String CLIENT_SIDE_BLOOM = "786432000";
         final String FALSE_POSITIVE_RATE = "0.0003";
         final String MAX_BLOOM_FILTER = "7864320";
@@ -78,6 +84,12 @@ public class AccumuloPropertiesTest {
         props.setZookeepers(ZOOKEEPERS);
         props.setInstance(INSTANCE);
         props.setThreadsForBatchScanner(NUM_THREADS_SCANNER);
+        props.setPrefetchDepthForBatchScanner(PREFETCH_DEPTH_SCANNER);
+        props.setThreadsForBatchScannerPrefetch(PREFETCH_THREADS_SCANNER);
+        props.setThreadsForParallelDecode(PARALLEL_DECODE_THREADS);
+        props.setMaxBatchesForParallelDecode(PARALLEL_DECODE_MAX_BATCHES);
+        props.setIngestBufferSize(INGEST_BUFFER_SIZE);
+        props.setIngestThreads(INGEST_THREADS);
         props.setClientSideBloomFilterSize(CLIENT_SIDE_BLOOM);
         props.setFalsePositiveRate(FALSE_POSITIVE_RATE);
         props.setMaxBloomFilterToPassToAnIterator(MAX_BLOOM_FILTER);
@@ -93,6 +105,12 @@ public class AccumuloPropertiesTest {
         assertEquals(ZOOKEEPERS, props.getZookeepers());
         assertEquals(INSTANCE, props.getInstance());
         assertEquals(Integer.parseInt(NUM_THREADS_SCANNER), props.getThreadsForBatchScanner());
+        assertEquals(Integer.parseInt(PREFETCH_DEPTH_SCANNER), props.getPrefetchDepthForBatchScanner());
+        assertEquals(Integer.parseInt(PREFETCH_THREADS_SCANNER), props.getThreadsForBatchScannerPrefetch());
+        assertEquals(Integer.parseInt(PARALLEL_DECODE_THREADS), props.getThreadsForParallelDecode());
+        assertEquals(Integer.parseInt(PARALLEL_DECODE_MAX_BATCHES), props.getMaxBatchesForParallelDecode());
+        assertEquals(Integer.parseInt(INGEST_BUFFER_SIZE), props.getIngestBufferSize());
+        assertEquals(Integer.parseInt(INGEST_THREADS), props.getIngestThreads());
         assertEquals(Integer.parseInt(CLIENT_SIDE_BLOOM), props.getClientSideBloomFilterSize());
         assertEquals(Double.parseDouble(FALSE_POSITIVE_RATE), props.getFalsePositiveRate(), 0.0001D);
         assertEquals(Integer.parseInt(MAX_BLOOM_FILTER), props.getMaxBloomFilterToPassToAnIterator());
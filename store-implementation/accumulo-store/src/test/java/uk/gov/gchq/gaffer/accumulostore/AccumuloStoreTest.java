@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
@@ -45,6 +46,7 @@ import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
@@ -86,7 +88,9 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -294,6 +298,126 @@ public class AccumuloStoreTest {
         testAbleToInsertAndRetrieveEntityQueryingEqualAndRelated(GAFFER_1_KEY_STORE);
     }
 
+    @Test
+    public void shouldAggregateElementsClientSideWhenIngestBufferAndThreadsAreSet() throws StoreException, OperationException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setIngestBufferSize("20");
+        properties.setIngestThreads("3");
+        final AccumuloStore store = new SingleUseAccumuloStore();
+        store.initialise("ingestBufferGraph", SCHEMA, properties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("A")
+                    .dest("B")
+                    .directed(true)
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("C")
+                    .dest("C")
+                    .directed(true)
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("A")
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+        }
+
+        // When
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+
+        // Then
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("C"))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        try (final CloseableIterable<? extends Element> results = store.execute(getElements, new Context(new User()))) {
+            final List<Element> resultList = Lists.newArrayList(results);
+            assertEquals(3, resultList.size());
+            for (final Element element : resultList) {
+                assertEquals(50, element.getProperty(TestPropertyNames.COUNT));
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotAggregateElementsClientSideWithDifferentVisibilities() throws StoreException, OperationException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setIngestBufferSize("20");
+        properties.setIngestThreads("3");
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .property(TestPropertyNames.COUNT, TestTypes.PROP_COUNT)
+                        .property(TestPropertyNames.VISIBILITY, TestTypes.VISIBILITY)
+                        .build())
+                .type(TestTypes.ID_STRING, String.class)
+                .type(TestTypes.PROP_COUNT, new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type(TestTypes.VISIBILITY, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .aggregateFunction(new StringConcat())
+                        .build())
+                .visibilityProperty(TestPropertyNames.VISIBILITY)
+                .build();
+        final AccumuloStore store = new SingleUseAccumuloStore();
+        store.initialise("ingestBufferVisibilityGraph", schema, properties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("A")
+                    .property(TestPropertyNames.COUNT, 1)
+                    .property(TestPropertyNames.VISIBILITY, "public")
+                    .build());
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("A")
+                    .property(TestPropertyNames.COUNT, 10)
+                    .property(TestPropertyNames.VISIBILITY, "private")
+                    .build());
+        }
+
+        // When
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+
+        // Then
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        final User publicUser = new User.Builder().userId("publicUser").dataAuth("public").build();
+        try (final CloseableIterable<? extends Element> results = store.execute(getElements, new Context(publicUser))) {
+            final List<Element> resultList = Lists.newArrayList(results);
+            assertEquals(1, resultList.size());
+            assertEquals(2, resultList.get(0).getProperty(TestPropertyNames.COUNT));
+            assertEquals("public", resultList.get(0).getProperty(TestPropertyNames.VISIBILITY));
+        }
+        final User privateUser = new User.Builder().userId("privateUser").dataAuth("private").build();
+        try (final CloseableIterable<? extends Element> results = store.execute(getElements, new Context(privateUser))) {
+            final List<Element> resultList = Lists.newArrayList(results);
+            assertEquals(1, resultList.size());
+            assertEquals(20, resultList.get(0).getProperty(TestPropertyNames.COUNT));
+            assertEquals("private", resultList.get(0).getProperty(TestPropertyNames.VISIBILITY));
+        }
+    }
+
     @Test
     public void testAbleToInsertAndRetrieveEntityQueryingEqualAndRelatedByteEntity() throws OperationException {
         testAbleToInsertAndRetrieveEntityQueryingEqualAndRelated(BYTE_ENTITY_STORE);
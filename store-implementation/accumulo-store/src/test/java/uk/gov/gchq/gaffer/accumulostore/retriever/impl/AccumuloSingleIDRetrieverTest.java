@@ -30,8 +30,10 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.MiniAccumuloClusterManager;
 import uk.gov.gchq.gaffer.accumulostore.SingleUseAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -121,6 +123,113 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void shouldRetrieveAllElementsWhenPrefetchingBatches() throws StoreException, IteratorSettingException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("10");
+        properties.setPrefetchDepthForBatchScanner("3");
+        final AccumuloStore store = new SingleUseAccumuloStore();
+        store.initialise("prefetchGraph", SCHEMA, properties);
+        setupGraph(store, NUM_ENTRIES);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+
+        // When
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        // Then
+        assertEquals(NUM_ENTRIES * 3, Iterables.size(retriever));
+    }
+
+    @Test
+    public void shouldRetrieveBatchesInSeedOrderWhenPrefetchingOnSeveralThreads() throws StoreException, IteratorSettingException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("1");
+        properties.setPrefetchDepthForBatchScanner("5");
+        properties.setThreadsForBatchScannerPrefetch("5");
+        final AccumuloStore store = new SingleUseAccumuloStore();
+        store.initialise("prefetchGraph", SCHEMA, properties);
+        setupGraph(store, NUM_ENTRIES);
+
+        final List<ElementId> ids = new ArrayList<>();
+        final List<Object> expectedVertices = new ArrayList<>();
+        for (int i = NUM_ENTRIES - 1; i >= 0; i--) {
+            ids.add(new EntitySeed("" + i));
+            expectedVertices.add("" + i);
+        }
+        final View view = new View.Builder().entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+
+        // When
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        // Then
+        final List<Object> vertices = new ArrayList<>();
+        for (final Element element : retriever) {
+            vertices.add(((Entity) element).getVertex());
+        }
+        assertEquals(expectedVertices, vertices);
+    }
+
+    @Test
+    public void shouldRetrieveAllElementsWhenDecodingInParallel() throws StoreException, IteratorSettingException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setThreadsForParallelDecode("4");
+        properties.setMaxBatchesForParallelDecode("2");
+        final AccumuloStore store = new SingleUseAccumuloStore();
+        store.initialise("parallelDecodeGraph", SCHEMA, properties);
+        setupGraph(store, NUM_ENTRIES);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids)
+                .option(AccumuloStoreConstants.OPERATION_PARALLEL_DECODE_PRESERVE_ORDER, "false")
+                .build();
+
+        // When
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        // Then
+        assertEquals(NUM_ENTRIES * 3, Iterables.size(retriever));
+    }
+
+    @Test
+    public void shouldCloseIteratorBeforePrefetchedBatchesAreRead() throws StoreException, IteratorSettingException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("10");
+        properties.setPrefetchDepthForBatchScanner("3");
+        final AccumuloStore store = new SingleUseAccumuloStore();
+        store.initialise("prefetchGraph", SCHEMA, properties);
+        setupGraph(store, NUM_ENTRIES);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final GetElements operation = new GetElements.Builder().view(new View.Builder().entity(TestGroups.ENTITY).build()).input(ids).build();
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        // When
+        final CloseableIterator<Element> iterator = retriever.iterator();
+        iterator.next();
+        iterator.close();
+
+        // Then
+        assertEquals(NUM_ENTRIES, Iterables.size(retriever));
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(BYTE_ENTITY_STORE);
@@ -92,6 +92,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
@@ -120,6 +123,7 @@ public class FederatedStore extends Store {
     private Boolean isPublicAccessAllowed = Boolean.valueOf(IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
     private static final List<Integer> ALL_IDS = new ArrayList<>();
     private final int id;
+    private ExecutorService graphExecutor;
 
     public FederatedStore() {
         Integer i = null;
@@ -144,6 +148,64 @@ public class FederatedStore extends Store {
         super.initialise(graphId, new Schema(), properties);
         customPropertiesAuths = getCustomPropertiesAuths();
         isPublicAccessAllowed = Boolean.valueOf(getProperties().getIsPublicAccessAllowed());
+        initialiseGraphExecutor();
+    }
+
+    /**
+     * Get the executor used to execute operations against the sub-graphs in
+     * parallel.
+     *
+     * @return the executor, or null if parallel execution is not enabled.
+     * @see FederatedStoreProperties#PARALLEL_EXECUTION
+     */
+    public ExecutorService getGraphExecutor() {
+        return graphExecutor;
+    }
+
+    /**
+     * Get the maximum time to wait for the sub-graphs when executing in
+     * parallel.
+     *
+     * @return the timeout in milliseconds, 0 if there is no timeout.
+     * @see FederatedStoreProperties#PARALLEL_EXECUTION_TIMEOUT_MILLIS
+     */
+    public long getGraphExecutionTimeoutMillis() {
+        return getProperties().getParallelExecutionTimeoutMillis();
+    }
+
+    /**
+     * Get the maximum number of results read ahead from each sub-graph when
+     * executing in parallel.
+     *
+     * @return the maximum number of results buffered for each sub-graph.
+     * @see FederatedStoreProperties#PARALLEL_EXECUTION_RESULT_BUFFER_SIZE
+     */
+    public int getGraphResultBufferSize() {
+        return getProperties().getParallelExecutionResultBufferSize();
+    }
+
+    private synchronized void initialiseGraphExecutor() {
+        if (null != graphExecutor) {
+            graphExecutor.shutdown();
+            graphExecutor = null;
+        }
+        if (getProperties().getParallelExecution()) {
+            final int threads = getProperties().getParallelExecutionThreads();
+            if (threads < 1) {
+                throw new IllegalArgumentException(FederatedStoreProperties.PARALLEL_EXECUTION_THREADS + " must be at least 1");
+            }
+            if (getProperties().getParallelExecutionResultBufferSize() < 1) {
+                throw new IllegalArgumentException(FederatedStoreProperties.PARALLEL_EXECUTION_RESULT_BUFFER_SIZE + " must be at least 1");
+            }
+            LOGGER.debug("Executing operations against sub-graphs using {} threads", threads);
+            final String threadNamePrefix = "federated-store-" + getGraphId() + "-";
+            final AtomicInteger threadCount = new AtomicInteger();
+            graphExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                final Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
     }
 
     @Override
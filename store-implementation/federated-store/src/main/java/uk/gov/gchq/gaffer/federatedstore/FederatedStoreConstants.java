@@ -23,9 +23,25 @@ public final class FederatedStoreConstants {
     public static final String KEY_OPERATION_OPTIONS_GRAPH_IDS = "gaffer.federatedstore.operation.graphIds";
     public static final String KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE = "gaffer.federatedstore.operation.skipFailedFederatedStoreExecute";
     public static final String DEFAULT_VALUE_KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE = String.valueOf(false);
+    public static final String KEY_OPERATION_OPTIONS_AGGREGATE_RESULTS = "gaffer.federatedstore.operation.aggregateResults";
+    public static final String DEFAULT_VALUE_KEY_OPERATION_OPTIONS_AGGREGATE_RESULTS = String.valueOf(false);
     public static final String DEFAULT_VALUE_IS_PUBLIC = String.valueOf(false);
     public static final String KEY_FEDERATION_ADMIN = "gaffer.federatedstore.operation.admin";
 
+    // Sub-graph store properties
+    /**
+     * Set to true in the store properties of a sub-graph to declare that its
+     * GetElements and GetAllElements results are sorted by
+     * {@link uk.gov.gchq.gaffer.federatedstore.util.ElementKeyComparator}.
+     * This is not implied by the ORDERED store trait, and none of the stores
+     * set it themselves. When every graph an aggregating query runs against
+     * sets it, the results are merged as they are streamed rather than
+     * aggregated in memory. Setting it for a graph whose results are not
+     * sorted causes elements with the same key to be returned more than once.
+     */
+    public static final String KEY_GRAPH_SORTED_RESULTS = "gaffer.federatedstore.graph.sortedResults";
+    public static final String DEFAULT_VALUE_KEY_GRAPH_SORTED_RESULTS = String.valueOf(false);
+
     private FederatedStoreConstants() {
         // private constructor to prevent users instantiating this class as it
         // only contains constants.
@@ -34,4 +50,8 @@ public final class FederatedStoreConstants {
     public static String getSkipFailedFederatedStoreExecute(final Operation op) {
         return op.getOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, DEFAULT_VALUE_KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE);
     }
+
+    public static String getAggregateResults(final Operation op) {
+        return op.getOption(KEY_OPERATION_OPTIONS_AGGREGATE_RESULTS, DEFAULT_VALUE_KEY_OPERATION_OPTIONS_AGGREGATE_RESULTS);
+    }
 }
@@ -47,6 +47,42 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String CACHE_SERVICE_CLASS = CacheProperties.CACHE_SERVICE_CLASS;
     public static final String CACHE_SERVICE_CLASS_DEFAULT = null;
 
+    /**
+     * If true, operations are executed against the sub-graphs in parallel
+     * rather than one after another.
+     * e.g gaffer.federatedstore.parallelExecution=true
+     */
+    public static final String PARALLEL_EXECUTION = "gaffer.federatedstore.parallelExecution";
+    public static final String PARALLEL_EXECUTION_DEFAULT = String.valueOf(false);
+
+    /**
+     * The maximum number of sub-graphs that are executed against at the same
+     * time when parallel execution is enabled.
+     * e.g gaffer.federatedstore.parallelExecution.threads=10
+     */
+    public static final String PARALLEL_EXECUTION_THREADS = "gaffer.federatedstore.parallelExecution.threads";
+    public static final String PARALLEL_EXECUTION_THREADS_DEFAULT = String.valueOf(10);
+
+    /**
+     * The maximum time in milliseconds to wait for the sub-graphs when
+     * parallel execution is enabled. A sub-graph that has not returned its
+     * result in time is treated as failed. Lazy results are then read as they
+     * are consumed, so reading them is not covered by the timeout. 0 means
+     * there is no timeout.
+     * e.g gaffer.federatedstore.parallelExecution.timeoutMillis=60000
+     */
+    public static final String PARALLEL_EXECUTION_TIMEOUT_MILLIS = "gaffer.federatedstore.parallelExecution.timeoutMillis";
+    public static final String PARALLEL_EXECUTION_TIMEOUT_MILLIS_DEFAULT = String.valueOf(0);
+
+    /**
+     * The maximum number of results read ahead from each sub-graph when
+     * parallel execution is enabled. Lazy results are read on the sub-graph
+     * executor until this many are waiting to be consumed.
+     * e.g gaffer.federatedstore.parallelExecution.resultBufferSize=10000
+     */
+    public static final String PARALLEL_EXECUTION_RESULT_BUFFER_SIZE = "gaffer.federatedstore.parallelExecution.resultBufferSize";
+    public static final String PARALLEL_EXECUTION_RESULT_BUFFER_SIZE_DEFAULT = String.valueOf(10000);
+
     public FederatedStoreProperties() {
         super(FederatedStore.class);
     }
@@ -94,4 +130,36 @@ public class FederatedStoreProperties extends StoreProperties {
     public void setGraphsCanHavePublicAccess(final boolean b) {
         set(IS_PUBLIC_ACCESS_ALLOWED, Boolean.toString(b));
     }
+
+    public boolean getParallelExecution() {
+        return Boolean.parseBoolean(get(PARALLEL_EXECUTION, PARALLEL_EXECUTION_DEFAULT));
+    }
+
+    public void setParallelExecution(final boolean parallelExecution) {
+        set(PARALLEL_EXECUTION, Boolean.toString(parallelExecution));
+    }
+
+    public int getParallelExecutionThreads() {
+        return Integer.parseInt(get(PARALLEL_EXECUTION_THREADS, PARALLEL_EXECUTION_THREADS_DEFAULT));
+    }
+
+    public void setParallelExecutionThreads(final int threads) {
+        set(PARALLEL_EXECUTION_THREADS, Integer.toString(threads));
+    }
+
+    public long getParallelExecutionTimeoutMillis() {
+        return Long.parseLong(get(PARALLEL_EXECUTION_TIMEOUT_MILLIS, PARALLEL_EXECUTION_TIMEOUT_MILLIS_DEFAULT));
+    }
+
+    public void setParallelExecutionTimeoutMillis(final long timeoutMillis) {
+        set(PARALLEL_EXECUTION_TIMEOUT_MILLIS, Long.toString(timeoutMillis));
+    }
+
+    public int getParallelExecutionResultBufferSize() {
+        return Integer.parseInt(get(PARALLEL_EXECUTION_RESULT_BUFFER_SIZE, PARALLEL_EXECUTION_RESULT_BUFFER_SIZE_DEFAULT));
+    }
+
+    public void setParallelExecutionResultBufferSize(final int resultBufferSize) {
+        set(PARALLEL_EXECUTION_RESULT_BUFFER_SIZE, Integer.toString(resultBufferSize));
+    }
 }
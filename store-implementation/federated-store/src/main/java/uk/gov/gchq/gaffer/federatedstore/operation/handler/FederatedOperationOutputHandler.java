@@ -25,12 +25,10 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
-import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
 
 /**
  * A abstract handler for Operations with output for FederatedStore
@@ -44,29 +42,30 @@ public abstract class FederatedOperationOutputHandler<OP extends Output<O>, O> i
     @Override
     public O doOperation(final OP operation, final Context context, final Store store) throws OperationException {
         final Collection<Graph> graphs = ((FederatedStore) store).getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS), operation);
-        final List<O> results = new ArrayList<>(graphs.size());
-        for (final Graph graph : graphs) {
-            final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
-            if (null != updatedOp) {
-                O execute = null;
-                try {
-                    execute = graph.execute(updatedOp, context);
-                } catch (final Exception e) {
-                    if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
-                        throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graph.getGraphId(), e), e);
-                    }
-                }
-                if (null != execute) {
-                    results.add(execute);
-                }
-            }
-        }
+        final List<O> results = FederatedStoreUtil.executeOnGraphs(operation, graphs,
+                graph -> FederatedStoreUtil.updateOperationForGraph(operation, graph),
+                context, (FederatedStore) store);
         try {
-            return mergeResults(results, operation, context, store);
+            return mergeResults(results, graphs, operation, context, store);
         } catch (final Exception e) {
             throw new OperationException(e);
         }
     }
 
+    /**
+     * Merges the results using the graphs the operation was executed against.
+     * By default the graphs are not used.
+     *
+     * @param results   the results from each graph
+     * @param graphs    the graphs the operation was executed against
+     * @param operation the operation
+     * @param context   the context
+     * @param store     the federated store
+     * @return the merged results
+     */
+    protected O mergeResults(final List<O> results, final Collection<Graph> graphs, final OP operation, final Context context, final Store store) {
+        return mergeResults(results, operation, context, store);
+    }
+
     protected abstract O mergeResults(final List<O> results, final OP operation, final Context context, final Store store);
 }
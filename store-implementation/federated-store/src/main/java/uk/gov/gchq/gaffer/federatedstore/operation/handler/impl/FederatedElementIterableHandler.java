@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
+
+import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants;
+import uk.gov.gchq.gaffer.federatedstore.util.AggregatingMergeIterable;
+import uk.gov.gchq.gaffer.federatedstore.util.ElementKeyComparator;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.graph.OperationView;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A handler for Operations that output a CloseableIterable of {@link Element}s
+ * for the FederatedStore.
+ * <p>
+ * By default the results from each graph are chained together. If the
+ * {@link FederatedStoreConstants#KEY_OPERATION_OPTIONS_AGGREGATE_RESULTS}
+ * option is set to true then elements with the same key in different graphs
+ * are aggregated together using the merged schema. When every graph sets
+ * {@link FederatedStoreConstants#KEY_GRAPH_SORTED_RESULTS} in its store
+ * properties this is done by streaming a k-way merge of the results, otherwise
+ * the results are aggregated in memory. None of the stores set the property
+ * themselves, it should only be set for graphs whose results are known to be
+ * in key order. The {@link StoreTrait#ORDERED} trait is
+ * not enough for the merge, as those stores order elements by their
+ * serialised bytes rather than by {@link ElementKeyComparator}.
+ *
+ * @see FederatedOperationIterableHandler
+ */
+public class FederatedElementIterableHandler<OP extends Output<CloseableIterable<? extends Element>> & OperationView>
+        extends FederatedOperationIterableHandler<OP, CloseableIterable<? extends Element>> {
+
+    @Override
+    protected CloseableIterable<? extends Element> mergeResults(final List<CloseableIterable<? extends Element>> results, final Collection<Graph> graphs, final OP operation, final Context context, final Store store) {
+        if (results.size() < 2 || !Boolean.parseBoolean(FederatedStoreConstants.getAggregateResults(operation))) {
+            return super.mergeResults(results, operation, context, store);
+        }
+
+        final Schema schema = ((FederatedStore) store).getSchema(operation, context);
+        final View view = getView(operation, schema);
+
+        if (hasSortedResults(graphs) && isComparable(schema, view)) {
+            final List<String> aggregatedGroups = schema.getAggregatedGroups();
+            return new AggregatingMergeIterable(results,
+                    new ElementKeyComparator(AggregatorUtil.getQueryGroupBys(schema, view)),
+                    new AggregatorUtil.QueryElementBinaryOperator(schema, view),
+                    e -> aggregatedGroups.contains(e.getGroup()) && null != view.getElement(e.getGroup()));
+        }
+
+        return AggregatorUtil.queryAggregate(new ChainedIterable<>(CollectionUtil.toIterableArray(results)), schema, view);
+    }
+
+    private static View getView(final OperationView operation, final Schema schema) {
+        final View view = operation.getView();
+        if (null != view && view.hasGroups()) {
+            return view;
+        }
+        return new View.Builder()
+                .entities(schema.getEntityGroups())
+                .edges(schema.getEdgeGroups())
+                .build();
+    }
+
+    private static boolean hasSortedResults(final Collection<Graph> graphs) {
+        for (final Graph graph : graphs) {
+            final StoreProperties properties = graph.getStoreProperties();
+            if (null == properties || !Boolean.parseBoolean(properties.get(FederatedStoreConstants.KEY_GRAPH_SORTED_RESULTS,
+                    FederatedStoreConstants.DEFAULT_VALUE_KEY_GRAPH_SORTED_RESULTS))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isComparable(final Schema schema, final View view) {
+        for (final String group : view.getGroups()) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            if (null == elementDef) {
+                continue;
+            }
+
+            if (elementDef instanceof SchemaEdgeDefinition) {
+                if (!isComparable(elementDef.getIdentifierClass(IdentifierType.SOURCE))
+                        || !isComparable(elementDef.getIdentifierClass(IdentifierType.DESTINATION))) {
+                    return false;
+                }
+            } else if (!isComparable(elementDef.getIdentifierClass(IdentifierType.VERTEX))) {
+                return false;
+            }
+
+            final Set<String> groupBy = AggregatorUtil.getQueryGroupBy(group, schema, view);
+            for (final String propertyName : groupBy) {
+                if (!isComparable(elementDef.getPropertyClass(propertyName))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isComparable(final Class<?> clazz) {
+        return null != clazz && Comparable.class.isAssignableFrom(clazz);
+    }
+}
@@ -16,8 +16,6 @@
 
 package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 
-import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 
 /**
@@ -27,5 +25,5 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
  * @see uk.gov.gchq.gaffer.federatedstore.FederatedStore
  * @see uk.gov.gchq.gaffer.operation.impl.get.GetAllElements
  */
-public class FederatedGetAllElementsHandler extends FederatedOperationIterableHandler<GetAllElements, CloseableIterable<? extends Element>> {
+public class FederatedGetAllElementsHandler extends FederatedElementIterableHandler<GetAllElements> {
 }
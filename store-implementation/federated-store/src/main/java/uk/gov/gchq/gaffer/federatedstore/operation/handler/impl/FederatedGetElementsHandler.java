@@ -16,8 +16,6 @@
 
 package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 
-import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 
 /**
@@ -27,5 +25,5 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
  * @see uk.gov.gchq.gaffer.federatedstore.FederatedStore
  * @see uk.gov.gchq.gaffer.operation.impl.get.GetElements
  */
-public class FederatedGetElementsHandler extends FederatedOperationIterableHandler<GetElements, CloseableIterable<? extends Element>> {
+public class FederatedGetElementsHandler extends FederatedElementIterableHandler<GetElements> {
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * An {@code AggregatingMergeIterable} does a k-way merge of iterables of
+ * {@link Element}s that are each sorted by the same {@link Comparator}.
+ * Consecutive elements that compare as equal are aggregated together as they
+ * are read, so only the current element of each input is held in memory.
+ * <p>
+ * If an input is not sorted then elements with the same key may be returned
+ * more than once, each partially aggregated. A warning is logged the first
+ * time this is detected.
+ */
+public class AggregatingMergeIterable implements CloseableIterable<Element> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregatingMergeIterable.class);
+
+    private final List<? extends Iterable<? extends Element>> inputs;
+    private final Comparator<Element> comparator;
+    private final BinaryOperator<Element> aggregator;
+    private final Predicate<Element> isAggregated;
+
+    /**
+     * @param inputs       the sorted iterables to merge
+     * @param comparator   the comparator the inputs are sorted by
+     * @param aggregator   the aggregator used to combine equal elements
+     * @param isAggregated tests whether an element should be aggregated, elements
+     *                     that fail are returned without being combined
+     */
+    public AggregatingMergeIterable(final List<? extends Iterable<? extends Element>> inputs,
+                                    final Comparator<Element> comparator,
+                                    final BinaryOperator<Element> aggregator,
+                                    final Predicate<Element> isAggregated) {
+        this.inputs = inputs;
+        this.comparator = comparator;
+        this.aggregator = aggregator;
+        this.isAggregated = isAggregated;
+    }
+
+    @Override
+    public void close() {
+        for (final Iterable<? extends Element> input : inputs) {
+            CloseableUtil.close(input);
+        }
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        return new MergeIterator();
+    }
+
+    private static final class Head {
+        private final Element element;
+        private final int input;
+
+        private Head(final Element element, final int input) {
+            this.element = element;
+            this.input = input;
+        }
+    }
+
+    private final class MergeIterator implements CloseableIterator<Element> {
+        private final List<Iterator<? extends Element>> iterators = new ArrayList<>(inputs.size());
+        private final Element[] previous = new Element[inputs.size()];
+        private final PriorityQueue<Head> heads;
+        private boolean loggedUnsorted;
+
+        private MergeIterator() {
+            heads = new PriorityQueue<>(Math.max(1, inputs.size()), (a, b) -> {
+                final int result = comparator.compare(a.element, b.element);
+                return 0 != result ? result : Integer.compare(a.input, b.input);
+            });
+            for (int i = 0; i < inputs.size(); i++) {
+                iterators.add(inputs.get(i).iterator());
+                advance(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Element next() {
+            if (heads.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+
+            final Head head = heads.poll();
+            advance(head.input);
+            Element result = head.element;
+            if (isAggregated.test(result)) {
+                while (!heads.isEmpty() && 0 == comparator.compare(heads.peek().element, result)) {
+                    final Head duplicate = heads.poll();
+                    advance(duplicate.input);
+                    result = aggregator.apply(result, duplicate.element);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            for (final Iterator<? extends Element> iterator : iterators) {
+                CloseableUtil.close(iterator);
+            }
+        }
+
+        private void advance(final int input) {
+            final Iterator<? extends Element> iterator = iterators.get(input);
+            while (iterator.hasNext()) {
+                final Element element = iterator.next();
+                if (null != element) {
+                    checkSorted(input, element);
+                    heads.add(new Head(element, input));
+                    return;
+                }
+            }
+            previous[input] = null;
+        }
+
+        private void checkSorted(final int input, final Element element) {
+            if (!loggedUnsorted && null != previous[input] && comparator.compare(previous[input], element) > 0) {
+                loggedUnsorted = true;
+                LOGGER.warn("Input {} is not sorted, elements with the same key may not be fully aggregated", input);
+            }
+            previous[input] = element;
+        }
+    }
+}
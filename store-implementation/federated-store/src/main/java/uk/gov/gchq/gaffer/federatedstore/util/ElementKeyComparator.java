@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@code ElementKeyComparator} orders {@link Element}s by their key: the
+ * vertex (or source), entities before edges, the group, the destination and
+ * directed flag and finally the group by properties in name order.
+ * <p>
+ * Two elements compare as equal if and only if they have the same group,
+ * identifiers and group by property values, so elements that should be
+ * aggregated together are adjacent when sorted with this comparator.
+ * All identifier and group by property values must be {@link Comparable}.
+ */
+public class ElementKeyComparator implements Comparator<Element> {
+    private final Map<String, List<String>> groupBys = new HashMap<>();
+
+    public ElementKeyComparator(final Map<String, Set<String>> groupBys) {
+        if (null != groupBys) {
+            for (final Map.Entry<String, Set<String>> entry : groupBys.entrySet()) {
+                final List<String> groupBy = null == entry.getValue() ? new ArrayList<>() : new ArrayList<>(entry.getValue());
+                Collections.sort(groupBy);
+                this.groupBys.put(entry.getKey(), groupBy);
+            }
+        }
+    }
+
+    @Override
+    public int compare(final Element first, final Element second) {
+        int result = compareValues(getPrimaryVertex(first), getPrimaryVertex(second));
+        if (0 != result) {
+            return result;
+        }
+
+        result = Boolean.compare(first instanceof Edge, second instanceof Edge);
+        if (0 != result) {
+            return result;
+        }
+
+        result = compareValues(first.getGroup(), second.getGroup());
+        if (0 != result) {
+            return result;
+        }
+
+        if (first instanceof Edge) {
+            final Edge firstEdge = (Edge) first;
+            final Edge secondEdge = (Edge) second;
+            result = compareValues(firstEdge.getDestination(), secondEdge.getDestination());
+            if (0 != result) {
+                return result;
+            }
+            result = Boolean.compare(firstEdge.isDirected(), secondEdge.isDirected());
+            if (0 != result) {
+                return result;
+            }
+        }
+
+        final List<String> groupBy = groupBys.get(first.getGroup());
+        if (null != groupBy) {
+            for (final String propertyName : groupBy) {
+                result = compareValues(first.getProperty(propertyName), second.getProperty(propertyName));
+                if (0 != result) {
+                    return result;
+                }
+            }
+        }
+
+        return 0;
+    }
+
+    private static Object getPrimaryVertex(final Element element) {
+        if (element instanceof Entity) {
+            return ((Entity) element).getVertex();
+        }
+        return ((Edge) element).getSource();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(final Object first, final Object second) {
+        if (null == first) {
+            return null == second ? 0 : -1;
+        }
+        if (null == second) {
+            return 1;
+        }
+        return ((Comparable<Object>) first).compareTo(second);
+    }
+}
@@ -21,28 +21,48 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.BoundedParallelIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.BoundedParallelIterator.Source;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.Operations;
 import uk.gov.gchq.gaffer.operation.graph.OperationView;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
 
 public final class FederatedStoreUtil {
     private static final Logger LOGGER = LoggerFactory.getLogger(FederatedStoreUtil.class);
@@ -61,6 +81,168 @@ public final class FederatedStoreUtil {
                 operation.getClass().getSimpleName(), graphId, additionalInfo, e.getMessage());
     }
 
+    /**
+     * Executes an operation against each of the graphs and collects the
+     * non-null results.
+     * <p>
+     * If the {@link FederatedStore} has a graph executor the graphs are
+     * executed in parallel, each with a clone of the operation and a clone of
+     * the context that keeps its job ID and exporters. The results are
+     * collected in the order the graphs complete. As each graph completes, a
+     * lazy {@link CloseableIterable} result starts being read ahead on the
+     * executor, so the retrieval from each graph is also done in parallel. At
+     * most {@link FederatedStore#getGraphResultBufferSize()} results are read
+     * ahead for each graph, the rest are read as the results are consumed. A
+     * graph that does not return its result within the timeout is cancelled
+     * and treated as failed. Otherwise the graphs are executed one after
+     * another, the results are returned as they are and are in graph order.
+     * <p>
+     * A failed graph is skipped if the skipFailedFederatedStoreExecute option
+     * is set on its operation, otherwise an {@link OperationException} is thrown.
+     *
+     * @param operation      the operation being handled, used in error messages
+     * @param graphs         the graphs to execute against
+     * @param graphOperation creates the operation to execute against a graph, or null if the graph should not be executed against
+     * @param context        the user context
+     * @param store          the federated store
+     * @param <OP>           the operation type
+     * @param <O>            the result type
+     * @return the non-null results
+     * @throws OperationException if a graph fails and failures are not skipped
+     */
+    public static <OP extends Operation, O> List<O> executeOnGraphs(final Operation operation,
+                                                                    final Collection<Graph> graphs,
+                                                                    final Function<Graph, OP> graphOperation,
+                                                                    final Context context,
+                                                                    final FederatedStore store) throws OperationException {
+        final ExecutorService executor = store.getGraphExecutor();
+        if (null == executor || graphs.size() < 2) {
+            return executeOnGraphsSequentially(operation, graphs, graphOperation, context);
+        }
+        return executeOnGraphsInParallel(operation, graphs, graphOperation, context, executor,
+                store.getGraphExecutionTimeoutMillis(), store.getGraphResultBufferSize());
+    }
+
+    private static <OP extends Operation, O> List<O> executeOnGraphsSequentially(final Operation operation,
+                                                                                 final Collection<Graph> graphs,
+                                                                                 final Function<Graph, OP> graphOperation,
+                                                                                 final Context context) throws OperationException {
+        final List<O> results = new ArrayList<>(graphs.size());
+        for (final Graph graph : graphs) {
+            final OP updatedOp = graphOperation.apply(graph);
+            if (null != updatedOp) {
+                O result = null;
+                try {
+                    result = execute(graph, updatedOp, context);
+                } catch (final Exception e) {
+                    handleFailure(operation, graph, updatedOp, e);
+                }
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static <OP extends Operation, O> List<O> executeOnGraphsInParallel(final Operation operation,
+                                                                               final Collection<Graph> graphs,
+                                                                               final Function<Graph, OP> graphOperation,
+                                                                               final Context context,
+                                                                               final ExecutorService executor,
+                                                                               final long timeoutMillis,
+                                                                               final int resultBufferSize) throws OperationException {
+        final CompletionService<O> completionService = new ExecutorCompletionService<>(executor);
+        final Map<Future<O>, Map.Entry<Graph, Operation>> pending = new LinkedHashMap<>();
+        final List<O> results = new ArrayList<>(graphs.size());
+        boolean completed = false;
+        try {
+            for (final Graph graph : graphs) {
+                final OP updatedOp = graphOperation.apply(graph);
+                if (null != updatedOp) {
+                    final Operation clonedOp = updatedOp.shallowClone();
+                    final Context clonedContext = context.shallowCloneWithJobId();
+                    pending.put(completionService.submit(() -> execute(graph, clonedOp, clonedContext)),
+                            new AbstractMap.SimpleImmutableEntry<>(graph, clonedOp));
+                }
+            }
+
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (!pending.isEmpty()) {
+                final Future<O> future = timeoutMillis > 0
+                        ? completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+                        : completionService.take();
+                if (null == future) {
+                    for (final Map.Entry<Future<O>, Map.Entry<Graph, Operation>> entry : pending.entrySet()) {
+                        entry.getKey().cancel(true);
+                        handleFailure(operation, entry.getValue().getKey(), entry.getValue().getValue(),
+                                new TimeoutException("Graph did not complete within " + timeoutMillis + "ms"));
+                    }
+                    pending.clear();
+                } else {
+                    final Map.Entry<Graph, Operation> graphAndOp = pending.remove(future);
+                    try {
+                        final O result = future.get();
+                        if (null != result) {
+                            results.add(readAhead(result, executor, resultBufferSize));
+                        }
+                    } catch (final ExecutionException e) {
+                        final Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                        handleFailure(operation, graphAndOp.getKey(), graphAndOp.getValue(), cause);
+                    }
+                }
+            }
+            completed = true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted while executing " + operation.getClass().getSimpleName() + " against the federated graphs", e);
+        } finally {
+            for (final Future<O> future : pending.keySet()) {
+                future.cancel(true);
+            }
+            if (!completed) {
+                // Stop reading ahead the results that will not be returned
+                for (final O result : results) {
+                    CloseableUtil.close(result);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static <O> O execute(final Graph graph, final Operation operation, final Context context) throws OperationException {
+        if (operation instanceof Output) {
+            return (O) graph.execute((Output) operation, context);
+        }
+        graph.execute(operation, context);
+        return null;
+    }
+
+    /**
+     * Starts reading a lazy {@link CloseableIterable} result ahead on the
+     * executor, so the retrieval from each graph happens in parallel without
+     * holding all of the results in memory.
+     *
+     * @param result     the result of executing an operation against a graph
+     * @param executor   the executor to read the result on
+     * @param bufferSize the maximum number of items to read ahead
+     * @param <O>        the result type
+     * @return the result, with any lazy iterable replaced by one that is read ahead
+     */
+    private static <O> O readAhead(final O result, final ExecutorService executor, final int bufferSize) {
+        if (!(result instanceof CloseableIterable) || result instanceof Collection) {
+            return result;
+        }
+        return (O) new ReadAheadIterable<>((CloseableIterable<?>) result, executor, bufferSize);
+    }
+
+    private static void handleFailure(final Operation operation, final Graph graph, final Operation updatedOp, final Exception e) throws OperationException {
+        if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
+            throw new OperationException(createOperationErrorMsg(operation, graph.getGraphId(), e), e);
+        }
+        LOGGER.debug("Skipping failed graph {}", graph.getGraphId(), e);
+    }
+
     public static List<String> getGraphIds(final Map<String, String> config) {
         if (null == config) {
             return null;
@@ -182,4 +364,43 @@ public final class FederatedStoreUtil {
     public static boolean isUserRequestingAdminUsage(final Operation operation) {
         return Boolean.parseBoolean(operation.getOption(FederatedStoreConstants.KEY_FEDERATION_ADMIN, "false"));
     }
+
+    /**
+     * A {@link CloseableIterable} whose first iterator is read ahead on an
+     * executor with a {@link BoundedParallelIterator}, so at most
+     * {@code bufferSize} items are held in memory. Any further iterators read
+     * the underlying iterable on the calling thread.
+     *
+     * @param <T> the type of the items
+     */
+    private static final class ReadAheadIterable<T> implements CloseableIterable<T> {
+        private final CloseableIterable<T> iterable;
+        private BoundedParallelIterator<T> readAhead;
+
+        private ReadAheadIterable(final CloseableIterable<T> iterable, final ExecutorService executor, final int bufferSize) {
+            this.iterable = iterable;
+            final Source<T> source = iterable::iterator;
+            this.readAhead = new BoundedParallelIterator<>(Collections.singletonList(source).iterator(), executor, 1, bufferSize);
+            this.readAhead.start();
+        }
+
+        @Override
+        public synchronized CloseableIterator<T> iterator() {
+            if (null != readAhead) {
+                final CloseableIterator<T> iterator = readAhead;
+                readAhead = null;
+                return iterator;
+            }
+            return iterable.iterator();
+        }
+
+        @Override
+        public synchronized void close() {
+            if (null != readAhead) {
+                readAhead.close();
+                readAhead = null;
+            }
+            iterable.close();
+        }
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.federatedstore.integration;
+
+import com.google.common.collect.Lists;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.MiniAccumuloClusterManager;
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants;
+import uk.gov.gchq.gaffer.federatedstore.PublicAccessPredefinedFederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.operation.AddGraph;
+import uk.gov.gchq.gaffer.federatedstore.operation.RemoveGraph;
+import uk.gov.gchq.gaffer.integration.AbstractStoreIT;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs aggregating queries against two graphs that hold the same elements,
+ * both with and without {@link FederatedStoreConstants#KEY_GRAPH_SORTED_RESULTS}
+ * set, so both the in memory aggregation and the streaming merge are used.
+ * The vertices are single characters, so the order of the Accumulo rows is
+ * also the element key order.
+ */
+public class FederatedAggregateResultsIT extends AbstractStoreIT {
+
+    private static final String GRAPH_A = "graphA";
+    private static final String GRAPH_B = "graphB";
+
+    private static Class currentClass = new Object() { }.getClass().getEnclosingClass();
+    private static final AccumuloProperties ACCUMULO_PROPERTIES = AccumuloProperties.loadStoreProperties(
+            StreamUtil.openStream(currentClass, "properties/singleUseMiniAccStore.properties"));
+    private static MiniAccumuloClusterManager miniAccumuloClusterManager;
+
+    @ClassRule
+    public static TemporaryFolder storeBaseFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @BeforeClass
+    public static void setUpStore() {
+        miniAccumuloClusterManager = new MiniAccumuloClusterManager(ACCUMULO_PROPERTIES, storeBaseFolder.getRoot().getAbsolutePath());
+    }
+
+    @AfterClass
+    public static void tearDownStore() {
+        miniAccumuloClusterManager.close();
+    }
+
+    @Override
+    protected Schema createSchema() {
+        final Schema.Builder schemaBuilder = new Schema.Builder(createDefaultSchema());
+        schemaBuilder.edges(Collections.EMPTY_MAP);
+        schemaBuilder.entities(Collections.EMPTY_MAP);
+        return schemaBuilder.build();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        graph.execute(new RemoveGraph.Builder()
+                .graphId(PublicAccessPredefinedFederatedStore.ACCUMULO_GRAPH_WITH_EDGES)
+                .build(), user);
+        graph.execute(new RemoveGraph.Builder()
+                .graphId(PublicAccessPredefinedFederatedStore.ACCUMULO_GRAPH_WITH_ENTITIES)
+                .build(), user);
+    }
+
+    @Test
+    public void shouldAggregateResultsInMemoryWhenGraphsDoNotDeclareSortedResults() throws OperationException {
+        // Given
+        addGraphsWithElements(ACCUMULO_PROPERTIES);
+
+        // When
+        final List<Element> results = getAggregatedElements();
+
+        // Then
+        assertEquals(Arrays.asList(createEntity("a", 3), createEntity("c", 7)), results);
+    }
+
+    @Test
+    public void shouldMergeResultsWhenGraphsDeclareSortedResults() throws OperationException {
+        // Given
+        final StoreProperties sortedProperties = ACCUMULO_PROPERTIES.clone();
+        sortedProperties.set(FederatedStoreConstants.KEY_GRAPH_SORTED_RESULTS, "true");
+        addGraphsWithElements(sortedProperties);
+
+        // When
+        final List<Element> results = getAggregatedElements();
+
+        // Then
+        assertEquals(Arrays.asList(createEntity("a", 3), createEntity("c", 7)), results);
+    }
+
+    private void addGraphsWithElements(final StoreProperties properties) throws OperationException {
+        for (final String graphId : Arrays.asList(GRAPH_A, GRAPH_B)) {
+            graph.execute(new AddGraph.Builder()
+                    .graphId(graphId)
+                    .schema(createAggregatedSchema())
+                    .storeProperties(properties)
+                    .build(), user);
+        }
+        addElements(GRAPH_A, createEntity("a", 1), createEntity("c", 3));
+        addElements(GRAPH_B, createEntity("a", 2), createEntity("c", 4));
+    }
+
+    private void addElements(final String graphId, final Element... elements) throws OperationException {
+        graph.execute(new AddElements.Builder()
+                .input(elements)
+                .option(FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS, graphId)
+                .build(), user);
+    }
+
+    private List<Element> getAggregatedElements() throws OperationException {
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .option(FederatedStoreConstants.KEY_OPERATION_OPTIONS_AGGREGATE_RESULTS, "true")
+                .build(), user));
+        results.sort((e1, e2) -> ((String) ((Entity) e1).getVertex()).compareTo((String) ((Entity) e2).getVertex()));
+        return results;
+    }
+
+    private static Schema createAggregatedSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "int")
+                        .build())
+                .type("string", String.class)
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .build();
+    }
+
+    private static Entity createEntity(final String vertex, final int count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+}
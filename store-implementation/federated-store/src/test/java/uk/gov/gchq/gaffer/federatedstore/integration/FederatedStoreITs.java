@@ -34,5 +34,6 @@ public class FederatedStoreITs extends AbstractStoreITs {
         addExtraTest(FederatedViewsIT.class);
         addExtraTest(FederatedAdminIT.class);
         addExtraTest(FederatedStoreRecursionIT.class);
+        addExtraTest(FederatedAggregateResultsIT.class);
     }
 }
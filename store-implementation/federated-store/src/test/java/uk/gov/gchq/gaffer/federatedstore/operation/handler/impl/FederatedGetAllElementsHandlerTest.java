@@ -17,26 +17,66 @@
 package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandlerTest;
+import uk.gov.gchq.gaffer.federatedstore.util.AggregatingMergeIterable;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
 
 public class FederatedGetAllElementsHandlerTest extends FederatedOperationOutputHandlerTest<GetAllElements, CloseableIterable<? extends Element>> {
 
+    private static final Schema AGGREGATED_SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "int")
+                    .build())
+            .type("string", String.class)
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .aggregateFunction(new Sum())
+                    .build())
+            .build();
+
     @Override
     @BeforeEach
     public void setUp() throws Exception {
@@ -55,6 +95,92 @@ public class FederatedGetAllElementsHandlerTest extends FederatedOperationOutput
                 .build()));
     }
 
+    @Test
+    public void shouldFullyAggregateUnsortedResultsFromOrderedGraphs() throws Exception {
+        // Given - ORDERED graphs whose results are not sorted by element key
+        final GetAllElements op = getAggregatingOperation();
+        final FederatedStore federatedStore = getFederatedStore(op, new StoreProperties(), Arrays.asList(
+                Arrays.asList(aggregatedEntity("c", 1), aggregatedEntity("a", 1)),
+                Arrays.asList(aggregatedEntity("a", 2), aggregatedEntity("c", 2))));
+
+        // When
+        final CloseableIterable<? extends Element> results = getFederatedHandler().doOperation(op, context, federatedStore);
+
+        // Then
+        assertFalse(results instanceof AggregatingMergeIterable);
+        final Map<Object, Object> counts = getCountsByVertex(results);
+        assertEquals(2, counts.size());
+        assertEquals(3, counts.get("a"));
+        assertEquals(3, counts.get("c"));
+    }
+
+    @Test
+    public void shouldMergeResultsFromGraphsDeclaringSortedResults() throws Exception {
+        // Given
+        final GetAllElements op = getAggregatingOperation();
+        final StoreProperties sortedProperties = new StoreProperties();
+        sortedProperties.set(FederatedStoreConstants.KEY_GRAPH_SORTED_RESULTS, "true");
+        final FederatedStore federatedStore = getFederatedStore(op, sortedProperties, Arrays.asList(
+                Arrays.asList(aggregatedEntity("a", 1), aggregatedEntity("c", 1)),
+                Arrays.asList(aggregatedEntity("a", 2), aggregatedEntity("c", 2))));
+
+        // When
+        final CloseableIterable<? extends Element> results = getFederatedHandler().doOperation(op, context, federatedStore);
+
+        // Then
+        assertTrue(results instanceof AggregatingMergeIterable);
+        assertEquals(Arrays.asList(aggregatedEntity("a", 3), aggregatedEntity("c", 3)), Lists.newArrayList(results));
+    }
+
+    private GetAllElements getAggregatingOperation() {
+        return new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .option(FederatedStoreConstants.KEY_OPERATION_OPTIONS_AGGREGATE_RESULTS, "true")
+                .build();
+    }
+
+    private FederatedStore getFederatedStore(final GetAllElements op, final StoreProperties properties, final List<List<Element>> graphResults) throws Exception {
+        final LinkedHashSet<Graph> graphs = Sets.newLinkedHashSet();
+        for (int i = 0; i < graphResults.size(); i++) {
+            final Store store = Mockito.mock(Store.class);
+            given(store.getSchema()).willReturn(AGGREGATED_SCHEMA);
+            given(store.getProperties()).willReturn(properties);
+            given(store.hasTrait(StoreTrait.ORDERED)).willReturn(true);
+            given(store.execute(any(OperationChain.class), any(Context.class)))
+                    .willReturn(new WrappedCloseableIterable<>(graphResults.get(i)));
+            graphs.add(new Graph.Builder()
+                    .config(new GraphConfig.Builder()
+                            .graphId(TEST_GRAPH_ID + i)
+                            .build())
+                    .store(store)
+                    .build());
+        }
+
+        final FederatedStore federatedStore = Mockito.mock(FederatedStore.class);
+        given(federatedStore.getGraphs(user, null, op)).willReturn(graphs);
+        given(federatedStore.getSchema(op, context)).willReturn(AGGREGATED_SCHEMA);
+        return federatedStore;
+    }
+
+    private static Map<Object, Object> getCountsByVertex(final Iterable<? extends Element> elements) {
+        final Map<Object, Object> counts = new HashMap<>();
+        for (final Element element : elements) {
+            assertNull(counts.put(((Entity) element).getVertex(), element.getProperty(TestPropertyNames.COUNT)),
+                    "Element returned more than once: " + element);
+        }
+        return counts;
+    }
+
+    private static Element aggregatedEntity(final String vertex, final int count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
     @Override
     protected FederatedOperationOutputHandler<GetAllElements, CloseableIterable<? extends Element>> getFederatedHandler() {
         return new FederatedGetAllElementsHandler();
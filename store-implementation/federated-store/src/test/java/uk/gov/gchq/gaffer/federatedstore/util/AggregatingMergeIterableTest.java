@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AggregatingMergeIterableTest {
+
+    private static final Schema SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "int")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property(TestPropertyNames.COUNT, "int")
+                    .build())
+            .type("string", String.class)
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .aggregateFunction(new Sum())
+                    .build())
+            .type("true", Boolean.class)
+            .build();
+
+    private static final View VIEW = new View.Builder()
+            .entities(SCHEMA.getEntityGroups())
+            .edges(SCHEMA.getEdgeGroups())
+            .build();
+
+    @Test
+    public void shouldMergeSortedInputsAndAggregateDuplicates() {
+        // Given
+        final List<Element> graph1 = Arrays.asList(
+                entity("a", 1),
+                edge("a", "b", 1),
+                entity("c", 1));
+        final List<Element> graph2 = Arrays.asList(
+                entity("a", 2),
+                entity("b", 2),
+                edge("b", "c", 2),
+                entity("c", 2));
+        final List<Element> graph3 = Collections.singletonList(edge("a", "b", 3));
+
+        // When
+        final List<Element> results = Lists.newArrayList(createIterable(Arrays.asList(graph1, graph2, graph3)));
+
+        // Then
+        assertEquals(Arrays.asList(
+                entity("a", 3),
+                edge("a", "b", 4),
+                entity("b", 2),
+                edge("b", "c", 2),
+                entity("c", 3)), results);
+        assertEquals(Arrays.asList(3, 4, 2, 2, 3), getCounts(results));
+    }
+
+    @Test
+    public void shouldNotAggregateGroupsThatAreNotAggregated() {
+        // Given
+        final List<Element> graph1 = Collections.singletonList(entity("a", 1));
+        final List<Element> graph2 = Collections.singletonList(entity("a", 2));
+
+        // When
+        final List<Element> results = Lists.newArrayList(new AggregatingMergeIterable(Arrays.asList(graph1, graph2),
+                new ElementKeyComparator(AggregatorUtil.getQueryGroupBys(SCHEMA, VIEW)),
+                new AggregatorUtil.QueryElementBinaryOperator(SCHEMA, VIEW),
+                e -> false));
+
+        // Then
+        assertEquals(Arrays.asList(1, 2), getCounts(results));
+    }
+
+    @Test
+    public void shouldReturnAllElementsWhenInputIsNotSorted() {
+        // Given
+        final List<Element> graph1 = Arrays.asList(entity("b", 1), entity("a", 1));
+        final List<Element> graph2 = Collections.singletonList(entity("a", 2));
+
+        // When
+        final List<Element> results = Lists.newArrayList(createIterable(Arrays.asList(graph1, graph2)));
+
+        // Then
+        assertEquals(4, getCounts(results).stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void shouldReturnEmptyResultsForEmptyInputs() {
+        // When
+        final List<Element> results = Lists.newArrayList(createIterable(Arrays.asList(Collections.<Element>emptyList(), Collections.<Element>emptyList())));
+
+        // Then
+        assertEquals(Collections.emptyList(), results);
+    }
+
+    private static AggregatingMergeIterable createIterable(final List<List<Element>> inputs) {
+        return new AggregatingMergeIterable(inputs,
+                new ElementKeyComparator(AggregatorUtil.getQueryGroupBys(SCHEMA, VIEW)),
+                new AggregatorUtil.QueryElementBinaryOperator(SCHEMA, VIEW),
+                e -> true);
+    }
+
+    private static List<Integer> getCounts(final List<Element> elements) {
+        final List<Integer> counts = new ArrayList<>();
+        for (final Element element : elements) {
+            counts.add((Integer) element.getProperty(TestPropertyNames.COUNT));
+        }
+        return counts;
+    }
+
+    private static Entity entity(final String vertex, final int count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
+    private static Edge edge(final String source, final String destination, final int count) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+}
@@ -16,22 +16,29 @@
 
 package uk.gov.gchq.gaffer.federatedstore.util;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.TestTypes;
@@ -39,19 +46,32 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsTrue;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -417,4 +437,165 @@ public class FederatedStoreUtilTest {
                 .store(store)
                 .build();
     }
+
+    @Test
+    public void shouldExecuteOnGraphsInParallel() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        final FederatedStore federatedStore = mock(FederatedStore.class);
+        given(federatedStore.getGraphExecutor()).willReturn(executor);
+        final List<Graph> graphs = Arrays.asList(
+                createGraph("graph1", Collections.singletonList("result1"), 0),
+                createGraph("graph2", Collections.singletonList("result2"), 0),
+                createGraph("graph3", Collections.singletonList("result3"), 0));
+        final GetAllElements operation = new GetAllElements();
+
+        try {
+            // When
+            final List<Object> results = FederatedStoreUtil.executeOnGraphs(operation, graphs, graph -> operation,
+                    new Context(new User()), federatedStore);
+
+            // Then
+            assertEquals(Sets.newHashSet(Collections.singletonList("result1"), Collections.singletonList("result2"), Collections.singletonList("result3")),
+                    Sets.newHashSet(results));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldReadLazyResultsOnTheGraphExecutorWhenExecutingInParallel() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final FederatedStore federatedStore = mock(FederatedStore.class);
+        given(federatedStore.getGraphExecutor()).willReturn(executor);
+        given(federatedStore.getGraphResultBufferSize()).willReturn(10);
+        final Set<Thread> readingThreads = Collections.synchronizedSet(new HashSet<>());
+        final List<Graph> graphs = Arrays.asList(
+                createGraph("graph1", createLazyResult("result1", readingThreads), 0),
+                createGraph("graph2", createLazyResult("result2", readingThreads), 0));
+        final GetAllElements operation = new GetAllElements();
+
+        try {
+            // When
+            final List<Object> results = FederatedStoreUtil.executeOnGraphs(operation, graphs, graph -> operation,
+                    new Context(new User()), federatedStore);
+
+            // Then
+            final Set<Object> items = new HashSet<>();
+            for (final Object result : results) {
+                Iterables.addAll(items, (Iterable<?>) result);
+            }
+            assertEquals(Sets.newHashSet("result1", "result2"), items);
+            assertEquals(2, readingThreads.size());
+            assertFalse(readingThreads.contains(Thread.currentThread()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotReadAllOfALazyResultIntoMemoryWhenExecutingInParallel() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final FederatedStore federatedStore = mock(FederatedStore.class);
+        given(federatedStore.getGraphExecutor()).willReturn(executor);
+        given(federatedStore.getGraphResultBufferSize()).willReturn(10);
+        final AtomicInteger itemsRead = new AtomicInteger();
+        final CloseableIterable<Integer> endlessResult = new WrappedCloseableIterable<>(
+                (Iterable<Integer>) () -> Stream.generate(itemsRead::incrementAndGet).iterator());
+        final List<Graph> graphs = Collections.singletonList(createGraph("graph1", endlessResult, 0));
+        final GetAllElements operation = new GetAllElements();
+
+        try {
+            // When
+            final List<Object> results = assertTimeout(Duration.ofSeconds(5), () ->
+                    FederatedStoreUtil.executeOnGraphs(operation, graphs, graph -> operation,
+                            new Context(new User()), federatedStore));
+
+            // Then
+            assertEquals(1, results.size());
+            try (final CloseableIterable<?> result = (CloseableIterable<?>) results.get(0)) {
+                assertEquals(Arrays.asList(1, 2, 3), Lists.newArrayList(Iterables.limit(result, 3)));
+            }
+            assertTrue(itemsRead.get() <= 3 + 10 + 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldSkipGraphsThatTimeOutWhenExecutingInParallel() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final FederatedStore federatedStore = mock(FederatedStore.class);
+        given(federatedStore.getGraphExecutor()).willReturn(executor);
+        given(federatedStore.getGraphExecutionTimeoutMillis()).willReturn(200L);
+        final List<Graph> graphs = Arrays.asList(
+                createGraph("graph1", Collections.singletonList("result1"), 0),
+                createGraph("slowGraph", Collections.singletonList("result2"), 10000));
+        final GetAllElements operation = new GetAllElements.Builder()
+                .option(FederatedStoreConstants.KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, "true")
+                .build();
+
+        try {
+            // When
+            final List<Object> results = FederatedStoreUtil.executeOnGraphs(operation, graphs, graph -> operation,
+                    new Context(new User()), federatedStore);
+
+            // Then
+            assertEquals(Collections.singletonList(Collections.singletonList("result1")), results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenGraphTimesOutWhenExecutingInParallel() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final FederatedStore federatedStore = mock(FederatedStore.class);
+        given(federatedStore.getGraphExecutor()).willReturn(executor);
+        given(federatedStore.getGraphExecutionTimeoutMillis()).willReturn(200L);
+        final List<Graph> graphs = Arrays.asList(
+                createGraph("graph1", Collections.singletonList("result1"), 0),
+                createGraph("slowGraph", Collections.singletonList("result2"), 10000));
+        final GetAllElements operation = new GetAllElements();
+
+        try {
+            // When
+            final OperationException exception = assertThrows(OperationException.class, () ->
+                    FederatedStoreUtil.executeOnGraphs(operation, graphs, graph -> operation,
+                            new Context(new User()), federatedStore));
+
+            // Then
+            assertTrue(exception.getMessage().contains("slowGraph"));
+            assertTrue(exception.getCause() instanceof TimeoutException);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CloseableIterable<String> createLazyResult(final String item, final Set<Thread> readingThreads) {
+        return new WrappedCloseableIterable<>((Iterable<String>) () -> {
+            readingThreads.add(Thread.currentThread());
+            return Collections.singletonList(item).iterator();
+        });
+    }
+
+    private Graph createGraph(final String graphId, final Object result, final long delayMillis) throws OperationException {
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(new Schema());
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.execute(any(OperationChain.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(delayMillis);
+            return result;
+        });
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .store(store)
+                .build();
+    }
 }
@@ -42,9 +42,21 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String THREADS_FOR_PARALLEL_DECODE = "hbase.parallelDecodeThreads";
+    public static final String MAX_BATCHES_FOR_PARALLEL_DECODE = "hbase.parallelDecodeMaxBatches";
+    public static final String COPROCESSOR_VIEW_CACHE_SIZE = "hbase.coprocessor.viewCacheSize";
+    public static final String THREADS_FOR_PARALLEL_SCAN = "hbase.parallelScanThreads";
+    public static final String MAX_RESULTS_FOR_PARALLEL_SCAN = "hbase.parallelScanMaxResults";
+    public static final String SCANNER_CACHING = "hbase.scannerCaching";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String THREADS_FOR_PARALLEL_DECODE_DEFAULT = "0";
+    public static final String MAX_BATCHES_FOR_PARALLEL_DECODE_DEFAULT = "16";
+    public static final String COPROCESSOR_VIEW_CACHE_SIZE_DEFAULT = "100";
+    public static final String THREADS_FOR_PARALLEL_SCAN_DEFAULT = "0";
+    public static final String MAX_RESULTS_FOR_PARALLEL_SCAN_DEFAULT = "1000";
+    public static final String SCANNER_CACHING_DEFAULT = "0";
 
     public HBaseProperties() {
         super(HBaseStore.class);
@@ -164,6 +176,135 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the number of threads to use to deserialise the cells returned by a
+     * scanner into elements. The threads are shared by all queries against
+     * the store. If this is 0 the cells are deserialised on the thread
+     * consuming the results.
+     *
+     * @return An integer representing the number of threads to use to
+     * deserialise cells into elements
+     */
+    public int getThreadsForParallelDecode() {
+        return Integer.parseInt(get(THREADS_FOR_PARALLEL_DECODE, THREADS_FOR_PARALLEL_DECODE_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads to use to deserialise the cells returned by a
+     * scanner into elements.
+     *
+     * @param threadsForParallelDecode the number of threads to use to
+     *                                 deserialise cells into elements
+     */
+    public void setThreadsForParallelDecode(final String threadsForParallelDecode) {
+        set(THREADS_FOR_PARALLEL_DECODE, threadsForParallelDecode);
+    }
+
+    /**
+     * Get the maximum number of batches of cells that can be read ahead of the
+     * consumer when deserialising cells in parallel.
+     *
+     * @return An integer representing the maximum number of batches to read ahead
+     */
+    public int getMaxBatchesForParallelDecode() {
+        return Integer.parseInt(get(MAX_BATCHES_FOR_PARALLEL_DECODE, MAX_BATCHES_FOR_PARALLEL_DECODE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of batches of cells that can be read ahead of the
+     * consumer when deserialising cells in parallel.
+     *
+     * @param maxBatchesForParallelDecode the maximum number of batches to read ahead
+     */
+    public void setMaxBatchesForParallelDecode(final String maxBatchesForParallelDecode) {
+        set(MAX_BATCHES_FOR_PARALLEL_DECODE, maxBatchesForParallelDecode);
+    }
+
+    /**
+     * Get the maximum number of distinct parsed views the coprocessor on each
+     * region server keeps cached. If this is 0 views are parsed for every scan.
+     * This is applied when the table is created.
+     *
+     * @return An integer representing the maximum number of cached views
+     */
+    public int getCoprocessorViewCacheSize() {
+        return Integer.parseInt(get(COPROCESSOR_VIEW_CACHE_SIZE, COPROCESSOR_VIEW_CACHE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of distinct parsed views the coprocessor on each
+     * region server keeps cached.
+     *
+     * @param coprocessorViewCacheSize the maximum number of cached views
+     */
+    public void setCoprocessorViewCacheSize(final String coprocessorViewCacheSize) {
+        set(COPROCESSOR_VIEW_CACHE_SIZE, coprocessorViewCacheSize);
+    }
+
+    /**
+     * Get the number of threads to use to scan the regions of the table in
+     * parallel when elements are retrieved by seed. The row ranges in each
+     * batch of seeds are grouped by region and each group is scanned
+     * separately. If this is 0 each batch is scanned with a single scanner.
+     * The threads are shared by all queries against the store and each query
+     * runs at most this many scans at once.
+     *
+     * @return An integer representing the number of threads to scan with
+     */
+    public int getThreadsForParallelScan() {
+        return Integer.parseInt(get(THREADS_FOR_PARALLEL_SCAN, THREADS_FOR_PARALLEL_SCAN_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads to use to scan the regions of the table in
+     * parallel when elements are retrieved by seed.
+     *
+     * @param threadsForParallelScan the number of threads to scan with
+     */
+    public void setThreadsForParallelScan(final String threadsForParallelScan) {
+        set(THREADS_FOR_PARALLEL_SCAN, threadsForParallelScan);
+    }
+
+    /**
+     * Get the maximum number of results that the parallel scanners can read
+     * ahead of the consumer.
+     *
+     * @return An integer representing the maximum number of results to read ahead
+     */
+    public int getMaxResultsForParallelScan() {
+        return Integer.parseInt(get(MAX_RESULTS_FOR_PARALLEL_SCAN, MAX_RESULTS_FOR_PARALLEL_SCAN_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of results that the parallel scanners can read
+     * ahead of the consumer.
+     *
+     * @param maxResultsForParallelScan the maximum number of results to read ahead
+     */
+    public void setMaxResultsForParallelScan(final String maxResultsForParallelScan) {
+        set(MAX_RESULTS_FOR_PARALLEL_SCAN, maxResultsForParallelScan);
+    }
+
+    /**
+     * Get the number of rows each scanner fetches from a region server in a
+     * single RPC. If this is 0 the HBase client default is used.
+     *
+     * @return An integer representing the number of rows to fetch per RPC
+     */
+    public int getScannerCaching() {
+        return Integer.parseInt(get(SCANNER_CACHING, SCANNER_CACHING_DEFAULT));
+    }
+
+    /**
+     * Set the number of rows each scanner fetches from a region server in a
+     * single RPC.
+     *
+     * @param scannerCaching the number of rows to fetch per RPC
+     */
+    public void setScannerCaching(final String scannerCaching) {
+        set(SCANNER_CACHING, scannerCaching);
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
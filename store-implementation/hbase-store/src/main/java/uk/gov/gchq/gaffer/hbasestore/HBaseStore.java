@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.hbasestore;
 
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.HBaseConfiguration;
@@ -69,6 +70,8 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.MATCHED_VERTEX;
@@ -108,6 +111,8 @@ public class HBaseStore extends Store {
                     MATCHED_VERTEX
             ));
     private Connection connection;
+    private ExecutorService decodePool;
+    private ExecutorService scanPool;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties)
@@ -159,6 +164,41 @@ public class HBaseStore extends Store {
         return connection;
     }
 
+    /**
+     * Returns the pool of threads used to deserialise the cells of HBase
+     * results into elements. The pool is shared by all queries against this
+     * store, is sized by {@link HBaseProperties#getThreadsForParallelDecode()}
+     * and is created when it is first needed. Its threads are daemon threads so
+     * they do not prevent the JVM from exiting.
+     *
+     * @return the decode pool
+     */
+    public synchronized ExecutorService getDecodePool() {
+        if (null == decodePool) {
+            decodePool = Executors.newFixedThreadPool(getProperties().getThreadsForParallelDecode(),
+                    new ThreadFactoryBuilder().setNameFormat("hbase-parallel-decode-%d").setDaemon(true).build());
+        }
+        return decodePool;
+    }
+
+    /**
+     * Returns the pool of threads used to scan the regions of the table in
+     * parallel when elements are retrieved by seed. The pool is shared by all
+     * queries against this store, is sized by
+     * {@link HBaseProperties#getThreadsForParallelScan()} and is created when
+     * it is first needed. Its threads are daemon threads so they do not prevent
+     * the JVM from exiting.
+     *
+     * @return the scan pool
+     */
+    public synchronized ExecutorService getScanPool() {
+        if (null == scanPool) {
+            scanPool = Executors.newFixedThreadPool(getProperties().getThreadsForParallelScan(),
+                    new ThreadFactoryBuilder().setNameFormat("hbase-parallel-scan-%d").setDaemon(true).build());
+        }
+        return scanPool;
+    }
+
     public TableName getTableName() {
         return TableName.valueOf(getGraphId());
     }
@@ -39,12 +39,16 @@ import java.io.IOException;
 public class GafferCoprocessor extends BaseRegionObserver {
     private Schema schema;
     private ElementSerialisation serialisation;
+    private ViewCache viewCache;
 
     @Override
     public void start(final CoprocessorEnvironment e) throws IOException {
         final String schemaJson = StringUtil.unescapeComma(e.getConfiguration().get(HBaseStoreConstants.SCHEMA));
         schema = Schema.fromJson(Bytes.toBytes(schemaJson));
         serialisation = new ElementSerialisation(schema);
+        viewCache = new ViewCache(
+                e.getConfiguration().getInt(HBaseStoreConstants.VIEW_CACHE_SIZE, ViewCache.DEFAULT_MAX_VIEWS),
+                ViewCache.DEFAULT_MAX_COPIES_PER_VIEW);
     }
 
     @Override
@@ -73,6 +77,6 @@ public class GafferCoprocessor extends BaseRegionObserver {
 
     @Override
     public RegionScanner postScannerOpen(final ObserverContext<RegionCoprocessorEnvironment> e, final Scan scan, final RegionScanner scanner) throws IOException {
-        return new QueryScanner(scanner, scan, schema, serialisation);
+        return new QueryScanner(scanner, scan, schema, serialisation, viewCache);
     }
 }
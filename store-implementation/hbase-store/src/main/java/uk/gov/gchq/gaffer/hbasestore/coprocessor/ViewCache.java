@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A {@code ViewCache} holds parsed {@link View}s keyed by their compact JSON,
+ * so that a scan does not need to parse a view that has been seen before.
+ * <p>
+ * The filters and transformers in a view are not thread safe, so a cached view
+ * is only used by one scanner at a time. A scanner takes a view with
+ * {@link #acquire(byte[])} and gives it back with {@link #release(byte[], View)}
+ * when it is closed. The number of distinct views is bounded, with the least
+ * recently used view evicted first, as is the number of idle copies kept for
+ * each view. A maximum of 0 views disables the cache.
+ */
+public class ViewCache {
+    public static final int DEFAULT_MAX_VIEWS = 100;
+    public static final int DEFAULT_MAX_COPIES_PER_VIEW = 8;
+
+    private final int maxCopiesPerView;
+    private final Map<ByteBuffer, Queue<View>> views;
+
+    public ViewCache() {
+        this(DEFAULT_MAX_VIEWS, DEFAULT_MAX_COPIES_PER_VIEW);
+    }
+
+    public ViewCache(final int maxViews, final int maxCopiesPerView) {
+        if (maxViews < 0) {
+            throw new IllegalArgumentException("maxViews must not be negative");
+        }
+        this.maxCopiesPerView = maxCopiesPerView;
+        this.views = new LinkedHashMap<ByteBuffer, Queue<View>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 5263451722735325640L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<ByteBuffer, Queue<View>> eldest) {
+                return size() > maxViews;
+            }
+        };
+    }
+
+    /**
+     * Gets a view that is not in use by any other scanner, parsing the JSON if
+     * there is no idle copy in the cache.
+     *
+     * @param viewJson the compact JSON of the view
+     * @return the view, or null if the JSON is null
+     */
+    public View acquire(final byte[] viewJson) {
+        if (null == viewJson) {
+            return null;
+        }
+
+        final Queue<View> idle;
+        synchronized (views) {
+            idle = views.get(ByteBuffer.wrap(viewJson));
+        }
+        if (null != idle) {
+            final View view = idle.poll();
+            if (null != view) {
+                return view;
+            }
+        }
+        return View.fromJson(viewJson);
+    }
+
+    /**
+     * Returns a view to the cache once the scanner using it is finished with
+     * it. The view must not be used again by the caller.
+     *
+     * @param viewJson the compact JSON the view was acquired with
+     * @param view     the view to return
+     */
+    public void release(final byte[] viewJson, final View view) {
+        if (null == viewJson || null == view) {
+            return;
+        }
+
+        final Queue<View> idle;
+        synchronized (views) {
+            idle = views.computeIfAbsent(ByteBuffer.wrap(viewJson), k -> new ConcurrentLinkedQueue<>());
+        }
+        if (idle.size() < maxCopiesPerView) {
+            idle.offer(view);
+        }
+    }
+
+    public int size() {
+        synchronized (views) {
+            return views.size();
+        }
+    }
+}
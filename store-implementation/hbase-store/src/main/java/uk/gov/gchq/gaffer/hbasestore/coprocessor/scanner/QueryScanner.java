@@ -25,6 +25,7 @@ import org.apache.hadoop.hbase.util.Bytes;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.ViewCache;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
@@ -44,22 +45,64 @@ import java.util.List;
 import java.util.Set;
 
 public class QueryScanner extends GafferScanner implements RegionScanner {
+    private final ViewCache viewCache;
+    private final byte[] viewJson;
+    private View view;
+
     public QueryScanner(final RegionScanner scanner,
                         final Scan scan,
                         final Schema schema,
                         final ElementSerialisation serialisation) {
-        super(scanner, serialisation, createProcessors(scan, schema, serialisation), isIncludeMatchedVertex(scan));
+        this(scanner, scan, schema, serialisation, null);
+    }
+
+    /**
+     * Creates a scanner that takes its view from the given cache rather than
+     * parsing the view JSON on the scan. The view is given back to the cache
+     * when the scanner is closed.
+     *
+     * @param scanner       the region scanner to wrap
+     * @param scan          the scan
+     * @param schema        the schema
+     * @param serialisation the element serialisation
+     * @param viewCache     the view cache, if null the view is always parsed
+     */
+    public QueryScanner(final RegionScanner scanner,
+                        final Scan scan,
+                        final Schema schema,
+                        final ElementSerialisation serialisation,
+                        final ViewCache viewCache) {
+        this(scanner, scan, schema, serialisation, viewCache, getView(scan.getAttribute(HBaseStoreConstants.VIEW), viewCache));
+    }
+
+    private QueryScanner(final RegionScanner scanner,
+                         final Scan scan,
+                         final Schema schema,
+                         final ElementSerialisation serialisation,
+                         final ViewCache viewCache,
+                         final View view) {
+        super(scanner, serialisation, createProcessors(scan, schema, serialisation, view), isIncludeMatchedVertex(scan));
+        this.viewCache = viewCache;
+        this.viewJson = scan.getAttribute(HBaseStoreConstants.VIEW);
+        this.view = view;
     }
 
     protected static List<GafferScannerProcessor> createProcessors(
             final Scan scan,
             final Schema schema,
             final ElementSerialisation serialisation) {
+        return createProcessors(scan, schema, serialisation, getView(scan.getAttribute(HBaseStoreConstants.VIEW), null));
+    }
+
+    protected static List<GafferScannerProcessor> createProcessors(
+            final Scan scan,
+            final Schema schema,
+            final ElementSerialisation serialisation,
+            final View view) {
         final List<GafferScannerProcessor> processors = new ArrayList<>();
         final Set<Class<? extends GafferScannerProcessor>> extraProcessors = getExtraProcessors(scan);
 
         // The view will be null if a scan of the table is done in the hbase shell
-        final View view = getView(scan);
         if (null != view) {
             processors.add(new GroupFilterProcessor(view));
             if (extraProcessors.remove(ElementDedupeFilterProcessor.class)) {
@@ -88,11 +131,12 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
         return processors;
     }
 
-    private static View getView(final Scan scan) {
-        final byte[] viewJson = scan.getAttribute(HBaseStoreConstants.VIEW);
+    private static View getView(final byte[] viewJson, final ViewCache viewCache) {
         final View view;
         if (null == viewJson) {
             view = null;
+        } else if (null != viewCache) {
+            view = viewCache.acquire(viewJson);
         } else {
             view = View.fromJson(viewJson);
         }
@@ -121,6 +165,18 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
         return null != attr && Boolean.parseBoolean(Bytes.toString(attr));
     }
 
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (null != viewCache && null != view) {
+                viewCache.release(viewJson, view);
+                view = null;
+            }
+        }
+    }
+
     @Override
     protected RegionScanner getScanner() {
         return (RegionScanner) super.getScanner();
@@ -17,6 +17,8 @@
 package uk.gov.gchq.gaffer.hbasestore.retriever;
 
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
@@ -30,11 +32,15 @@ import uk.gov.gchq.gaffer.commonutil.iterable.AlwaysValid;
 import uk.gov.gchq.gaffer.commonutil.iterable.BatchedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ParallelTransformIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.StreamIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformOneToManyIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
@@ -48,11 +54,19 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
 
 public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters> implements CloseableIterable<Element> {
     private final ElementSerialisation serialisation;
@@ -63,6 +77,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
     private final Authorizations authorisations;
     private final OP operation;
     private final byte[] extraProcessors;
+    private final byte[] viewJson;
     private final boolean includeMatchedVertex;
 
     private CloseableIterator<Element> iterator;
@@ -88,6 +103,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
 
         this.includeMatchedVertex = includeMatchedVertex;
+        this.viewJson = null != operation.getView() ? operation.getView().toCompactJson() : null;
 
         if (null != extraProcessors && extraProcessors.length > 0) {
             this.extraProcessors = StringUtil.toCsv(extraProcessors);
@@ -101,11 +117,23 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         // By design, only 1 iterator can be open at a time
         close();
 
-        if (null != ids) {
+        final CloseableIterable<Result> scanner;
+        final int scanThreads = store.getProperties().getThreadsForParallelScan();
+        if (null != ids && scanThreads > 0) {
             idsIterator = ids.iterator();
-            iterator = new HBaseRetrieverIterable(new BatchedResultScanner()).iterator();
+            scanner = new ParallelResultScanner(scanThreads);
+        } else if (null != ids) {
+            idsIterator = ids.iterator();
+            scanner = new BatchedResultScanner();
         } else {
-            iterator = new HBaseRetrieverIterable(createScanner()).iterator();
+            scanner = createScanner();
+        }
+
+        final int threads = store.getProperties().getThreadsForParallelDecode();
+        if (threads < 1) {
+            iterator = new HBaseRetrieverIterable(scanner).iterator();
+        } else {
+            iterator = createParallelDecodeIterator(scanner);
         }
 
         return iterator;
@@ -124,10 +152,55 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    /**
+     * Deserialises the cells of each {@link Result} using the store's shared
+     * {@link HBaseStore#getDecodePool()}. Each chunk being decoded uses its own copy
+     * of the view, as the view functions are not thread safe. The order of the results is preserved unless the
+     * {@link HBaseStoreConstants#OPERATION_PARALLEL_DECODE_PRESERVE_ORDER}
+     * option on the operation is set to false.
+     *
+     * @param scanner the results to deserialise
+     * @return an iterator of the deserialised elements
+     */
+    private CloseableIterator<Element> createParallelDecodeIterator(final CloseableIterable<Result> scanner) {
+        final CloseableIterator<Result> results = scanner.iterator();
+        final boolean preserveOrder = Boolean.parseBoolean(
+                operation.getOption(HBaseStoreConstants.OPERATION_PARALLEL_DECODE_PRESERVE_ORDER, "true"));
+        final ParallelTransformIterator<Result, List<Element>> decoded = new ParallelTransformIterator<>(results,
+                this::createDecoder, store.getDecodePool(), store.getProperties().getMaxBatchesForParallelDecode(), preserveOrder);
+        return new StreamIterator<>(Streams.toStream(decoded)
+                .flatMap(List::stream)
+                .onClose(() -> {
+                    decoded.close();
+                    CloseableUtil.close(results);
+                    CloseableUtil.close(scanner);
+                }));
+    }
+
+    private Function<Result, List<Element>> createDecoder() {
+        final View view = operation.getView().clone();
+        final ElementValidator viewValidator = new ElementValidator(view);
+        return result -> {
+            final List<Element> elements = new ArrayList<>();
+            for (final Cell cell : result.listCells()) {
+                final Element element = deserialiseAndTransform(cell, view);
+                if (viewValidator.validateTransform(element)) {
+                    ViewUtil.removeProperties(view, element);
+                    elements.add(element);
+                }
+            }
+            return elements;
+        };
+    }
+
     private Element deserialiseAndTransform(final Cell cell) {
+        return deserialiseAndTransform(cell, operation.getView());
+    }
+
+    private Element deserialiseAndTransform(final Cell cell, final View view) {
         try {
             Element element = serialisation.getElement(cell, includeMatchedVertex);
-            final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
+            final ViewElementDefinition viewDef = view.getElement(element.getGroup());
             if (null != viewDef) {
                 final ElementTransformer transformer = viewDef.getTransformer();
                 if (null != transformer) {
@@ -152,35 +225,17 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
         Table table = null;
         try {
-            final Scan scan = new Scan();
-
+            final Scan scan;
             if (null != idsIterator) {
-                final List<MultiRowRangeFilter.RowRange> rowRanges = new ArrayList<>();
-                final int maxEntriesForBatchScanner = store.getProperties().getMaxEntriesForBatchScanner();
-                int count = 0;
-                while (idsIterator.hasNext() && count < maxEntriesForBatchScanner) {
-                    count++;
-                    rowRanges.addAll(rowRangeFactory.getRowRange(idsIterator.next(), operation));
-                }
-
+                final List<MultiRowRangeFilter.RowRange> rowRanges = getNextRowRanges();
                 if (rowRanges.isEmpty()) {
                     return new WrappedCloseableIterable<>(Collections.emptyList());
                 }
-
-                scan.setFilter(new MultiRowRangeFilter(rowRanges));
+                scan = createScan(rowRanges);
+            } else {
+                scan = createScan(null);
             }
 
-            scan.setAuthorizations(authorisations);
-            scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
-            scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
-            scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
-            if (null != operation.getDirectedType()) {
-                scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
-            }
-            if (null != extraProcessors) {
-                scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
-            }
-            scan.setMaxVersions();
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
@@ -191,6 +246,85 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    private List<MultiRowRangeFilter.RowRange> getNextRowRanges() {
+        final List<MultiRowRangeFilter.RowRange> rowRanges = new ArrayList<>();
+        final int maxEntriesForBatchScanner = store.getProperties().getMaxEntriesForBatchScanner();
+        int count = 0;
+        while (idsIterator.hasNext() && count < maxEntriesForBatchScanner) {
+            count++;
+            rowRanges.addAll(rowRangeFactory.getRowRange(idsIterator.next(), operation));
+        }
+        return rowRanges;
+    }
+
+    private Scan createScan(final List<MultiRowRangeFilter.RowRange> rowRanges) throws IOException {
+        final Scan scan = new Scan();
+        if (null != rowRanges) {
+            scan.setFilter(new MultiRowRangeFilter(rowRanges));
+        }
+
+        scan.setAuthorizations(authorisations);
+        // The schema is not sent as the coprocessor is configured with it
+        scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
+        scan.setAttribute(HBaseStoreConstants.VIEW, viewJson);
+        if (null != operation.getDirectedType()) {
+            scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
+        }
+        if (null != extraProcessors) {
+            scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
+        }
+        final int caching = store.getProperties().getScannerCaching();
+        if (caching > 0) {
+            scan.setCaching(caching);
+        }
+        scan.setMaxVersions();
+        return scan;
+    }
+
+    private byte[][] getRegionStartKeys() {
+        try (final RegionLocator regionLocator = store.getConnection().getRegionLocator(store.getTableName())) {
+            return regionLocator.getStartKeys();
+        } catch (final IOException | StoreException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Groups row ranges by the region that contains the start of each range.
+     * A range that crosses into the next region stays in the group of the
+     * region it starts in.
+     *
+     * @param rowRanges       the row ranges to group
+     * @param regionStartKeys the start keys of the regions of the table
+     * @return the row ranges for each region, in region order
+     */
+    static List<List<MultiRowRangeFilter.RowRange>> groupByRegion(final List<MultiRowRangeFilter.RowRange> rowRanges,
+                                                                final byte[][] regionStartKeys) {
+        final NavigableSet<byte[]> startKeys = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+        startKeys.addAll(Arrays.asList(regionStartKeys));
+
+        final Map<byte[], List<MultiRowRangeFilter.RowRange>> groups = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+        for (final MultiRowRangeFilter.RowRange rowRange : rowRanges) {
+            byte[] regionStartKey = startKeys.floor(rowRange.getStartRow());
+            if (null == regionStartKey) {
+                regionStartKey = HConstants.EMPTY_START_ROW;
+            }
+            groups.computeIfAbsent(regionStartKey, k -> new ArrayList<>()).add(rowRange);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static byte[] getFirstStartRow(final List<MultiRowRangeFilter.RowRange> rowRanges) {
+        byte[] firstStartRow = null;
+        for (final MultiRowRangeFilter.RowRange rowRange : rowRanges) {
+            final byte[] startRow = rowRange.getStartRow();
+            if (null == firstStartRow || Bytes.compareTo(startRow, firstStartRow) < 0) {
+                firstStartRow = startRow;
+            }
+        }
+        return firstStartRow;
+    }
+
     public class BatchedResultScanner extends BatchedIterable<Result> {
         @Override
         protected Iterable<Result> createBatch() {
@@ -198,6 +332,73 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    /**
+     * Scans the row ranges for each batch of seeds using a
+     * {@link ParallelScanIterator}. The row ranges are grouped by region and
+     * each group gets its own scan, so the regions are read in parallel. The
+     * results are returned as they arrive.
+     */
+    private final class ParallelResultScanner implements CloseableIterable<Result> {
+        private final int threads;
+        private ParallelScanIterator iterator;
+
+        private ParallelResultScanner(final int threads) {
+            this.threads = threads;
+        }
+
+        @Override
+        public CloseableIterator<Result> iterator() {
+            close();
+            iterator = new ParallelScanIterator(new RegionScanIterator(getRegionStartKeys()), store::getTable,
+                    store.getScanPool(), threads, store.getProperties().getMaxResultsForParallelScan());
+            return iterator;
+        }
+
+        @Override
+        public void close() {
+            if (null != iterator) {
+                iterator.close();
+                iterator = null;
+            }
+        }
+    }
+
+    /**
+     * Creates a scan for each region that the next batch of seeds falls in.
+     */
+    private final class RegionScanIterator implements Iterator<Scan> {
+        private final byte[][] regionStartKeys;
+        private final Deque<Scan> scans = new ArrayDeque<>();
+
+        private RegionScanIterator(final byte[][] regionStartKeys) {
+            this.regionStartKeys = regionStartKeys;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (scans.isEmpty() && idsIterator.hasNext()) {
+                for (final List<MultiRowRangeFilter.RowRange> rowRanges : groupByRegion(getNextRowRanges(), regionStartKeys)) {
+                    try {
+                        final Scan scan = createScan(rowRanges);
+                        scan.setStartRow(getFirstStartRow(rowRanges));
+                        scans.add(scan);
+                    } catch (final IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+            return !scans.isEmpty();
+        }
+
+        @Override
+        public Scan next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            return scans.poll();
+        }
+    }
+
     private final class HBaseRetrieverIterable extends TransformOneToManyIterable<Result, Element> {
         private final CloseableIterable<Result> scanner;
 
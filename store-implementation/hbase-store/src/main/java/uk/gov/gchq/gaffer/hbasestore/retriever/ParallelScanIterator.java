@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import com.google.common.collect.Iterators;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.BoundedParallelIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A {@code ParallelScanIterator} runs a number of {@link Scan}s against a
+ * table on a shared pool of threads and returns the {@link Result}s as they
+ * arrive.
+ * <p>
+ * At most {@code maxScansInFlight} scans are run at once, each with its own
+ * {@link Table}, and at most {@code maxResults} results are buffered. A scan
+ * parks its open scanner rather than blocking a pool thread when the buffer
+ * is full, see {@link BoundedParallelIterator}. There is no ordering between
+ * the results of different scans. Exceptions thrown by the source or a
+ * scanner are rethrown to the consumer.
+ */
+public class ParallelScanIterator extends BoundedParallelIterator<Result> {
+
+    public ParallelScanIterator(final Iterator<Scan> scans,
+                                final TableSupplier tableSupplier,
+                                final ExecutorService executor,
+                                final int maxScansInFlight,
+                                final int maxResults) {
+        super(Iterators.transform(scans, scan -> toSource(scan, tableSupplier)), executor, maxScansInFlight, maxResults);
+    }
+
+    private static Source<Result> toSource(final Scan scan, final TableSupplier tableSupplier) {
+        return () -> openScanner(scan, tableSupplier);
+    }
+
+    private static CloseableIterator<Result> openScanner(final Scan scan, final TableSupplier tableSupplier) throws Exception {
+        final Table table = tableSupplier.get();
+        final ResultScanner scanner;
+        try {
+            scanner = table.getScanner(scan);
+        } catch (final Exception e) {
+            CloseableUtil.close(table);
+            throw e;
+        }
+
+        final Iterator<Result> results = scanner.iterator();
+        return new CloseableIterator<Result>() {
+            @Override
+            public boolean hasNext() {
+                return results.hasNext();
+            }
+
+            @Override
+            public Result next() {
+                return results.next();
+            }
+
+            @Override
+            public void close() {
+                CloseableUtil.close(scanner);
+                CloseableUtil.close(table);
+            }
+        };
+    }
+
+    /**
+     * Supplies a new {@link Table} for each scan, as tables are not thread
+     * safe. The table is closed when the scan is finished.
+     */
+    @FunctionalInterface
+    public interface TableSupplier {
+        Table get() throws Exception;
+    }
+}
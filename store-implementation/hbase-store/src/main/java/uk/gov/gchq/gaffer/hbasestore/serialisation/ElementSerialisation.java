@@ -41,6 +41,7 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueByteArrayOutputStream;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
@@ -68,7 +69,7 @@ public class ElementSerialisation {
 
     public byte[] getValue(final String group, final Properties properties)
             throws SerialisationException {
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final LengthValueByteArrayOutputStream out = LengthValueByteArrayOutputStream.getThreadStream();
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
@@ -81,19 +82,8 @@ public class ElementSerialisation {
             if (isStoredInValue(propertyName, elementDefinition)) {
                 final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
                 try {
-                    if (null != serialiser) {
-                        Object value = properties.get(propertyName);
-                        if (null != value) {
-                            final byte[] bytes = serialiser.serialise(value);
-                            writeBytes(bytes, out);
-                        } else {
-                            final byte[] bytes = serialiser.serialiseNull();
-                            writeBytes(bytes, out);
-                        }
-                    } else {
-                        writeBytes(HBaseStoreConstants.EMPTY_BYTES, out);
-                    }
-                } catch (final IOException e) {
+                    out.writeLengthAndValue(serialiser, properties.get(propertyName));
+                } catch (final SerialisationException e) {
                     throw new SerialisationException("Failed to write serialise property to ByteArrayOutputStream" + propertyName, e);
                 }
             }
@@ -209,7 +199,7 @@ public class ElementSerialisation {
 
     public byte[] getColumnQualifier(final String group, final Properties properties)
             throws SerialisationException {
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final LengthValueByteArrayOutputStream out = LengthValueByteArrayOutputStream.getThreadStream();
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
@@ -226,19 +216,8 @@ public class ElementSerialisation {
             final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
             final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
             try {
-                if (null != serialiser) {
-                    Object value = properties.get(propertyName);
-                    if (null != value) {
-                        final byte[] bytes = serialiser.serialise(value);
-                        writeBytes(bytes, out);
-                    } else {
-                        final byte[] bytes = serialiser.serialiseNull();
-                        writeBytes(bytes, out);
-                    }
-                } else {
-                    writeBytes(HBaseStoreConstants.EMPTY_BYTES, out);
-                }
-            } catch (final IOException e) {
+                out.writeLengthAndValue(serialiser, properties.get(propertyName));
+            } catch (final SerialisationException e) {
                 throw new SerialisationException("Failed to write serialise property to ByteArrayOutputStream" + propertyName, e);
             }
         }
@@ -397,7 +376,6 @@ public class ElementSerialisation {
         return row[row.length - 1] == HBaseStoreConstants.ENTITY;
     }
 
-
     public String getGroup(final Cell cell) throws SerialisationException {
         return getGroup(CellUtil.cloneQualifier(cell));
     }
@@ -41,10 +41,12 @@ public final class HBaseStoreConstants {
     public static final String EXTRA_PROCESSORS = "ExtraProcessors";
     public static final String DIRECTED_TYPE = "DirectedType";
     public static final String INCLUDE_MATCHED_VERTEX = "IncludeMatchedVertex";
+    public static final String VIEW_CACHE_SIZE = "ViewCacheSize";
 
     // Operations options
     public static final String OPERATION_HDFS_STAGING_PATH = "hbasestore.operation.hdfs.staging.path";
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "hbasestore.operation.hdfs.skip_import";
+    public static final String OPERATION_PARALLEL_DECODE_PRESERVE_ORDER = "hbasestore.operation.parallelDecode.preserveOrder";
 
     // Bytes
     public static final byte[] EMPTY_BYTES = new byte[0];
@@ -297,8 +297,9 @@ public final class TableUtils {
     private static void addCoprocesssor(final HTableDescriptor htable, final HBaseStore store) throws IOException {
         final String schemaJson = StringUtil.escapeComma(
                 Bytes.toString(store.getSchema().toCompactJson()));
-        final Map<String, String> options = new HashMap<>(1);
+        final Map<String, String> options = new HashMap<>(2);
         options.put(HBaseStoreConstants.SCHEMA, schemaJson);
+        options.put(HBaseStoreConstants.VIEW_CACHE_SIZE, Integer.toString(store.getProperties().getCoprocessorViewCacheSize()));
         htable.addCoprocessor(GafferCoprocessor.class.getName(), store.getProperties().getDependencyJarsHdfsDirPath(), Coprocessor.PRIORITY_USER, options);
     }
 
@@ -39,11 +39,23 @@ public class HBasePropertiesTest {
         properties.setDependencyJarsHdfsDirPath("pathTo/jars");
         properties.setWriteBufferSize(10);
         properties.setZookeepers("zookeeper1,zookeeper2");
+        properties.setThreadsForParallelDecode("4");
+        properties.setMaxBatchesForParallelDecode("8");
+        properties.setThreadsForParallelScan("3");
+        properties.setMaxResultsForParallelScan("500");
+        properties.setScannerCaching("200");
+        properties.setCoprocessorViewCacheSize("20");
 
         // Then
         assertEquals(new Path("pathTo/jars"), properties.getDependencyJarsHdfsDirPath());
         assertEquals(10, properties.getWriteBufferSize());
         assertEquals("zookeeper1,zookeeper2", properties.getZookeepers());
+        assertEquals(4, properties.getThreadsForParallelDecode());
+        assertEquals(8, properties.getMaxBatchesForParallelDecode());
+        assertEquals(3, properties.getThreadsForParallelScan());
+        assertEquals(500, properties.getMaxResultsForParallelScan());
+        assertEquals(200, properties.getScannerCaching());
+        assertEquals(20, properties.getCoprocessorViewCacheSize());
     }
 
     @Test
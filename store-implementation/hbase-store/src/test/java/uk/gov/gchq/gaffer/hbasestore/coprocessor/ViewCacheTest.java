@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ViewCacheTest {
+    private static final byte[] VIEW_JSON_1 = new View.Builder()
+            .entity(TestGroups.ENTITY)
+            .build()
+            .toCompactJson();
+
+    private static final byte[] VIEW_JSON_2 = new View.Builder()
+            .edge(TestGroups.EDGE)
+            .build()
+            .toCompactJson();
+
+    @Test
+    public void shouldParseViewWhenNotCached() {
+        // Given
+        final ViewCache viewCache = new ViewCache();
+
+        // When
+        final View view = viewCache.acquire(VIEW_JSON_1);
+
+        // Then
+        assertEquals(View.fromJson(VIEW_JSON_1), view);
+    }
+
+    @Test
+    public void shouldNotShareViewUntilItIsReleased() {
+        // Given
+        final ViewCache viewCache = new ViewCache();
+
+        // When
+        final View view1 = viewCache.acquire(VIEW_JSON_1);
+        final View view2 = viewCache.acquire(VIEW_JSON_1);
+        viewCache.release(VIEW_JSON_1, view1);
+        final View view3 = viewCache.acquire(VIEW_JSON_1.clone());
+
+        // Then
+        assertNotSame(view1, view2);
+        assertSame(view1, view3);
+    }
+
+    @Test
+    public void shouldNotReturnViewCachedForDifferentJson() {
+        // Given
+        final ViewCache viewCache = new ViewCache();
+        final View view1 = viewCache.acquire(VIEW_JSON_1);
+        viewCache.release(VIEW_JSON_1, view1);
+
+        // When
+        final View view2 = viewCache.acquire(VIEW_JSON_2);
+
+        // Then
+        assertNotSame(view1, view2);
+        assertEquals(View.fromJson(VIEW_JSON_2), view2);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedView() {
+        // Given
+        final ViewCache viewCache = new ViewCache(1, 1);
+        final View view1 = viewCache.acquire(VIEW_JSON_1);
+        viewCache.release(VIEW_JSON_1, view1);
+
+        // When
+        viewCache.release(VIEW_JSON_2, viewCache.acquire(VIEW_JSON_2));
+
+        // Then
+        assertEquals(1, viewCache.size());
+        assertNotSame(view1, viewCache.acquire(VIEW_JSON_1));
+    }
+
+    @Test
+    public void shouldLimitIdleCopiesOfView() {
+        // Given
+        final ViewCache viewCache = new ViewCache(1, 1);
+        final View view1 = viewCache.acquire(VIEW_JSON_1);
+        final View view2 = viewCache.acquire(VIEW_JSON_1);
+
+        // When
+        viewCache.release(VIEW_JSON_1, view1);
+        viewCache.release(VIEW_JSON_1, view2);
+
+        // Then
+        assertSame(view1, viewCache.acquire(VIEW_JSON_1));
+        assertNotSame(view2, viewCache.acquire(VIEW_JSON_1));
+    }
+
+    @Test
+    public void shouldNotCacheViewsWhenMaxViewsIsZero() {
+        // Given
+        final ViewCache viewCache = new ViewCache(0, 1);
+        final View view = viewCache.acquire(VIEW_JSON_1);
+
+        // When
+        viewCache.release(VIEW_JSON_1, view);
+
+        // Then
+        assertEquals(0, viewCache.size());
+        assertNotSame(view, viewCache.acquire(VIEW_JSON_1));
+    }
+
+    @Test
+    public void shouldReturnNullForNullJson() {
+        assertNull(new ViewCache().acquire(null));
+    }
+
+    @Test
+    public void shouldThrowExceptionForNegativeMaxViews() {
+        assertThrows(IllegalArgumentException.class, () -> new ViewCache(-1, 1));
+    }
+}
@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.ViewCache;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
@@ -255,6 +256,26 @@ public class QueryScannerTest {
         }
     }
 
+    @Test
+    public void shouldAcquireViewFromCacheAndReleaseItOnceWhenClosed() throws IOException {
+        // Given
+        final RegionScanner scanner = mock(RegionScanner.class);
+        final Scan scan = mock(Scan.class);
+        final byte[] viewJson = VIEW.toCompactJson();
+        given(scan.getAttribute(HBaseStoreConstants.VIEW)).willReturn(viewJson);
+        final ViewCache viewCache = mock(ViewCache.class);
+        given(viewCache.acquire(viewJson)).willReturn(VIEW);
+
+        // When
+        final QueryScanner queryScanner = new QueryScanner(scanner, scan, SCHEMA, serialisation, viewCache);
+        queryScanner.close();
+        queryScanner.close();
+
+        // Then
+        verify(viewCache).acquire(viewJson);
+        verify(viewCache).release(viewJson, VIEW);
+    }
+
     @Test
     public void shouldDelegateMethodsToInternalScanner() throws IOException {
         final RegionScanner scanner = mock(RegionScanner.class);
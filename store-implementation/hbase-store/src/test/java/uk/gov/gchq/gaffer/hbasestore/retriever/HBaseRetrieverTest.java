@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HBaseRetrieverTest {
+
+    @Test
+    public void shouldGroupRowRangesByRegion() {
+        // Given
+        final byte[][] regionStartKeys = {HConstants.EMPTY_START_ROW, Bytes.toBytes("g"), Bytes.toBytes("p")};
+        final RowRange rangeA = createRowRange("a", "b");
+        final RowRange rangeH = createRowRange("h", "i");
+        final RowRange rangeC = createRowRange("c", "d");
+        final RowRange rangeQ = createRowRange("q", "r");
+        final RowRange rangeG = createRowRange("g", "h");
+
+        // When
+        final List<List<RowRange>> groups = HBaseRetriever.groupByRegion(
+                Arrays.asList(rangeA, rangeH, rangeC, rangeQ, rangeG), regionStartKeys);
+
+        // Then
+        assertEquals(Arrays.asList(
+                Arrays.asList(rangeA, rangeC),
+                Arrays.asList(rangeH, rangeG),
+                Collections.singletonList(rangeQ)), groups);
+    }
+
+    @Test
+    public void shouldKeepRangeThatCrossesRegionsInRegionItStartsIn() {
+        // Given
+        final byte[][] regionStartKeys = {HConstants.EMPTY_START_ROW, Bytes.toBytes("g")};
+        final RowRange range = createRowRange("f", "h");
+
+        // When
+        final List<List<RowRange>> groups = HBaseRetriever.groupByRegion(Collections.singletonList(range), regionStartKeys);
+
+        // Then
+        assertEquals(Collections.singletonList(Collections.singletonList(range)), groups);
+    }
+
+    private static RowRange createRowRange(final String start, final String stop) {
+        return new RowRange(Bytes.toBytes(start), true, Bytes.toBytes(stop), false);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ParallelScanIteratorTest {
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2);
+
+    @AfterAll
+    public static void tearDown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnResultsFromAllScans() throws Exception {
+        // Given
+        final List<Scan> scans = new ArrayList<>();
+        final List<Result> expected = new ArrayList<>();
+        final Table table = mock(Table.class);
+        for (int i = 0; i < 5; i++) {
+            final Scan scan = new Scan();
+            final List<Result> results = createResults(20);
+            final ResultScanner scanner = mock(ResultScanner.class);
+            given(scanner.iterator()).willReturn(results.iterator());
+            given(table.getScanner(scan)).willReturn(scanner);
+            scans.add(scan);
+            expected.addAll(results);
+        }
+
+        // When
+        final List<Result> results;
+        try (final ParallelScanIterator itr = new ParallelScanIterator(scans.iterator(), () -> table, EXECUTOR, 3, 7)) {
+            results = Lists.newArrayList(itr);
+        }
+
+        // Then
+        assertEquals(expected.size(), results.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(results));
+    }
+
+    @Test
+    public void shouldNotWaitForATimeoutWhenEachScanFinishes() throws Exception {
+        // Given
+        final List<Scan> scans = new ArrayList<>();
+        final Table table = mock(Table.class);
+        for (int i = 0; i < 30; i++) {
+            final Scan scan = new Scan();
+            final ResultScanner scanner = mock(ResultScanner.class);
+            given(scanner.iterator()).willReturn(createResults(1).iterator());
+            given(table.getScanner(scan)).willReturn(scanner);
+            scans.add(scan);
+        }
+
+        // When
+        final List<Result> results = assertTimeout(Duration.ofSeconds(2), () -> {
+            try (final ParallelScanIterator itr = new ParallelScanIterator(scans.iterator(), () -> table, EXECUTOR, 1, 10)) {
+                return Lists.newArrayList(itr);
+            }
+        });
+
+        // Then
+        assertEquals(30, results.size());
+    }
+
+    @Test
+    public void shouldCloseScannersAndTables() throws Exception {
+        // Given
+        final Scan scan = new Scan();
+        final Table table = mock(Table.class);
+        final ResultScanner scanner = mock(ResultScanner.class);
+        given(scanner.iterator()).willReturn(createResults(3).iterator());
+        given(table.getScanner(scan)).willReturn(scanner);
+
+        // When
+        try (final ParallelScanIterator itr = new ParallelScanIterator(Collections.singletonList(scan).iterator(), () -> table, EXECUTOR, 2, 10)) {
+            Lists.newArrayList(itr);
+        }
+
+        // Then
+        verify(scanner).close();
+        verify(table).close();
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromScanner() throws Exception {
+        // Given
+        final Scan scan = new Scan();
+        final Table table = mock(Table.class);
+        final IOException exception = new IOException("scan failed");
+        given(table.getScanner(scan)).willThrow(exception);
+        final ParallelScanIterator itr = new ParallelScanIterator(Arrays.asList(scan).iterator(), () -> table, EXECUTOR, 2, 10);
+
+        // When
+        final RuntimeException actual = assertThrows(RuntimeException.class, () -> Lists.newArrayList(itr));
+
+        // Then
+        assertSame(exception, actual.getCause());
+    }
+
+    @Test
+    public void shouldReturnNoResultsWhenThereAreNoScans() {
+        // When
+        try (final ParallelScanIterator itr = new ParallelScanIterator(Collections.<Scan>emptyIterator(), () -> mock(Table.class), EXECUTOR, 2, 10)) {
+            // Then
+            assertFalse(itr.hasNext());
+        }
+    }
+
+    @Test
+    public void shouldInterleaveTwoIteratorsOnASingleThread() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final List<Result> expected1 = createResults(50);
+            final List<Result> expected2 = createResults(50);
+            final List<Result> results1 = new ArrayList<>();
+            final List<Result> results2 = new ArrayList<>();
+
+            // When
+            try (final ParallelScanIterator itr1 = createIterator(expected1, executor);
+                 final ParallelScanIterator itr2 = createIterator(expected2, executor)) {
+                while (itr1.hasNext() || itr2.hasNext()) {
+                    if (itr1.hasNext()) {
+                        results1.add(itr1.next());
+                    }
+                    if (itr2.hasNext()) {
+                        results2.add(itr2.next());
+                    }
+                }
+            }
+
+            // Then
+            assertEquals(expected1, results1);
+            assertEquals(expected2, results2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotHoldExecutorThreadsWhenAbandoned() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final ParallelScanIterator abandoned = createIterator(createResults(50), executor);
+            assertTrue(abandoned.hasNext());
+            final List<Result> expected = createResults(50);
+
+            // When
+            final List<Result> results;
+            try (final ParallelScanIterator itr = createIterator(expected, executor)) {
+                results = Lists.newArrayList(itr);
+            }
+
+            // Then
+            assertEquals(expected, results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionForMissingExecutor() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanIterator(Collections.<Scan>emptyIterator(), () -> mock(Table.class), null, 2, 10));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidMaxScansInFlight() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanIterator(Collections.<Scan>emptyIterator(), () -> mock(Table.class), EXECUTOR, 0, 10));
+    }
+
+    private static ParallelScanIterator createIterator(final List<Result> results, final ExecutorService executor) throws IOException {
+        final Scan scan = new Scan();
+        final Table table = mock(Table.class);
+        final ResultScanner scanner = mock(ResultScanner.class);
+        final Iterator<Result> resultsIterator = results.iterator();
+        given(scanner.iterator()).willReturn(resultsIterator);
+        given(table.getScanner(scan)).willReturn(scanner);
+        return new ParallelScanIterator(Collections.singletonList(scan).iterator(), () -> table, executor, 1, 2);
+    }
+
+    private static List<Result> createResults(final int numResults) {
+        final List<Result> results = new ArrayList<>(numResults);
+        for (int i = 0; i < numResults; i++) {
+            results.add(mock(Result.class));
+        }
+        return results;
+    }
+}
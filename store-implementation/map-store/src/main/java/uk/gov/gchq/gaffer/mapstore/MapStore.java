@@ -60,6 +60,11 @@ import java.util.Set;
  * Indices can optionally be maintained to allow quick look-up of {@link Element}s based on {@link EntityId}s
  * or {@link uk.gov.gchq.gaffer.data.element.id.EdgeId}s.
  * </p>
+ * <p>
+ * By default the maps are not thread safe. To allow elements to be added and
+ * queried from multiple threads at the same time, set the map factory to
+ * {@link uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory}.
+ * </p>
  */
 public class MapStore extends Store {
     public static final Set<StoreTrait> TRAITS = new HashSet<>(Arrays.asList(
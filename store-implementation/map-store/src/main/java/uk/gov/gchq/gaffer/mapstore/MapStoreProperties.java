@@ -29,6 +29,24 @@ public class MapStoreProperties extends StoreProperties {
     public static final String CREATE_INDEX = "gaffer.store.mapstore.createIndex";
     public static final String CREATE_INDEX_DEFAULT = "true";
 
+    /**
+     * Property name for using a compact adjacency index instead of the
+     * entityIdToElements and edgeIdToElements multi maps. This is only used
+     * if an index is created.
+     */
+    public static final String COMPACT_INDEX = "gaffer.store.mapstore.compactIndex";
+    public static final String COMPACT_INDEX_DEFAULT = "false";
+
+    /**
+     * Property name for scanning the maps in parallel for GetAllElements and
+     * CountAllElementsDefaultView operations. When enabled the results of a
+     * GetAllElements are returned as they are found, with up to 10000 elements
+     * buffered while they wait for the consumer, and they are not in the order
+     * of the maps.
+     */
+    public static final String PARALLEL_SCAN = "gaffer.store.mapstore.parallelScan";
+    public static final String PARALLEL_SCAN_DEFAULT = "false";
+
     public static final String MAP_FACTORY = "gaffer.store.mapstore.map.factory";
     public static final Class<? extends MapFactory> MAP_FACTORY_DEFAULT = SimpleMapFactory.class;
 
@@ -80,6 +98,22 @@ public class MapStoreProperties extends StoreProperties {
         return Boolean.parseBoolean(get(CREATE_INDEX, CREATE_INDEX_DEFAULT));
     }
 
+    public void setCompactIndex(final boolean compactIndex) {
+        set(COMPACT_INDEX, Boolean.toString(compactIndex));
+    }
+
+    public boolean getCompactIndex() {
+        return Boolean.parseBoolean(get(COMPACT_INDEX, COMPACT_INDEX_DEFAULT));
+    }
+
+    public void setParallelScan(final boolean parallelScan) {
+        set(PARALLEL_SCAN, Boolean.toString(parallelScan));
+    }
+
+    public boolean getParallelScan() {
+        return Boolean.parseBoolean(get(PARALLEL_SCAN, PARALLEL_SCAN_DEFAULT));
+    }
+
     public String getMapFactory() {
         return get(MAP_FACTORY, MAP_FACTORY_DEFAULT.getName());
     }
@@ -77,6 +77,18 @@ public interface MapFactory {
         // no action required.
     }
 
+    /**
+     * Whether the maps created by this factory are safe to be updated and
+     * read by multiple threads at the same time. If this is true the
+     * {@link uk.gov.gchq.gaffer.mapstore.impl.MapImpl} will aggregate
+     * properties without mutating values that may be visible to readers.
+     *
+     * @return true if the maps support concurrent access, otherwise false
+     */
+    default boolean isConcurrent() {
+        return false;
+    }
+
     /**
      * Clear any currently configured Maps.
      */
@@ -145,12 +145,20 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
 
     private void updateElementIndex(final Element element, final MapImpl mapImpl) {
         if (element instanceof Entity) {
+            if (mapImpl.isCompactIndex()) {
+                mapImpl.addIndex(element);
+                return;
+            }
             final Entity entity = (Entity) element;
             final EntityId entityId = new EntitySeed(entity.getVertex());
             mapImpl.addIndex(entityId, element);
         } else {
             final Edge edge = (Edge) element;
             edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE);
+            if (mapImpl.isCompactIndex()) {
+                mapImpl.addIndex(edge);
+                return;
+            }
             final EntityId sourceEntityId = new EntitySeed(edge.getSource());
             mapImpl.addIndex(sourceEntityId, edge);
 
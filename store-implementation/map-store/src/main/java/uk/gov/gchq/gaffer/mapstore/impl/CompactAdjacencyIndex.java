@@ -0,0 +1,251 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A compact index from vertices to the {@link Element}s that contain them, used
+ * by the {@link MapImpl} in place of the entityIdToElements and edgeIdToElements
+ * {@link uk.gov.gchq.gaffer.mapstore.multimap.MultiMap}s.
+ * <p>
+ * Each distinct vertex and element is interned once and given an int ordinal.
+ * The adjacency of a vertex is held as a primitive int array of element ordinals,
+ * with the lowest bit recording whether the vertex is the destination of an edge.
+ * This avoids creating seeds and destination matched copies of every edge at
+ * ingest. The destination matched copy is only created when an edge is looked up.
+ * </p>
+ * <p>
+ * Lookups may be executed at the same time as elements are added.
+ * </p>
+ */
+final class CompactAdjacencyIndex {
+    private static final int DESTINATION_MATCHED = 1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_ADJACENCY_CAPACITY = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Object, Integer> vertexToOrdinal = new HashMap<>();
+    private final Map<Element, Integer> elementToOrdinal = new HashMap<>();
+
+    private Element[] elements;
+    private int numElements;
+    private int[][] adjacency;
+    private int[] adjacencySizes;
+    private int numVertices;
+
+    CompactAdjacencyIndex() {
+        reset();
+    }
+
+    /**
+     * Adds an element to the index. Edges must be source matched. Adding an
+     * element that is equal to an element already in the index has no effect.
+     *
+     * @param element the element to index
+     */
+    void add(final Element element) {
+        lock.writeLock().lock();
+        try {
+            if (elementToOrdinal.containsKey(element)) {
+                return;
+            }
+
+            final int elementRef = internElement(element) << 1;
+            if (element instanceof Entity) {
+                addAdjacency(internVertex(((Entity) element).getVertex()), elementRef);
+            } else {
+                final Edge edge = (Edge) element;
+                addAdjacency(internVertex(edge.getSource()), elementRef);
+                // A self loop is only indexed once, matched on its source
+                if (!Objects.equals(edge.getSource(), edge.getDestination())) {
+                    addAdjacency(internVertex(edge.getDestination()), elementRef | DESTINATION_MATCHED);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up all the entities and edges containing the vertex. Edges are
+     * matched on the given vertex.
+     *
+     * @param vertex the vertex to lookup
+     * @return the elements containing the vertex
+     */
+    List<Element> lookup(final Object vertex) {
+        lock.readLock().lock();
+        try {
+            final Integer vertexOrdinal = vertexToOrdinal.get(vertex);
+            if (null == vertexOrdinal) {
+                return Collections.emptyList();
+            }
+
+            final int[] refs = adjacency[vertexOrdinal];
+            final int size = adjacencySizes[vertexOrdinal];
+            final List<Element> results = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                results.add(toElement(refs[i]));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up the edges between the source and destination. For undirected
+     * edges the order of the vertices is ignored.
+     *
+     * @param source      the source vertex
+     * @param destination the destination vertex
+     * @param directed    true to lookup directed edges, false for undirected edges
+     * @return the matching source matched edges
+     */
+    List<Element> lookupEdges(final Object source, final Object destination, final boolean directed) {
+        lock.readLock().lock();
+        try {
+            final Integer vertexOrdinal = vertexToOrdinal.get(source);
+            if (null == vertexOrdinal) {
+                return Collections.emptyList();
+            }
+
+            final int[] refs = adjacency[vertexOrdinal];
+            final int size = adjacencySizes[vertexOrdinal];
+            List<Element> results = Collections.emptyList();
+            for (int i = 0; i < size; i++) {
+                final Element element = elements[refs[i] >>> 1];
+                if (element instanceof Edge && isMatchingEdge((Edge) element, refs[i], source, destination, directed)) {
+                    if (results.isEmpty()) {
+                        results = new ArrayList<>();
+                    }
+                    results.add(element);
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int getNumVertices() {
+        lock.readLock().lock();
+        try {
+            return numVertices;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int getNumElements() {
+        lock.readLock().lock();
+        try {
+            return numElements;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            vertexToOrdinal.clear();
+            elementToOrdinal.clear();
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isMatchingEdge(final Edge edge, final int ref, final Object source, final Object destination, final boolean directed) {
+        if (edge.isDirected() != directed) {
+            return false;
+        }
+        if (0 == (ref & DESTINATION_MATCHED)) {
+            return Objects.equals(edge.getDestination(), destination);
+        }
+        return !directed && Objects.equals(edge.getSource(), destination);
+    }
+
+    private Element toElement(final int ref) {
+        final Element element = elements[ref >>> 1];
+        if (0 == (ref & DESTINATION_MATCHED)) {
+            return element;
+        }
+
+        final Edge edge = (Edge) element;
+        return new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), MatchedVertex.DESTINATION, edge.getProperties());
+    }
+
+    private int internElement(final Element element) {
+        if (numElements == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        final int ordinal = numElements++;
+        elements[ordinal] = element;
+        elementToOrdinal.put(element, ordinal);
+        return ordinal;
+    }
+
+    private int internVertex(final Object vertex) {
+        final Integer existingOrdinal = vertexToOrdinal.get(vertex);
+        if (null != existingOrdinal) {
+            return existingOrdinal;
+        }
+
+        if (numVertices == adjacency.length) {
+            adjacency = Arrays.copyOf(adjacency, adjacency.length << 1);
+            adjacencySizes = Arrays.copyOf(adjacencySizes, adjacencySizes.length << 1);
+        }
+        final int ordinal = numVertices++;
+        adjacency[ordinal] = new int[INITIAL_ADJACENCY_CAPACITY];
+        vertexToOrdinal.put(vertex, ordinal);
+        return ordinal;
+    }
+
+    private void addAdjacency(final int vertexOrdinal, final int elementRef) {
+        int[] refs = adjacency[vertexOrdinal];
+        final int size = adjacencySizes[vertexOrdinal];
+        if (size == refs.length) {
+            refs = Arrays.copyOf(refs, refs.length << 1);
+            adjacency[vertexOrdinal] = refs;
+        }
+        refs[size] = elementRef;
+        adjacencySizes[vertexOrdinal] = size + 1;
+    }
+
+    private void reset() {
+        elements = new Element[INITIAL_CAPACITY];
+        numElements = 0;
+        adjacency = new int[INITIAL_CAPACITY][];
+        adjacencySizes = new int[INITIAL_CAPACITY];
+        numVertices = 0;
+    }
+}
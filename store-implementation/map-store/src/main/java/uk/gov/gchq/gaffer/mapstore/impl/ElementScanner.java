@@ -0,0 +1,281 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.BoundedParallelIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Scans all of the elements in a {@link MapImpl} for a
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements} operation.
+ * <p>
+ * The scan is split by group, so the {@link ViewElementDefinition} is resolved
+ * once per group rather than for each element at every stage of the view. The
+ * pre and post aggregation filters are applied to the stored elements and only
+ * the elements that pass them are cloned, before being transformed.
+ * </p>
+ * <p>
+ * A parallel scan further splits each group into segments of the underlying
+ * map, using the map's {@link Spliterator}, and scans the segments in the
+ * common fork join pool. The results are merged lazily by a
+ * {@link BoundedParallelIterator}, so at most {@value #MAX_BUFFERED_ELEMENTS}
+ * elements are held waiting for the consumer. The view's filters and
+ * transformers hold state so each segment uses its own copy of the
+ * {@link ViewElementDefinition}.
+ * </p>
+ */
+final class ElementScanner {
+    private static final int MIN_SEGMENT_SIZE = 1024;
+    private static final int SEGMENTS_PER_THREAD = 4;
+    private static final int MAX_BUFFERED_ELEMENTS = 10000;
+
+    private final MapImpl mapImpl;
+    private final Schema schema;
+    private final View view;
+    private final DirectedType directedType;
+
+    ElementScanner(final MapImpl mapImpl, final Schema schema, final View view, final DirectedType directedType) {
+        this.mapImpl = mapImpl;
+        this.schema = schema;
+        this.view = view;
+        this.directedType = directedType;
+    }
+
+    /**
+     * Lazily scans the groups in the view one after another.
+     *
+     * @return a stream of the elements matching the view
+     */
+    Stream<Element> scan() {
+        return view.getGroups().stream()
+                .filter(mapImpl::containsGroup)
+                .flatMap(group -> {
+                    final GroupScan groupScan = new GroupScan(view.getElement(group));
+                    return Stream.concat(
+                            mapImpl.getAggElementsForGroup(group).entrySet().stream()
+                                    .flatMap(groupScan::scanAggElement),
+                            mapImpl.getNonAggElementsForGroup(group).entrySet().stream()
+                                    .flatMap(groupScan::scanNonAggElement));
+                });
+    }
+
+    /**
+     * Scans segments of every group in parallel.
+     *
+     * @return an iterator of the elements matching the view
+     */
+    CloseableIterator<Element> parallelScan() {
+        final int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        final List<Segment> segments = new ArrayList<>();
+        for (final String group : view.getGroups()) {
+            if (mapImpl.containsGroup(group)) {
+                addSegments(group, mapImpl.getAggElementsForGroup(group), true, parallelism, segments);
+                addSegments(group, mapImpl.getNonAggElementsForGroup(group), false, parallelism, segments);
+            }
+        }
+
+        final BoundedParallelIterator<Element> results = new BoundedParallelIterator<>(
+                segments.iterator(), ForkJoinPool.commonPool(), parallelism, MAX_BUFFERED_ELEMENTS);
+        results.start();
+        return results;
+    }
+
+    private void addSegments(final String group, final Map<Element, ?> map, final boolean aggregated,
+                             final int parallelism, final List<Segment> segments) {
+        if (map.isEmpty()) {
+            return;
+        }
+
+        final long targetSize = Math.max(MIN_SEGMENT_SIZE, map.size() / ((long) parallelism * SEGMENTS_PER_THREAD));
+        final List<Spliterator<? extends Map.Entry<Element, ?>>> toSplit = new ArrayList<>();
+        toSplit.add(map.entrySet().spliterator());
+        while (!toSplit.isEmpty()) {
+            final Spliterator<? extends Map.Entry<Element, ?>> spliterator = toSplit.remove(toSplit.size() - 1);
+            final Spliterator<? extends Map.Entry<Element, ?>> prefix = spliterator.estimateSize() > targetSize ? spliterator.trySplit() : null;
+            if (null == prefix) {
+                segments.add(new Segment(group, spliterator, aggregated));
+            } else {
+                toSplit.add(prefix);
+                toSplit.add(spliterator);
+            }
+        }
+    }
+
+    private final class Segment implements BoundedParallelIterator.Source<Element> {
+        private final String group;
+        private final Spliterator<? extends Map.Entry<Element, ?>> entries;
+        private final boolean aggregated;
+
+        private Segment(final String group, final Spliterator<? extends Map.Entry<Element, ?>> entries, final boolean aggregated) {
+            this.group = group;
+            this.entries = entries;
+            this.aggregated = aggregated;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public CloseableIterator<Element> open() {
+            final GroupScan groupScan = new GroupScan(copy(view.getElement(group)));
+            final Stream<Map.Entry<Element, ?>> stream = StreamSupport.stream((Spliterator<Map.Entry<Element, ?>>) entries, false);
+            final Stream<Element> results;
+            if (aggregated) {
+                results = stream.flatMap(entry -> groupScan.scanAggElement((Map.Entry<Element, GroupedProperties>) entry));
+            } else {
+                results = stream.flatMap(entry -> groupScan.scanNonAggElement((Map.Entry<Element, Long>) entry));
+            }
+            return new WrappedCloseableIterator<>(results.iterator());
+        }
+
+        private ViewElementDefinition copy(final ViewElementDefinition elementDef) {
+            if (null == elementDef
+                    || (null == elementDef.getPreAggregationFilter()
+                    && null == elementDef.getPostAggregationFilter()
+                    && null == elementDef.getTransformer()
+                    && null == elementDef.getPostTransformFilter())) {
+                return elementDef;
+            }
+            return elementDef.clone();
+        }
+    }
+
+    private final class GroupScan {
+        private final ViewElementDefinition elementDef;
+        private final boolean skipGroup;
+
+        private GroupScan(final ViewElementDefinition elementDef) {
+            this.elementDef = elementDef;
+            this.skipGroup = null == elementDef;
+        }
+
+        private Stream<Element> scanAggElement(final Map.Entry<Element, GroupedProperties> entry) {
+            if (skipGroup || !isDirectedTypeValid(entry.getKey())) {
+                return Stream.empty();
+            }
+
+            final Element element = entry.getKey().emptyClone();
+            element.copyProperties(entry.getKey().getProperties());
+            element.copyProperties(entry.getValue());
+            final Element result = apply(element);
+            return null == result ? Stream.empty() : Stream.of(result);
+        }
+
+        private Stream<Element> scanNonAggElement(final Map.Entry<Element, Long> entry) {
+            if (skipGroup || null == entry.getValue() || entry.getValue() < 1 || !isDirectedTypeValid(entry.getKey())) {
+                return Stream.empty();
+            }
+
+            final Element result = apply(entry.getKey());
+            if (null == result) {
+                return Stream.empty();
+            }
+            if (1 == entry.getValue()) {
+                return Stream.of(result);
+            }
+            return StreamSupport.stream(new RepeatCloneSpliterator(result, entry.getValue()), false);
+        }
+
+        private boolean isDirectedTypeValid(final Element element) {
+            if (!(element instanceof Edge) || DirectedType.isEither(directedType)) {
+                return true;
+            }
+            return DirectedType.DIRECTED == directedType ? ((Edge) element).isDirected() : !((Edge) element).isDirected();
+        }
+
+        /**
+         * Applies the view to a stored element. The element is only cloned if
+         * it passes the filters that are applied before the transformation.
+         *
+         * @param element the stored element
+         * @return the cloned, transformed element or null if it is filtered out
+         */
+        private Element apply(final Element element) {
+            if (null != elementDef.getPreAggregationFilter() && !elementDef.getPreAggregationFilter().test(element)) {
+                return null;
+            }
+            if (null != elementDef.getPostAggregationFilter() && !elementDef.getPostAggregationFilter().test(element)) {
+                return null;
+            }
+
+            final Element clone = mapImpl.cloneElement(element, schema);
+            if (null != elementDef.getTransformer()) {
+                elementDef.getTransformer().apply(clone);
+            }
+            if (null != elementDef.getPostTransformFilter() && !elementDef.getPostTransformFilter().test(clone)) {
+                return null;
+            }
+
+            ViewUtil.removeProperties(elementDef, clone);
+            return clone;
+        }
+    }
+
+    /**
+     * Repeats an element, returning the element itself first and then clones
+     * of it so that every result can be modified independently.
+     */
+    private final class RepeatCloneSpliterator implements Spliterator<Element> {
+        private final Element element;
+        private long remaining;
+
+        private RepeatCloneSpliterator(final Element element, final long repeats) {
+            this.element = element;
+            this.remaining = repeats;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Element> action) {
+            if (remaining < 1) {
+                return false;
+            }
+            remaining--;
+            action.accept(remaining == 0 ? element : mapImpl.cloneElement(element, schema));
+            return true;
+        }
+
+        @Override
+        public Spliterator<Element> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | NONNULL;
+        }
+    }
+}
@@ -20,17 +20,15 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.optimiser.LimitPushdownOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
-import java.util.stream.Stream;
-
 /**
  * An {@link OutputOperationHandler} for the {@link GetAllElements} operation on the {@link MapStore}.
  */
@@ -60,15 +58,16 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
 
         @Override
         public CloseableIterator<Element> iterator() {
-            Stream<Element> elements = mapImpl.getAllElements(getAllElements.getView().getGroups());
-            elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
-            elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = elements.map(element -> {
-                ViewUtil.removeProperties(getAllElements.getView(), element);
-                return element;
-            });
-            return new WrappedCloseableIterator<>(elements.iterator());
+            final ElementScanner scanner = new ElementScanner(mapImpl, schema, getAllElements.getView(), getAllElements.getDirectedType());
+            final Integer scanLimit = LimitPushdownOptimiser.getScanLimit(getAllElements);
+            if (null != scanLimit) {
+                // The lazy scan stops as soon as the limit is reached, so is preferred over a parallel scan
+                return new WrappedCloseableIterator<>(scanner.scan().limit(scanLimit).iterator());
+            }
+            if (mapImpl.isParallelScan()) {
+                return scanner.parallelScan();
+            }
+            return new WrappedCloseableIterator<>(scanner.scan().iterator());
         }
     }
 }
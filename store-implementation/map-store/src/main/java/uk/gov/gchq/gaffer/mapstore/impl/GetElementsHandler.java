@@ -30,6 +30,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.optimiser.LimitPushdownOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.stream.Stream;
@@ -82,6 +83,10 @@ public class GetElementsHandler
                 ViewUtil.removeProperties(getElements.getView(), element);
                 return element;
             });
+            final Integer scanLimit = LimitPushdownOptimiser.getScanLimit(getElements);
+            if (null != scanLimit) {
+                elements = elements.limit(scanLimit);
+            }
             return new WrappedCloseableIterator<>(elements.iterator());
         }
     }
@@ -28,7 +28,6 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
@@ -55,19 +54,17 @@ public final class GetElementsUtil {
                                                    final DirectedType directedType,
                                                    final IncludeIncomingOutgoingType inOutType,
                                                    final SeedMatchingType seedMatchingType) {
-        final Set<Element> relevantElements;
+        final Collection<Element> relevantElements;
 
         final Set<String> groups = view.getGroups();
         Predicate<Element> isFiltered = e -> !groups.contains(e.getGroup());
 
         if (elementId instanceof EntityId) {
-            final Collection<Element> elements = mapImpl.lookup(new EntitySeed(((EntityId) elementId).getVertex()));
-            if (elements.isEmpty()) {
+            relevantElements = mapImpl.lookupVertex(((EntityId) elementId).getVertex());
+            if (relevantElements.isEmpty()) {
                 return Collections.emptySet();
             }
 
-            relevantElements = new HashSet<>(elements);
-
             // Apply inOutType options - if option is EITHER then nothing to do
             if (inOutType == IncludeIncomingOutgoingType.INCOMING) {
                 isFiltered = isFiltered.or(e -> e instanceof Edge
@@ -87,17 +84,17 @@ public final class GetElementsUtil {
 
             final EdgeId edgeId = (EdgeSeed) elementId;
             if (DirectedType.isEither(edgeId.getDirectedType())) {
-                relevantElements.addAll(mapImpl.lookup(new EdgeSeed(edgeId.getSource(), edgeId.getDestination(), false)));
-                relevantElements.addAll(mapImpl.lookup(new EdgeSeed(edgeId.getSource(), edgeId.getDestination(), true)));
+                relevantElements.addAll(mapImpl.lookupEdges(edgeId.getSource(), edgeId.getDestination(), false));
+                relevantElements.addAll(mapImpl.lookupEdges(edgeId.getSource(), edgeId.getDestination(), true));
             } else {
                 relevantElements.addAll(mapImpl.lookup(edgeId));
             }
 
-            mapImpl.lookup(new EntitySeed(edgeId.getSource()))
+            mapImpl.lookupVertex(edgeId.getSource())
                     .stream()
                     .filter(e -> e instanceof Entity)
                     .forEach(relevantElements::add);
-            mapImpl.lookup(new EntitySeed(edgeId.getDestination()))
+            mapImpl.lookupVertex(edgeId.getDestination())
                     .stream()
                     .filter(e -> e instanceof Entity)
                     .forEach(relevantElements::add);
@@ -116,8 +113,15 @@ public final class GetElementsUtil {
             isFiltered = isFiltered.or(e -> e instanceof Edge && ((Edge) e).isDirected());
         }
 
-        relevantElements.removeIf(isFiltered);
-        return relevantElements;
+        // The looked up elements may be backed by the index, so they are
+        // filtered into a new set rather than removed in place
+        final Set<Element> filteredElements = new HashSet<>();
+        for (final Element element : relevantElements) {
+            if (!isFiltered.test(element)) {
+                filteredElements.add(element);
+            }
+        }
+        return filteredElements;
     }
 
     public static Stream<Element> applyDirectedTypeFilter(final Stream<Element> elements,
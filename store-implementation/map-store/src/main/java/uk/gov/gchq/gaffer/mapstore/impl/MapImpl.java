@@ -19,23 +19,37 @@ import uk.gov.gchq.gaffer.commonutil.iterable.RepeatItemIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BinaryOperator;
 import java.util.stream.Stream;
 
 /**
@@ -82,6 +96,11 @@ public class MapImpl {
      */
     private final MultiMap<EdgeId, Element> edgeIdToElements;
 
+    /**
+     * compactIndex replaces entityIdToElements and edgeIdToElements if a compact index is requested
+     */
+    private final CompactAdjacencyIndex compactIndex;
+
     private final MapFactory mapFactory;
     private final Map<String, Set<String>> groupToGroupByProperties = new HashMap<>();
     private final Map<String, Set<String>> groupToNonGroupByProperties = new HashMap<>();
@@ -89,23 +108,35 @@ public class MapImpl {
     private final List<String> aggregatedGroups;
     private final Schema schema;
     private final boolean maintainIndex;
-    private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
+    private final boolean parallelScan;
+    private final BinaryOperator<GroupedProperties> propertyAggregator;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
         this.schema = schema;
-        propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
+        if (mapFactory.isConcurrent()) {
+            propertyAggregator = new CopyOnWritePropertiesBinaryOperator(schema);
+        } else {
+            propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
+        }
         maintainIndex = mapStoreProperties.getCreateIndex();
+        parallelScan = mapStoreProperties.getParallelScan();
 
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
             nonAggElements.put(group, mapFactory.getMap(group + "|" + NON_AGG_ELEMENTS, Element.class, Long.class));
         }
 
-        if (maintainIndex) {
+        if (maintainIndex && mapStoreProperties.getCompactIndex()) {
+            compactIndex = new CompactAdjacencyIndex();
+            entityIdToElements = null;
+            edgeIdToElements = null;
+        } else if (maintainIndex) {
+            compactIndex = null;
             entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
             edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
         } else {
+            compactIndex = null;
             entityIdToElements = null;
             edgeIdToElements = null;
         }
@@ -118,7 +149,9 @@ public class MapImpl {
     public void clear() {
         aggElements.clear();
         nonAggElements.clear();
-        if (maintainIndex) {
+        if (null != compactIndex) {
+            compactIndex.clear();
+        } else if (maintainIndex) {
             entityIdToElements.clear();
             edgeIdToElements.clear();
         }
@@ -136,6 +169,10 @@ public class MapImpl {
     }
 
     Collection<Element> lookup(final EntityId entitId) {
+        if (null != compactIndex) {
+            return compactIndex.lookup(entitId.getVertex());
+        }
+
         Collection<Element> results = entityIdToElements.get(entitId);
         if (null == results) {
             results = Collections.emptySet();
@@ -145,6 +182,10 @@ public class MapImpl {
     }
 
     Collection<Element> lookup(final EdgeId edgeId) {
+        if (null != compactIndex) {
+            return compactIndex.lookupEdges(edgeId.getSource(), edgeId.getDestination(), edgeId.isDirected());
+        }
+
         Collection<Element> results = edgeIdToElements.get(edgeId);
         if (null == results) {
             results = Collections.emptySet();
@@ -153,6 +194,36 @@ public class MapImpl {
         return results;
     }
 
+    /**
+     * Looks up the elements containing a vertex, avoiding the creation of an
+     * {@link EntitySeed} when the compact index is used.
+     *
+     * @param vertex the vertex to lookup
+     * @return the entities and matched edges containing the vertex
+     */
+    Collection<Element> lookupVertex(final Object vertex) {
+        if (null != compactIndex) {
+            return compactIndex.lookup(vertex);
+        }
+        return lookup(new EntitySeed(vertex));
+    }
+
+    /**
+     * Looks up the edges between two vertices, avoiding the creation of an
+     * {@link EdgeSeed} when the compact index is used.
+     *
+     * @param source      the source vertex
+     * @param destination the destination vertex
+     * @param directed    whether to lookup directed or undirected edges
+     * @return the matching edges
+     */
+    Collection<Element> lookupEdges(final Object source, final Object destination, final boolean directed) {
+        if (null != compactIndex) {
+            return compactIndex.lookupEdges(source, destination, directed);
+        }
+        return lookup(new EdgeSeed(source, destination, directed));
+    }
+
     Iterable<Element> getNonAggElements(final Element element) {
         final Long count = nonAggElements.get(element.getGroup()).get(element);
         if (null == count || count < 1) {
@@ -176,6 +247,18 @@ public class MapImpl {
         }
     }
 
+    boolean containsGroup(final String group) {
+        return aggElements.containsKey(group);
+    }
+
+    Map<Element, GroupedProperties> getAggElementsForGroup(final String group) {
+        return aggElements.get(group);
+    }
+
+    Map<Element, Long> getNonAggElementsForGroup(final String group) {
+        return nonAggElements.get(group);
+    }
+
     Stream<Element> getAllAggElements(final Set<String> groups) {
         return aggElements.entrySet().stream()
                 .filter(entry -> groups.contains(entry.getKey()))
@@ -210,10 +293,22 @@ public class MapImpl {
         edgeIdToElements.put(edgeId, element);
     }
 
+    void addIndex(final Element element) {
+        compactIndex.add(element);
+    }
+
     boolean isMaintainIndex() {
         return maintainIndex;
     }
 
+    boolean isParallelScan() {
+        return parallelScan;
+    }
+
+    boolean isCompactIndex() {
+        return null != compactIndex;
+    }
+
     Element cloneElement(final Element element, final Schema schema) {
         return mapFactory.cloneElement(element, schema);
     }
@@ -240,6 +335,14 @@ public class MapImpl {
     }
 
     long countNonAggElements() {
+        if (parallelScan) {
+            return nonAggElements.values().parallelStream()
+                    .flatMap(map -> map.values().parallelStream())
+                    .filter(Objects::nonNull)
+                    .mapToLong(Long::longValue)
+                    .sum();
+        }
+
         long totalCount = 0;
         for (final Map<Element, Long> map : nonAggElements.values()) {
             for (final Long count : map.values()) {
@@ -280,4 +383,83 @@ public class MapImpl {
         nonGroupByProperties.removeAll(sed.getGroupBy());
         groupToNonGroupByProperties.put(group, nonGroupByProperties);
     }
+
+    /**
+     * Aggregates properties into a new {@link GroupedProperties} rather than
+     * into the existing value. This is used with concurrent maps so that
+     * readers never see a partially aggregated value. As aggregate functions
+     * may update their first argument in place, mutable property values are
+     * copied with their schema serialiser before they are aggregated. Values
+     * of types with no serialiser which are not {@link Serializable} cannot be
+     * copied and are aggregated as they are. The ingest aggregators hold state
+     * while they are applied, so each group has a pool of aggregators, with
+     * one in use by each thread aggregating that group.
+     */
+    private static final class CopyOnWritePropertiesBinaryOperator implements BinaryOperator<GroupedProperties> {
+        private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
+
+        private final Schema schema;
+        private final Map<String, Queue<ElementAggregator>> idleAggregators = new ConcurrentHashMap<>();
+
+        private CopyOnWritePropertiesBinaryOperator(final Schema schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        public GroupedProperties apply(final GroupedProperties a, final GroupedProperties b) {
+            if (null == a) {
+                return b;
+            }
+            if (null == b) {
+                return a;
+            }
+
+            final String group = a.getGroup();
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            final GroupedProperties aggregated = new GroupedProperties(group);
+            for (final Map.Entry<String, Object> entry : a.entrySet()) {
+                aggregated.put(entry.getKey(), copy(elementDef, entry.getKey(), entry.getValue()));
+            }
+
+            final Queue<ElementAggregator> aggregators = idleAggregators.computeIfAbsent(group, g -> new ConcurrentLinkedQueue<>());
+            ElementAggregator aggregator = aggregators.poll();
+            if (null == aggregator) {
+                aggregator = createAggregator(elementDef);
+            }
+            try {
+                aggregator.apply(aggregated, b);
+            } finally {
+                aggregators.offer(aggregator);
+            }
+            return aggregated;
+        }
+
+        private static ElementAggregator createAggregator(final SchemaElementDefinition elementDef) {
+            try {
+                return JSONSerialiser.deserialise(JSONSerialiser.serialise(elementDef.getIngestAggregator()), ElementAggregator.class);
+            } catch (final SerialisationException e) {
+                throw new RuntimeException("Unable to copy the ingest aggregator", e);
+            }
+        }
+
+        private static Object copy(final SchemaElementDefinition elementDef, final String propertyName, final Object value) {
+            if (null == value || value instanceof String || value instanceof Number || value instanceof Boolean) {
+                return value;
+            }
+
+            final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyName);
+            Serialiser serialiser = null != typeDef ? typeDef.getSerialiser() : null;
+            if (null == serialiser || !serialiser.canHandle(value.getClass())) {
+                if (!(value instanceof Serializable)) {
+                    return value;
+                }
+                serialiser = JAVA_SERIALISER;
+            }
+            try {
+                return serialiser.deserialise(serialiser.serialise(value));
+            } catch (final SerialisationException e) {
+                throw new RuntimeException("Unable to copy the value of property " + propertyName, e);
+            }
+        }
+    }
 }
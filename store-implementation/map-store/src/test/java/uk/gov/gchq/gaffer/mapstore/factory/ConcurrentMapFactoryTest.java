@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ConcurrentMapFactoryTest {
+
+    @Test
+    public void shouldThrowExceptionIfMapClassIsNotConcurrent() {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = mock(MapStoreProperties.class);
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+
+        given(properties.get(ConcurrentMapFactory.MAP_CLASS, ConcurrentMapFactory.MAP_CLASS_DEFAULT)).willReturn(HashMap.class.getName());
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> factory.initialise(schema, properties));
+    }
+
+    @Test
+    public void shouldExtractMapClassFromPropertiesWhenInitialised() {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = mock(MapStoreProperties.class);
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+
+        given(properties.get(ConcurrentMapFactory.MAP_CLASS, ConcurrentMapFactory.MAP_CLASS_DEFAULT)).willReturn(ConcurrentSkipListMap.class.getName());
+
+        // When
+        factory.initialise(schema, properties);
+
+        // Then
+        assertEquals(ConcurrentSkipListMap.class, factory.getMapClass());
+    }
+
+    @Test
+    public void shouldCreateConcurrentMapsAndReturnSameMapForSameName() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        factory.initialise(mock(Schema.class), new MapStoreProperties());
+
+        // When
+        final Map<Object, Object> map1 = factory.getMap("mapName1", Object.class, Object.class);
+        final Map<Object, Object> map1Again = factory.getMap("mapName1", Object.class, Object.class);
+        final Map<Object, Object> map2 = factory.getMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertTrue(map1 instanceof ConcurrentHashMap);
+        assertSame(map1, map1Again);
+        assertNotSame(map1, map2);
+        assertTrue(factory.isConcurrent());
+    }
+
+    @Test
+    public void shouldCreateConcurrentMultiMap() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        factory.initialise(mock(Schema.class), new MapStoreProperties());
+
+        // When
+        final MultiMap<Object, Object> multiMap = factory.getMultiMap("mapName1", Object.class, Object.class);
+
+        // Then
+        assertTrue(multiMap instanceof ConcurrentMapOfSets);
+        assertTrue(((ConcurrentMapOfSets) multiMap).getWrappedMap() instanceof ConcurrentHashMap);
+        assertSame(multiMap, factory.getMultiMap("mapName1", Object.class, Object.class));
+    }
+}
@@ -15,20 +15,42 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.SingleUseMapStore;
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.TreeSetStringSerialiser;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.binaryoperator.CollectionConcat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -47,4 +69,102 @@ public class AddElementsHandlerTest {
         // When / Then - should not throw NPE
         handler.doOperation(addElements, context, store);
     }
+
+    @Test
+    public void shouldAggregateCorrectlyWhenAddingFromMultipleThreadsWithConcurrentMapFactory() throws Exception {
+        // Given
+        final int numThreads = 8;
+        final int numAddsPerThread = 100;
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setMapFactory(ConcurrentMapFactory.class);
+        final MapStore store = new SingleUseMapStore();
+        store.initialise("graphId1", GetAllElementsHandlerTest.getSchema(), properties);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < numAddsPerThread; j++) {
+                    store.execute(new AddElements.Builder()
+                            .input(new Entity.Builder()
+                                    .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                                    .vertex("vertex")
+                                    .property(GetAllElementsHandlerTest.PROPERTY1, "p")
+                                    .property(GetAllElementsHandlerTest.COUNT, 1)
+                                    .build())
+                            .build(), new Context(new User()));
+                }
+                return null;
+            });
+        }
+
+        // When
+        try {
+            for (final Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        final CloseableIterable<? extends Element> results = store.execute(new GetElements.Builder()
+                .input(new EntitySeed("vertex"))
+                .build(), new Context(new User()));
+        final List<Element> resultList = new ArrayList<>();
+        results.forEach(resultList::add);
+        assertEquals(1, resultList.size());
+        assertEquals(numThreads * numAddsPerThread, resultList.get(0).getProperty(GetAllElementsHandlerTest.COUNT));
+    }
+
+    @Test
+    public void shouldNotModifyPreviouslyReadValuesWhenAggregatingWithConcurrentMapFactory() throws Exception {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.SET, "set")
+                        .build())
+                .type("string", String.class)
+                .type("set", new TypeDefinition.Builder()
+                        .clazz(TreeSet.class)
+                        .serialiser(new TreeSetStringSerialiser())
+                        .aggregateFunction(new CollectionConcat<>())
+                        .build())
+                .build();
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setMapFactory(ConcurrentMapFactory.class);
+        final MapStore store = new SingleUseMapStore();
+        store.initialise("graphId1", schema, properties);
+        store.execute(new AddElements.Builder()
+                .input(createSetEntity("a"))
+                .build(), new Context(new User()));
+        final Element firstRead = getSingleElement(store, "vertex");
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(createSetEntity("b"))
+                .build(), new Context(new User()));
+
+        // Then
+        assertEquals(Sets.newTreeSet(Arrays.asList("a")), firstRead.getProperty(TestPropertyNames.SET));
+        assertEquals(Sets.newTreeSet(Arrays.asList("a", "b")), getSingleElement(store, "vertex").getProperty(TestPropertyNames.SET));
+    }
+
+    private static Entity createSetEntity(final String item) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.SET, Sets.newTreeSet(Arrays.asList(item)))
+                .build();
+    }
+
+    private static Element getSingleElement(final MapStore store, final String vertex) throws OperationException {
+        final List<Element> resultList = new ArrayList<>();
+        store.execute(new GetElements.Builder()
+                .input(new EntitySeed(vertex))
+                .build(), new Context(new User())).forEach(resultList::add);
+        assertEquals(1, resultList.size());
+        return resultList.get(0);
+    }
 }
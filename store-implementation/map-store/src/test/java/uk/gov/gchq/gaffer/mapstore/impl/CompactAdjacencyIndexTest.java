@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactAdjacencyIndexTest {
+
+    @Test
+    public void shouldLookupEntitiesAndMatchedEdgesByVertex() {
+        // Given
+        final CompactAdjacencyIndex index = new CompactAdjacencyIndex();
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        final Edge outgoing = createEdge("A", "B", true);
+        final Edge incoming = createEdge("C", "A", true);
+        index.add(entity);
+        index.add(outgoing);
+        index.add(incoming);
+
+        // When
+        final List<Element> results = index.lookup("A");
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(entity, outgoing, incoming)), new HashSet<>(results));
+        for (final Element result : results) {
+            if (result.equals(outgoing)) {
+                assertSame(outgoing, result);
+            } else if (result.equals(incoming)) {
+                assertEquals(MatchedVertex.DESTINATION, ((Edge) result).getMatchedVertex());
+            }
+        }
+        assertEquals(3, index.getNumVertices());
+        assertEquals(3, index.getNumElements());
+    }
+
+    @Test
+    public void shouldOnlyIndexEqualElementsOnce() {
+        // Given
+        final CompactAdjacencyIndex index = new CompactAdjacencyIndex();
+
+        // When
+        index.add(createEdge("A", "B", true));
+        index.add(createEdge("A", "B", true));
+        index.add(createEdge("A", "A", true));
+
+        // Then
+        assertEquals(2, index.lookup("A").size());
+        assertEquals(1, index.lookup("B").size());
+        assertEquals(2, index.getNumElements());
+    }
+
+    @Test
+    public void shouldLookupDirectedEdgesInOrder() {
+        // Given
+        final CompactAdjacencyIndex index = new CompactAdjacencyIndex();
+        final Edge edge = createEdge("A", "B", true);
+        index.add(edge);
+        index.add(createEdge("A", "C", true));
+
+        // When / Then
+        assertEquals(Collections.singletonList(edge), index.lookupEdges("A", "B", true));
+        assertTrue(index.lookupEdges("B", "A", true).isEmpty());
+        assertTrue(index.lookupEdges("A", "B", false).isEmpty());
+    }
+
+    @Test
+    public void shouldLookupUndirectedEdgesInEitherOrder() {
+        // Given
+        final CompactAdjacencyIndex index = new CompactAdjacencyIndex();
+        final Edge edge = createEdge("B", "A", false);
+        index.add(edge);
+
+        // When / Then
+        assertEquals(Collections.singletonList(edge), index.lookupEdges("A", "B", false));
+        assertEquals(Collections.singletonList(edge), index.lookupEdges("B", "A", false));
+        assertTrue(index.lookupEdges("A", "B", true).isEmpty());
+    }
+
+    @Test
+    public void shouldReturnEmptyListForUnknownVertex() {
+        // Given
+        final CompactAdjacencyIndex index = new CompactAdjacencyIndex();
+        index.add(new Entity(TestGroups.ENTITY, "A"));
+
+        // When / Then
+        assertTrue(index.lookup("unknown").isEmpty());
+        assertTrue(index.lookupEdges("unknown", "A", true).isEmpty());
+    }
+
+    @Test
+    public void shouldGrowBeyondInitialCapacityAndClear() {
+        // Given
+        final CompactAdjacencyIndex index = new CompactAdjacencyIndex();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            index.add(createEdge("hub", "v" + i, true));
+        }
+
+        // Then
+        assertEquals(1000, index.lookup("hub").size());
+        assertEquals(1001, index.getNumVertices());
+
+        // When
+        index.clear();
+
+        // Then
+        assertTrue(index.lookup("hub").isEmpty());
+        assertEquals(0, index.getNumElements());
+    }
+
+    private static Edge createEdge(final Object source, final Object destination, final boolean directed) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(directed)
+                .matchedVertex(MatchedVertex.SOURCE)
+                .build();
+    }
+}
@@ -47,4 +47,20 @@ public class CountAllElementsDefaultViewHandlerTest {
         // Then
         assertEquals((long) GetAllElementsHandlerTest.getElements().size(), (long) result);
     }
+
+    @Test
+    public void testCountAllElementsDefaultViewHandlerWithParallelScan() throws StoreException, OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraphWithParallelScan();
+        final AddElements addElements = new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build();
+        graph.execute(addElements, new User());
+
+        // When
+        final Long result = graph.execute(new CountAllElementsDefaultView(), new User());
+
+        // Then
+        assertEquals((long) GetAllElementsHandlerTest.getElements().size(), (long) result);
+    }
 }
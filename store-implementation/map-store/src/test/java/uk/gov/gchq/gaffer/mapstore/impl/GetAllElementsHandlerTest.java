@@ -35,6 +35,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.optimiser.LimitPushdownOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
@@ -49,6 +50,7 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GetAllElementsHandlerTest {
     static final String BASIC_ENTITY = "BasicEntity";
@@ -343,6 +345,128 @@ public class GetAllElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void testGetAllElementsWithParallelScanAndAPreAggregationFilter() throws OperationException {
+        // Given
+        final Graph graph = getGraphWithParallelScan();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            elements.add(new Edge.Builder()
+                    .group(BASIC_EDGE1)
+                    .source("A" + (i % 10))
+                    .dest("B" + i)
+                    .directed(true)
+                    .property(PROPERTY1, "q")
+                    .property(COUNT, i)
+                    .build());
+        }
+        graph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new User());
+
+        // When
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(BASIC_EDGE1, new ViewElementDefinition.Builder()
+                                .preAggregationFilter(new ElementFilter.Builder()
+                                        .select(COUNT)
+                                        .execute(new IsMoreThan(2500))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        final CloseableIterable<? extends Element> results = graph.execute(getAllElements, new User());
+
+        // Then
+        final List<Element> resultsList = new ArrayList<>();
+        Streams.toStream(results).forEach(resultsList::add);
+        final Set<Element> expectedResults = new HashSet<>();
+        elements.stream()
+                .filter(e -> ((int) e.getProperty(COUNT)) > 2500)
+                .forEach(expectedResults::add);
+        assertEquals(expectedResults.size(), resultsList.size());
+        assertEquals(expectedResults, new HashSet<>(resultsList));
+    }
+
+    @Test
+    public void testGetAllElementsWithParallelScanReturnsMoreElementsThanAreBuffered() throws OperationException {
+        // Given
+        final Graph graph = getGraphWithParallelScan();
+        final Set<Element> elements = new HashSet<>();
+        for (int i = 0; i < 25000; i++) {
+            elements.add(new Edge.Builder()
+                    .group(BASIC_EDGE1)
+                    .source("A" + (i % 10))
+                    .dest("B" + i)
+                    .directed(true)
+                    .property(PROPERTY1, "q")
+                    .property(COUNT, i)
+                    .build());
+        }
+        graph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new User());
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), new User());
+
+        // Then
+        final List<Element> resultsList = new ArrayList<>();
+        Streams.toStream(results).forEach(resultsList::add);
+        assertEquals(elements.size(), resultsList.size());
+        assertEquals(elements, new HashSet<>(resultsList));
+    }
+
+    @Test
+    public void testGetAllElementsWithParallelScanMatchesSequentialScan() throws OperationException {
+        // Given
+        final Graph graph = getGraph();
+        final Graph parallelGraph = getGraphWithParallelScan();
+        final AddElements addElements = new AddElements.Builder()
+                .input(getElements())
+                .build();
+        graph.execute(addElements, new User());
+        parallelGraph.execute(addElements, new User());
+
+        for (final DirectedType directedType : DirectedType.values()) {
+            // When
+            final GetAllElements getAllElements = new GetAllElements.Builder()
+                    .directedType(directedType)
+                    .build();
+            final Set<Element> expectedResults = new HashSet<>();
+            Streams.toStream(graph.execute(getAllElements, new User())).forEach(expectedResults::add);
+            final Set<Element> results = new HashSet<>();
+            Streams.toStream(parallelGraph.execute(getAllElements, new User())).forEach(results::add);
+
+            // Then
+            assertEquals(expectedResults, results);
+        }
+    }
+
+    @Test
+    public void testGetAllElementsWithScanLimit() throws OperationException {
+        // Given
+        final AddElements addElements = new AddElements.Builder()
+                .input(getElements())
+                .build();
+        final Set<Element> allElements = new HashSet<>(getElements());
+
+        for (final Graph graph : new Graph[]{getGraph(), getGraphWithParallelScan()}) {
+            graph.execute(addElements, new User());
+
+            // When
+            final GetAllElements getAllElements = new GetAllElements.Builder()
+                    .option(LimitPushdownOptimiser.SCAN_LIMIT, "3")
+                    .build();
+            final List<Element> results = new ArrayList<>();
+            Streams.toStream(graph.execute(getAllElements, new User())).forEach(results::add);
+
+            // Then
+            assertEquals(3, results.size());
+            assertTrue(allElements.containsAll(results));
+        }
+    }
+
     public static Schema getSchema() {
         return Schema.fromJson(StreamUtil.schemas(GetAllElementsHandlerTest.class));
     }
@@ -391,6 +515,30 @@ public class GetAllElementsHandlerTest {
                 .build();
     }
 
+    static Graph getGraphWithCompactIndex() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setCompactIndex(true);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithCompactIndex")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
+    static Graph getGraphWithParallelScan() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setParallelScan(true);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithParallelScan")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
     static Schema getSchemaNoAggregation() {
         return Schema.fromJson(StreamUtil.openStreams(GetAllElementsHandlerTest.class, "schema-no-aggregation"));
     }
@@ -1164,6 +1164,55 @@ public class GetElementsHandlerTest {
         assertEquals("q", result2.getProperty(GetAllElementsHandlerTest.PROPERTY1));
     }
 
+    @Test
+    public void shouldReturnSameElementsWithCompactIndex() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraph();
+        final Graph compactGraph = GetAllElementsHandlerTest.getGraphWithCompactIndex();
+        final List<Element> elements = new ArrayList<>(getElements());
+        elements.add(new Edge.Builder()
+                .group(GetAllElementsHandlerTest.BASIC_EDGE1)
+                .source("A")
+                .dest("A")
+                .directed(true)
+                .property(GetAllElementsHandlerTest.PROPERTY1, "q")
+                .property(GetAllElementsHandlerTest.COUNT, 1)
+                .build());
+        graph.execute(new AddElements.Builder().input(elements).build(), new User());
+        compactGraph.execute(new AddElements.Builder().input(elements).build(), new User());
+
+        final List<GetElements> queries = new ArrayList<>();
+        for (final IncludeIncomingOutgoingType inOutType : IncludeIncomingOutgoingType.values()) {
+            for (final DirectedType directedType : DirectedType.values()) {
+                queries.add(new GetElements.Builder()
+                        .input(new EntitySeed("A"), new EntitySeed("B3"), new EntitySeed("Y4"), new EntitySeed("X"))
+                        .inOutType(inOutType)
+                        .directedType(directedType)
+                        .build());
+            }
+        }
+        for (final SeedMatchingType seedMatchingType : SeedMatchingType.values()) {
+            queries.add(new GetElements.Builder()
+                    .input(new EdgeSeed("A", "B1", DirectedType.EITHER),
+                            new EdgeSeed("Y2", "X", DirectedType.UNDIRECTED),
+                            new EdgeSeed("A", "A", DirectedType.DIRECTED),
+                            new EdgeSeed("B1", "A", DirectedType.DIRECTED))
+                    .seedMatching(seedMatchingType)
+                    .build());
+        }
+
+        for (final GetElements query : queries) {
+            // When
+            final Set<Element> expected = new HashSet<>();
+            Streams.toStream(graph.execute(query, new User())).forEach(expected::add);
+            final Set<Element> results = new HashSet<>();
+            Streams.toStream(compactGraph.execute(query, new User())).forEach(results::add);
+
+            // Then
+            assertEquals(expected, results);
+        }
+    }
+
     private static List<Element> getElements() {
         final List<Element> elements = new ArrayList<>();
         final Entity entity1 = new Entity(GetAllElementsHandlerTest.BASIC_ENTITY, "A");
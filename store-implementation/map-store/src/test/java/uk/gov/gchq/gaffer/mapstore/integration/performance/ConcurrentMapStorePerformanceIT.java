@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.integration.performance;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.SingleUseMapStore;
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
+import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementsDefaultView;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the throughput of a {@link MapStore} backed by the {@link ConcurrentMapFactory}
+ * as the number of threads executing {@link AddElements} and {@link GetElements}
+ * operations increases. Each thread adds its own batches of edges and then
+ * queries for them, the throughput for each thread count is logged.
+ */
+public class ConcurrentMapStorePerformanceIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentMapStorePerformanceIT.class);
+    private static final String EDGE_GROUP = "BasicEdge";
+    private static final int EDGES_PER_THREAD = 20000;
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    public void shouldScaleAddAndGetThroughputWithNumberOfThreads() throws Exception {
+        final int maxThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        for (int numThreads = 1; numThreads <= maxThreads; numThreads *= 2) {
+            final MapStore store = createStore();
+            final long start = System.nanoTime();
+            runThreads(store, numThreads);
+            final long durationNanos = System.nanoTime() - start;
+
+            final long expectedCount = (long) numThreads * EDGES_PER_THREAD;
+            assertEquals(expectedCount, (long) store.execute(new CountAllElementsDefaultView(), new Context(new User())));
+
+            final double opsPerSecond = (2.0 * expectedCount) / (durationNanos / 1e9);
+            LOGGER.info("{} thread(s): {} adds and gets in {} ms ({} elements/s)",
+                    numThreads, expectedCount, durationNanos / 1000000, String.format("%.0f", opsPerSecond));
+        }
+    }
+
+    private void runThreads(final MapStore store, final int numThreads) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            final List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                final int threadId = t;
+                tasks.add(() -> {
+                    addAndGet(store, threadId);
+                    return null;
+                });
+            }
+            for (final Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void addAndGet(final MapStore store, final int threadId) throws OperationException {
+        final Context context = new Context(new User());
+        for (int batchStart = 0; batchStart < EDGES_PER_THREAD; batchStart += BATCH_SIZE) {
+            final List<Element> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = batchStart; i < batchStart + BATCH_SIZE; i++) {
+                batch.add(new Edge.Builder()
+                        .group(EDGE_GROUP)
+                        .source("source" + threadId + "-" + (i % 100))
+                        .dest("dest" + threadId + "-" + i)
+                        .directed(true)
+                        .property("property1", "p")
+                        .property("count", 1)
+                        .build());
+            }
+            store.execute(new AddElements.Builder().input(batch).build(), context);
+
+            final CloseableIterable<? extends Element> results = store.execute(new GetElements.Builder()
+                    .input(new EntitySeed("source" + threadId + "-" + (batchStart % 100)))
+                    .build(), context);
+            int count = 0;
+            for (final Element ignored : results) {
+                count++;
+            }
+            results.close();
+            if (0 == count) {
+                throw new IllegalStateException("No results found for thread " + threadId);
+            }
+        }
+    }
+
+    private MapStore createStore() throws StoreException {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setMapFactory(ConcurrentMapFactory.class);
+        final MapStore store = new SingleUseMapStore();
+        store.initialise("concurrentPerformanceGraph", Schema.fromJson(StreamUtil.schemas(getClass())), properties);
+        return store;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.mapstore.integration.performance;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.SingleUseMapStore;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the time taken to run operation chains on a {@link SingleUseMapStore}
+ * with the store agnostic operation chain optimisers explicitly enabled and with
+ * the default store properties, under which they are disabled. Each chain is run
+ * against both graphs, the results are checked to be the same and the time taken
+ * with each configuration is logged.
+ */
+public class OperationChainOptimiserPerformanceIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationChainOptimiserPerformanceIT.class);
+    private static final String ENTITY_GROUP = "BasicEntity";
+    private static final String EDGE_GROUP = "BasicEdge";
+    private static final int NUM_VERTICES = 50000;
+    private static final int EDGES_PER_VERTEX = 4;
+    private static final int NUM_SEEDS = 500;
+    private static final int REPEATS = 10;
+
+    private static Graph optimisedGraph;
+    private static Graph unoptimisedGraph;
+
+    @BeforeAll
+    public static void setUp() throws OperationException {
+        optimisedGraph = createGraph("optimisedGraph", true);
+        unoptimisedGraph = createGraph("unoptimisedGraph", false);
+    }
+
+    @Test
+    public void shouldPushLimitIntoGetAllElements() throws OperationException {
+        compare("Limit pushdown", () -> new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder().edge(EDGE_GROUP).build())
+                        .build())
+                .then(new Limit.Builder<Element>().resultLimit(100).build())
+                .then(new Count<>())
+                .build());
+    }
+
+    @Test
+    public void shouldFoldFilterIntoView() throws OperationException {
+        compare("Filter folded into view", () -> new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder().entity(ENTITY_GROUP).edge(EDGE_GROUP).build())
+                        .build())
+                .then(new Filter.Builder()
+                        .edge(EDGE_GROUP, new ElementFilter.Builder()
+                                .select("count")
+                                .execute(new IsMoreThan(8))
+                                .build())
+                        .build())
+                .then(new Count<>())
+                .build());
+    }
+
+    @Test
+    public void shouldMergeHopIntoGetAdjacentIds() throws OperationException {
+        final List<EntitySeed> seeds = new ArrayList<>();
+        for (int i = 0; i < NUM_SEEDS; i++) {
+            seeds.add(new EntitySeed("vertex" + i));
+        }
+        compare("Hop merged into GetAdjacentIds", () -> new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(seeds)
+                        .view(new View.Builder().edge(EDGE_GROUP).build())
+                        .build())
+                .then(new ToVertices.Builder()
+                        .useMatchedVertex(ToVertices.UseMatchedVertex.OPPOSITE)
+                        .build())
+                .then(new ToEntitySeeds())
+                .then(new GetElements.Builder()
+                        .view(new View.Builder().entity(ENTITY_GROUP).build())
+                        .build())
+                .then(new Count<>())
+                .build());
+    }
+
+    private void compare(final String name, final Supplier<OperationChain<Long>> opChain) throws OperationException {
+        // Warm up both graphs before timing
+        final Long expected = unoptimisedGraph.execute(opChain.get(), new User());
+        assertEquals(expected, optimisedGraph.execute(opChain.get(), new User()));
+
+        final long unoptimisedNanos = time(unoptimisedGraph, opChain, expected);
+        final long optimisedNanos = time(optimisedGraph, opChain, expected);
+        LOGGER.info("{}: {} ms without optimisers, {} ms with optimisers ({}x)",
+                name, unoptimisedNanos / 1000000, optimisedNanos / 1000000,
+                String.format("%.1f", (double) unoptimisedNanos / Math.max(1, optimisedNanos)));
+    }
+
+    private long time(final Graph graph, final Supplier<OperationChain<Long>> opChain, final Long expected) throws OperationException {
+        final long start = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) {
+            assertEquals(expected, graph.execute(opChain.get(), new User()));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Graph createGraph(final String graphId, final boolean optimisersEnabled) throws OperationException {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setStoreClass(SingleUseMapStore.class);
+        properties.setParallelScan(true);
+        if (optimisersEnabled) {
+            properties.setLimitPushdownOptimiserEnabled(true);
+            properties.setFunctionsToViewOptimiserEnabled(true);
+            properties.setAdjacentIdsOptimiserEnabled(true);
+            properties.setRedundantOutputOptimiserEnabled(true);
+        }
+
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .addSchema(Schema.fromJson(StreamUtil.schemas(OperationChainOptimiserPerformanceIT.class)))
+                .storeProperties(properties)
+                .build();
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(ENTITY_GROUP)
+                    .vertex("vertex" + i)
+                    .property("property1", "p")
+                    .property("count", i % 10)
+                    .build());
+            for (int j = 1; j <= EDGES_PER_VERTEX; j++) {
+                elements.add(new Edge.Builder()
+                        .group(EDGE_GROUP)
+                        .source("vertex" + i)
+                        .dest("vertex" + ((i * 31 + j) % NUM_VERTICES))
+                        .directed(true)
+                        .property("property1", "p" + j)
+                        .property("count", (i + j) % 10)
+                        .build());
+            }
+        }
+        graph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new User());
+        return graph;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentMapOfSetsTest {
+    @Test
+    public void shouldPutCollectionIntoNewAndExistingSets() {
+        // Given
+        final ConcurrentMapOfSets<String, String> mapOfSets = new ConcurrentMapOfSets<>();
+
+        // When
+        mapOfSets.put("key1", Arrays.asList("value1", "value2"));
+        mapOfSets.put("key1", Arrays.asList("value2", "value3"));
+
+        // Then
+        assertEquals(Sets.newHashSet("value1", "value2", "value3"), mapOfSets.get("key1"));
+    }
+
+    @Test
+    public void shouldNotLoseValuesWhenPutFromMultipleThreads() throws InterruptedException {
+        // Given
+        final ConcurrentMapOfSets<Integer, Integer> mapOfSets = new ConcurrentMapOfSets<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        IntStream.range(0, 4).forEach(t -> executor.execute(() -> {
+            for (int i = 0; i < 1000; i++) {
+                mapOfSets.put(i % 10, t * 1000 + i);
+            }
+        }));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(10, mapOfSets.keySet().size());
+        for (int key = 0; key < 10; key++) {
+            assertEquals(400, mapOfSets.get(key).size());
+        }
+    }
+}
@@ -16,7 +16,11 @@
 
 package uk.gov.gchq.gaffer.parquetstore;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -28,11 +32,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.parquetstore.index.SeedIndex;
+import uk.gov.gchq.gaffer.parquetstore.operation.CompactDeltas;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.AddElementsHandler;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.CompactDeltasHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetElementsHandler;
@@ -82,9 +90,16 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -97,6 +112,15 @@ import static uk.gov.gchq.gaffer.store.StoreTrait.PRE_AGGREGATION_FILTERING;
  * It is designed to make the most of the Parquet file types by serialising the {@link Element}s using
  * {@link uk.gov.gchq.gaffer.parquetstore.serialisation.ParquetSerialiser}s which also allows for Gaffer objects to be
  * stored as multiple or nested columns of primitive types.
+ * <p>
+ * If {@link ParquetStoreProperties#getAddElementsAsDeltas()} is set then new data is added as sorted delta files
+ * alongside the current snapshot rather than by rewriting the snapshot. Queries merge the deltas for a partition with
+ * the snapshot's file for that partition, and the deltas are folded into a new snapshot by the {@link CompactDeltas}
+ * operation.
+ * <p>
+ * Spark is an optional dependency. The Spark operations are only available if Spark and the Gaffer spark-library are
+ * on the classpath, and without them elements must be added using the
+ * {@value ParquetStoreProperties#LOCAL_ADD_ELEMENTS_ENGINE} add elements engine.
  */
 public class ParquetStore extends Store {
     public static final String GROUP = "group";
@@ -108,6 +132,8 @@ public class ParquetStore extends Store {
     public static final String SNAPSHOT = "snapshot";
     public static final String REVERSED_EDGES = "reversedEdges";
     public static final String PARTITION = "partition";
+    public static final String DELTAS = "deltas";
+    public static final String DELTA = "delta";
     public static final int LENGTH_OF_PARTITION_NUMBER_IN_FILENAME = 7;
 
     @SuppressFBWarnings("MS_MUTABLE_ARRAY")
@@ -145,6 +171,11 @@ public class ParquetStore extends Store {
     private long currentSnapshot;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Map<String, List<Path>> deltaFiles = Collections.emptyMap();
+    private volatile int numberOfDeltas;
+    private ExecutorService readerPool;
+    private LoadingCache<Pair<Long, Path>, Optional<SeedIndex>> seedIndexes;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -162,11 +193,15 @@ public class ParquetStore extends Store {
         }
         LOGGER.info("Initialising ParquetStore for graph id {}", graphId);
         super.initialise(graphId, schema, parquetStoreProperties);
+        seedIndexes = CacheBuilder.newBuilder()
+                .maximumSize(parquetStoreProperties.getSeedIndexCacheSize())
+                .build(CacheLoader.from(key -> readSeedIndex(key.getSecond())));
         try {
             fs = FileSystem.get(new Configuration());
             schemaUtils = new SchemaUtils(getSchema());
             initialise();
             loadGraphPartitioner();
+            loadDeltas();
         } catch (final IOException e) {
             throw new StoreException("Could not connect to the file system", e);
         }
@@ -176,6 +211,10 @@ public class ParquetStore extends Store {
         return SNAPSHOT + "=" + snapshot;
     }
 
+    public static String getDeltaPath(final long delta) {
+        return DELTA + "=" + delta;
+    }
+
     private void initialise() throws IOException, StoreException {
         // If data directory is empty or does not exist then this is the first time the store has been created.
         final Path dataDirPath = new Path(getDataDir());
@@ -249,6 +288,7 @@ public class ParquetStore extends Store {
             if (fs.exists(new Path(dataDir))) {
                 this.currentSnapshot = getLatestSnapshot(dataDir);
                 LOGGER.info("Setting currentSnapshot to {}", this.currentSnapshot);
+                evictSeedIndexes();
                 final Path path = getGraphPartitionerPath();
                 if (!fs.exists(path)) {
                     LOGGER.info("Graph partitioner does not exist in {} so creating it", path);
@@ -366,6 +406,173 @@ public class ParquetStore extends Store {
                 + "/" + GROUP + "=" + group);
     }
 
+    /**
+     * @return the directory containing the deltas which have been added to the current snapshot
+     */
+    public Path getDeltasPath() {
+        return new Path(getDataDir() + "/" + getSnapshotPath(currentSnapshot), DELTAS);
+    }
+
+    /**
+     * Gets the delta files, oldest first, containing data for the same partition as the given file of the current
+     * snapshot.
+     *
+     * @param group    the group
+     * @param reversed whether the file contains reversed edges
+     * @param fileName the name of the snapshot's file for the partition
+     * @return the delta files for the partition
+     */
+    public List<Path> getDeltaFiles(final String group, final boolean reversed, final String fileName) {
+        return deltaFiles.getOrDefault(getDeltaKey(group, reversed, fileName), Collections.emptyList());
+    }
+
+    /**
+     * @param group the group
+     * @return the names of the partition files which have deltas for the given group
+     */
+    public Set<String> getDeltaFileNamesForGroup(final String group) {
+        final String prefix = getDeltaKey(group, false, "");
+        return deltaFiles.keySet()
+                .stream()
+                .filter(key -> key.startsWith(prefix))
+                .map(key -> key.substring(prefix.length()))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * @param group the group
+     * @return all of the delta files for the given group
+     */
+    public List<Path> getDeltaFilesForGroup(final String group) {
+        final String prefix = getDeltaKey(group, false, "");
+        return deltaFiles.entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .flatMap(entry -> entry.getValue().stream())
+                .collect(Collectors.toList());
+    }
+
+    public int getNumberOfDeltas() {
+        return numberOfDeltas;
+    }
+
+    /**
+     * Registers a delta directory which has been moved into place under {@link #getDeltasPath()}, so that it is
+     * included in queries.
+     *
+     * @param delta the id of the delta
+     * @throws StoreException if the delta cannot be read
+     */
+    public void addDelta(final long delta) throws StoreException {
+        final Map<String, List<Path>> newDeltaFiles = new HashMap<>();
+        deltaFiles.forEach((key, files) -> newDeltaFiles.put(key, new ArrayList<>(files)));
+        try {
+            indexDelta(new Path(getDeltasPath(), getDeltaPath(delta)), newDeltaFiles);
+        } catch (final IOException e) {
+            throw new StoreException("IOException reading delta " + delta, e);
+        }
+        LOGGER.info("Added delta {} to snapshot {}", delta, currentSnapshot);
+        deltaFiles = Collections.unmodifiableMap(newDeltaFiles);
+        numberOfDeltas++;
+    }
+
+    /**
+     * The lock that must be held while adding data to the store, so that deltas are not lost when they are
+     * compacted into a new snapshot.
+     *
+     * @return the write lock
+     */
+    public ReentrantLock getWriteLock() {
+        return writeLock;
+    }
+
+    /**
+     * Returns the {@link SeedIndex} for the given file of the current snapshot. Indexes are cached by snapshot and
+     * file, up to {@link ParquetStoreProperties#getSeedIndexCacheSize()} of them, and the indexes of other snapshots
+     * are evicted when the snapshot changes.
+     *
+     * @param file the Parquet file
+     * @return the index for the file, or null if there is no index for the file
+     */
+    public SeedIndex getSeedIndex(final Path file) {
+        return seedIndexes.getUnchecked(new Pair<>(currentSnapshot, file)).orElse(null);
+    }
+
+    private void evictSeedIndexes() {
+        final long snapshot = currentSnapshot;
+        seedIndexes.asMap().keySet().removeIf(key -> snapshot != key.getFirst());
+    }
+
+    private Optional<SeedIndex> readSeedIndex(final Path file) {
+        try {
+            return Optional.ofNullable(SeedIndex.read(fs, file));
+        } catch (final IOException e) {
+            LOGGER.warn("IOException reading the seed index for file {}, the file will always be read", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the pool of threads used to read Parquet files when retrieving elements. The pool is shared by all
+     * queries against this store, is sized by {@link ParquetStoreProperties#getThreadsAvailable()} and is created
+     * when it is first needed. Its threads are daemon threads so they do not prevent the JVM from exiting.
+     *
+     * @return the reader pool
+     */
+    public synchronized ExecutorService getReaderPool() {
+        if (null == readerPool) {
+            readerPool = Executors.newFixedThreadPool(getProperties().getThreadsAvailable(),
+                    new ThreadFactoryBuilder().setNameFormat("parquet-reader-%d").setDaemon(true).build());
+        }
+        return readerPool;
+    }
+
+    private void loadDeltas() throws StoreException {
+        final Map<String, List<Path>> newDeltaFiles = new HashMap<>();
+        int deltaCount = 0;
+        try {
+            final Path deltasPath = getDeltasPath();
+            if (fs.exists(deltasPath)) {
+                final FileStatus[] deltas = fs.listStatus(deltasPath,
+                        path -> path.getName().startsWith(DELTA + "=") && !path.getName().endsWith("-tmp"));
+                Arrays.sort(deltas, Comparator.comparingLong(status -> getDeltaId(status.getPath())));
+                for (final FileStatus delta : deltas) {
+                    indexDelta(delta.getPath(), newDeltaFiles);
+                    deltaCount++;
+                }
+            }
+        } catch (final IOException e) {
+            throw new StoreException("IOException loading deltas for snapshot " + currentSnapshot, e);
+        }
+        LOGGER.info("Loaded {} deltas for snapshot {}", deltaCount, currentSnapshot);
+        deltaFiles = Collections.unmodifiableMap(newDeltaFiles);
+        numberOfDeltas = deltaCount;
+    }
+
+    private void indexDelta(final Path deltaPath, final Map<String, List<Path>> files) throws IOException {
+        for (final boolean reversed : new boolean[]{false, true}) {
+            final Path dir = new Path(deltaPath, reversed ? REVERSED_EDGES : GRAPH);
+            if (!fs.exists(dir)) {
+                continue;
+            }
+            for (final FileStatus groupDir : fs.listStatus(dir, path -> path.getName().startsWith(GROUP + "="))) {
+                final String group = groupDir.getPath().getName().substring(GROUP.length() + 1);
+                for (final FileStatus file : fs.listStatus(groupDir.getPath(), path -> path.getName().endsWith(".parquet"))) {
+                    files.computeIfAbsent(getDeltaKey(group, reversed, file.getPath().getName()), k -> new ArrayList<>())
+                            .add(file.getPath());
+                }
+            }
+        }
+    }
+
+    private static long getDeltaId(final Path deltaPath) {
+        return Long.parseLong(deltaPath.getName().substring(DELTA.length() + 1));
+    }
+
+    private static String getDeltaKey(final String group, final boolean reversed, final String fileName) {
+        return getGroupSubDir(group, reversed) + "/" + fileName;
+    }
+
     public String getGraphPath() {
         return getDataDir()
                 + "/" + getSnapshotPath(currentSnapshot)
@@ -406,6 +613,15 @@ public class ParquetStore extends Store {
 
     @Override
     protected void addAdditionalOperationHandlers() {
+        addOperationHandler(CompactDeltas.class, new CompactDeltasHandler());
+        if (SchemaUtils.isSparkAvailable()) {
+            addSparkOperationHandlers();
+        } else {
+            LOGGER.info("Spark is not on the classpath so the Spark operations will not be available");
+        }
+    }
+
+    private void addSparkOperationHandlers() {
         addOperationHandler(GetDataFrameOfElements.class, new GetDataFrameOfElementsHandler());
         addOperationHandler(ImportJavaRDDOfElements.class, new ImportJavaRDDOfElementsHandler());
         addOperationHandler(ImportRDDOfElements.class, new ImportRDDOfElementsHandler());
@@ -450,7 +666,9 @@ public class ParquetStore extends Store {
 
         LOGGER.info("Setting currentSnapshot to {} and reloading graph partitioner", snapshot);
         this.currentSnapshot = snapshot;
+        evictSeedIndexes();
         loadGraphPartitioner();
+        loadDeltas();
     }
 
     private long getLatestSnapshot(final String rootDir) throws StoreException {
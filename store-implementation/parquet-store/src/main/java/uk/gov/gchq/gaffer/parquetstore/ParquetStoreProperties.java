@@ -22,6 +22,7 @@ import org.apache.spark.SparkConf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.sketches.serialisation.json.SketchesJsonModules;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.koryphe.impl.binaryoperator.StringDeduplicateConcat;
@@ -45,6 +46,15 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
     public static final String COMPRESSION_CODEC = "parquet.compression.codec";
+    public static final String PARQUET_ADD_ELEMENTS_AS_DELTAS = "parquet.add_elements.as_deltas";
+    public static final String PARQUET_MAX_DELTAS_BEFORE_COMPACTION = "parquet.add_elements.max_deltas";
+    public static final String PARQUET_READER_QUEUE_SIZE = "parquet.reader.queue_size";
+    public static final String PARQUET_WRITE_SEED_INDEX = "parquet.add_elements.write_seed_index";
+    public static final String PARQUET_SEED_INDEX_CACHE_SIZE = "parquet.seed_index.cache_size";
+    public static final String PARQUET_ADD_ELEMENTS_ENGINE = "parquet.add_elements.engine";
+    public static final String PARQUET_LOCAL_MAX_ELEMENTS_IN_MEMORY = "parquet.add_elements.local.max_elements_in_memory";
+    public static final String SPARK_ADD_ELEMENTS_ENGINE = "spark";
+    public static final String LOCAL_ADD_ELEMENTS_ENGINE = "local";
 
     // Default values - NB No default values for DATA_DIR or TEMP_FILES_DIR to
     // avoid the inadvertent storage of data in unexpected folders.
@@ -58,6 +68,12 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
     private static final String COMPRESSION_CODEC_DEFAULT = "GZIP";
+    private static final String PARQUET_ADD_ELEMENTS_AS_DELTAS_DEFAULT = "false";
+    private static final String PARQUET_MAX_DELTAS_BEFORE_COMPACTION_DEFAULT = "10";
+    private static final String PARQUET_READER_QUEUE_SIZE_DEFAULT = "10000";
+    private static final String PARQUET_WRITE_SEED_INDEX_DEFAULT = "true";
+    private static final String PARQUET_SEED_INDEX_CACHE_SIZE_DEFAULT = "1000";
+    private static final String PARQUET_LOCAL_MAX_ELEMENTS_IN_MEMORY_DEFAULT = "100000";
     private static final long serialVersionUID = 7695540336792378185L;
 
     public ParquetStoreProperties() {
@@ -155,6 +171,122 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_SKIP_VALIDATION, String.valueOf(skipValidation));
     }
 
+    /**
+     * If true then AddElements writes the new data as small sorted delta files alongside the current snapshot,
+     * which are merged with the snapshot when queried, rather than rewriting every partition of the graph.
+     *
+     * @return true if new data should be added as deltas
+     */
+    public boolean getAddElementsAsDeltas() {
+        return Boolean.parseBoolean(get(PARQUET_ADD_ELEMENTS_AS_DELTAS, PARQUET_ADD_ELEMENTS_AS_DELTAS_DEFAULT));
+    }
+
+    public void setAddElementsAsDeltas(final boolean addElementsAsDeltas) {
+        set(PARQUET_ADD_ELEMENTS_AS_DELTAS, String.valueOf(addElementsAsDeltas));
+    }
+
+    /**
+     * The number of deltas that can be added before AddElements compacts them into a new snapshot. If this is 0
+     * then deltas are only compacted when a
+     * {@link uk.gov.gchq.gaffer.parquetstore.operation.CompactDeltas} operation is run.
+     *
+     * @return the maximum number of deltas
+     */
+    public int getMaxDeltasBeforeCompaction() {
+        return Integer.parseInt(get(PARQUET_MAX_DELTAS_BEFORE_COMPACTION, PARQUET_MAX_DELTAS_BEFORE_COMPACTION_DEFAULT));
+    }
+
+    public void setMaxDeltasBeforeCompaction(final int maxDeltas) {
+        set(PARQUET_MAX_DELTAS_BEFORE_COMPACTION, String.valueOf(maxDeltas));
+    }
+
+    /**
+     * The maximum number of retrieved elements that are buffered for each query. Once this many elements are
+     * waiting to be consumed the files being read are paused, and their threads returned to the reader pool, until
+     * the consumer catches up.
+     *
+     * @return the size of the queue between the reader threads and the query results
+     */
+    public int getReaderQueueSize() {
+        return Integer.parseInt(get(PARQUET_READER_QUEUE_SIZE, PARQUET_READER_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setReaderQueueSize(final int readerQueueSize) {
+        set(PARQUET_READER_QUEUE_SIZE, String.valueOf(readerQueueSize));
+    }
+
+    /**
+     * If true then a {@link uk.gov.gchq.gaffer.parquetstore.index.SeedIndex} is written for each Parquet file when
+     * data is added, which lets seeded queries skip files that cannot contain any of the seeds.
+     *
+     * @return true if seed indexes should be written
+     */
+    public boolean getWriteSeedIndex() {
+        return Boolean.parseBoolean(get(PARQUET_WRITE_SEED_INDEX, PARQUET_WRITE_SEED_INDEX_DEFAULT));
+    }
+
+    public void setWriteSeedIndex(final boolean writeSeedIndex) {
+        set(PARQUET_WRITE_SEED_INDEX, String.valueOf(writeSeedIndex));
+    }
+
+    /**
+     * The maximum number of {@link uk.gov.gchq.gaffer.parquetstore.index.SeedIndex}es held in memory. Once this many
+     * have been read the least recently used are dropped and read again from the file system when next needed.
+     *
+     * @return the maximum number of seed indexes to cache
+     */
+    public int getSeedIndexCacheSize() {
+        return Integer.parseInt(get(PARQUET_SEED_INDEX_CACHE_SIZE, PARQUET_SEED_INDEX_CACHE_SIZE_DEFAULT));
+    }
+
+    public void setSeedIndexCacheSize(final int seedIndexCacheSize) {
+        set(PARQUET_SEED_INDEX_CACHE_SIZE, String.valueOf(seedIndexCacheSize));
+    }
+
+    /**
+     * The engine used to aggregate and sort data when elements are added with AddElements, or when deltas are
+     * compacted. This is either {@value #SPARK_ADD_ELEMENTS_ENGINE}, which uses a Spark session, or
+     * {@value #LOCAL_ADD_ELEMENTS_ENGINE}, which sorts and aggregates the data in this JVM and does not need Spark to
+     * be on the classpath. Importing RDDs always uses Spark. If the engine is not set then
+     * {@value #SPARK_ADD_ELEMENTS_ENGINE} is used when Spark is on the classpath and
+     * {@value #LOCAL_ADD_ELEMENTS_ENGINE} is used otherwise.
+     *
+     * @return the add elements engine
+     * @throws IllegalArgumentException if the engine is not recognised
+     */
+    public String getAddElementsEngine() throws IllegalArgumentException {
+        final String engine = get(PARQUET_ADD_ELEMENTS_ENGINE, getDefaultAddElementsEngine());
+        if (!SPARK_ADD_ELEMENTS_ENGINE.equals(engine) && !LOCAL_ADD_ELEMENTS_ENGINE.equals(engine)) {
+            throw new IllegalArgumentException("Unknown add elements engine " + engine);
+        }
+        return engine;
+    }
+
+    private static String getDefaultAddElementsEngine() {
+        return SchemaUtils.isSparkAvailable() ? SPARK_ADD_ELEMENTS_ENGINE : LOCAL_ADD_ELEMENTS_ENGINE;
+    }
+
+    public void setAddElementsEngine(final String engine) {
+        if (!SPARK_ADD_ELEMENTS_ENGINE.equals(engine) && !LOCAL_ADD_ELEMENTS_ENGINE.equals(engine)) {
+            throw new IllegalArgumentException("Unknown add elements engine " + engine);
+        }
+        set(PARQUET_ADD_ELEMENTS_ENGINE, engine);
+    }
+
+    /**
+     * The maximum number of elements each thread of the {@value #LOCAL_ADD_ELEMENTS_ENGINE} add elements engine holds
+     * in memory. Larger partitions are sorted in runs of this size which are then merged.
+     *
+     * @return the maximum number of elements held in memory by each thread
+     */
+    public int getLocalMaxElementsInMemory() {
+        return Integer.parseInt(get(PARQUET_LOCAL_MAX_ELEMENTS_IN_MEMORY, PARQUET_LOCAL_MAX_ELEMENTS_IN_MEMORY_DEFAULT));
+    }
+
+    public void setLocalMaxElementsInMemory(final int maxElementsInMemory) {
+        set(PARQUET_LOCAL_MAX_ELEMENTS_IN_MEMORY, String.valueOf(maxElementsInMemory));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
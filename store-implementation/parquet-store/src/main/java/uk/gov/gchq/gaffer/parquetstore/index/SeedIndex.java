@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * A Bloom filter over the values of the column that a Parquet file is sorted by, i.e. the vertex for entity files,
+ * the source for edge files and the destination for reversed edge files. The values are held in their Parquet form,
+ * as produced by the group's {@link GafferGroupObjectConverter}, so that they can be compared directly with the
+ * seeds of a query. The index for a file is written next to it in a hidden file so that it is ignored by Spark and
+ * by the listing of the Parquet files in a directory.
+ */
+public final class SeedIndex {
+    public static final String INDEX_FILE_SUFFIX = ".seedindex";
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeedIndex.class);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MAXIMUM_SIZE = 64 * 1024 * 1024;
+
+    private final BloomFilter filter;
+
+    private SeedIndex(final BloomFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * @param key the Parquet objects for a vertex
+     * @return false if the file definitely does not contain the key, true if it might
+     */
+    public boolean mightContain(final Object[] key) {
+        return filter.membershipTest(new Key(toBytes(key)));
+    }
+
+    public static Path getIndexPath(final Path file) {
+        return new Path(file.getParent(), "." + file.getName() + INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * Reads the given Parquet file and writes the index of its keys next to it.
+     *
+     * @param fs          the file system
+     * @param file        the Parquet file
+     * @param group       the group of the elements in the file
+     * @param reversed    whether the file contains edges sorted by destination
+     * @param schemaUtils the schema utils
+     * @throws IOException if the file cannot be read or the index cannot be written
+     */
+    public static void write(final FileSystem fs,
+                             final Path file,
+                             final String group,
+                             final boolean reversed,
+                             final SchemaUtils schemaUtils) throws IOException {
+        final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        final BloomFilter filter = createFilter(getRowCount(fs, file));
+        long numKeys = 0;
+        try (final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(file)
+                .isEntity(isEntity)
+                .usingConverter(converter)
+                .build()) {
+            byte[] previousKey = null;
+            Element element = reader.read();
+            while (null != element) {
+                final byte[] key = toBytes(getKey(element, reversed, converter));
+                // The file is sorted by the key so duplicate keys are adjacent
+                if (!Arrays.equals(previousKey, key)) {
+                    filter.add(new Key(key));
+                    previousKey = key;
+                    numKeys++;
+                }
+                element = reader.read();
+            }
+        }
+
+        final Path indexPath = getIndexPath(file);
+        LOGGER.debug("Writing index of {} keys for file {} to {}", numKeys, file, indexPath);
+        try (final FSDataOutputStream stream = fs.create(indexPath, true)) {
+            filter.write(stream);
+        }
+    }
+
+    /**
+     * @param fs   the file system
+     * @param file the Parquet file
+     * @return the index for the given file, or null if the file does not have an index
+     * @throws IOException if the index cannot be read
+     */
+    public static SeedIndex read(final FileSystem fs, final Path file) throws IOException {
+        final Path indexPath = getIndexPath(file);
+        if (!fs.exists(indexPath)) {
+            return null;
+        }
+        final BloomFilter filter = new BloomFilter();
+        try (final FSDataInputStream stream = fs.open(indexPath)) {
+            filter.readFields(stream);
+        }
+        return new SeedIndex(filter);
+    }
+
+    /**
+     * The number of rows in the file is read from its footer. Each row has one key, so this is an upper bound on the
+     * number of distinct keys and the filter is never smaller than it needs to be.
+     */
+    private static long getRowCount(final FileSystem fs, final Path file) throws IOException {
+        long rowCount = 0;
+        for (final BlockMetaData block : ParquetFileReader
+                .readFooter(fs.getConf(), file, ParquetMetadataConverter.NO_FILTER).getBlocks()) {
+            rowCount += block.getRowCount();
+        }
+        return rowCount;
+    }
+
+    private static BloomFilter createFilter(final long numItems) {
+        final double items = Math.max(1, numItems);
+        final int size = (int) Math.max(1, Math.min(MAXIMUM_SIZE,
+                -items * Math.log(FALSE_POSITIVE_RATE) / Math.pow(Math.log(2.0), 2.0)));
+        final int numHashes = Math.max(1, (int) (size / items * Math.log(2.0)));
+        return new BloomFilter(size, numHashes, Hash.MURMUR_HASH);
+    }
+
+    private static Object[] getKey(final Element element,
+                                   final boolean reversed,
+                                   final GafferGroupObjectConverter converter) throws IOException {
+        if (element instanceof Entity) {
+            return converter.gafferObjectToParquetObjects(ParquetStore.VERTEX, ((Entity) element).getVertex());
+        } else if (reversed) {
+            return converter.gafferObjectToParquetObjects(ParquetStore.DESTINATION, ((Edge) element).getDestination());
+        } else {
+            return converter.gafferObjectToParquetObjects(ParquetStore.SOURCE, ((Edge) element).getSource());
+        }
+    }
+
+    private static byte[] toBytes(final Object[] key) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            for (final Object object : key) {
+                if (null == object) {
+                    out.writeByte(0);
+                } else if (object instanceof byte[]) {
+                    out.writeByte(1);
+                    out.writeInt(((byte[]) object).length);
+                    out.write((byte[]) object);
+                } else if (object instanceof Date) {
+                    // Dates are compared as longs as their string form depends on the time zone
+                    out.writeByte(2);
+                    out.writeLong(((Date) object).getTime());
+                } else {
+                    final byte[] value = object.toString().getBytes(StandardCharsets.UTF_8);
+                    out.writeByte(3);
+                    out.writeUTF(object.getClass().getName());
+                    out.writeInt(value.length);
+                    out.write(value);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("IOException serialising key " + Arrays.toString(key), e);
+        }
+        return bytes.toByteArray();
+    }
+}
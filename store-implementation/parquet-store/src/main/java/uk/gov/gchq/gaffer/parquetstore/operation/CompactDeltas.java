@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * The {@code CompactDeltas} operation folds the deltas that have been added to a
+ * {@link uk.gov.gchq.gaffer.parquetstore.ParquetStore} into a new snapshot, so that
+ * queries no longer need to merge them with the snapshot at read time.
+ *
+ * @see CompactDeltas.Builder
+ */
+@JsonPropertyOrder(value = {"class"}, alphabetic = true)
+@Since("1.13.3")
+@Summary("Compacts the deltas added to a Parquet store into a new snapshot")
+public class CompactDeltas implements Operation {
+    private Map<String, String> options;
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public CompactDeltas shallowClone() {
+        return new CompactDeltas.Builder()
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends BaseBuilder<CompactDeltas, Builder> {
+        public Builder() {
+            super(new CompactDeltas());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import org.apache.spark.sql.SparkSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.operation.CompactDeltas;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.SortedDataWriter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SparkParquetUtils;
+import uk.gov.gchq.gaffer.spark.SparkContextUtil;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An {@link OperationHandler} for the {@link CompactDeltas} operation on the {@link ParquetStore}. The deltas for
+ * each partition are aggregated and sorted with the partition's data in the current snapshot to create a new
+ * snapshot with no deltas.
+ */
+public class CompactDeltasHandler implements OperationHandler<CompactDeltas> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactDeltasHandler.class);
+
+    @Override
+    public Void doOperation(final CompactDeltas operation,
+                            final Context context,
+                            final Store store) throws OperationException {
+        final ParquetStore parquetStore = (ParquetStore) store;
+        parquetStore.getWriteLock().lock();
+        try {
+            if (0 == parquetStore.getNumberOfDeltas()) {
+                LOGGER.info("Not compacting as there are no deltas");
+                return null;
+            }
+
+            final ParquetStoreProperties properties = parquetStore.getProperties();
+            final ExecutorService threadPool;
+            final SortedDataWriter writer;
+            if (ParquetStoreProperties.LOCAL_ADD_ELEMENTS_ENGINE.equals(properties.getAddElementsEngine())) {
+                threadPool = SortedDataWriter.createThreadPool(properties);
+                writer = new SortedDataWriter(parquetStore, threadPool);
+            } else if (!SchemaUtils.isSparkAvailable()) {
+                throw new OperationException("Spark is not on the classpath, so "
+                        + ParquetStoreProperties.PARQUET_ADD_ELEMENTS_ENGINE + " must be set to "
+                        + ParquetStoreProperties.LOCAL_ADD_ELEMENTS_ENGINE);
+            } else {
+                final SparkSession spark = SparkContextUtil.getSparkSession(context, properties);
+                SparkParquetUtils.configureSparkForAddElements(spark, properties);
+                threadPool = SortedDataWriter.createThreadPool(spark, properties);
+                writer = new SortedDataWriter(parquetStore, spark, threadPool);
+            }
+            try {
+                LOGGER.info("Compacting {} deltas into a new snapshot", parquetStore.getNumberOfDeltas());
+                writer.writeNewSnapshot(null, null);
+            } finally {
+                threadPool.shutdown();
+            }
+        } finally {
+            parquetStore.getWriteLock().unlock();
+        }
+        return null;
+    }
+}
@@ -30,6 +30,7 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.SeedIndex;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.utilities.WriteData;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateDataForGroup;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
@@ -73,13 +74,20 @@ public class AddElementsFromRDD {
     }
 
     void addElementsFromRDD(final JavaRDD<Element> input) throws OperationException {
-        writeInputData(input);
-        aggregateNewAndOldData();
-        sort();
-        sortEdgeGroupsByDestination();
-        calculateAndWritePartitioner();
-        createNewSnapshotDirectory();
-        deleteTempDirectory();
+        // The existing deltas are merged into the new snapshot along with the existing data
+        store.getWriteLock().lock();
+        try {
+            writeInputData(input);
+            aggregateNewAndOldData();
+            sort();
+            sortEdgeGroupsByDestination();
+            writeSeedIndexes();
+            calculateAndWritePartitioner();
+            createNewSnapshotDirectory();
+            deleteTempDirectory();
+        } finally {
+            store.getWriteLock().unlock();
+        }
     }
 
     void addElementsFromRDD(final RDD<Element> input) throws OperationException {
@@ -146,6 +154,7 @@ public class AddElementsFromRDD {
                 throw new OperationException("IOException finding files for group " + group, e);
             }
             existingData.stream().map(Path::toString).forEach(inputFiles::add);
+            store.getDeltaFilesForGroup(group).stream().map(Path::toString).forEach(inputFiles::add);
             final String outputDir = getDirectory(group, false, true, false);
             final AggregateDataForGroup aggregateDataForGroup;
             try {
@@ -184,6 +193,7 @@ public class AddElementsFromRDD {
                     Arrays.stream(newData).map(f -> f.getPath().toString()).forEach(inputFiles::add);
                     final List<Path> existingData = store.getFilesForGroup(group);
                     existingData.stream().map(p -> p.toString()).forEach(inputFiles::add);
+                    store.getDeltaFilesForGroup(group).stream().map(p -> p.toString()).forEach(inputFiles::add);
                 }
                 sort(group, false, inputFiles, outputDir);
             }
@@ -245,6 +255,39 @@ public class AddElementsFromRDD {
         }
     }
 
+    /**
+     * Writes a {@link SeedIndex} next to each of the sorted files, if seed indexes are enabled.
+     *
+     * @throws OperationException if an {@link IOException} is thrown
+     */
+    private void writeSeedIndexes() throws OperationException {
+        if (!store.getProperties().getWriteSeedIndex()) {
+            return;
+        }
+        try {
+            for (final String group : schemaUtils.getGroups()) {
+                writeSeedIndexes(group, false);
+            }
+            for (final String group : schemaUtils.getEdgeGroups()) {
+                writeSeedIndexes(group, true);
+            }
+        } catch (final IOException e) {
+            throw new OperationException("IOException writing seed indexes", e);
+        }
+    }
+
+    private void writeSeedIndexes(final String group, final boolean reversed) throws IOException {
+        final Path dir = new Path(getDirectory(group, true, true, reversed));
+        if (!fs.exists(dir)) {
+            return;
+        }
+        final FileStatus[] files = fs.listStatus(dir, path -> path.getName().endsWith(".parquet"));
+        LOGGER.info("Writing seed indexes for {} files in {}", files.length, dir);
+        for (final FileStatus file : files) {
+            SeedIndex.write(fs, file.getPath(), group, reversed, schemaUtils);
+        }
+    }
+
     /**
      * Calculates the new graph partitioner and writes it to file.
      *
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import com.google.common.primitives.UnsignedBytes;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.io.writer.ParquetElementWriter;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+
+/**
+ * Aggregates and sorts the data in a list of files into one sorted file without using Spark. This is the equivalent
+ * of {@link AggregateAndSortData} for the local add elements engine.
+ * <p>
+ * This is an external sort: the input elements are read in batches of at most {@code maxElementsInMemory}, each batch
+ * is sorted, aggregated and written to a temporary run file, and the runs are then merged into the output file. If
+ * the input fits in one batch then it is written straight to the output file. Elements are sorted by their core
+ * properties, i.e. the key used by the {@link uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner}, and
+ * then by their group-by properties, and elements with the same key are aggregated together if the group requires
+ * aggregation.
+ * <p>
+ * This class does not need Spark to be on the classpath. If it is, the Spark schema is added to the output files so
+ * that they can be read by Spark in the same way as the files written by {@link AggregateAndSortData}.
+ */
+public class LocalAggregateAndSortData implements Callable<CallableResult> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalAggregateAndSortData.class);
+    private static final String RUNS = "/runs";
+    private static final String OUTPUT_FILE = "/part-00000.parquet";
+
+    private final SchemaUtils schemaUtils;
+    private final FileSystem fs;
+    private final List<String> files;
+    private final String outputDir;
+    private final String group;
+    private final String id; // Used in the logging statements so that users of this class can provide some context as to what is being done
+    private final boolean reversed;
+    private final CompressionCodecName compressionCodecName;
+    private final int maxElementsInMemory;
+    private final boolean isEntity;
+    private final boolean aggregate;
+    private final GafferGroupObjectConverter converter;
+    private final List<String> groupBy;
+
+    public LocalAggregateAndSortData(final SchemaUtils schemaUtils,
+                                     final FileSystem fs,
+                                     final List<String> files,
+                                     final String outputDir,
+                                     final String group,
+                                     final String id,
+                                     final boolean reversed,
+                                     final CompressionCodecName compressionCodecName,
+                                     final int maxElementsInMemory) {
+        this.schemaUtils = schemaUtils;
+        this.fs = fs;
+        this.files = files;
+        this.outputDir = outputDir;
+        this.group = group;
+        this.id = id;
+        this.reversed = reversed;
+        this.compressionCodecName = compressionCodecName;
+        this.maxElementsInMemory = maxElementsInMemory;
+        this.isEntity = schemaUtils.getEntityGroups().contains(group);
+        this.aggregate = schemaUtils.getGafferSchema().getAggregatedGroups().contains(group);
+        this.converter = schemaUtils.getConverter(group);
+        this.groupBy = new ArrayList<>(schemaUtils.getGafferSchema().getElement(group).getGroupBy());
+    }
+
+    @Override
+    public CallableResult call() throws Exception {
+        final List<Path> inputFiles = getInputFiles();
+        if (inputFiles.isEmpty()) {
+            LOGGER.info("Not sorting data for group {} and id {} as there are no input files", group, id);
+            return CallableResult.SUCCESS;
+        }
+        LOGGER.info("{} data for group {} and id {} ({} input files, results will be stored in {})",
+                aggregate ? "Aggregating and sorting" : "Sorting", group, id, inputFiles.size(), outputDir);
+
+        final List<Path> runs = new ArrayList<>();
+        List<KeyedElement> batch = new ArrayList<>();
+        for (final Path file : inputFiles) {
+            try (final ParquetReader<Element> reader = openReader(file)) {
+                Element element = reader.read();
+                while (null != element) {
+                    batch.add(new KeyedElement(getKey(element), element));
+                    if (batch.size() >= maxElementsInMemory) {
+                        runs.add(writeRun(batch, runs.size()));
+                        batch = new ArrayList<>();
+                    }
+                    element = reader.read();
+                }
+            }
+        }
+
+        final Path outputFile = new Path(outputDir + OUTPUT_FILE);
+        if (runs.isEmpty()) {
+            final List<KeyedElement> sorted = sortAndAggregate(batch);
+            if (!sorted.isEmpty()) {
+                write(sorted, outputFile);
+            }
+        } else {
+            if (!batch.isEmpty()) {
+                runs.add(writeRun(batch, runs.size()));
+            }
+            LOGGER.info("Merging {} sorted runs for group {} and id {}", runs.size(), group, id);
+            merge(runs, outputFile);
+            fs.delete(new Path(outputDir + RUNS), true);
+        }
+        return CallableResult.SUCCESS;
+    }
+
+    private List<Path> getInputFiles() throws IOException {
+        final List<Path> inputFiles = new ArrayList<>();
+        for (final String file : files) {
+            final Path path = new Path(file);
+            if (!fs.exists(path)) {
+                LOGGER.info("Ignoring file {} as it does not exist", file);
+            } else if (fs.isDirectory(path)) {
+                for (final FileStatus status : fs.listStatus(path, p -> p.getName().endsWith(".parquet"))) {
+                    inputFiles.add(status.getPath());
+                }
+            } else {
+                inputFiles.add(path);
+            }
+        }
+        return inputFiles;
+    }
+
+    private Path writeRun(final List<KeyedElement> batch, final int runNumber) throws IOException {
+        final Path run = new Path(outputDir + RUNS + "/run-" + runNumber + ".parquet");
+        LOGGER.debug("Writing sorted run of {} elements for group {} and id {} to {}", batch.size(), group, id, run);
+        write(sortAndAggregate(batch), run);
+        return run;
+    }
+
+    private List<KeyedElement> sortAndAggregate(final List<KeyedElement> batch) {
+        batch.sort((e1, e2) -> compareKeys(e1.key, e2.key));
+        if (!aggregate) {
+            return batch;
+        }
+        final List<KeyedElement> aggregated = new ArrayList<>();
+        int start = 0;
+        while (start < batch.size()) {
+            int end = start + 1;
+            while (end < batch.size() && 0 == compareKeys(batch.get(start).key, batch.get(end).key)) {
+                end++;
+            }
+            final List<Element> elementsWithSameKey = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                elementsWithSameKey.add(batch.get(i).element);
+            }
+            for (final Element element : aggregate(elementsWithSameKey)) {
+                aggregated.add(new KeyedElement(batch.get(start).key, element));
+            }
+            start = end;
+        }
+        return aggregated;
+    }
+
+    private void merge(final List<Path> runs, final Path outputFile) throws IOException {
+        final PriorityQueue<RunReader> readers = new PriorityQueue<>(runs.size(),
+                (r1, r2) -> compareKeys(r1.current.key, r2.current.key));
+        try (final ParquetWriter<Element> writer = openWriter(outputFile)) {
+            for (final Path run : runs) {
+                final RunReader reader = new RunReader(openReader(run));
+                if (reader.advance()) {
+                    readers.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            final List<Element> elementsWithSameKey = new ArrayList<>();
+            while (!readers.isEmpty()) {
+                final Object[] key = readers.peek().current.key;
+                elementsWithSameKey.clear();
+                while (!readers.isEmpty() && 0 == compareKeys(key, readers.peek().current.key)) {
+                    final RunReader reader = readers.poll();
+                    elementsWithSameKey.add(reader.current.element);
+                    if (reader.advance()) {
+                        readers.add(reader);
+                    } else {
+                        reader.close();
+                    }
+                }
+                for (final Element element : aggregate ? aggregate(elementsWithSameKey) : elementsWithSameKey) {
+                    writer.write(element);
+                }
+            }
+        } finally {
+            for (final RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private Iterable<Element> aggregate(final List<Element> elementsWithSameKey) {
+        if (1 == elementsWithSameKey.size()) {
+            return elementsWithSameKey;
+        }
+        final List<Element> aggregated = new ArrayList<>();
+        try (final CloseableIterable<Element> iterable =
+                     AggregatorUtil.ingestAggregate(elementsWithSameKey, schemaUtils.getGafferSchema())) {
+            iterable.forEach(aggregated::add);
+        }
+        return aggregated;
+    }
+
+    private void write(final List<KeyedElement> elements, final Path file) throws IOException {
+        try (final ParquetWriter<Element> writer = openWriter(file)) {
+            for (final KeyedElement keyedElement : elements) {
+                writer.write(keyedElement.element);
+            }
+        }
+    }
+
+    private Object[] getKey(final Element element) throws IOException {
+        final Object[] coreProperties = reversed
+                ? converter.corePropertiesToParquetObjectsForReversedEdge((Edge) element)
+                : converter.corePropertiesToParquetObjects(element);
+        if (groupBy.isEmpty()) {
+            return coreProperties;
+        }
+        final List<Object> key = new ArrayList<>(Arrays.asList(coreProperties));
+        for (final String property : groupBy) {
+            key.addAll(Arrays.asList(converter.gafferObjectToParquetObjects(property, element.getProperty(property))));
+        }
+        return key.toArray();
+    }
+
+    static int compareKeys(final Object[] key1, final Object[] key2) {
+        for (int i = 0; i < key1.length && i < key2.length; i++) {
+            final int result = compareValues(key1[i], key2[i]);
+            if (0 != result) {
+                return result;
+            }
+        }
+        return Integer.compare(key1.length, key2.length);
+    }
+
+    private static int compareValues(final Object value1, final Object value2) {
+        if (null == value1) {
+            return null == value2 ? 0 : -1;
+        } else if (null == value2) {
+            return 1;
+        } else if (value1 instanceof byte[] && value2 instanceof byte[]) {
+            return UnsignedBytes.lexicographicalComparator().compare((byte[]) value1, (byte[]) value2);
+        } else if (value1 instanceof Comparable && value1.getClass().equals(value2.getClass())) {
+            return ((Comparable) value1).compareTo(value2);
+        }
+        throw new IllegalArgumentException("Cannot compare values of type " + value1.getClass().getName()
+                + " and " + value2.getClass().getName());
+    }
+
+    private ParquetReader<Element> openReader(final Path file) throws IOException {
+        return new ParquetElementReader.Builder<Element>(file)
+                .isEntity(isEntity)
+                .usingConverter(converter)
+                .build();
+    }
+
+    private ParquetWriter<Element> openWriter(final Path file) throws IOException {
+        final ParquetElementWriter.Builder builder = new ParquetElementWriter.Builder(file)
+                .withType(schemaUtils.getParquetSchema(group))
+                .usingConverter(converter)
+                .withCompressionCodec(compressionCodecName);
+        if (SchemaUtils.isSparkAvailable()) {
+            builder.withSparkSchema(schemaUtils.getSparkSchema(group));
+        }
+        return builder.build();
+    }
+
+    private static final class KeyedElement {
+        private final Object[] key;
+        private final Element element;
+
+        private KeyedElement(final Object[] key, final Element element) {
+            this.key = key;
+            this.element = element;
+        }
+    }
+
+    private final class RunReader {
+        private final ParquetReader<Element> reader;
+        private KeyedElement current;
+
+        private RunReader(final ParquetReader<Element> reader) {
+            this.reader = reader;
+        }
+
+        private boolean advance() throws IOException {
+            final Element element = reader.read();
+            current = null != element ? new KeyedElement(getKey(element), element) : null;
+            return null != current;
+        }
+
+        private void close() throws IOException {
+            reader.close();
+        }
+    }
+}
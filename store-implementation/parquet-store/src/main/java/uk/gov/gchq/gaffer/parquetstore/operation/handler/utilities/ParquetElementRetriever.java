@@ -19,8 +19,11 @@ package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.BoundedParallelIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.BoundedParallelIterator.Source;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -33,14 +36,8 @@ import uk.gov.gchq.gaffer.parquetstore.query.QueryGenerator;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -76,10 +73,18 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
         }
     }
 
+    /**
+     * Iterates over the results of a query. The elements of each file are read by a {@link RetrieveElementsFromFile}
+     * on the store's shared reader pool, with at most
+     * {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#getThreadsAvailable()} files read at once by each
+     * query and at most {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#getReaderQueueSize()} elements
+     * buffered. A reader parks rather than blocking a pool thread when the buffer is full, see
+     * {@link BoundedParallelIterator}, so a caller holding several iterators, or an iterator that is abandoned without
+     * being closed, cannot starve the pool. A failure reading any file is rethrown by the iterator. Closing the
+     * iterator stops the readers and closes them.
+     */
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
-        private List<Future<OperationException>> runningTasks;
-        private ExecutorService executorServicePool;
+        private CloseableIterator<Element> elements = new EmptyCloseableIterator<>();
 
         protected ParquetIterator(final ParquetStore store, final Operation operation, final User user) throws OperationException {
             final QueryGenerator queryGenerator = new QueryGenerator(store);
@@ -93,90 +98,42 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 final ParquetQuery parquetQuery = queryGenerator.getParquetQuery(operation);
                 LOGGER.debug("Created ParquetQuery {}", parquetQuery);
                 if (!parquetQuery.isEmpty()) {
-                    queue = new ConcurrentLinkedQueue<>();
-                    executorServicePool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
-                    final List<RetrieveElementsFromFile> tasks = new ArrayList<>();
-                    tasks.addAll(parquetQuery.getAllParquetFileQueries()
+                    final List<Source<Element>> tasks = parquetQuery.getAllParquetFileQueries()
                             .stream()
-                            .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(),
-                                    store.getSchema(), queue, !entry.isFullyApplied(),
-                                    store.getProperties().getSkipValidation(), view, user))
-                            .collect(Collectors.toList()));
-                    LOGGER.info("Invoking {} RetrieveElementsFromFile tasks", tasks.size());
-                    runningTasks = executorServicePool.invokeAll(tasks);
+                            .map(entry -> toSource(new RetrieveElementsFromFile(entry.getFile(), entry.getDeltaFiles(), entry.getFilter(),
+                                    store.getSchema(), !entry.isFullyApplied(),
+                                    store.getProperties().getSkipValidation(), view, user)))
+                            .collect(Collectors.toList());
+                    LOGGER.info("Running {} RetrieveElementsFromFile tasks", tasks.size());
+                    elements = new BoundedParallelIterator<>(tasks.iterator(), store.getReaderPool(),
+                            store.getProperties().getThreadsAvailable(), store.getProperties().getReaderQueueSize());
                 } else {
                     LOGGER.warn("No paths found - there will be no results from this query");
                 }
             } catch (final IOException | OperationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
+                close();
                 throw new OperationException("Exception creating ParquetIterator", e);
-            } catch (final InterruptedException e) {
-                LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
-                throw new OperationException("InterruptedException in ParquetIterator", e);
             }
         }
 
-        @Override
-        public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
-                        }
-                    }
-                    return !queue.isEmpty();
-                } else {
-                    return true;
-                }
-            } else {
-                return false;
-            }
+        private static Source<Element> toSource(final RetrieveElementsFromFile file) {
+            return file::iterator;
         }
 
-        private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
-            final List<Future<OperationException>> completedTasks = new ArrayList<>();
-            for (final Future<OperationException> task : runningTasks) {
-                if (task.isDone()) {
-                    final OperationException taskResult = task.get();
-                    if (null != taskResult) {
-                        throw taskResult;
-                    } else {
-                        completedTasks.add(task);
-                    }
-                }
-            }
-            runningTasks.removeAll(completedTasks);
-            return runningTasks.isEmpty();
+        @Override
+        public boolean hasNext() {
+            return elements.hasNext();
         }
 
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
-            }
-            throw new NoSuchElementException();
+            return elements.next();
         }
 
         @Override
         public void close() {
-            if (null != executorServicePool) {
-                executorServicePool.shutdown();
-                executorServicePool = null;
-            }
-            queue = null;
-            runningTasks = null;
+            elements.close();
         }
     }
 }
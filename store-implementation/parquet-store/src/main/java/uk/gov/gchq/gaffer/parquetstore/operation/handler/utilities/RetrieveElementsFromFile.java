@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -23,39 +25,53 @@ import org.apache.parquet.hadoop.ParquetReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
-import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Used to retrieve the elements from a single file and put the elements into a shared
- * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+ * Used to retrieve the elements from a single file. The file is read lazily as the elements are iterated, and
+ * only the elements that are visible to the user and pass the view's filters are returned. If the file has deltas
+ * then the file and its deltas, which are all sorted in the same order, are merged as they are read and the
+ * elements with the same core properties are aggregated before the view is applied. Only the elements with the
+ * same core properties are held in memory at once.
  */
-public class RetrieveElementsFromFile implements Callable<OperationException> {
+public class RetrieveElementsFromFile implements CloseableIterable<Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
 
     private final Path filePath;
+    private final List<Path> deltaFiles;
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
     private transient ElementFilter elementFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
@@ -69,13 +85,25 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     public RetrieveElementsFromFile(final Path filePath,
                                     final FilterPredicate filter,
                                     final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue,
                                     final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation,
                                     final View view,
                                     final User user) {
-        LOGGER.info("Creating RetrieveElementsFromFile for path {} with predicate {}", filePath, filter);
+        this(filePath, Collections.emptyList(), filter, gafferSchema, needsValidatorsAndFiltersApplying,
+                skipValidation, view, user);
+    }
+
+    public RetrieveElementsFromFile(final Path filePath,
+                                    final List<Path> deltaFiles,
+                                    final FilterPredicate filter,
+                                    final Schema gafferSchema,
+                                    final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation,
+                                    final View view,
+                                    final User user) {
+        LOGGER.info("Creating RetrieveElementsFromFile for path {} and {} deltas with predicate {}", filePath, deltaFiles.size(), filter);
         this.filePath = filePath;
+        this.deltaFiles = deltaFiles;
         this.filter = filter;
         this.jsonGafferSchema = gafferSchema.toCompactJson();
         this.gafferSchema = gafferSchema;
@@ -93,7 +121,6 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             this.auths = new Authorisations();
         }
 
-        this.queue = queue;
         this.view = view;
         this.needsValidatorsAndFiltersApplying = needsValidatorsAndFiltersApplying;
         this.skipValidation = skipValidation;
@@ -106,68 +133,61 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     }
 
     @Override
-    public OperationException call() throws Exception {
+    public void close() {
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
         if (null == elementFilter) {
             elementFilter = new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter();
         }
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
-        try {
-            final ParquetReader<Element> fileReader = openParquetReader();
-            Element e = fileReader.read();
-            while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else if (needsValidatorsAndFiltersApplying) {
-                    final String group = e.getGroup();
-                    final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                    if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                        if (elementFilter == null || elementFilter.test(e)) {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else {
-                    ViewUtil.removeProperties(view, e);
-                    queue.add(e);
-                }
-                e = fileReader.read();
+        if (!deltaFiles.isEmpty()) {
+            try {
+                return new FilteredElementIterator(null, new MergedElementIterator());
+            } catch (final IOException e) {
+                throw new RuntimeException("IOException reading file " + filePath + " and its deltas", e);
             }
-            fileReader.close();
+        }
+        final ParquetReader<Element> fileReader;
+        try {
+            fileReader = openParquetReader(filePath);
         } catch (final IOException ignore) {
             LOGGER.error("IOException reading file", ignore);
             // ignore as this file does not exist
+            return new FilteredElementIterator(null, new EmptyCloseableIterator<>());
         }
-        return null;
+        return new FilteredElementIterator(fileReader, null);
     }
 
-    private ParquetReader<Element> openParquetReader() throws IOException {
+    private boolean isRequired(final Element e) throws VisibilityParseException {
+        if (!visibility.isEmpty() && !isVisible(e)) {
+            return false;
+        }
+        if (needsValidatorsAndFiltersApplying) {
+            final ElementFilter validatorFilter = gafferSchema.getElement(e.getGroup()).getValidator(false);
+            if (!skipValidation && null != validatorFilter && !validatorFilter.test(e)) {
+                return false;
+            }
+            return null == elementFilter || elementFilter.test(e);
+        }
+        return true;
+    }
+
+    private ParquetReader<Element> openParquetReader(final Path path) throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
-        LOGGER.debug("Opening a new Parquet reader for file {}", filePath);
+        LOGGER.debug("Opening a new Parquet reader for file {}", path);
         if (null != filter) {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(path)
                     .isEntity(isEntity)
                     .usingConverter(converter)
                     .withFilter(FilterCompat.get(filter))
                     .build();
         } else {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(path)
                     .isEntity(isEntity)
                     .usingConverter(converter)
                     .build();
@@ -184,4 +204,202 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             return true;
         }
     }
+
+    /**
+     * Reads the elements from either a Parquet reader or the aggregated elements, skipping those that are not
+     * required.
+     */
+    private final class FilteredElementIterator implements CloseableIterator<Element> {
+        private final ParquetReader<Element> fileReader;
+        private final CloseableIterator<Element> elements;
+        private Element nextElement;
+        private boolean closed;
+
+        private FilteredElementIterator(final ParquetReader<Element> fileReader, final CloseableIterator<Element> elements) {
+            this.fileReader = fileReader;
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextElement && !closed) {
+                final Element e = read();
+                if (null == e) {
+                    close();
+                } else if (isRequiredElement(e)) {
+                    ViewUtil.removeProperties(view, e);
+                    nextElement = e;
+                }
+            }
+            return null != nextElement;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element e = nextElement;
+            nextElement = null;
+            return e;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            CloseableUtil.close(fileReader);
+            CloseableUtil.close(elements);
+        }
+
+        private Element read() {
+            if (null == fileReader) {
+                return elements.hasNext() ? elements.next() : null;
+            }
+            try {
+                return fileReader.read();
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("IOException reading file " + filePath, e);
+            }
+        }
+
+        private boolean isRequiredElement(final Element e) {
+            try {
+                return isRequired(e);
+            } catch (final VisibilityParseException ex) {
+                close();
+                throw new RuntimeException("Unable to parse the visibility of an element in file " + filePath, ex);
+            }
+        }
+    }
+    /**
+     * Merges the sorted elements from the file and its deltas, aggregating the elements with the same core
+     * properties.
+     */
+    private final class MergedElementIterator implements CloseableIterator<Element> {
+        private final PriorityQueue<SortedFileReader> readers;
+        private final Deque<Element> aggregated = new ArrayDeque<>();
+        private final List<Element> elementsWithSameKey = new ArrayList<>();
+
+        private MergedElementIterator() throws IOException {
+            final List<Path> files = new ArrayList<>(deltaFiles.size() + 1);
+            files.add(filePath);
+            files.addAll(deltaFiles);
+            final boolean reversed = isReversed();
+            final FileSystem fs = filePath.getFileSystem(new Configuration());
+            readers = new PriorityQueue<>(files.size(), (r1, r2) -> {
+                final int result = LocalAggregateAndSortData.compareKeys(r1.key, r2.key);
+                return 0 != result ? result : Integer.compare(r1.index, r2.index);
+            });
+            try {
+                for (final Path file : files) {
+                    if (!fs.exists(file)) {
+                        LOGGER.debug("Skipping file {} as it does not exist", file);
+                        continue;
+                    }
+                    final SortedFileReader reader = new SortedFileReader(openParquetReader(file), readers.size(), reversed);
+                    if (reader.advance()) {
+                        readers.add(reader);
+                    } else {
+                        reader.close();
+                    }
+                }
+            } catch (final IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+            LOGGER.debug("Merging {} files", readers.size());
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (aggregated.isEmpty() && !readers.isEmpty()) {
+                try {
+                    mergeNextKey();
+                } catch (final IOException e) {
+                    close();
+                    throw new RuntimeException("IOException reading file " + filePath + " and its deltas", e);
+                }
+            }
+            return !aggregated.isEmpty();
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return aggregated.poll();
+        }
+
+        @Override
+        public void close() {
+            for (final SortedFileReader reader : readers) {
+                reader.close();
+            }
+            readers.clear();
+            aggregated.clear();
+        }
+
+        private void mergeNextKey() throws IOException {
+            final Object[] key = readers.peek().key;
+            elementsWithSameKey.clear();
+            while (!readers.isEmpty() && 0 == LocalAggregateAndSortData.compareKeys(key, readers.peek().key)) {
+                final SortedFileReader reader = readers.poll();
+                elementsWithSameKey.add(reader.current);
+                if (reader.advance()) {
+                    readers.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            if (1 == elementsWithSameKey.size()) {
+                aggregated.addAll(elementsWithSameKey);
+            } else {
+                try (final CloseableIterable<Element> elements = AggregatorUtil.ingestAggregate(elementsWithSameKey, gafferSchema)) {
+                    elements.forEach(aggregated::add);
+                }
+            }
+        }
+
+        private boolean isReversed() {
+            return !filePath.getName().contains("=")
+                    && ParquetStore.REVERSED_EDGES.equals(filePath.getParent().getParent().getName());
+        }
+    }
+
+    /**
+     * Reads the elements of a sorted file, keeping the current element and its core properties.
+     */
+    private final class SortedFileReader {
+        private final ParquetReader<Element> reader;
+        private final int index;
+        private final boolean reversed;
+        private final GafferGroupObjectConverter converter;
+        private Element current;
+        private Object[] key;
+
+        private SortedFileReader(final ParquetReader<Element> reader, final int index, final boolean reversed) {
+            this.reader = reader;
+            this.index = index;
+            this.reversed = reversed;
+            this.converter = schemaUtils.getConverter(group);
+        }
+
+        private boolean advance() throws IOException {
+            current = reader.read();
+            if (null == current) {
+                key = null;
+                return false;
+            }
+            key = reversed
+                    ? converter.corePropertiesToParquetObjectsForReversedEdge((Edge) current)
+                    : converter.corePropertiesToParquetObjects(current);
+            return true;
+        }
+
+        private void close() {
+            CloseableUtil.close(reader);
+        }
+    }
 }
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.sql.SparkSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import scala.Option;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.index.SeedIndex;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Aggregates and sorts data for every group and partition of a {@link ParquetStore}, and writes the results either
+ * to a new snapshot, merged with the data in the current snapshot and its deltas, or to a new delta alongside the
+ * current snapshot. New data is supplied as functions from a group and partition id to the directory containing the
+ * unsorted data for that partition.
+ * <p>
+ * If a {@link SparkSession} is provided then each partition is aggregated and sorted using Spark. Otherwise the
+ * partitions are aggregated and sorted in this JVM by {@link LocalAggregateAndSortData}.
+ */
+public class SortedDataWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SortedDataWriter.class);
+
+    private final ParquetStore store;
+    private final SparkSession spark;
+    private final ExecutorService threadPool;
+    private final FileSystem fs;
+    private final Schema schema;
+    private final GraphPartitioner graphPartitioner;
+    private final String tmpDirectory;
+
+    public SortedDataWriter(final ParquetStore store, final ExecutorService threadPool) {
+        this(store, null, threadPool);
+    }
+
+    public SortedDataWriter(final ParquetStore store, final SparkSession spark, final ExecutorService threadPool) {
+        this.store = store;
+        this.spark = spark;
+        this.threadPool = threadPool;
+        this.fs = store.getFS();
+        this.schema = store.getSchema();
+        this.graphPartitioner = store.getGraphPartitioner();
+        this.tmpDirectory = store.getTempFilesDir();
+    }
+
+    public static ExecutorService createThreadPool(final SparkSession spark, final ParquetStoreProperties storeProperties) {
+        final int numberOfThreads;
+        final Option<String> sparkDriverCores = spark.conf().getOption("spark.driver.cores");
+        if (sparkDriverCores.nonEmpty()) {
+            numberOfThreads = Integer.parseInt(sparkDriverCores.get());
+        } else {
+            numberOfThreads = storeProperties.getThreadsAvailable();
+        }
+        LOGGER.debug("Created thread pool of size {}", numberOfThreads);
+        return Executors.newFixedThreadPool(numberOfThreads);
+    }
+
+    public static ExecutorService createThreadPool(final ParquetStoreProperties storeProperties) {
+        final int numberOfThreads = storeProperties.getThreadsAvailable();
+        LOGGER.debug("Created thread pool of size {}", numberOfThreads);
+        return Executors.newFixedThreadPool(numberOfThreads);
+    }
+
+    /**
+     * For every group and partition, aggregates and sorts the new data with the existing data and deltas for that
+     * partition, then replaces the current snapshot with a new one containing the results.
+     *
+     * @param newData         the directory of new data for a group and partition id, or null if there is no new data
+     * @param newReversedData the directory of new reversed edge data for a group and partition id, or null if there
+     *                        is no new data
+     * @throws OperationException if the data cannot be written
+     */
+    public void writeNewSnapshot(final BiFunction<String, Integer, String> newData,
+                                 final BiFunction<String, Integer, String> newReversedData) throws OperationException {
+        final BiFunction<String, Integer, String> sortedDirectory = (group, partitionId) ->
+                tmpDirectory
+                        + "/sorted_new_old_merged"
+                        + "/group=" + group
+                        + "/partition=" + partitionId;
+        final BiFunction<String, Integer, String> sortedDirectoryForReversedEdges = (group, partitionId) ->
+                tmpDirectory
+                        + "/sorted_new_old_merged"
+                        + "/REVERSED-group=" + group
+                        + "/partition=" + partitionId;
+        runTasks(createTasks(newData, newReversedData, sortedDirectory, sortedDirectoryForReversedEdges, true));
+
+        try {
+            // Move results to a new snapshot directory (the -tmp at the end allows us to add data to the directory,
+            // and then when this is all finished we rename the directory to remove the -tmp; this allows us to make
+            // the replacement of the old data with the new data an atomic operation and ensures that a get operation
+            // against the store will not read the directory when only some of the data has been moved there).
+            final long snapshot = System.currentTimeMillis();
+            final String newDataDir = store.getDataDir() + "/" + ParquetStore.getSnapshotPath(snapshot) + "-tmp";
+            LOGGER.info("Moving aggregated and sorted data to new snapshot directory {}", newDataDir);
+            fs.mkdirs(new Path(newDataDir));
+            for (final String group : schema.getGroups()) {
+                final Path groupDir = new Path(newDataDir, ParquetStore.getGroupSubDir(group, false));
+                fs.mkdirs(groupDir);
+                LOGGER.info("Created directory {}", groupDir);
+            }
+            for (final String group : schema.getEdgeGroups()) {
+                final Path groupDir = new Path(newDataDir, ParquetStore.getGroupSubDir(group, true));
+                fs.mkdirs(groupDir);
+                LOGGER.info("Created directory {}", groupDir);
+            }
+            moveSortedData(newDataDir, sortedDirectory, sortedDirectoryForReversedEdges);
+
+            // Delete temporary data directory
+            LOGGER.info("Deleting temporary directory {}", tmpDirectory);
+            fs.delete(new Path(tmpDirectory), true);
+            // Write out graph partitioner (unchanged from previous one)
+            final Path newGraphPartitionerPath = new Path(newDataDir + "/graphPartitioner");
+            final FSDataOutputStream stream = fs.create(newGraphPartitionerPath);
+            LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
+            new GraphPartitionerSerialiser().write(graphPartitioner, stream);
+            stream.close();
+            // Move snapshot-tmp directory to snapshot
+            final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
+            LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
+            fs.rename(new Path(newDataDir), new Path(directoryWithoutTmp));
+            // Set snapshot on store to new value
+            LOGGER.info("Updating latest snapshot on store to {}", snapshot);
+            store.setLatestSnapshot(snapshot);
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("IOException moving results files into new snapshot directory", e);
+        }
+    }
+
+    /**
+     * For every group and partition, aggregates and sorts only the new data and adds the results to the current
+     * snapshot as a new delta. The existing data is not read or rewritten.
+     *
+     * @param newData         the directory of new data for a group and partition id
+     * @param newReversedData the directory of new reversed edge data for a group and partition id
+     * @throws OperationException if the data cannot be written
+     */
+    public void writeDelta(final BiFunction<String, Integer, String> newData,
+                           final BiFunction<String, Integer, String> newReversedData) throws OperationException {
+        final BiFunction<String, Integer, String> sortedDirectory = (group, partitionId) ->
+                tmpDirectory
+                        + "/sorted_new"
+                        + "/group=" + group
+                        + "/partition=" + partitionId;
+        final BiFunction<String, Integer, String> sortedDirectoryForReversedEdges = (group, partitionId) ->
+                tmpDirectory
+                        + "/sorted_new"
+                        + "/REVERSED-group=" + group
+                        + "/partition=" + partitionId;
+        runTasks(createTasks(newData, newReversedData, sortedDirectory, sortedDirectoryForReversedEdges, false));
+
+        try {
+            // As for snapshots, the delta is written to a -tmp directory which is renamed once it is complete so
+            // that queries never see a partially written delta.
+            long delta = System.currentTimeMillis();
+            while (fs.exists(new Path(store.getDeltasPath(), ParquetStore.getDeltaPath(delta)))) {
+                delta++;
+            }
+            final String newDeltaDir = store.getDeltasPath() + "/" + ParquetStore.getDeltaPath(delta) + "-tmp";
+            LOGGER.info("Moving aggregated and sorted data to new delta directory {}", newDeltaDir);
+            fs.mkdirs(new Path(newDeltaDir));
+            moveSortedData(newDeltaDir, sortedDirectory, sortedDirectoryForReversedEdges);
+
+            LOGGER.info("Deleting temporary directory {}", tmpDirectory);
+            fs.delete(new Path(tmpDirectory), true);
+            final String directoryWithoutTmp = newDeltaDir.substring(0, newDeltaDir.lastIndexOf("-tmp"));
+            LOGGER.info("Renaming {} to {}", newDeltaDir, directoryWithoutTmp);
+            fs.rename(new Path(newDeltaDir), new Path(directoryWithoutTmp));
+            store.addDelta(delta);
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("IOException moving results files into new delta directory", e);
+        }
+    }
+
+    private List<Callable<CallableResult>> createTasks(final BiFunction<String, Integer, String> newData,
+                                                       final BiFunction<String, Integer, String> newReversedData,
+                                                       final BiFunction<String, Integer, String> sortedDirectory,
+                                                       final BiFunction<String, Integer, String> sortedDirectoryForReversedEdges,
+                                                       final boolean includeExistingData) {
+        final List<Callable<CallableResult>> tasks = new ArrayList<>();
+        for (final String group : schema.getGroups()) {
+            final List<Partition> partitions = graphPartitioner.getGroupPartitioner(group).getPartitions();
+            for (final Partition partition : partitions) {
+                final List<String> inputFiles = new ArrayList<>();
+                if (null != newData) {
+                    inputFiles.add(newData.apply(group, partition.getPartitionId()));
+                }
+                if (includeExistingData) {
+                    inputFiles.add(store.getFile(group, partition));
+                    store.getDeltaFiles(group, false, ParquetStore.getFile(partition.getPartitionId()))
+                            .forEach(deltaFile -> inputFiles.add(deltaFile.toString()));
+                }
+                final String outputDir = sortedDirectory.apply(group, partition.getPartitionId());
+                tasks.add(createTask(inputFiles, outputDir, group, group + "-" + partition.getPartitionId(), false));
+                LOGGER.info("Created AggregateAndSortData task for group {}, partition {}", group, partition.getPartitionId());
+            }
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            final List<Partition> partitions = graphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions();
+            for (final Partition partition : partitions) {
+                final List<String> inputFiles = new ArrayList<>();
+                if (null != newReversedData) {
+                    inputFiles.add(newReversedData.apply(group, partition.getPartitionId()));
+                }
+                if (includeExistingData) {
+                    inputFiles.add(store.getFileForReversedEdges(group, partition));
+                    store.getDeltaFiles(group, true, ParquetStore.getFile(partition.getPartitionId()))
+                            .forEach(deltaFile -> inputFiles.add(deltaFile.toString()));
+                }
+                final String outputDir = sortedDirectoryForReversedEdges.apply(group, partition.getPartitionId());
+                tasks.add(createTask(inputFiles, outputDir, group, "reversed-" + group + "-" + partition.getPartitionId(), true));
+                LOGGER.info("Created AggregateAndSortData task for reversed edge group {}, partition {}", group, partition.getPartitionId());
+            }
+        }
+        return tasks;
+    }
+
+    private Callable<CallableResult> createTask(final List<String> inputFiles,
+                                               final String outputDir,
+                                               final String group,
+                                               final String id,
+                                               final boolean reversed) {
+        if (null == spark) {
+            return new LocalAggregateAndSortData(store.getSchemaUtils(), fs, inputFiles, outputDir, group, id, reversed,
+                    store.getProperties().getCompressionCodecName(), store.getProperties().getLocalMaxElementsInMemory());
+        }
+        return new AggregateAndSortData(store.getSchemaUtils(), fs, inputFiles, outputDir, group, id, reversed,
+                store.getProperties().getCompressionCodecName(), spark);
+    }
+
+    private void runTasks(final List<Callable<CallableResult>> tasks) throws OperationException {
+        try {
+            LOGGER.info("Invoking {} AggregateAndSortData tasks", tasks.size());
+            final List<Future<CallableResult>> futures = threadPool.invokeAll(tasks);
+            for (final Future<CallableResult> future : futures) {
+                final CallableResult result = future.get();
+                LOGGER.info("Result {} from task", result);
+            }
+        } catch (final InterruptedException e) {
+            throw new OperationException("InterruptedException running AggregateAndSortData tasks", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("ExecutionException running AggregateAndSortData tasks", e);
+        }
+    }
+
+    private void moveSortedData(final String destinationDir,
+                                final BiFunction<String, Integer, String> sortedDirectory,
+                                final BiFunction<String, Integer, String> sortedDirectoryForReversedEdges)
+            throws IOException, OperationException {
+        for (final String group : schema.getGroups()) {
+            final Path groupDir = new Path(destinationDir, ParquetStore.getGroupSubDir(group, false));
+            for (final Partition partition : graphPartitioner.getGroupPartitioner(group).getPartitions()) {
+                moveSortedFile(new Path(sortedDirectory.apply(group, partition.getPartitionId())), groupDir,
+                        group, false, partition.getPartitionId());
+            }
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            final Path groupDir = new Path(destinationDir, ParquetStore.getGroupSubDir(group, true));
+            for (final Partition partition : graphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions()) {
+                moveSortedFile(new Path(sortedDirectoryForReversedEdges.apply(group, partition.getPartitionId())), groupDir,
+                        group, true, partition.getPartitionId());
+            }
+        }
+    }
+
+    private void moveSortedFile(final Path outputDir, final Path groupDir, final String group, final boolean reversed,
+                                final int partitionId)
+            throws IOException, OperationException {
+        if (!fs.exists(outputDir)) {
+            LOGGER.info("Not moving data for partition id {} as the outputDir {} does not exist", partitionId, outputDir);
+            return;
+        }
+        // One .parquet file and one .parquet.crc file
+        final FileStatus[] status = fs.listStatus(outputDir, path -> path.getName().endsWith(".parquet"));
+        if (1 != status.length) {
+            LOGGER.error("Didn't find one Parquet file in path {} (found {} files)", outputDir, status.length);
+            throw new OperationException("Expected to find one Parquet file in path " + outputDir
+                    + " (found " + status.length + " files)");
+        } else {
+            fs.mkdirs(groupDir);
+            final Path destination = new Path(groupDir, ParquetStore.getFile(partitionId));
+            LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
+            fs.rename(status[0].getPath(), destination);
+            if (store.getProperties().getWriteSeedIndex()) {
+                SeedIndex.write(fs, destination, group, reversed, store.getSchemaUtils());
+            }
+        }
+    }
+}
@@ -19,7 +19,6 @@ package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
-import org.apache.spark.TaskContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,10 +40,11 @@ import java.util.function.BiFunction;
 
 /**
  * Takes an {@link Iterable} of {@link Element}s and writes the elements out into Parquet files split into directories
- * for each group.
+ * for each group. The Spark schema is only added to the files if Spark is on the classpath.
  */
 public class WriteUnsortedData {
     private static final Logger LOGGER = LoggerFactory.getLogger(WriteUnsortedData.class);
+    private static final String FILE_NAME = "/part-0.parquet";
     private final CompressionCodecName compressionCodecName;
     private String tempFilesDir;
     private final SchemaUtils schemaUtils;
@@ -210,19 +210,19 @@ public class WriteUnsortedData {
                                                final Integer partitionId) throws IOException {
         final String filename;
         if (!reversed) {
-            filename = fileNameForGroupAndPartitionId.apply(group, partitionId)
-                    + "/part-" + TaskContext.getPartitionId() + ".parquet";
+            filename = fileNameForGroupAndPartitionId.apply(group, partitionId) + FILE_NAME;
         } else {
-            filename = fileNameForGroupAndPartitionIdForReversedEdges.apply(group, partitionId)
-                    + "/part-" + TaskContext.getPartitionId() + ".parquet";
+            filename = fileNameForGroupAndPartitionIdForReversedEdges.apply(group, partitionId) + FILE_NAME;
         }
         final Path writerPath = new Path(filename);
         LOGGER.info("Creating a new writer for group {}, partition id {} in path {}", group, partitionId, writerPath);
-        return new ParquetElementWriter.Builder(writerPath)
+        final ParquetElementWriter.Builder builder = new ParquetElementWriter.Builder(writerPath)
                 .withType(schemaUtils.getParquetSchema(group))
                 .usingConverter(schemaUtils.getConverter(group))
-                .withCompressionCodec(compressionCodecName)
-                .withSparkSchema(schemaUtils.getSparkSchema(group))
-                .build();
+                .withCompressionCodec(compressionCodecName);
+        if (SchemaUtils.isSparkAvailable()) {
+            builder.withSparkSchema(schemaUtils.getSparkSchema(group));
+        }
+        return builder.build();
     }
 }
@@ -38,6 +38,7 @@ import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.SeedIndex;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
@@ -98,10 +99,14 @@ public class QueryGenerator {
 
         // Stage 3: For each of the above groups, create a Parquet predicate from the view and directedType
         final Map<String, Pair<FilterPredicate, Boolean>> groupToPredicate = new HashMap<>();
+        final Map<String, FilterPredicate> groupToDirectedTypePredicate = new HashMap<>();
         for (final String group : groupToPaths.keySet()) {
             Pair<FilterPredicate, Boolean> filter = getPredicateFromView(getAllElements.getView(), group, schemaUtils.getEntityGroups().contains(group));
             if (schemaUtils.getEdgeGroups().contains(group)) {
                 final FilterPredicate directedTypeFilter = getPredicateFromDirectedType(getAllElements.getDirectedType());
+                if (null != directedTypeFilter) {
+                    groupToDirectedTypePredicate.put(group, directedTypeFilter);
+                }
                 if (null != filter) {
                     filter.setFirst(FilterPredicateUtils.and(filter.getFirst(), directedTypeFilter));
                 } else {
@@ -116,13 +121,28 @@ public class QueryGenerator {
         // Stage 4: Build a ParquetQuery by iterating through the map from group to list of Paths
         final ParquetQuery parquetQuery = new ParquetQuery();
         for (final Map.Entry<String, List<Path>> entry : groupToPaths.entrySet()) {
+            final String group = entry.getKey();
             for (final Path path : entry.getValue()) {
-                final String group = entry.getKey();
-                final ParquetFileQuery fileQuery = groupToPredicate.containsKey(group) ?
-                        new ParquetFileQuery(path, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond())
-                                : new ParquetFileQuery(path, null, false);
+                final List<Path> deltaFiles = store.getDeltaFiles(group, false, path.getName());
+                final ParquetFileQuery fileQuery;
+                if (!deltaFiles.isEmpty()) {
+                    fileQuery = getFileQueryWithDeltas(path, groupToDirectedTypePredicate.get(group), deltaFiles);
+                } else if (groupToPredicate.containsKey(group)) {
+                    fileQuery = new ParquetFileQuery(path, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond());
+                } else {
+                    fileQuery = new ParquetFileQuery(path, null, false);
+                }
                 parquetQuery.add(group, fileQuery);
             }
+            // Partitions which only have data in deltas
+            final Set<String> fileNames = entry.getValue().stream().map(Path::getName).collect(Collectors.toSet());
+            for (final String fileName : store.getDeltaFileNamesForGroup(group)) {
+                if (!fileNames.contains(fileName)) {
+                    final Path path = new Path(store.getGroupPath(group), fileName);
+                    parquetQuery.add(group, getFileQueryWithDeltas(path, groupToDirectedTypePredicate.get(group),
+                            store.getDeltaFiles(group, false, fileName)));
+                }
+            }
         }
         LOGGER.info("Created ParquetQuery of {}", parquetQuery);
         return parquetQuery;
@@ -152,10 +172,14 @@ public class QueryGenerator {
 
         // Stage 2: For each of the above groups, create a Parquet predicate from the view and directedType
         final Map<String, Pair<FilterPredicate, Boolean>> groupToPredicate = new HashMap<>();
+        final Map<String, FilterPredicate> groupToDirectedTypePredicate = new HashMap<>();
         for (final String group : allRelevantGroups) {
             Pair<FilterPredicate, Boolean> filter = getPredicateFromView(getElements.getView(), group, schemaUtils.getEntityGroups().contains(group));
             if (schemaUtils.getEdgeGroups().contains(group)) {
                 final FilterPredicate directedTypeFilter = getPredicateFromDirectedType(getElements.getDirectedType());
+                if (null != directedTypeFilter) {
+                    groupToDirectedTypePredicate.put(group, directedTypeFilter);
+                }
                 filter.setFirst(FilterPredicateUtils.and(filter.getFirst(), directedTypeFilter));
             }
             groupToPredicate.put(group, filter);
@@ -186,6 +210,10 @@ public class QueryGenerator {
         for (final Tuple3<String, ParquetElementSeed, Set<PathInfo>> tuple : groupSeedsAndPathsList) {
             Set<PathInfo> paths = tuple.get2();
             for (final PathInfo pathInfo : paths) {
+                if (!mightContainSeed(pathInfo, tuple.get1())) {
+                    LOGGER.debug("Skipping path {} for seed {} as its seed index does not contain the seed", pathInfo, tuple.get1());
+                    continue;
+                }
                 if (!pathToSeeds.containsKey(pathInfo)) {
                     pathToSeeds.put(pathInfo, new ArrayList<>());
                 }
@@ -202,6 +230,12 @@ public class QueryGenerator {
             FilterPredicate filterPredicate = seedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
             if (null != filterPredicate) {
                 final String group = pathInfo.getGroup();
+                final List<Path> deltaFiles = store.getDeltaFiles(group, pathInfo.isReversed(), pathInfo.getPath().getName());
+                if (!deltaFiles.isEmpty()) {
+                    final FilterPredicate keyFilterPredicate = FilterPredicateUtils.and(groupToDirectedTypePredicate.get(group), filterPredicate);
+                    parquetQuery.add(group, getFileQueryWithDeltas(pathInfo.getPath(), keyFilterPredicate, deltaFiles));
+                    continue;
+                }
                 final Pair<FilterPredicate, Boolean> viewFilterPredicate = groupToPredicate.get(group);
                 if (null != viewFilterPredicate) {
                     // Put view predicate first as filter for checking whether it matches one of many seeds could be complex
@@ -215,6 +249,38 @@ public class QueryGenerator {
         return parquetQuery;
     }
 
+    /**
+     * Uses the {@link SeedIndex} of a file, if it has one, to check whether the file could contain elements for the
+     * seed. Seeds that are definitely not in a file are not added to the filter for that file, and files for which
+     * no seeds remain are not read at all. Deltas are not indexed so files that have deltas are always read.
+     */
+    private boolean mightContainSeed(final PathInfo pathInfo, final ParquetElementSeed seed) {
+        if (!store.getDeltaFiles(pathInfo.getGroup(), pathInfo.isReversed(), pathInfo.getPath().getName()).isEmpty()) {
+            return true;
+        }
+        final SeedIndex seedIndex = store.getSeedIndex(pathInfo.getPath());
+        if (null == seedIndex) {
+            return true;
+        }
+        if (seed instanceof ParquetEntitySeed) {
+            return seedIndex.mightContain(((ParquetEntitySeed) seed).getSeed());
+        }
+        if (PathInfo.FILETYPE.EDGE == pathInfo.getFileType()) {
+            return seedIndex.mightContain(((ParquetEdgeSeed) seed).getSource());
+        }
+        // An edge seed matches an entity if either of its vertices matches
+        return true;
+    }
+
+    /**
+     * Elements in a partition with deltas must be aggregated across the files before the view's filters can be
+     * applied, so only filters on the columns that identify an element can be pushed down to Parquet. The rest of the
+     * view is applied after aggregation.
+     */
+    private ParquetFileQuery getFileQueryWithDeltas(final Path path, final FilterPredicate keyFilter, final List<Path> deltaFiles) {
+        return new ParquetFileQuery(path, keyFilter, false, deltaFiles);
+    }
+
     // TODO raise issue saying that could optimise so that only the filters that have not been fully applied
     // are reapplied, and it should be able to return the fact that all filters have been applied
     // Either the result is:
@@ -41,16 +41,21 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is responsible for converting a Gaffer {@link Schema} to a Parquet {@link MessageType} per group
  * and to a Spark schema (a {@link StructType} per group). It also provides a central place to get all the mappings from
  * Gaffer Properties to columns, aggregator's to columns, serialiser's to columns, etc.
+ * <p>
+ * The Spark schemas are only built when they are first requested, so that this class can be used when Spark is not
+ * on the classpath.
  */
 public class SchemaUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(SchemaUtils.class);
+    private static final boolean SPARK_AVAILABLE = isClassAvailable("org.apache.spark.sql.SparkSession");
     private final Schema gafferSchema;
-    private final Map<String, StructType> groupToSparkSchema = new HashMap<>();
+    private final Map<String, StructType> groupToSparkSchema = new ConcurrentHashMap<>();
     private final Map<String, Map<String, String>> groupColumnToSerialiserName = new HashMap<>();
     private final Map<String, Map<String, String[]>> groupColumnToPaths = new HashMap<>();
     private final Map<String, Serialiser> serialiserNameToSerialiser = new HashMap<>();
@@ -63,11 +68,29 @@ public class SchemaUtils {
         this.gafferSchema = gafferSchema;
         try {
             buildParquetSchema();
-            buildSparkSchemas();
             buildGroupColumnToPaths();
             buildConverters();
         } catch (final SerialisationException e) {
-            throw new RuntimeException("SerialisationException building Parquet and Spark schemas", e);
+            throw new RuntimeException("SerialisationException building Parquet schemas", e);
+        }
+    }
+
+    /**
+     * Returns whether Spark is on the classpath. If it is not then the Spark schemas cannot be built and the Spark
+     * operations are not available.
+     *
+     * @return true if Spark is on the classpath
+     */
+    public static boolean isSparkAvailable() {
+        return SPARK_AVAILABLE;
+    }
+
+    private static boolean isClassAvailable(final String className) {
+        try {
+            Class.forName(className, false, SchemaUtils.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return false;
         }
     }
 
@@ -209,22 +232,19 @@ public class SchemaUtils {
         return groupToObjectConverter;
     }
 
-    private void buildSparkSchemas() {
-        for (final String group : gafferSchema.getGroups()) {
-            groupToSparkSchema.put(group, buildSparkSchema(group));
-        }
-        LOGGER.debug("Created Spark schema from Gaffer schema");
-        LOGGER.debug("Spark schema is: {}", groupToSparkSchema);
-    }
-
     public StructType buildSparkSchema(final String group) {
         final StructType sType = new ParquetToSparkSchemaConverter(false, false).convert(getParquetSchema(group));
         groupToSparkSchema.put(group, sType);
+        LOGGER.debug("Spark schema for group {} is: {}", group, sType);
         return sType;
     }
 
     public StructType getSparkSchema(final String group) {
-        return groupToSparkSchema.get(group);
+        final StructType sparkSchema = groupToSparkSchema.get(group);
+        if (null != sparkSchema || !gafferSchema.getGroups().contains(group)) {
+            return sparkSchema;
+        }
+        return buildSparkSchema(group);
     }
 
     public StructType getMergedSparkSchema(final Set<String> groups) {
@@ -81,6 +81,14 @@ public class ParquetStorePropertiesTest {
         assertEquals("Test", props.getSparkMaster());
     }
 
+    @Test
+    public void addElementsEngineTest() {
+        // Spark is on the test classpath, so the default engine is spark
+        assertEquals(ParquetStoreProperties.SPARK_ADD_ELEMENTS_ENGINE, props.getAddElementsEngine());
+        props.setAddElementsEngine(ParquetStoreProperties.LOCAL_ADD_ELEMENTS_ENGINE);
+        assertEquals(ParquetStoreProperties.LOCAL_ADD_ELEMENTS_ENGINE, props.getAddElementsEngine());
+    }
+
     @Test
     public void compressionTest() {
         assertEquals(CompressionCodecName.GZIP, props.getCompressionCodecName());
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitionerTest;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeedIndexTest {
+
+    @TempDir
+    java.nio.file.Path tempDir;
+
+    @Test
+    public void shouldContainAllVerticesOfEntityFile() throws IOException {
+        // Given
+        final SchemaUtils schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        final FileSystem fs = FileSystem.get(new Configuration());
+        CalculatePartitionerTest.writeData(tempDir.toString(), schemaUtils);
+        final Path file = getFile(TestGroups.ENTITY, false, 3);
+
+        // When
+        SeedIndex.write(fs, file, TestGroups.ENTITY, false, schemaUtils);
+        final SeedIndex seedIndex = SeedIndex.read(fs, file);
+
+        // Then
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(TestGroups.ENTITY);
+        for (long vertex = 30L; vertex < 40L; vertex++) {
+            assertTrue(seedIndex.mightContain(converter.gafferObjectToParquetObjects(ParquetStore.VERTEX, vertex)));
+        }
+        assertMostlyAbsent(seedIndex, converter, ParquetStore.VERTEX);
+    }
+
+    @Test
+    public void shouldIndexSourcesOfEdgeFileAndDestinationsOfReversedEdgeFile() throws IOException {
+        // Given
+        final SchemaUtils schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        final FileSystem fs = FileSystem.get(new Configuration());
+        CalculatePartitionerTest.writeData(tempDir.toString(), schemaUtils);
+        final Path file = getFile(TestGroups.EDGE, false, 3);
+        final Path reversedFile = getFile(TestGroups.EDGE, true, 3);
+
+        // When
+        SeedIndex.write(fs, file, TestGroups.EDGE, false, schemaUtils);
+        SeedIndex.write(fs, reversedFile, TestGroups.EDGE, true, schemaUtils);
+        final SeedIndex seedIndex = SeedIndex.read(fs, file);
+        final SeedIndex reversedSeedIndex = SeedIndex.read(fs, reversedFile);
+
+        // Then
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(TestGroups.EDGE);
+        for (long vertex = 30L; vertex < 40L; vertex++) {
+            assertTrue(seedIndex.mightContain(converter.gafferObjectToParquetObjects(ParquetStore.SOURCE, vertex)));
+            assertTrue(reversedSeedIndex.mightContain(converter.gafferObjectToParquetObjects(ParquetStore.DESTINATION, vertex + 1)));
+        }
+        assertMostlyAbsent(seedIndex, converter, ParquetStore.SOURCE);
+        assertMostlyAbsent(reversedSeedIndex, converter, ParquetStore.DESTINATION);
+    }
+
+    @Test
+    public void shouldReturnNullWhenFileHasNoIndex() throws IOException {
+        // Given
+        final SchemaUtils schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        final FileSystem fs = FileSystem.get(new Configuration());
+        CalculatePartitionerTest.writeData(tempDir.toString(), schemaUtils);
+
+        // When
+        final SeedIndex seedIndex = SeedIndex.read(fs, getFile(TestGroups.ENTITY, false, 0));
+
+        // Then
+        assertNull(seedIndex);
+    }
+
+    @Test
+    public void shouldWriteIndexToHiddenFileNextToParquetFile() {
+        // Given
+        final Path file = new Path("/data/graph/group=BasicEntity/partition-00001.parquet");
+
+        // When
+        final Path indexPath = SeedIndex.getIndexPath(file);
+
+        // Then
+        assertTrue(indexPath.getName().startsWith("."));
+        assertFalse(indexPath.getName().endsWith(".parquet"));
+        assertEquals(file.getParent(), indexPath.getParent());
+    }
+
+    private Path getFile(final String group, final boolean reversed, final int partitionId) {
+        return new Path(new Path(tempDir.toString(), ParquetStore.getGroupSubDir(group, reversed)),
+                ParquetStore.getFile(partitionId));
+    }
+
+    private void assertMostlyAbsent(final SeedIndex seedIndex,
+                                    final GafferGroupObjectConverter converter,
+                                    final String column) throws IOException {
+        // The index is a Bloom filter so allow for some false positives
+        int falsePositives = 0;
+        for (long vertex = 1000L; vertex < 2000L; vertex++) {
+            if (seedIndex.mightContain(converter.gafferObjectToParquetObjects(column, vertex))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 100, "Too many false positives: " + falsePositives);
+    }
+}
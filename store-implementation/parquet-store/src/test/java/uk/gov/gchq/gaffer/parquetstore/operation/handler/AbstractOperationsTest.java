@@ -21,6 +21,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -41,6 +42,7 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.operation.CompactDeltas;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.user.User;
@@ -107,6 +109,13 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         }
     }
 
+    private ParquetStoreProperties createDeltaStoreProperties() {
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setAddElementsAsDeltas(true);
+        properties.setMaxDeltasBeforeCompaction(0);
+        return properties;
+    }
+
     @Test
     public void shouldGetAllElementsTest() throws OperationException {
         // Given
@@ -122,6 +131,93 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
     }
 
+    @Test
+    public void shouldGetAllElementsWhenReaderQueueIsSmallerThanResultsTest() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setReaderQueueSize(1);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(
+                new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
+    }
+
+    @Test
+    public void shouldStopReadingWhenIteratorIsClosedEarlyTest() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setReaderQueueSize(1);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        final CloseableIterable<? extends Element> results = graph.execute(
+                new GetAllElements.Builder().build(), user);
+
+        // When
+        final CloseableIterator<? extends Element> iterator = results.iterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        iterator.close();
+
+        // Then
+        assertFalse(iterator.hasNext());
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(),
+                graph.execute(new GetAllElements.Builder().build(), user));
+    }
+
+    @Test
+    public void shouldInterleaveTwoIteratorsOnASingleReaderThreadTest() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setReaderQueueSize(1);
+        properties.setThreadsAvailable(1);
+        final Graph graph = createGraph(properties);
+        graph.execute(new AddElements.Builder().input(getInputDataForGetAllElementsTest()).build(), user);
+        final List<Element> results1 = new ArrayList<>();
+        final List<Element> results2 = new ArrayList<>();
+
+        // When
+        try (final CloseableIterator<? extends Element> iterator1 = graph.execute(new GetAllElements.Builder().build(), user).iterator();
+             final CloseableIterator<? extends Element> iterator2 = graph.execute(new GetAllElements.Builder().build(), user).iterator()) {
+            while (iterator1.hasNext() || iterator2.hasNext()) {
+                if (iterator2.hasNext()) {
+                    results2.add(iterator2.next());
+                }
+                if (iterator1.hasNext()) {
+                    results1.add(iterator1.next());
+                }
+            }
+        }
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results1);
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results2);
+    }
+
+    @Test
+    public void shouldNotHoldReaderThreadsWhenIteratorIsAbandonedTest() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setReaderQueueSize(1);
+        properties.setThreadsAvailable(1);
+        final Graph graph = createGraph(properties);
+        graph.execute(new AddElements.Builder().input(getInputDataForGetAllElementsTest()).build(), user);
+        final CloseableIterator<? extends Element> abandoned = graph.execute(new GetAllElements.Builder().build(), user).iterator();
+        assertTrue(abandoned.hasNext());
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
+    }
+
     @Test
     public void shouldGetNoResultsFromGetAllElementsOnEmptyGraph() throws OperationException {
         // Given (test on a graph on which add has been called with an empty list and
@@ -189,6 +285,60 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
     }
 
+    @Test
+    public void shouldGetAllElementsAfterTwoAddElementsAsDeltasTest() throws OperationException {
+        // Given
+        final Graph graph = createGraph(createDeltaStoreProperties());
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
+    }
+
+    @Test
+    public void shouldGetAllElementsAfterCompactingDeltasTest() throws OperationException {
+        // Given
+        final Graph graph = createGraph(createDeltaStoreProperties());
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        graph.execute(new CompactDeltas(), user);
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
+    }
+
+    @Test
+    public void shouldGetSameElementsWithSeedsBeforeAndAfterCompactingDeltasTest() throws OperationException {
+        // Given
+        final Graph graph = createGraph(createDeltaStoreProperties());
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        final GetElements getElements = new GetElements.Builder()
+                .input(getSeeds())
+                .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                .build();
+
+        // When
+        final List<Element> resultsFromDeltas = new ArrayList<>();
+        graph.execute(getElements, user).forEach(resultsFromDeltas::add);
+        graph.execute(new CompactDeltas(), user);
+        final CloseableIterable<? extends Element> resultsAfterCompaction = graph.execute(getElements, user);
+
+        // Then
+        assertFalse(resultsFromDeltas.isEmpty());
+        ElementUtil.assertElementEquals(resultsAfterCompaction, resultsFromDeltas);
+    }
+
     @Test
     public void shouldGetAllElementsAfterElementsAddedSeparatelyByGroup() throws OperationException {
         // Given
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+
+/**
+ * Runs the {@link LongVertexOperationsTest}s with the local add elements engine, with a small number of elements held
+ * in memory so that the data is sorted in several runs which are then merged.
+ */
+public class LocalEngineLongVertexOperationsTest extends LongVertexOperationsTest {
+
+    @Override
+    public StoreProperties createStoreProperties() {
+        final ParquetStoreProperties properties = (ParquetStoreProperties) super.createStoreProperties();
+        properties.setAddElementsEngine(ParquetStoreProperties.LOCAL_ADD_ELEMENTS_ENGINE);
+        properties.setLocalMaxElementsInMemory(10);
+        return properties;
+    }
+}
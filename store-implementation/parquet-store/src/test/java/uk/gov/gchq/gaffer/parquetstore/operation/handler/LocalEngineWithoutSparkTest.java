@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.IntegerParquetSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.LongParquetSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.gchq.gaffer.store.TestTypes.DIRECTED_EITHER;
+
+/**
+ * Checks that the {@link ParquetStore} can add and get elements using the
+ * {@value ParquetStoreProperties#LOCAL_ADD_ELEMENTS_ENGINE} add elements engine when Spark is not on the classpath.
+ * The store is run in a class loader created from the test classpath without the Spark and Scala jars.
+ */
+public class LocalEngineWithoutSparkTest {
+    private static final Pattern SPARK_OR_SCALA_JAR =
+            Pattern.compile(".*(/org/apache/spark/|/org/scala-lang/|_2\\.1[0-9]|spark-library).*");
+
+    @Test
+    public void shouldAddAndGetElementsWithoutSparkOnTheClasspath(@TempDir final Path tempDir) throws Exception {
+        try (final URLClassLoader classLoader = createClassLoaderWithoutSpark()) {
+            // Given
+            assertThrows(ClassNotFoundException.class,
+                    () -> Class.forName("org.apache.spark.sql.SparkSession", false, classLoader));
+            final Function<String, List<String>> addAndGetElements = (Function<String, List<String>>)
+                    Class.forName(AddAndGetElements.class.getName(), true, classLoader).newInstance();
+
+            // When
+            final List<String> results = addAndGetElements.apply(tempDir.toAbsolutePath().toString());
+
+            // Then
+            assertEquals(AddAndGetElements.getExpectedResults(), results);
+        }
+    }
+
+    private static URLClassLoader createClassLoaderWithoutSpark() throws MalformedURLException {
+        final String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        final List<URL> urls = new ArrayList<>();
+        for (final String entry : classPath.split(File.pathSeparator)) {
+            if (!SPARK_OR_SCALA_JAR.matcher(entry.replace('\\', '/')).matches()) {
+                urls.add(new File(entry).toURI().toURL());
+            }
+        }
+        return new URLClassLoader(urls.toArray(new URL[urls.size()]), ClassLoader.getSystemClassLoader().getParent());
+    }
+
+    /**
+     * Adds the same elements twice using the default add elements engine, which is the local engine as Spark is not
+     * on the classpath, and returns the results of a
+     * {@link GetAllElements}. This is loaded by the class loader without Spark, so it only exchanges
+     * {@link String}s with the test.
+     */
+    public static class AddAndGetElements implements Function<String, List<String>> {
+
+        @Override
+        public List<String> apply(final String directory) {
+            final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
+            try {
+                final ParquetStoreProperties properties = new ParquetStoreProperties();
+                properties.setDataDir(directory + "/data");
+                properties.setTempFilesDir(directory + "/tmpdata");
+                if (!ParquetStoreProperties.LOCAL_ADD_ELEMENTS_ENGINE.equals(properties.getAddElementsEngine())) {
+                    throw new IllegalStateException("Expected the add elements engine to default to "
+                            + ParquetStoreProperties.LOCAL_ADD_ELEMENTS_ENGINE + " without Spark");
+                }
+                final Graph graph = new Graph.Builder()
+                        .config(new GraphConfig.Builder().graphId("graphWithoutSpark").build())
+                        .addSchema(getSchema())
+                        .storeProperties(properties)
+                        .build();
+                graph.execute(new AddElements.Builder().input(getElements(1)).build(), new User());
+                graph.execute(new AddElements.Builder().input(getElements(1)).build(), new User());
+                try (final CloseableIterable<? extends Element> results =
+                             graph.execute(new GetAllElements(), new User())) {
+                    return toSortedStrings(results);
+                }
+            } catch (final OperationException e) {
+                throw new RuntimeException(e);
+            } finally {
+                Thread.currentThread().setContextClassLoader(contextClassLoader);
+            }
+        }
+
+        static List<String> getExpectedResults() {
+            return toSortedStrings(getElements(2));
+        }
+
+        private static Schema getSchema() {
+            return new Schema.Builder()
+                    .type("long", new TypeDefinition.Builder()
+                            .clazz(Long.class)
+                            .serialiser(new LongParquetSerialiser())
+                            .build())
+                    .type("int", new TypeDefinition.Builder()
+                            .clazz(Integer.class)
+                            .serialiser(new IntegerParquetSerialiser())
+                            .aggregateFunction(new Sum())
+                            .build())
+                    .type(DIRECTED_EITHER, Boolean.class)
+                    .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                            .vertex("long")
+                            .property(TestPropertyNames.COUNT, "int")
+                            .build())
+                    .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                            .source("long")
+                            .destination("long")
+                            .directed(DIRECTED_EITHER)
+                            .property(TestPropertyNames.COUNT, "int")
+                            .build())
+                    .vertexSerialiser(new LongParquetSerialiser())
+                    .build();
+        }
+
+        private static List<Element> getElements(final int count) {
+            return Arrays.asList(
+                    new Entity.Builder()
+                            .group(TestGroups.ENTITY)
+                            .vertex(1L)
+                            .property(TestPropertyNames.COUNT, count)
+                            .build(),
+                    new Edge.Builder()
+                            .group(TestGroups.EDGE)
+                            .source(1L)
+                            .dest(2L)
+                            .directed(true)
+                            .property(TestPropertyNames.COUNT, count)
+                            .build(),
+                    new Edge.Builder()
+                            .group(TestGroups.EDGE)
+                            .source(2L)
+                            .dest(3L)
+                            .directed(false)
+                            .property(TestPropertyNames.COUNT, count)
+                            .build());
+        }
+
+        private static List<String> toSortedStrings(final Iterable<? extends Element> elements) {
+            final List<String> strings = new ArrayList<>();
+            for (final Element element : elements) {
+                strings.add(element.toString());
+            }
+            Collections.sort(strings);
+            return strings;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.parquetstore.utils;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.LocalAggregateAndSortData;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class LocalAggregateAndSortDataTest {
+
+    @Test
+    public void shouldAggregateAndSortDataThatFitsInMemory(@TempDir java.nio.file.Path tempDir) throws Exception {
+        shouldAggregateAndSortData(tempDir, 1000);
+    }
+
+    @Test
+    public void shouldAggregateAndSortDataUsingSortedRuns(@TempDir java.nio.file.Path tempDir) throws Exception {
+        shouldAggregateAndSortData(tempDir, 7);
+    }
+
+    @Test
+    public void shouldNotWriteOutputWhenInputFilesDoNotExist(@TempDir java.nio.file.Path tempDir) throws Exception {
+        // Given
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final SchemaUtils schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        final String outputFolder = tempDir.resolve("sorted").toString();
+
+        // When
+        new LocalAggregateAndSortData(schemaUtils, fs, Arrays.asList(tempDir.resolve("missing").toString()),
+                outputFolder, TestGroups.ENTITY, "test", false, CompressionCodecName.GZIP, 1000).call();
+
+        // Then
+        assertFalse(fs.exists(new Path(outputFolder)));
+    }
+
+    private void shouldAggregateAndSortData(final java.nio.file.Path tempDir, final int maxElementsInMemory)
+            throws Exception {
+        // Given
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final SchemaUtils schemaUtils = new SchemaUtils(TestUtils.gafferSchema("schemaUsingLongVertexType"));
+        final String file1 = tempDir.resolve("inputdata1.parquet").toString();
+        final String file2 = tempDir.resolve("inputdata2.parquet").toString();
+        AggregateAndSortDataTest.writeData(file1, schemaUtils);
+        AggregateAndSortDataTest.writeData(file2, schemaUtils);
+        final String outputFolder = tempDir.resolve("sorted").toString();
+
+        // When
+        new LocalAggregateAndSortData(schemaUtils, fs, Arrays.asList(file1, file2), outputFolder,
+                TestGroups.ENTITY, "test", false, CompressionCodecName.GZIP, maxElementsInMemory).call();
+
+        // Then
+        final FileStatus[] outputFiles = fs.listStatus(new Path(outputFolder), path -> path.getName().endsWith(".parquet"));
+        assertEquals(1, outputFiles.length);
+        final List<Element> results = readData(outputFiles[0].getPath(), schemaUtils);
+        // Should be sorted by vertex and date
+        assertEquals(40, results.size());
+        for (int i = 0; i < 40; i++) {
+            final Entity entity = (Entity) results.get(i);
+            assertEquals((long) i / 2, entity.getVertex());
+            assertEquals(i % 2 == 0 ? new Date(100000L) : new Date(200000L), entity.getProperty("date"));
+            assertEquals(i % 2 == 0 ? 8f : 6f, (float) entity.getProperty("float"), 0.01f);
+            assertEquals(11L * 2 * (i / 2), entity.getProperty("long"));
+            assertEquals(2, entity.getProperty("count"));
+        }
+    }
+
+    private List<Element> readData(final Path file, final SchemaUtils schemaUtils) throws IOException {
+        final List<Element> results = new ArrayList<>();
+        try (final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(file)
+                .isEntity(true)
+                .usingConverter(schemaUtils.getConverter(TestGroups.ENTITY))
+                .build()) {
+            Element element = reader.read();
+            while (null != element) {
+                results.add(element);
+                element = reader.read();
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.ChunkedErrorFrame;
+import uk.gov.gchq.gaffer.core.exception.Error;
+import uk.gov.gchq.gaffer.core.exception.GafferWrappedErrorRuntimeException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import javax.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@code ChunkedResultIterable} lazily reads the items of a chunked
+ * response from a delegate Gaffer REST API.
+ * <p>
+ * Each item is deserialised from the response stream as it is read, so only
+ * the current item is held in memory. The response can only be read once, so
+ * this iterable can only be iterated once. Closing the iterable or iterator
+ * before the end of the results closes the response, which cancels the
+ * request. If the delegate fails part way through the results it ends the
+ * response with a {@link ChunkedErrorFrame}, which is rethrown as a
+ * {@link GafferWrappedErrorRuntimeException} rather than treated as the end
+ * of the results.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class ChunkedResultIterable<T> implements CloseableIterable<T> {
+    private final Response response;
+    private final JavaType itemType;
+    private boolean iterated;
+
+    public ChunkedResultIterable(final Response response, final JavaType itemType) {
+        this.response = response;
+        this.itemType = itemType;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    @Override
+    public synchronized CloseableIterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("The chunked results can only be iterated once");
+        }
+        iterated = true;
+
+        final ObjectMapper mapper = JSONSerialiser.getMapper();
+        final MappingIterator<JsonNode> chunks;
+        try {
+            chunks = mapper.readerFor(JsonNode.class)
+                    .readValues(response.readEntity(InputStream.class));
+        } catch (final IOException | RuntimeException e) {
+            close();
+            throw new RuntimeException("Unable to read the chunked results", e);
+        }
+
+        return new ChunkedResultIterator(chunks, mapper.readerFor(itemType));
+    }
+
+    private final class ChunkedResultIterator implements CloseableIterator<T> {
+        private final MappingIterator<JsonNode> chunks;
+        private final ObjectReader itemReader;
+        private T next;
+        private boolean closed;
+
+        private ChunkedResultIterator(final MappingIterator<JsonNode> chunks, final ObjectReader itemReader) {
+            this.chunks = chunks;
+            this.itemReader = itemReader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != next) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+
+            try {
+                if (chunks.hasNext()) {
+                    next = readItem(chunks.next());
+                    return true;
+                }
+            } catch (final IOException | RuntimeException e) {
+                close();
+                if (e instanceof GafferWrappedErrorRuntimeException) {
+                    throw (GafferWrappedErrorRuntimeException) e;
+                }
+                throw new RuntimeException("Unable to read the chunked results", e);
+            }
+
+            close();
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final T item = next;
+            next = null;
+            return item;
+        }
+
+        private T readItem(final JsonNode chunk) throws IOException {
+            if (ChunkedErrorFrame.isErrorFrame(chunk)) {
+                final Error error = itemReader.forType(ChunkedErrorFrame.class)
+                        .<ChunkedErrorFrame>readValue(chunk)
+                        .getError();
+                throw new GafferWrappedErrorRuntimeException(error);
+            }
+            return itemReader.readValue(chunk);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                CloseableUtil.close(chunks);
+                ChunkedResultIterable.this.close();
+            }
+        }
+    }
+}
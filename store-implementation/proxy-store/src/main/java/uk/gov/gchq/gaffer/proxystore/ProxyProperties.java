@@ -35,12 +35,16 @@ public class ProxyProperties extends StoreProperties {
     public static final String GAFFER_CONTEXT_ROOT = "gaffer.context-root";
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
+    public static final String BINARY_RESULTS = "gaffer.binary-results";
+    public static final String STREAM_RESULTS = "gaffer.stream-results";
 
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest";
     public static final int DEFAULT_GAFFER_PORT = 8080;
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_READ_TIMEOUT = 10000;
+    public static final boolean DEFAULT_BINARY_RESULTS = false;
+    public static final boolean DEFAULT_STREAM_RESULTS = false;
 
     private static final String GAFFER_REST_API_VERSION = "v2";
 
@@ -94,6 +98,37 @@ public class ProxyProperties extends StoreProperties {
         set(READ_TIMEOUT, String.valueOf(timeout));
     }
 
+    /**
+     * Whether to ask the delegate REST API for results in the binary Smile
+     * format rather than JSON. If the delegate does not support Smile it
+     * responds with JSON instead.
+     *
+     * @return true if binary results should be requested
+     */
+    public boolean isBinaryResults() {
+        return Boolean.parseBoolean(get(BINARY_RESULTS, String.valueOf(DEFAULT_BINARY_RESULTS)));
+    }
+
+    public void setBinaryResults(final boolean binaryResults) {
+        set(BINARY_RESULTS, String.valueOf(binaryResults));
+    }
+
+    /**
+     * Whether to fetch iterable results from the chunked endpoint of the
+     * delegate REST API. The results are then read lazily as they are
+     * iterated, rather than all being read before they are returned, but they
+     * can only be iterated once.
+     *
+     * @return true if iterable results should be streamed
+     */
+    public boolean isStreamResults() {
+        return Boolean.parseBoolean(get(STREAM_RESULTS, String.valueOf(DEFAULT_STREAM_RESULTS)));
+    }
+
+    public void setStreamResults(final boolean streamResults) {
+        set(STREAM_RESULTS, String.valueOf(streamResults));
+    }
+
     public String getGafferHost() {
         return get(GAFFER_HOST, DEFAULT_GAFFER_HOST);
     }
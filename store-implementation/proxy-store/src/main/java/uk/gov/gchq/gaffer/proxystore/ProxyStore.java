@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.client.ClientProperties;
@@ -34,6 +35,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationChainDAO;
@@ -64,7 +66,11 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status.Family;
 
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.net.URL;
 import java.util.Collections;
 import java.util.HashSet;
@@ -79,6 +85,8 @@ import java.util.Set;
  */
 public class ProxyStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProxyStore.class);
+    private static final MediaType SMILE_MEDIA_TYPE = MediaType.valueOf(SmileSerialiser.MEDIA_TYPE);
+    private static final MediaType JSON_FALLBACK_MEDIA_TYPE = MediaType.valueOf(MediaType.APPLICATION_JSON + ";q=0.9");
     private Client client;
     private Schema schema;
 
@@ -167,14 +175,55 @@ public class ProxyStore extends Store {
             throw new OperationException("Unable to serialise operation chain into JSON.", e);
         }
 
-        final URL url = getProperties().getGafferUrl("graph/operations/execute");
+        final JavaType itemType = getProperties().isStreamResults() ? getIterableItemType(opChain.getOutputTypeReference()) : null;
         try {
+            if (null != itemType) {
+                final URL url = getProperties().getGafferUrl("graph/operations/execute/chunked");
+                return doChunkedPost(url, opChainJson, opChain.getOutputTypeReference(), itemType, context);
+            }
+
+            final URL url = getProperties().getGafferUrl("graph/operations/execute");
             return doPost(url, opChainJson, opChain.getOutputTypeReference(), context);
         } catch (final StoreException e) {
             throw new OperationException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Posts the request to a chunked endpoint and returns the results as a
+     * {@link ChunkedResultIterable}, which reads the items from the response
+     * as they are iterated.
+     *
+     * @param url        the url of the chunked endpoint
+     * @param jsonBody   the body of the request
+     * @param outputType the type of the output, which must be an iterable
+     * @param itemType   the type of the items in the output
+     * @param context    the context
+     * @param <O>        the type of the output
+     * @return the output
+     * @throws StoreException if the request failed
+     */
+    protected <O> O doChunkedPost(final URL url, final String jsonBody,
+                                  final TypeReference<O> outputType,
+                                  final JavaType itemType,
+                                  final Context context) throws StoreException {
+        final Invocation.Builder request = createRequest(jsonBody, url, context);
+        final Response response;
+        try {
+            response = request.post(Entity.json(jsonBody));
+        } catch (final Exception e) {
+            throw new StoreException("Failed to execute post via " +
+                    "the Gaffer URL " + url.toExternalForm(), e);
+        }
+
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            // Reads and rethrows the error from the delegate store
+            return handleResponse(response, outputType);
+        }
+
+        return (O) new ChunkedResultIterable<>(response, itemType);
+    }
+
     protected <O> O doPost(final URL url, final Object body,
                            final TypeReference<O> outputType,
                            final Context context) throws StoreException {
@@ -219,6 +268,10 @@ public class ProxyStore extends Store {
     protected <O> O handleResponse(final Response response,
                                    final TypeReference<O> outputTypeReference)
             throws StoreException {
+        if (isSmile(response)) {
+            return handleSmileResponse(response, outputTypeReference);
+        }
+
         final String outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
         if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
             final Error error;
@@ -243,9 +296,50 @@ public class ProxyStore extends Store {
         return output;
     }
 
+    /**
+     * Reads a response in the binary Smile format. The output is deserialised
+     * directly from the response stream.
+     *
+     * @param response            the response
+     * @param outputTypeReference the type of the output
+     * @param <O>                 the type of the output
+     * @return the output
+     * @throws StoreException if the output could not be deserialised
+     */
+    protected <O> O handleSmileResponse(final Response response,
+                                        final TypeReference<O> outputTypeReference)
+            throws StoreException {
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            final Error error;
+            try {
+                error = SmileSerialiser.deserialise(response.readEntity(byte[].class), Error.class);
+            } catch (final Exception e) {
+                LOGGER.warn("Gaffer bad status {}", response.getStatus());
+                throw new StoreException("Delegate Gaffer store returned status: " + response.getStatus());
+            }
+            throw new GafferWrappedErrorRuntimeException(error);
+        }
+
+        if (!response.hasEntity()) {
+            return null;
+        }
+
+        try {
+            return SmileSerialiser.deserialise(response.readEntity(InputStream.class), outputTypeReference);
+        } catch (final SerialisationException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+    }
+
     protected Invocation.Builder createRequest(final String body, final URL url, final Context context) {
-        final Invocation.Builder request = client.target(url.toString())
-                .request();
+        final Invocation.Builder request;
+        if (getProperties().isBinaryResults()) {
+            request = client.target(url.toString())
+                    .request(SMILE_MEDIA_TYPE, JSON_FALLBACK_MEDIA_TYPE);
+        } else {
+            request = client.target(url.toString())
+                    .request();
+        }
         if (null != body) {
             request.header("Content", MediaType.APPLICATION_JSON_TYPE);
             request.build(body);
@@ -267,6 +361,37 @@ public class ProxyStore extends Store {
         return JSONSerialiser.deserialise(jsonBytes, outputTypeReference);
     }
 
+    /**
+     * Gets the type of the items in the output, if the output can be returned
+     * as a {@link CloseableIterable}.
+     *
+     * @param outputTypeReference the type of the output
+     * @return the type of the items, or null if the output is not iterable
+     */
+    private static JavaType getIterableItemType(final TypeReference<?> outputTypeReference) {
+        final Type outputType = outputTypeReference.getType();
+        if (!(outputType instanceof ParameterizedType)) {
+            return null;
+        }
+
+        final ParameterizedType parameterizedType = (ParameterizedType) outputType;
+        if (!(parameterizedType.getRawType() instanceof Class)
+                || !((Class<?>) parameterizedType.getRawType()).isAssignableFrom(CloseableIterable.class)) {
+            return null;
+        }
+
+        Type itemType = parameterizedType.getActualTypeArguments()[0];
+        if (itemType instanceof WildcardType) {
+            itemType = ((WildcardType) itemType).getUpperBounds()[0];
+        }
+        return JSONSerialiser.getMapper().getTypeFactory().constructType(itemType);
+    }
+
+    private static boolean isSmile(final Response response) {
+        final MediaType mediaType = response.getMediaType();
+        return null != mediaType && SMILE_MEDIA_TYPE.isCompatible(mediaType);
+    }
+
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification = "The properties should always be ProxyProperties")
     @Override
     public ProxyProperties getProperties() {
@@ -372,6 +497,16 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder binaryResults(final boolean binaryResults) {
+            properties.setBinaryResults(binaryResults);
+            return this;
+        }
+
+        public Builder streamResults(final boolean streamResults) {
+            properties.setStreamResults(streamResults);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;
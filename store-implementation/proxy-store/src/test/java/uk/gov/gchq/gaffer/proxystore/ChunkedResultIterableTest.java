@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.core.exception.ChunkedErrorFrame;
+import uk.gov.gchq.gaffer.core.exception.Error;
+import uk.gov.gchq.gaffer.core.exception.GafferWrappedErrorRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import javax.ws.rs.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedResultIterableTest {
+    private static final JavaType ITEM_TYPE = JSONSerialiser.getMapper().getTypeFactory().constructType(Integer.class);
+
+    @Test
+    public void shouldReadAllItems() {
+        // Given
+        final Response response = createResponse("1\r\n2\r\n3\r\n");
+
+        // When
+        final List<Integer> items;
+        try (final ChunkedResultIterable<Integer> iterable = new ChunkedResultIterable<>(response, ITEM_TYPE)) {
+            items = Lists.newArrayList(iterable);
+        }
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), items);
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldThrowErrorFromErrorFrame() throws Exception {
+        // Given
+        final Error error = new Error.ErrorBuilder()
+                .status(Status.FORBIDDEN)
+                .simpleMessage("Not allowed")
+                .build();
+        final String errorFrame = StringUtil.toString(JSONSerialiser.serialise(new ChunkedErrorFrame(error)));
+        final Response response = createResponse("1\r\n2\r\n" + errorFrame + "\r\n");
+        final Iterator<Integer> itr = new ChunkedResultIterable<Integer>(response, ITEM_TYPE).iterator();
+
+        // When
+        assertEquals(1, (int) itr.next());
+        assertEquals(2, (int) itr.next());
+        final GafferWrappedErrorRuntimeException actual = assertThrows(GafferWrappedErrorRuntimeException.class, itr::hasNext);
+
+        // Then
+        assertEquals(Status.FORBIDDEN, actual.getError().getStatus());
+        assertEquals("Not allowed", actual.getError().getSimpleMessage());
+        verify(response).close();
+    }
+
+    private static Response createResponse(final String entity) {
+        final Response response = mock(Response.class);
+        given(response.readEntity(InputStream.class)).willReturn(new ByteArrayInputStream(StringUtil.toBytes(entity)));
+        return response;
+    }
+}
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.proxystore.integration;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -29,6 +30,7 @@ import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.core.exception.Error;
 import uk.gov.gchq.gaffer.core.exception.GafferWrappedErrorRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
@@ -49,6 +51,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.proxystore.ChunkedResultIterable;
 import uk.gov.gchq.gaffer.proxystore.ProxyStore;
 import uk.gov.gchq.gaffer.rest.RestApiTestClient;
 import uk.gov.gchq.gaffer.rest.service.v2.RestApiV2TestClient;
@@ -57,11 +60,14 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -145,6 +151,79 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
     }
 
+    @Test
+    public void shouldAddElementsAndGetAllElementsWithBinaryResults() throws Exception {
+        // Given
+        addDefaultElements();
+        final Graph binaryGraph = new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .graphId("graph1")
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest")
+                        .binaryResults(true)
+                        .build())
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> results = binaryGraph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, Iterables.size(results));
+        assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
+    }
+
+    @Test
+    public void shouldAddElementsAndGetAllElementsWithStreamedResults() throws Exception {
+        // Given
+        addDefaultElements();
+        final Graph streamingGraph = createStreamingGraph();
+
+        // When
+        final CloseableIterable<? extends Element> results = streamingGraph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertThat(results, instanceOf(ChunkedResultIterable.class));
+        final List<Element> resultList = Lists.newArrayList((CloseableIterable<Element>) results);
+        assertEquals(DEFAULT_ELEMENTS.length, resultList.size());
+        assertThat(resultList, hasItems(DEFAULT_ELEMENTS));
+    }
+
+    @Test
+    public void shouldCloseStreamedResultsBeforeTheEnd() throws Exception {
+        // Given
+        addDefaultElements();
+        final Graph streamingGraph = createStreamingGraph();
+        final CloseableIterable<? extends Element> results = streamingGraph.execute(new GetAllElements(), USER);
+        final CloseableIterator<? extends Element> itr = results.iterator();
+
+        // When
+        itr.next();
+        itr.close();
+
+        // Then
+        assertFalse(itr.hasNext());
+        final CloseableIterable<? extends Element> nextResults = streamingGraph.execute(new GetAllElements(), USER);
+        assertEquals(DEFAULT_ELEMENTS.length, Lists.newArrayList(nextResults).size());
+    }
+
+    @Test
+    public void shouldNotStreamResultsThatAreNotIterable() throws Exception {
+        // Given
+        addDefaultElements();
+        final Graph streamingGraph = createStreamingGraph();
+
+        // When
+        final List<? extends Element> results = streamingGraph.execute(new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new ToList<Element>())
+                .build(), USER);
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, results.size());
+        assertThat((List<Element>) results, hasItems(DEFAULT_ELEMENTS));
+    }
+
     @Test
     public void shouldAddElementsAndGetRelatedElements() throws Exception {
         // Given
@@ -238,6 +317,18 @@ public class ProxyStoreBasicIT {
         graph.execute(add, USER);
     }
 
+    private Graph createStreamingGraph() {
+        return new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .graphId("graph1")
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest")
+                        .streamResults(true)
+                        .build())
+                .build();
+    }
+
     @Test
     public void shouldNotErrorWithNonNullOptionsMapAndNullHandlerOption() throws Exception {
         final AddElements add = new AddElements.Builder()